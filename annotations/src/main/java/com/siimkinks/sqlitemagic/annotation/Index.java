@@ -0,0 +1,95 @@
+package com.siimkinks.sqlitemagic.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Define index on table.
+ * <p>
+ * On a column field or method the index is created on that column, optionally in
+ * {@link #descending() descending} order and with {@link #collate() collation}.
+ * On a {@link Table} annotated class the index is created on {@link #columns()},
+ * which allows composite and expression indexes. Class may define multiple indexes
+ * with {@link Indices}.
+ * </p>
+ * <p>
+ * Indexes are created after all tables and are dropped together with their table.
+ * On database upgrade indexes of the model tables are compared to their definitions --
+ * changed indexes are recreated, indexes that are not defined anymore are dropped and
+ * new indexes are created. Therefore indexes on model tables must not be created
+ * by upgrade scripts.
+ * </p>
+ * Example:
+ * <pre>{@code
+ * @Table
+ * @Index(columns = {"last_name", "first_name COLLATE NOCASE"}, where = "last_name IS NOT NULL")
+ * public class Author {
+ *   @Id
+ *   long id;
+ *   @Column
+ *   @Index(unique = true)
+ *   String email;
+ *   @Column
+ *   String firstName;
+ *   @Column
+ *   String lastName;
+ * }
+ * }</pre>
+ *
+ * @see <a href="https://www.sqlite.org/lang_createindex.html">SQLite documentation: CREATE INDEX</a>
+ */
+@Target({ElementType.FIELD, ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.CLASS)
+public @interface Index {
+  /**
+   * <p>Index name.</p>
+   * If not defined, index name is generated from table name and indexed columns --
+   * {@code index_<table>_<columns>}.
+   *
+   * @return The name of the index.
+   */
+  String value() default "";
+
+  /**
+   * <p>Indexed columns or expressions of class level index.</p>
+   * Each value may include collation and sort order, for example
+   * {@code "name COLLATE NOCASE DESC"} or {@code "lower(name)"}.
+   * Must not be defined for column level index.
+   * Indexes on expressions require SQLite 3.9.0 (Android API level 24).
+   *
+   * @return Indexed columns or expressions.
+   */
+  String[] columns() default {};
+
+  /**
+   * <p>Whether index is UNIQUE.</p>
+   *
+   * @return {@code true} if indexed values must be unique.
+   */
+  boolean unique() default false;
+
+  /**
+   * <p>Whether column level index is sorted in descending order.</p>
+   *
+   * @return {@code true} if column is indexed in descending order.
+   */
+  boolean descending() default false;
+
+  /**
+   * <p>Collation of column level index, for example {@code NOCASE}.</p>
+   *
+   * @return Collating sequence name.
+   */
+  String collate() default "";
+
+  /**
+   * <p>WHERE clause of partial index without the {@code WHERE} keyword.</p>
+   * Only rows for which the condition is true are indexed.
+   * Partial indexes require SQLite 3.8.0 (Android API level 21).
+   *
+   * @return Partial index condition.
+   */
+  String where() default "";
+}
@@ -0,0 +1,20 @@
+package com.siimkinks.sqlitemagic.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Define multiple class level {@link Index indexes} on table.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.CLASS)
+public @interface Indices {
+  /**
+   * <p>Class level indexes.</p>
+   *
+   * @return Indexes of the table.
+   */
+  Index[] value();
+}
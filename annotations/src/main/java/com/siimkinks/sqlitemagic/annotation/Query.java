@@ -0,0 +1,58 @@
+package com.siimkinks.sqlitemagic.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Define SQL SELECT statement that is compiled into the implementation of the annotated
+ * interface method.
+ * <p>
+ * Annotated methods must be declared in a public interface. Annotation processor generates
+ * {@code com.siimkinks.sqlitemagic.SqliteMagic_<Interface>_Dao} class that implements the interface.
+ * Generated methods only bind their parameters to the statement and parse the result set.
+ * Interface simple names must therefore be unique among all {@code @Query} interfaces.
+ * </p>
+ * <p>
+ * At build time each statement is checked to be a SELECT statement, tables and views after
+ * {@code FROM} and {@code JOIN} must be known {@link Table} or {@link View} names and
+ * {@code <table>.<column>} references must name columns of the table. The statement is not
+ * fully parsed -- other syntax errors and unqualified column names are reported by SQLite
+ * when the statement is first run.
+ * </p>
+ * <p>
+ * Each {@code ?} in the statement is bound to the method parameter in the same position.
+ * Numbered and named parameters ({@code ?NNN}, {@code :name}, {@code @name} and {@code $name})
+ * are not supported. Parameters inside comments and literals are ignored.
+ * Supported parameter types are primitives, their boxed types, {@link String} and {@code byte[]}.
+ * </p>
+ * Supported return types:
+ * <ul>
+ * <li>{@link Table} object or list of them -- statement must select all columns of
+ * not aliased table ({@code SELECT * FROM <table> ...}) and objects are parsed shallow.
+ * {@code *} is replaced with table columns at build time</li>
+ * <li>{@code long} or {@code int} -- value of the first column in the first row or 0
+ * if the result set is empty</li>
+ * </ul>
+ * Example:
+ * <pre>{@code
+ * public interface AuthorQueries {
+ *   @Query("SELECT * FROM author WHERE name = ? ORDER BY id")
+ *   List<Author> authorsByName(String name);
+ *
+ *   @Query("SELECT count(*) FROM author")
+ *   long authorCount();
+ * }
+ * }</pre>
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.CLASS)
+public @interface Query {
+  /**
+   * <p>SQL SELECT statement.</p>
+   *
+   * @return SQL SELECT statement.
+   */
+  String value();
+}
@@ -54,4 +54,16 @@ public @interface Table {
    * @return True if system should access model fields with access methods, false if not.
    */
   boolean useAccessMethods() default false;
+
+  /**
+   * Maximum number of entities kept in the in-memory entity cache of this table.<br>
+   * If greater than 0, entities queried by their id with {@code takeFirst()} are cached
+   * per database connection and returned without hitting the database until the table
+   * changes. Least recently used entities are evicted when the cache is full.
+   * Cached entities are shared between queries, so they should be treated as read-only.<br>
+   * Defaults to 0, which disables caching.
+   *
+   * @return Maximum number of cached entities
+   */
+  int cache() default 0;
 }
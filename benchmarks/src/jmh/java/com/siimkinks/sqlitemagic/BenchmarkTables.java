@@ -0,0 +1,49 @@
+package com.siimkinks.sqlitemagic;
+
+import static com.siimkinks.sqlitemagic.Utils.INTEGER_PARSER;
+import static com.siimkinks.sqlitemagic.Utils.LONG_PARSER;
+import static com.siimkinks.sqlitemagic.Utils.STRING_PARSER;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Hand written stand-in for generated table metadata.
+ * <p>
+ * Benchmarks run on the host JVM without the annotation processor, so the
+ * tables and columns they query are declared here the same way the
+ * generated table classes declare them.
+ */
+final class BenchmarkTables {
+  static final Table<Object> BOOK = new Table<>("book", null, 4, "_id");
+  static final NumericColumn<Long, Long, Number, Object> BOOK_ID =
+      new NumericColumn<>(BOOK, "_id", false, LONG_PARSER, false, null);
+  static final Column<String, String, CharSequence, Object> BOOK_TITLE =
+      new Column<>(BOOK, "title", false, STRING_PARSER, true, null);
+  static final NumericColumn<Integer, Integer, Number, Object> BOOK_NR_OF_RELEASES =
+      new NumericColumn<>(BOOK, "nr_of_releases", false, INTEGER_PARSER, false, null);
+  static final NumericColumn<Long, Long, Number, Object> BOOK_AUTHOR =
+      new NumericColumn<>(BOOK, "author", false, LONG_PARSER, true, null);
+
+  static final Table<Object> AUTHOR = new Table<>("author", null, 3, "_id");
+  static final NumericColumn<Long, Long, Number, Object> AUTHOR_ID =
+      new NumericColumn<>(AUTHOR, "_id", false, LONG_PARSER, false, null);
+  static final Column<String, String, CharSequence, Object> AUTHOR_NAME =
+      new Column<>(AUTHOR, "name", false, STRING_PARSER, true, null);
+
+  private BenchmarkTables() {
+    throw new AssertionError("no instances");
+  }
+
+  /**
+   * Install a mocked default connection so that select builders can be created
+   * without opening a database.
+   */
+  static void installMockConnection() {
+    SqliteMagic.SingletonHolder.instance.defaultConnection = mock(DbConnectionImpl.class);
+  }
+
+  static Expr bookFilter(long authorId) {
+    return BOOK_AUTHOR.is(authorId)
+        .and(BOOK_NR_OF_RELEASES.greaterThan(3))
+        .and(BOOK_TITLE.is("Foo").or(BOOK_TITLE.in("Bar", "Baz", "Qux")));
+  }
+}
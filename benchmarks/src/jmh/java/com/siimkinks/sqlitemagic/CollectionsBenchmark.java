@@ -0,0 +1,73 @@
+package com.siimkinks.sqlitemagic;
+
+import com.siimkinks.sqlitemagic.internal.SimpleArrayMap;
+import com.siimkinks.sqlitemagic.internal.StringArraySet;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Internal collections used while building and running queries.
+ */
+@State(Scope.Benchmark)
+public class CollectionsBenchmark {
+  @Param({"4", "16", "64"})
+  public int size;
+
+  private String[] keys;
+  private StringArraySet set;
+  private SimpleArrayMap<String, Integer> map;
+
+  @Setup
+  public void setUp() {
+    final String[] keys = new String[size];
+    for (int i = 0; i < size; i++) {
+      keys[i] = "table_" + i;
+    }
+    this.keys = keys;
+    set = new StringArraySet(keys);
+    map = fillMap(keys);
+  }
+
+  private static SimpleArrayMap<String, Integer> fillMap(String[] keys) {
+    final SimpleArrayMap<String, Integer> map = new SimpleArrayMap<>(keys.length);
+    for (int i = 0, length = keys.length; i < length; i++) {
+      map.put(keys[i], i);
+    }
+    return map;
+  }
+
+  @Benchmark
+  public StringArraySet stringArraySetAdd() {
+    final StringArraySet set = new StringArraySet();
+    for (String key : keys) {
+      set.add(key);
+    }
+    return set;
+  }
+
+  @Benchmark
+  public void stringArraySetContains(Blackhole bh) {
+    final StringArraySet set = this.set;
+    for (String key : keys) {
+      bh.consume(set.contains(key));
+    }
+  }
+
+  @Benchmark
+  public SimpleArrayMap<String, Integer> simpleArrayMapPut() {
+    return fillMap(keys);
+  }
+
+  @Benchmark
+  public void simpleArrayMapGet(Blackhole bh) {
+    final SimpleArrayMap<String, Integer> map = this.map;
+    for (String key : keys) {
+      bh.consume(map.get(key));
+    }
+  }
+}
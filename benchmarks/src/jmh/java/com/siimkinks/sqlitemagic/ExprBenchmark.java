@@ -0,0 +1,41 @@
+package com.siimkinks.sqlitemagic;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import static com.siimkinks.sqlitemagic.BenchmarkTables.bookFilter;
+
+/**
+ * Expression building and assembly of its arguments and SQL.
+ */
+@State(Scope.Benchmark)
+public class ExprBenchmark {
+  private Expr expr;
+
+  @Setup
+  public void setUp() {
+    expr = bookFilter(42L);
+  }
+
+  @Benchmark
+  public Expr build() {
+    return bookFilter(42L);
+  }
+
+  @Benchmark
+  public void addArgs(Blackhole bh) {
+    final SqlArgs args = new SqlArgs();
+    expr.addArgs(args);
+    bh.consume(args);
+  }
+
+  @Benchmark
+  public String appendToSql() {
+    final StringBuilder sb = new StringBuilder(64);
+    expr.appendToSql(sb);
+    return sb.toString();
+  }
+}
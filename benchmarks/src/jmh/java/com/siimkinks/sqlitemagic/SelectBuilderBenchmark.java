@@ -0,0 +1,49 @@
+package com.siimkinks.sqlitemagic;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import static com.siimkinks.sqlitemagic.BenchmarkTables.AUTHOR;
+import static com.siimkinks.sqlitemagic.BenchmarkTables.AUTHOR_ID;
+import static com.siimkinks.sqlitemagic.BenchmarkTables.BOOK;
+import static com.siimkinks.sqlitemagic.BenchmarkTables.BOOK_AUTHOR;
+import static com.siimkinks.sqlitemagic.BenchmarkTables.BOOK_TITLE;
+import static com.siimkinks.sqlitemagic.BenchmarkTables.bookFilter;
+import static com.siimkinks.sqlitemagic.BenchmarkTables.installMockConnection;
+
+/**
+ * SQL generation of the SELECT builder - from the first builder call to
+ * {@link CompiledSelect}.
+ */
+@State(Scope.Benchmark)
+public class SelectBuilderBenchmark {
+  @Setup
+  public void setUp() {
+    installMockConnection();
+  }
+
+  @Benchmark
+  public CompiledSelect<Object, Select.SelectN> selectAll() {
+    return Select.from(BOOK)
+        .compile();
+  }
+
+  @Benchmark
+  public CompiledSelect<Object, Select.SelectN> selectWhereOrderedLimited() {
+    return Select.from(BOOK)
+        .where(bookFilter(42L))
+        .orderBy(BOOK_TITLE.asc())
+        .limit(20)
+        .compile();
+  }
+
+  @Benchmark
+  public CompiledSelect<Object, Select.SelectN> selectJoined() {
+    return Select.from(BOOK)
+        .leftJoin(AUTHOR.on(BOOK_AUTHOR.is(AUTHOR_ID)))
+        .where(bookFilter(42L))
+        .compile();
+  }
+}
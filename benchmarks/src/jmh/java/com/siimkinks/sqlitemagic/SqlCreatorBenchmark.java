@@ -0,0 +1,53 @@
+package com.siimkinks.sqlitemagic;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import static com.siimkinks.sqlitemagic.BenchmarkTables.AUTHOR;
+import static com.siimkinks.sqlitemagic.BenchmarkTables.AUTHOR_ID;
+import static com.siimkinks.sqlitemagic.BenchmarkTables.BOOK;
+import static com.siimkinks.sqlitemagic.BenchmarkTables.BOOK_AUTHOR;
+import static com.siimkinks.sqlitemagic.BenchmarkTables.BOOK_TITLE;
+import static com.siimkinks.sqlitemagic.BenchmarkTables.bookFilter;
+import static com.siimkinks.sqlitemagic.BenchmarkTables.installMockConnection;
+
+/**
+ * SQL string assembly of an already built SQL node tree.
+ */
+@State(Scope.Benchmark)
+public class SqlCreatorBenchmark {
+  private SelectSqlNode<?> simpleNode;
+  private SelectSqlNode<?> complexNode;
+
+  @Setup
+  public void setUp() {
+    installMockConnection();
+    simpleNode = prepare(Select.from(BOOK)
+        .where(BOOK_AUTHOR.is(42L)));
+    complexNode = prepare(Select.from(BOOK)
+        .leftJoin(AUTHOR.on(BOOK_AUTHOR.is(AUTHOR_ID)))
+        .where(bookFilter(42L))
+        .orderBy(BOOK_TITLE.asc())
+        .limit(20));
+  }
+
+  private static SelectSqlNode<?> prepare(SelectSqlNode<?> sqlNode) {
+    final SelectBuilder<?> selectBuilder = sqlNode.selectBuilder;
+    if (selectBuilder.columnsNode != null) {
+      selectBuilder.columnsNode.compileColumns(null);
+    }
+    return sqlNode;
+  }
+
+  @Benchmark
+  public String simpleSql() {
+    return SqlCreator.getSql(simpleNode, simpleNode.selectBuilder.sqlNodeCount);
+  }
+
+  @Benchmark
+  public String complexSql() {
+    return SqlCreator.getSql(complexNode, complexNode.selectBuilder.sqlNodeCount);
+  }
+}
@@ -171,6 +171,25 @@ public class Const {
     }
   };
 
+  public static final Map<String, String> SQL_ARGS_METHOD_MAP = new HashMap<String, String>() {
+    {
+      put(byte[].class.getCanonicalName(), "addBlob");
+      put(double.class.getCanonicalName(), "addDouble");
+      put(Double.class.getCanonicalName(), "addDouble");
+      put(float.class.getCanonicalName(), "addDouble");
+      put(Float.class.getCanonicalName(), "addDouble");
+      put(int.class.getCanonicalName(), "addLong");
+      put(Integer.class.getCanonicalName(), "addLong");
+      put(long.class.getCanonicalName(), "addLong");
+      put(Long.class.getCanonicalName(), "addLong");
+      put(short.class.getCanonicalName(), "addLong");
+      put(Short.class.getCanonicalName(), "addLong");
+      put(byte.class.getCanonicalName(), "addLong");
+      put(Byte.class.getCanonicalName(), "addLong");
+      put(String.class.getCanonicalName(), "addString");
+    }
+  };
+
   public static final List<String> DEFAULT_TRANSFORMERS = new LinkedList<String>() {
     {
       add(BooleanTransformer.class.getCanonicalName());
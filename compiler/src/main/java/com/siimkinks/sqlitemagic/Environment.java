@@ -9,6 +9,7 @@ import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.LinkedHashMultimap;
 import com.google.common.collect.SetMultimap;
 import com.siimkinks.sqlitemagic.element.ExtendedTypeElement;
+import com.siimkinks.sqlitemagic.element.QueryElement;
 import com.siimkinks.sqlitemagic.element.TableElement;
 import com.siimkinks.sqlitemagic.element.TransformerElement;
 import com.siimkinks.sqlitemagic.element.ViewElement;
@@ -20,6 +21,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -71,6 +73,7 @@ public class Environment {
   private final Map<String, TableElement> tableElements = new HashMap<>();
   private final Map<String, TableElement> tableElementsByTableName = new HashMap<>();
   private final Map<String, ViewElement> viewElements = new HashMap<>();
+  private final Map<String, QueryElement> queryElements = new LinkedHashMap<>();
   private final Map<String, TransformerElement> transformerElements = new HashMap<>();
 
   @Getter
@@ -110,6 +113,7 @@ public class Environment {
   public void clear() {
     tableElements.clear();
     viewElements.clear();
+    queryElements.clear();
     transformerElements.clear();
   }
 
@@ -175,6 +179,18 @@ public class Environment {
     viewElements.put(tableQualifiedTypeName, viewElement);
   }
 
+  public QueryElement getQueryElementFor(String qualifiedTypeName) {
+    return queryElements.get(qualifiedTypeName);
+  }
+
+  public Collection<QueryElement> getQueryElements() {
+    return queryElements.values();
+  }
+
+  public void addQueryElement(@NonNull QueryElement queryElement) {
+    queryElements.put(Environment.getQualifiedName(queryElement.getQueryElement()), queryElement);
+  }
+
   public boolean hasTransformerFor(TypeElement element) {
     return transformerElements.containsKey(getQualifiedName(element));
   }
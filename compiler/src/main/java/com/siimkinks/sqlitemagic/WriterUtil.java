@@ -54,10 +54,12 @@ import static com.siimkinks.sqlitemagic.Const.PRIMITIVES_DEFAULT_VALUE_MAP;
 import static com.siimkinks.sqlitemagic.Const.PRIVATE_FINAL_FIELD_MODIFIERS;
 import static com.siimkinks.sqlitemagic.Const.PUBLIC_STATIC_FINAL;
 import static com.siimkinks.sqlitemagic.Const.STATIC_METHOD_MODIFIERS;
+import static com.siimkinks.sqlitemagic.util.NameConst.FIELD_BULK_INSERT_SQL;
 import static com.siimkinks.sqlitemagic.util.NameConst.FIELD_INSERT_SQL;
 import static com.siimkinks.sqlitemagic.util.NameConst.FIELD_UPDATE_SQL;
 import static com.siimkinks.sqlitemagic.util.NameConst.METHOD_CONNECTION_PROVIDER;
 import static com.siimkinks.sqlitemagic.util.NameConst.METHOD_CREATE;
+import static com.siimkinks.sqlitemagic.util.NameConst.METHOD_GET_BULK_INSERT_STATEMENT;
 import static com.siimkinks.sqlitemagic.util.NameConst.METHOD_GET_INSERT_STATEMENT;
 import static com.siimkinks.sqlitemagic.util.NameConst.METHOD_GET_UPDATE_STATEMENT;
 import static com.siimkinks.sqlitemagic.util.NameConst.METHOD_OBSERVE;
@@ -107,6 +109,7 @@ public class WriterUtil {
   public static final ClassName SQLITE_MAGIC = ClassName.get(SqliteMagic.class);
   public static final ClassName DB_CONNECTION = ClassName.get(DbConnection.class);
   public static final ClassName DB_CONNECTION_IMPL = ClassName.get(DbConnectionImpl.class);
+  public static final ClassName CHANGE_SET = ClassName.get(ChangeSet.class);
   public static final ClassName OPERATION_FAILED_EXCEPTION = ClassName.get(OperationFailedException.class);
   public static final ClassName TRANSACTION = ClassName.get(Transaction.class);
   public static final ClassName MUTABLE_INT = ClassName.get(MutableInt.class);
@@ -117,6 +120,13 @@ public class WriterUtil {
   public static final ClassName COMPLEX_COLUMN = ClassName.get(ComplexColumn.class);
   public static final ClassName JOIN_CLAUSE = ClassName.get(JoinClause.class);
   public static final ClassName FAST_CURSOR = ClassName.get("com.siimkinks.sqlitemagic", "FastCursor");
+  public static final ClassName SELECTION_PLAN = ClassName.get("com.siimkinks.sqlitemagic", "SelectionPlan");
+  public static final ClassName SELECTION_PLAN_NODE = SELECTION_PLAN.nestedClass("Node");
+  public static final ClassName ENTITY_IDENTITY_MAP = ClassName.get("com.siimkinks.sqlitemagic", "EntityIdentityMap");
+  public static final ClassName SQL_ARGS = ClassName.get(SqlArgs.class);
+  public static final ClassName STATIC_QUERY = ClassName.get("com.siimkinks.sqlitemagic", "StaticQuery");
+  public static final ClassName SQLITE_MAGIC_CURSOR = ClassName.get("com.siimkinks.sqlitemagic", "SqliteMagicCursor");
+  public static final ClassName QUERY = ClassName.get("com.siimkinks.sqlitemagic", "Query");
   public static final ClassName SIMPLE_ARRAY_MAP = ClassName.get(SimpleArrayMap.class);
   public static final ClassName STRING_ARRAY_SET = ClassName.get(StringArraySet.class);
   public static final ClassName COMPILED_N_COLUMNS_SELECT_IMPL = ClassName.get(CompiledSelectImpl.class);
@@ -184,6 +194,32 @@ public class WriterUtil {
     return MethodSpec.methodBuilder(methodName);
   }
 
+  public static CodeBlock changeSetOperation(String... operations) {
+    final CodeBlock.Builder builder = CodeBlock.builder();
+    for (int i = 0; i < operations.length; i++) {
+      if (i > 0) {
+        builder.add(" | ");
+      }
+      builder.add("$T.$L", CHANGE_SET, operations[i]);
+    }
+    return builder.build();
+  }
+
+  /**
+   * Add statement that sends trigger about the single changed row of {@code tableElement}.
+   * Falls back to table triggers when the operation can change any other rows.
+   */
+  public static void addRowTriggerSendingStatement(MethodSpec.Builder builder, TableElement tableElement,
+                                                   CodeBlock operation, CodeBlock rowId) {
+    if (!tableElement.canSendRowTriggers()) {
+      addTableTriggersSendingStatement(builder, tableElement.getAllTableTriggers());
+      return;
+    }
+    final FormatData tableName = tableNameFromStructureConstant(tableElement);
+    builder.addStatement(tableName.formatInto("$L.sendRowTrigger(%s, $L, $L)"),
+        tableName.getArgsBetween(DB_CONNECTION_VARIABLE).and(operation, rowId));
+  }
+
   public static MethodSpec buildSqlTransactionMethod(String methodName, CodeBlock sqlTransactionBody) {
     return buildSqlTransactionMethod(MethodSpec.methodBuilder(methodName), sqlTransactionBody);
   }
@@ -375,8 +411,13 @@ public class WriterUtil {
         .addCode(chainedScheduler());
   }
 
-  public static void addRxCompletableFromParentClass(MethodSpec.Builder builder) {
-    builder.addCode("return $T.fromAction(this)", COMPLETABLE)
+  public static void addRxSingleEntityWriteFromCallableParentClass(MethodSpec.Builder builder) {
+    builder.addCode("return $T.entityWriteSingle($L, this)", DB_CONNECTION_IMPL, DB_CONNECTION_VARIABLE)
+        .addCode(chainedScheduler());
+  }
+
+  public static void addRxCompletableEntityWriteFromParentClass(MethodSpec.Builder builder) {
+    builder.addCode("return $T.entityWriteCompletable($L, this)", DB_CONNECTION_IMPL, DB_CONNECTION_VARIABLE)
         .addCode(chainedScheduler());
   }
 
@@ -624,6 +665,16 @@ public class WriterUtil {
         .build();
   }
 
+  public static CodeBlock bulkInsertStatementVariable() {
+    return CodeBlock.builder()
+        .addStatement("final $T bulkStm = $L.$L($L)",
+            SQLITE_STATEMENT,
+            MANAGER_VARIABLE,
+            METHOD_GET_BULK_INSERT_STATEMENT,
+            FIELD_BULK_INSERT_SQL)
+        .build();
+  }
+
   public static CodeBlock updateStatementVariable() {
     return updateStatementVariable(STATEMENT_VARIABLE);
   }
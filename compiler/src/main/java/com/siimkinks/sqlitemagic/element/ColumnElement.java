@@ -8,6 +8,7 @@ import com.siimkinks.sqlitemagic.Const;
 import com.siimkinks.sqlitemagic.Environment;
 import com.siimkinks.sqlitemagic.annotation.Column;
 import com.siimkinks.sqlitemagic.annotation.Id;
+import com.siimkinks.sqlitemagic.annotation.Index;
 import com.siimkinks.sqlitemagic.annotation.Unique;
 import com.siimkinks.sqlitemagic.util.FormatData;
 import com.squareup.javapoet.TypeName;
@@ -43,6 +44,9 @@ public abstract class ColumnElement implements BaseColumnElement {
 
   abstract Unique getUniqueAnnotation();
 
+  @Nullable
+  public abstract Index getIndexAnnotation();
+
   public abstract TransformerElement getTransformer();
 
   public abstract Column getColumnAnnotation();
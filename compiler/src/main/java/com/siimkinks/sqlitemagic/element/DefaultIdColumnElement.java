@@ -4,6 +4,7 @@ import com.google.common.base.Strings;
 import com.siimkinks.sqlitemagic.Environment;
 import com.siimkinks.sqlitemagic.annotation.Column;
 import com.siimkinks.sqlitemagic.annotation.Id;
+import com.siimkinks.sqlitemagic.annotation.Index;
 import com.siimkinks.sqlitemagic.annotation.Unique;
 import com.siimkinks.sqlitemagic.util.FormatData;
 import com.squareup.javapoet.TypeName;
@@ -38,6 +39,7 @@ public final class DefaultIdColumnElement extends ColumnElement {
   private final TableElement referencedTable = null;
   private final Id idAnnotation = null;
   private final Unique uniqueAnnotation = null;
+  private final Index indexAnnotation = null;
   private final Column columnAnnotation = null;
   private final TransformerElement transformer = null;
   private final boolean id = true;
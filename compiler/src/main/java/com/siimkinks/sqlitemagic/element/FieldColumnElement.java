@@ -6,6 +6,7 @@ import com.siimkinks.sqlitemagic.Environment;
 import com.siimkinks.sqlitemagic.WriterUtil;
 import com.siimkinks.sqlitemagic.annotation.Column;
 import com.siimkinks.sqlitemagic.annotation.Id;
+import com.siimkinks.sqlitemagic.annotation.Index;
 import com.siimkinks.sqlitemagic.annotation.Unique;
 import com.siimkinks.sqlitemagic.util.FormatData;
 import com.siimkinks.sqlitemagic.util.StringUtil;
@@ -36,6 +37,7 @@ public class FieldColumnElement extends ColumnElement {
   private final Column columnAnnotation;
   private final Id idAnnotation;
   private final Unique uniqueAnnotation;
+  private final Index indexAnnotation;
   private final TableElement enclosingTable;
   private final String sqlType;
   // real Java type e.g. Author
@@ -66,6 +68,7 @@ public class FieldColumnElement extends ColumnElement {
         .columnAnnotation(columnAnnotation)
         .idAnnotation(columnElement.getAnnotation(Id.class))
         .uniqueAnnotation(columnElement.getAnnotation(Unique.class))
+        .indexAnnotation(columnElement.getAnnotation(Index.class))
         .enclosingTable(enclosingTable)
         .sqlType(sqlType)
         .deserializedType(deserializedType)
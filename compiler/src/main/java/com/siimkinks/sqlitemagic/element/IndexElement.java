@@ -0,0 +1,150 @@
+package com.siimkinks.sqlitemagic.element;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.google.common.base.Joiner;
+import com.google.common.base.Strings;
+import com.siimkinks.sqlitemagic.annotation.Index;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import lombok.Getter;
+
+/**
+ * {@link Index} defined on a table class or on one of its columns.
+ */
+public final class IndexElement {
+  private static final Pattern LEADING_COLUMN_NAME = Pattern.compile("^([A-Za-z_][A-Za-z0-9_]*)(\\s.*)?$", Pattern.DOTALL);
+
+  @Getter
+  private final TableElement enclosingTable;
+  @Getter
+  private final String indexName;
+  @Getter
+  private final boolean unique;
+  /**
+   * Indexed columns or expressions with their collation and sort order
+   */
+  @Getter
+  private final List<String> terms;
+  /**
+   * Partial index condition or {@code null} if all rows are indexed
+   */
+  @Getter
+  @Nullable
+  private final String where;
+  /**
+   * Column on which this index is defined or {@code null} for class level index
+   */
+  @Getter
+  @Nullable
+  private final ColumnElement column;
+
+  private IndexElement(@NonNull TableElement enclosingTable, @NonNull Index annotation,
+                       @NonNull List<String> terms, @Nullable ColumnElement column) {
+    this.enclosingTable = enclosingTable;
+    this.unique = annotation.unique();
+    this.terms = Collections.unmodifiableList(terms);
+    this.column = column;
+    final String where = annotation.where().trim();
+    this.where = where.isEmpty() ? null : where;
+    final String name = annotation.value().trim();
+    this.indexName = name.isEmpty() ? defaultIndexName(enclosingTable.getTableName(), terms) : name;
+  }
+
+  public static IndexElement forTable(@NonNull TableElement enclosingTable, @NonNull Index annotation) {
+    final List<String> terms = new ArrayList<>(annotation.columns().length);
+    for (String term : annotation.columns()) {
+      terms.add(term.trim());
+    }
+    return new IndexElement(enclosingTable, annotation, terms, null);
+  }
+
+  public static IndexElement forColumn(@NonNull TableElement enclosingTable, @NonNull ColumnElement column) {
+    final Index annotation = column.getIndexAnnotation();
+    final StringBuilder term = new StringBuilder(column.getColumnName());
+    final String collate = annotation.collate().trim();
+    if (!collate.isEmpty()) {
+      term.append(" COLLATE ").append(collate);
+    }
+    if (annotation.descending()) {
+      term.append(" DESC");
+    }
+    final List<String> terms = new ArrayList<>(1);
+    terms.add(term.toString());
+    return new IndexElement(enclosingTable, annotation, terms, column);
+  }
+
+  public boolean isColumnLevel() {
+    return column != null;
+  }
+
+  /**
+   * @return Column name that the indexed term starts with or {@code null} if the term
+   * is an expression
+   */
+  @Nullable
+  public static String leadingColumnName(@NonNull String term) {
+    final Matcher matcher = LEADING_COLUMN_NAME.matcher(term);
+    if (!matcher.matches()) {
+      return null;
+    }
+    final String rest = matcher.group(2);
+    if (rest != null && rest.trim().startsWith("(")) {
+      // function call
+      return null;
+    }
+    return matcher.group(1);
+  }
+
+  public String getSchema() {
+    return buildSchema(true);
+  }
+
+  /**
+   * @return Schema of the index in the form that SQLite stores it in {@code sqlite_master}
+   */
+  public String getMasterSchema() {
+    return buildSchema(false);
+  }
+
+  private String buildSchema(boolean ifNotExists) {
+    final StringBuilder schema = new StringBuilder("CREATE ");
+    if (unique) {
+      schema.append("UNIQUE ");
+    }
+    schema.append("INDEX ");
+    if (ifNotExists) {
+      schema.append("IF NOT EXISTS ");
+    }
+    schema.append(indexName)
+        .append(" ON ")
+        .append(enclosingTable.getTableName())
+        .append(" (");
+    Joiner.on(", ").appendTo(schema, terms);
+    schema.append(')');
+    if (!Strings.isNullOrEmpty(where)) {
+      schema.append(" WHERE ").append(where);
+    }
+    return schema.toString();
+  }
+
+  private static String defaultIndexName(String tableName, List<String> terms) {
+    final StringBuilder name = new StringBuilder("index_").append(tableName);
+    for (String term : terms) {
+      final String sanitizedTerm = term.toLowerCase(Locale.US)
+          .replaceAll("[^a-z0-9_]+", "_")
+          .replaceAll("^_+|_+$", "");
+      if (!sanitizedTerm.isEmpty()) {
+        name.append('_').append(sanitizedTerm);
+      }
+    }
+    return name.toString();
+  }
+}
@@ -0,0 +1,50 @@
+package com.siimkinks.sqlitemagic.element;
+
+import android.support.annotation.NonNull;
+
+import com.siimkinks.sqlitemagic.Environment;
+import com.siimkinks.sqlitemagic.writer.EntityEnvironment;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.TypeName;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+
+import lombok.Getter;
+
+import static com.siimkinks.sqlitemagic.util.NameConst.PACKAGE_ROOT;
+
+/**
+ * Interface which declares {@link com.siimkinks.sqlitemagic.annotation.Query} annotated methods.
+ */
+public final class QueryElement {
+  @Getter
+  private final TypeElement queryElement;
+  @Getter
+  private final TypeName queryElementTypeName;
+  @Getter
+  private final boolean isInterface;
+  @Getter
+  private final ClassName daoClassName;
+  @Getter
+  private final List<QueryMethodElement> methods = new ArrayList<>();
+
+  public QueryElement(@NonNull TypeElement element) {
+    this.queryElement = element;
+    this.queryElementTypeName = Environment.getTypeName(element);
+    this.isInterface = element.getKind() == ElementKind.INTERFACE;
+    // generated into root package, so it can use runtime internals
+    this.daoClassName = ClassName.get(PACKAGE_ROOT, EntityEnvironment.getGeneratedDaoClassNameString(element));
+  }
+
+  public void addMethod(@NonNull QueryMethodElement method) {
+    methods.add(method);
+  }
+
+  public String getQueryElementName() {
+    return queryElement.getSimpleName().toString();
+  }
+}
@@ -0,0 +1,482 @@
+package com.siimkinks.sqlitemagic.element;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.siimkinks.sqlitemagic.Environment;
+import com.siimkinks.sqlitemagic.annotation.Query;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Types;
+
+import lombok.Getter;
+
+import static com.siimkinks.sqlitemagic.util.StringUtil.replaceCamelCaseWithUnderscore;
+
+/**
+ * {@link Query} annotated method.
+ */
+public final class QueryMethodElement {
+  private static final Pattern SELECT_START = Pattern.compile("(?is)^SELECT\\s.*");
+  private static final Pattern SELECT_ALL = Pattern.compile("(?i)^SELECT\\s+\\*\\s+");
+  /**
+   * Keywords that can follow table name in FROM clause and therefore are never its alias.
+   */
+  private static final String NOT_TABLE_ALIAS = "(?:AS|WHERE|GROUP|ORDER|LIMIT|HAVING|WINDOW|UNION|EXCEPT|INTERSECT|" +
+      "JOIN|LEFT|INNER|CROSS|NATURAL|INDEXED|NOT|ON|USING)\\b";
+
+  public enum ReturnKind {
+    ENTITY,
+    ENTITY_LIST,
+    LONG,
+    INT
+  }
+
+  /**
+   * How a method parameter is bound to the statement.
+   */
+  public enum BindKind {
+    LONG,
+    BOOLEAN,
+    DOUBLE,
+    STRING,
+    BLOB
+  }
+
+  @Getter
+  private final ExecutableElement method;
+  @Getter
+  private final String sql;
+  @Getter
+  private final int sqlParameterCount;
+  @Getter
+  private final List<Parameter> parameters = new ArrayList<>();
+  /**
+   * Kind of the method return type or {@code null} if return type is not supported.
+   */
+  @Getter
+  @Nullable
+  private ReturnKind returnKind;
+  /**
+   * Table which objects the method returns or {@code null} if method returns a scalar.
+   */
+  @Getter
+  @Nullable
+  private TableElement resultTable;
+  /**
+   * Tables and views which changes trigger re-running the query.
+   */
+  @Getter
+  private final Set<String> observedTables = new LinkedHashSet<>();
+  /**
+   * Named or numbered host parameters, which are not supported.
+   */
+  @Getter
+  private final List<String> unsupportedSqlParameters = new ArrayList<>();
+  /**
+   * Names after {@code FROM} or {@code JOIN} that are neither tables nor views.
+   */
+  @Getter
+  private final List<String> unknownTables = new ArrayList<>();
+  /**
+   * {@code <table>.<column>} references to columns that the table does not have.
+   */
+  @Getter
+  private final List<String> unknownColumns = new ArrayList<>();
+
+  public QueryMethodElement(@NonNull Environment environment, @NonNull ExecutableElement method) {
+    this.method = method;
+    this.sql = method.getAnnotation(Query.class).value().trim();
+    final List<Token> tokens = tokenize(sql);
+    this.sqlParameterCount = countSqlParameters(tokens);
+    for (VariableElement parameter : method.getParameters()) {
+      parameters.add(new Parameter(parameter));
+    }
+    determineReturnKind(environment, method.getReturnType());
+    collectReferencedTables(environment, tokens);
+  }
+
+  public String getMethodName() {
+    return method.getSimpleName().toString();
+  }
+
+  public String getConstantName() {
+    return replaceCamelCaseWithUnderscore(getMethodName()).toUpperCase(Locale.US);
+  }
+
+  /**
+   * @return Final SQL of the query where all selected columns of a table object result
+   * are listed explicitly, so that result parser does not depend on the column order of
+   * the table in the database
+   */
+  public String getGeneratedSql() {
+    if (resultTable == null) {
+      return sql;
+    }
+    final String tableReference = resultTableReference();
+    final StringBuilder columns = new StringBuilder();
+    for (ColumnElement column : resultTable.getAllColumns()) {
+      if (columns.length() > 0) {
+        columns.append(',');
+      }
+      columns.append(tableReference).append('.').append(column.getColumnName());
+    }
+    return SELECT_ALL.matcher(sql).replaceFirst("SELECT " + Matcher.quoteReplacement(columns.toString()) + " ");
+  }
+
+  public boolean isSelectStatement() {
+    return SELECT_START.matcher(sql).matches();
+  }
+
+  /**
+   * Table object results must come from {@code SELECT * FROM <table> [[AS] <alias>]}, which
+   * is expanded to the columns that result parser reads.
+   */
+  public boolean selectsAllColumnsOfResultTable() {
+    return resultTableMatcher() != null;
+  }
+
+  /**
+   * @return Alias of the result table if it has one; otherwise its name
+   */
+  private String resultTableReference() {
+    final Matcher matcher = resultTableMatcher();
+    if (matcher == null || matcher.group(3) == null) {
+      return resultTable.getTableName();
+    }
+    return matcher.group(2) + matcher.group(3) + matcher.group(2);
+  }
+
+  @Nullable
+  private Matcher resultTableMatcher() {
+    if (resultTable == null) {
+      return null;
+    }
+    final String tableName = Pattern.quote(resultTable.getTableName());
+    final Matcher matcher = Pattern.compile("(?is)^SELECT\\s+\\*\\s+FROM\\s+([\"`]?)" + tableName + "\\1" +
+        "(?:\\s+(?:AS\\s+)?(?!" + NOT_TABLE_ALIAS + ")([\"`]?)([A-Za-z_][A-Za-z0-9_]*)\\2)?(\\s.*)?$")
+        .matcher(sql);
+    return matcher.matches() ? matcher : null;
+  }
+
+  private void determineReturnKind(@NonNull Environment environment, @NonNull TypeMirror returnType) {
+    switch (returnType.getKind()) {
+      case LONG:
+        returnKind = ReturnKind.LONG;
+        return;
+      case INT:
+        returnKind = ReturnKind.INT;
+        return;
+      case DECLARED:
+        break;
+      default:
+        return;
+    }
+    final TableElement table = findTableElement(environment, returnType);
+    if (table != null) {
+      returnKind = ReturnKind.ENTITY;
+      resultTable = table;
+      return;
+    }
+    final List<? extends TypeMirror> typeArguments = ((DeclaredType) returnType).getTypeArguments();
+    if (typeArguments.size() != 1) {
+      return;
+    }
+    final TableElement elementTable = findTableElement(environment, typeArguments.get(0));
+    final Types typeUtils = environment.getTypeUtils();
+    final TypeMirror arrayList = typeUtils.erasure(environment.getTypeElement(ArrayList.class).asType());
+    if (elementTable != null && typeUtils.isAssignable(arrayList, typeUtils.erasure(returnType))) {
+      returnKind = ReturnKind.ENTITY_LIST;
+      resultTable = elementTable;
+    }
+  }
+
+  @Nullable
+  private static TableElement findTableElement(@NonNull Environment environment, @NonNull TypeMirror type) {
+    if (type.getKind() != TypeKind.DECLARED) {
+      return null;
+    }
+    final String qualifiedName = Environment.getQualifiedName((TypeElement) ((DeclaredType) type).asElement());
+    for (TableElement tableElement : environment.getAllTableElements()) {
+      if (qualifiedName.equals(Environment.getQualifiedName(tableElement.getTableElement()))) {
+        return tableElement;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Collect tables and views that follow {@code FROM} and {@code JOIN} keywords and check
+   * {@code <table>.<column>} references against the table columns.
+   */
+  private void collectReferencedTables(@NonNull Environment environment, @NonNull List<Token> tokens) {
+    if (resultTable != null) {
+      observedTables.add(resultTable.getTableName());
+    }
+    final Map<String, TableElement> referencedTables = new HashMap<>();
+    for (int i = 0, size = tokens.size(); i < size; i++) {
+      final Token token = tokens.get(i);
+      if (!token.isKeyword("FROM") && !token.isKeyword("JOIN")) {
+        continue;
+      }
+      final boolean from = token.isKeyword("FROM");
+      int pos = i + 1;
+      while (pos < size && tokens.get(pos).isName()) {
+        String name = tokens.get(pos).text;
+        pos++;
+        if (pos + 1 < size && tokens.get(pos).isSymbol('.') && tokens.get(pos + 1).isName()) {
+          // schema qualified name
+          name = tokens.get(pos + 1).text;
+          pos += 2;
+        }
+        addReferencedTable(environment, name, referencedTables);
+        if (pos < size && tokens.get(pos).isKeyword("AS")) {
+          pos++;
+        }
+        if (pos < size && tokens.get(pos).isName() && !tokens.get(pos).isTableClauseEnd()) {
+          // alias
+          pos++;
+        }
+        if (!from || pos >= size || !tokens.get(pos).isSymbol(',')) {
+          break;
+        }
+        pos++;
+      }
+    }
+    for (int i = 0, size = tokens.size(); i + 2 < size; i++) {
+      final Token table = tokens.get(i);
+      final Token column = tokens.get(i + 2);
+      if (table.isName() && tokens.get(i + 1).isSymbol('.') && column.isName()) {
+        final TableElement tableElement = referencedTables.get(table.text.toLowerCase(Locale.US));
+        if (tableElement != null && !hasColumn(tableElement, column.text)) {
+          unknownColumns.add(tableElement.getTableName() + "." + column.text);
+        }
+      }
+    }
+  }
+
+  private void addReferencedTable(@NonNull Environment environment,
+                                  @NonNull String name,
+                                  @NonNull Map<String, TableElement> referencedTables) {
+    for (TableElement tableElement : environment.getAllTableElements()) {
+      if (tableElement.getTableName().equalsIgnoreCase(name)) {
+        observedTables.add(tableElement.getTableName());
+        referencedTables.put(name.toLowerCase(Locale.US), tableElement);
+        return;
+      }
+    }
+    for (ViewElement viewElement : environment.getViewElements()) {
+      if (viewElement.getViewName().equalsIgnoreCase(name)) {
+        for (TableElement tableElement : viewElement.getAllTableTriggers()) {
+          observedTables.add(tableElement.getTableName());
+        }
+        return;
+      }
+    }
+    unknownTables.add(name);
+  }
+
+  private static boolean hasColumn(@NonNull TableElement tableElement, @NonNull String columnName) {
+    for (ColumnElement column : tableElement.getAllColumns()) {
+      if (column.getColumnName().equalsIgnoreCase(columnName)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private int countSqlParameters(@NonNull List<Token> tokens) {
+    int count = 0;
+    for (Token token : tokens) {
+      if (token.type == TokenType.PARAMETER) {
+        if ("?".equals(token.text)) {
+          count++;
+        } else {
+          unsupportedSqlParameters.add(token.text);
+        }
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Split SQL into names, host parameters and symbols. Comments are dropped and literals
+   * are kept as single tokens, so their content is never mistaken for SQL.
+   */
+  @NonNull
+  static List<Token> tokenize(@NonNull String sql) {
+    final List<Token> tokens = new ArrayList<>();
+    final int length = sql.length();
+    int i = 0;
+    while (i < length) {
+      final char c = sql.charAt(i);
+      final char next = i + 1 < length ? sql.charAt(i + 1) : 0;
+      if (Character.isWhitespace(c)) {
+        i++;
+      } else if (c == '-' && next == '-') {
+        final int end = sql.indexOf('\n', i);
+        i = end == -1 ? length : end + 1;
+      } else if (c == '/' && next == '*') {
+        final int end = sql.indexOf("*/", i + 2);
+        i = end == -1 ? length : end + 2;
+      } else if (c == '\'') {
+        final int end = quoteEnd(sql, i, '\'');
+        tokens.add(new Token(TokenType.LITERAL, sql.substring(i, end)));
+        i = end;
+      } else if (c == '"' || c == '`' || c == '[') {
+        final int end = quoteEnd(sql, i, c == '[' ? ']' : c);
+        tokens.add(new Token(TokenType.QUOTED_NAME, sql.substring(i + 1, Math.max(i + 1, end - 1))));
+        i = end;
+      } else if (c == '?' || ((c == ':' || c == '@' || c == '$') && isNameChar(next))) {
+        final int end = nameEnd(sql, i + 1);
+        tokens.add(new Token(TokenType.PARAMETER, sql.substring(i, end)));
+        i = end;
+      } else if (isNameChar(c)) {
+        final int end = nameEnd(sql, i);
+        tokens.add(new Token(TokenType.NAME, sql.substring(i, end)));
+        i = end;
+      } else {
+        tokens.add(new Token(TokenType.SYMBOL, String.valueOf(c)));
+        i++;
+      }
+    }
+    return tokens;
+  }
+
+  private static int quoteEnd(@NonNull String sql, int start, char quote) {
+    final int end = sql.indexOf(quote, start + 1);
+    return end == -1 ? sql.length() : end + 1;
+  }
+
+  private static int nameEnd(@NonNull String sql, int start) {
+    int end = start;
+    while (end < sql.length() && (isNameChar(sql.charAt(end)) || sql.charAt(end) == '$')) {
+      end++;
+    }
+    return end;
+  }
+
+  private static boolean isNameChar(char c) {
+    return c == '_' || Character.isLetterOrDigit(c);
+  }
+
+  enum TokenType {
+    NAME,
+    QUOTED_NAME,
+    PARAMETER,
+    LITERAL,
+    SYMBOL
+  }
+
+  static final class Token {
+    /**
+     * Keywords that end a table reference, so they are never taken for a table alias.
+     */
+    private static final Set<String> TABLE_CLAUSE_END = new HashSet<>(Arrays.asList(
+        "WHERE", "GROUP", "HAVING", "ORDER", "LIMIT", "UNION", "INTERSECT", "EXCEPT",
+        "JOIN", "LEFT", "INNER", "CROSS", "NATURAL", "OUTER", "ON", "USING", "INDEXED", "NOT"));
+
+    final TokenType type;
+    final String text;
+
+    Token(@NonNull TokenType type, @NonNull String text) {
+      this.type = type;
+      this.text = text;
+    }
+
+    boolean isName() {
+      return type == TokenType.NAME || type == TokenType.QUOTED_NAME;
+    }
+
+    boolean isKeyword(@NonNull String keyword) {
+      return type == TokenType.NAME && keyword.equalsIgnoreCase(text);
+    }
+
+    boolean isSymbol(char symbol) {
+      return type == TokenType.SYMBOL && text.charAt(0) == symbol;
+    }
+
+    boolean isTableClauseEnd() {
+      return type == TokenType.NAME && TABLE_CLAUSE_END.contains(text.toUpperCase(Locale.US));
+    }
+  }
+
+  public static final class Parameter {
+    @Getter
+    private final VariableElement element;
+    /**
+     * How this parameter is bound or {@code null} if its type is not supported.
+     */
+    @Getter
+    @Nullable
+    private final BindKind bindKind;
+    @Getter
+    private final boolean nullable;
+
+    Parameter(@NonNull VariableElement element) {
+      this.element = element;
+      final TypeMirror type = element.asType();
+      this.nullable = !type.getKind().isPrimitive();
+      this.bindKind = bindKind(type);
+    }
+
+    public String getName() {
+      return element.getSimpleName().toString();
+    }
+
+    @Nullable
+    private static BindKind bindKind(@NonNull TypeMirror type) {
+      switch (type.getKind()) {
+        case LONG:
+        case INT:
+        case SHORT:
+        case BYTE:
+          return BindKind.LONG;
+        case BOOLEAN:
+          return BindKind.BOOLEAN;
+        case DOUBLE:
+        case FLOAT:
+          return BindKind.DOUBLE;
+        case ARRAY:
+          return ((ArrayType) type).getComponentType().getKind() == TypeKind.BYTE ? BindKind.BLOB : null;
+        case DECLARED:
+          switch (Environment.getQualifiedName((TypeElement) ((DeclaredType) type).asElement())) {
+            case "java.lang.Long":
+            case "java.lang.Integer":
+            case "java.lang.Short":
+            case "java.lang.Byte":
+              return BindKind.LONG;
+            case "java.lang.Boolean":
+              return BindKind.BOOLEAN;
+            case "java.lang.Double":
+            case "java.lang.Float":
+              return BindKind.DOUBLE;
+            case "java.lang.String":
+              return BindKind.STRING;
+            default:
+              return null;
+          }
+        default:
+          return null;
+      }
+    }
+  }
+}
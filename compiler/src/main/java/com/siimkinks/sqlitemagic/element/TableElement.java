@@ -7,6 +7,8 @@ import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableSet;
 import com.siimkinks.sqlitemagic.Environment;
 import com.siimkinks.sqlitemagic.WriterUtil;
+import com.siimkinks.sqlitemagic.annotation.Index;
+import com.siimkinks.sqlitemagic.annotation.Indices;
 import com.siimkinks.sqlitemagic.annotation.Table;
 import com.siimkinks.sqlitemagic.exception.DuplicateException;
 import com.siimkinks.sqlitemagic.exception.DuplicateIdException;
@@ -84,6 +86,11 @@ public class TableElement {
   private final List<ColumnElement> columnsExceptId = new ArrayList<>();
   @Getter
   private final List<ColumnElement> allColumns = new ArrayList<>();
+  /**
+   * Class and column level indexes
+   */
+  @Getter
+  private final List<IndexElement> indices = new ArrayList<>();
   private Set<TableElement> tableTriggers;
 
   public TableElement(Environment environment, Element tableElement) {
@@ -125,6 +132,34 @@ public class TableElement {
           tableElement.getSimpleName().toString());
     }
     addMissingColumnsIfNeeded();
+    collectIndices();
+  }
+
+  private void collectIndices() {
+    final Index index = tableElement.getAnnotation(Index.class);
+    if (index != null) {
+      indices.add(IndexElement.forTable(this, index));
+    }
+    final Indices tableIndices = tableElement.getAnnotation(Indices.class);
+    if (tableIndices != null) {
+      for (Index tableIndex : tableIndices.value()) {
+        indices.add(IndexElement.forTable(this, tableIndex));
+      }
+    }
+    for (ColumnElement columnElement : allColumns) {
+      if (columnElement.getIndexAnnotation() != null) {
+        indices.add(IndexElement.forColumn(this, columnElement));
+      }
+    }
+  }
+
+  public boolean hasColumnWithName(String columnName) {
+    for (ColumnElement columnElement : allColumns) {
+      if (columnElement.getColumnName().equals(columnName)) {
+        return true;
+      }
+    }
+    return false;
   }
 
   @NonNull
@@ -227,6 +262,10 @@ public class TableElement {
     return tableAnnotation.useAccessMethods();
   }
 
+  public int getEntityCacheSize() {
+    return tableAnnotation.cache();
+  }
+
   public boolean hasAnyComplexColumns() {
     return complexColumnCount > 0;
   }
@@ -255,6 +294,26 @@ public class TableElement {
     return !isImmutable() || !hasAnyNonIdNotNullableColumns();
   }
 
+  public boolean hasRowIdColumn() {
+    return hasId || !isImmutable();
+  }
+
+  /**
+   * @return Whether single entity operations change only the row of that entity
+   */
+  public boolean canSendRowTriggers() {
+    if (!hasRowIdColumn() || getAllTableTriggers().size() != 1) {
+      return false;
+    }
+    for (ColumnElement columnElement : allColumns) {
+      // conflict resolution can replace other rows with the same unique value
+      if (columnElement.isUnique() && !columnElement.isId()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   public Integer getGraphNodeCount() {
     if (graphNodeCount == null) {
       graphNodeCount = ElementGraphWalker.countNodes(this);
@@ -4,6 +4,8 @@ import com.siimkinks.sqlitemagic.Environment;
 import com.siimkinks.sqlitemagic.processing.GenClassesManagerStep;
 import com.siimkinks.sqlitemagic.processing.ModelCodeGenerationStep;
 import com.siimkinks.sqlitemagic.processing.ModelCollectionStep;
+import com.siimkinks.sqlitemagic.processing.QueryCodeGenerationStep;
+import com.siimkinks.sqlitemagic.processing.QueryCollectionStep;
 import com.siimkinks.sqlitemagic.processing.TransformerCodeGenerationStep;
 import com.siimkinks.sqlitemagic.processing.TransformerCollectionStep;
 import com.siimkinks.sqlitemagic.processing.ViewCodeGenerationStep;
@@ -24,6 +26,8 @@ import lombok.javac.handlers.HandleTable;
         GenClassesManagerStep.class,
         ViewCollectionStep.class,
         ViewCodeGenerationStep.class,
+        QueryCollectionStep.class,
+        QueryCodeGenerationStep.class,
         HandleTable.class,
     },
     library = true
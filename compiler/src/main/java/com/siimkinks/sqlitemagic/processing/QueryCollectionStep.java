@@ -0,0 +1,73 @@
+package com.siimkinks.sqlitemagic.processing;
+
+import com.siimkinks.sqlitemagic.Environment;
+import com.siimkinks.sqlitemagic.SqliteMagicProcessor;
+import com.siimkinks.sqlitemagic.annotation.Query;
+import com.siimkinks.sqlitemagic.element.QueryElement;
+import com.siimkinks.sqlitemagic.element.QueryMethodElement;
+import com.siimkinks.sqlitemagic.validator.QueryValidator;
+
+import java.lang.annotation.AnnotationTypeMismatchException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.RoundEnvironment;
+import javax.inject.Inject;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+
+public final class QueryCollectionStep implements ProcessingStep {
+
+  @Inject
+  Environment environment;
+  @Inject
+  QueryValidator validator;
+
+  public QueryCollectionStep() {
+    SqliteMagicProcessor.inject(this);
+  }
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+    final Map<TypeElement, QueryElement> queryElements = new LinkedHashMap<>();
+    for (Element element : roundEnv.getElementsAnnotatedWith(Query.class)) {
+      try {
+        final Element enclosingElement = element.getEnclosingElement();
+        if (!(enclosingElement instanceof TypeElement)) {
+          environment.error(element, QueryValidator.ERR_WRONG_TYPE);
+          return false;
+        }
+        final TypeElement typeElement = (TypeElement) enclosingElement;
+        QueryElement queryElement = queryElements.get(typeElement);
+        if (queryElement == null) {
+          queryElement = new QueryElement(typeElement);
+          queryElements.put(typeElement, queryElement);
+        }
+        queryElement.addMethod(new QueryMethodElement(environment, (ExecutableElement) element));
+      } catch (AnnotationTypeMismatchException ex) {
+        environment.error(element, String.format("@%s annotation attribute values must be self defined constant expressions",
+            Query.class.getSimpleName()));
+        return false;
+      } catch (Exception e) {
+        environment.error(element, "Query collection error = " + e.getMessage());
+        e.printStackTrace();
+        return false;
+      }
+    }
+
+    if (!validator.areDaoClassNamesUnique(queryElements.values())) {
+      return false;
+    }
+    boolean isSuccessfulProcess = true;
+    for (QueryElement queryElement : queryElements.values()) {
+      if (!validator.isQueryElementValid(queryElement)) {
+        isSuccessfulProcess = false;
+      } else {
+        environment.addQueryElement(queryElement);
+      }
+    }
+    return isSuccessfulProcess;
+  }
+}
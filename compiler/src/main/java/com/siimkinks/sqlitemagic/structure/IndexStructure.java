@@ -0,0 +1,32 @@
+package com.siimkinks.sqlitemagic.structure;
+
+import com.siimkinks.sqlitemagic.element.IndexElement;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+@Data
+@ToString
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@NoArgsConstructor
+public final class IndexStructure implements Serializable {
+  String name;
+  boolean unique;
+  ArrayList<String> columns;
+  String where;
+  String schema;
+
+  public static IndexStructure create(IndexElement indexElement) {
+    return new IndexStructure(indexElement.getIndexName(),
+        indexElement.isUnique(),
+        new ArrayList<>(indexElement.getTerms()),
+        indexElement.getWhere(),
+        indexElement.getSchema());
+  }
+}
@@ -18,8 +18,9 @@ import lombok.ToString;
 public final class TableStructure implements Serializable {
   String name;
   ArrayList<ColumnStructure> columns;
+  ArrayList<IndexStructure> indices;
 
-  public static TableStructure create(TableElement tableElement, ArrayList<ColumnStructure> columns) {
-    return new TableStructure(tableElement.getTableName(), columns);
+  public static TableStructure create(TableElement tableElement, ArrayList<ColumnStructure> columns, ArrayList<IndexStructure> indices) {
+    return new TableStructure(tableElement.getTableName(), columns, indices);
   }
 }
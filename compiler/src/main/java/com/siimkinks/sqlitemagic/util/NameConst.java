@@ -24,7 +24,11 @@ public final class NameConst {
   public static final String FIELD_VIEW_QUERY = "QUERY";
   public static final String FIELD_INSERT_SQL = "INSERT_SQL";
   public static final String FIELD_UPDATE_SQL = "UPDATE_SQL";
+  public static final String FIELD_BULK_INSERT_SQL = "BULK_INSERT_SQL";
+  public static final String FIELD_BULK_INSERT_ROW_COUNT = "BULK_INSERT_ROW_COUNT";
+  public static final String FIELD_BULK_DELETE_SQL_START = "BULK_DELETE_SQL_START";
   public static final String FIELD_TABLE_SCHEMA = "TABLE_SCHEMA";
+  public static final String FIELD_COLUMN_NAMES = "COLUMN_NAMES";
 
   public static final String METHOD_NEW_INSTANCE_WITH_ONLY_ID = "newInstanceWithOnlyId";
   public static final String METHOD_ADD_SHALLOW_QUERY_PARTS = "addShallowQueryParts";
@@ -36,6 +40,8 @@ public final class NameConst {
   public static final String METHOD_FROM_CURSOR_POSITION = "fromCurrentCursorPosition";
   public static final String METHOD_FULL_OBJECT_FROM_CURSOR_POSITION = "fullObjectFromCursorPosition";
   public static final String METHOD_SHALLOW_OBJECT_FROM_CURSOR_POSITION = "shallowObjectFromCursorPosition";
+  public static final String METHOD_NEW_FULL_OBJECT_FROM_CURSOR_POSITION = "newFullObjectFromCursorPosition";
+  public static final String METHOD_NEW_SHALLOW_OBJECT_FROM_CURSOR_POSITION = "newShallowObjectFromCursorPosition";
   public static final String METHOD_CREATE_VIEW = "createView";
   public static final String METHOD_SET_ID = "setId";
   public static final String METHOD_GET_ID = "getId";
@@ -44,12 +50,14 @@ public final class NameConst {
   public static final String METHOD_BIND_TO_UPDATE_STATEMENT = "bindToUpdateStatement";
   public static final String METHOD_BIND_TO_UPDATE_STATEMENT_WITH_COMPLEX_COLUMNS = "bindToUpdateStatementWithComplexColumns";
   public static final String METHOD_BIND_TO_INSERT_STATEMENT = "bindToInsertStatement";
+  public static final String METHOD_BIND_TO_BULK_INSERT_STATEMENT = "bindToBulkInsertStatement";
   public static final String METHOD_BIND_TO_NOT_NULL_CONTENT_VALUES = "bindNotNullToContentValues";
   public static final String METHOD_BIND_TO_CONTENT_VALUES = "bindAllToContentValues";
   public static final String METHOD_BIND_TO_CONTENT_VALUES_EXCEPT_ID = "bindAllExceptIdToContentValues";
   public static final String METHOD_DELETE = "delete";
   public static final String METHOD_DELETE_TABLE = "deleteTable";
   public static final String METHOD_GET_INSERT_STATEMENT = "getInsertStatement";
+  public static final String METHOD_GET_BULK_INSERT_STATEMENT = "getBulkInsertStatement";
   public static final String METHOD_INSERT = "insert";
   public static final String METHOD_INSERT_WITH_CONFLICT_ALGORITHM = "insertWithConflictAlgorithm";
   public static final String METHOD_GET_UPDATE_STATEMENT = "getUpdateStatement";
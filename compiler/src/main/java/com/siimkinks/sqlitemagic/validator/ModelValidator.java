@@ -6,13 +6,18 @@ import com.siimkinks.sqlitemagic.Const;
 import com.siimkinks.sqlitemagic.Environment;
 import com.siimkinks.sqlitemagic.annotation.Column;
 import com.siimkinks.sqlitemagic.annotation.Id;
+import com.siimkinks.sqlitemagic.annotation.Index;
 import com.siimkinks.sqlitemagic.annotation.Table;
 import com.siimkinks.sqlitemagic.element.ColumnElement;
 import com.siimkinks.sqlitemagic.element.ExtendedTypeElement;
 import com.siimkinks.sqlitemagic.element.FieldColumnElement;
+import com.siimkinks.sqlitemagic.element.IndexElement;
 import com.siimkinks.sqlitemagic.element.TableElement;
 import com.siimkinks.sqlitemagic.util.Utils;
 
+import java.util.HashSet;
+import java.util.Set;
+
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import javax.lang.model.element.Element;
@@ -31,9 +36,12 @@ public class ModelValidator {
 
   public static final String ERR_TABLE_MISPLACEMENT = String.format("Only classes can be annotated with @%s", Table.class.getSimpleName());
   public static final String ERR_MISSING_COLUMNS = "Table objects must have at least one column";
+  public static final String ERR_NEGATIVE_CACHE_SIZE = "Table entity cache size must not be negative";
   public static final String ERR_VALUE_ELEMENT_MISSING_ID_COLUMN = String.format("Immutable @%s annotated objects must have @%s annotated column", Table.class.getSimpleName(), Id.class.getSimpleName());
   public static final String ERR_COLUMN_ANNOTATION_MISPLACEMENT = String.format("@%s annotation is misplaced", Column.class.getSimpleName());
   public static final String ERR_ID_COLUMN_WRONG_TYPE = String.format("@%s must be either %s or %s", Id.class.getSimpleName(), Long.class.getName(), long.class.getName());
+  public static final String ERR_TABLE_INDEX_MISSING_COLUMNS = String.format("Class level @%s must define indexed columns", Index.class.getSimpleName());
+  public static final String ERR_COLUMN_INDEX_WITH_COLUMNS = String.format("Column level @%s must not define columns", Index.class.getSimpleName());
   public static final String ERR_MISSING_NO_ARGS_CONSTRUCTOR = String.format("Mutable classes with @%s annotation must have no args constructor", Table.class.getSimpleName());
   private final Environment environment;
 
@@ -59,12 +67,66 @@ public class ModelValidator {
       environment.error(rawElement, ERR_MISSING_COLUMNS);
       return false;
     }
+    if (tableElement.getEntityCacheSize() < 0) {
+      environment.error(rawElement, ERR_NEGATIVE_CACHE_SIZE);
+      return false;
+    }
+    if (!areIndicesValid(tableElement, rawElement)) {
+      return false;
+    }
     if (tableElement.isImmutable()) {
       return isImmutableTableElementValid(tableElement, rawElement);
     }
     return isRegularTableElementValid(rawElement);
   }
 
+  private boolean areIndicesValid(TableElement tableElement, TypeElement rawElement) {
+    final Set<String> indexNames = new HashSet<>();
+    for (IndexElement index : tableElement.getIndices()) {
+      if (index.isColumnLevel() && index.getColumn().getIndexAnnotation().columns().length > 0) {
+        environment.error(rawElement, "%s [column %s]", ERR_COLUMN_INDEX_WITH_COLUMNS, index.getColumn().getColumnName());
+        return false;
+      }
+      if (index.getTerms().isEmpty()) {
+        environment.error(rawElement, ERR_TABLE_INDEX_MISSING_COLUMNS);
+        return false;
+      }
+      for (String term : index.getTerms()) {
+        if (term.isEmpty()) {
+          environment.error(rawElement, "Index \"%s\" has empty column definition", index.getIndexName());
+          return false;
+        }
+        final String columnName = IndexElement.leadingColumnName(term);
+        if (columnName != null && !tableElement.hasColumnWithName(columnName)) {
+          environment.error(rawElement, "Index \"%s\" references unknown column \"%s\" of table %s",
+              index.getIndexName(),
+              columnName,
+              tableElement.getTableName());
+          return false;
+        }
+      }
+      if (!indexNames.add(index.getIndexName()) || isIndexNameTakenByOtherTable(tableElement, index.getIndexName())) {
+        environment.error(rawElement, "Duplicate index name \"%s\"", index.getIndexName());
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private boolean isIndexNameTakenByOtherTable(TableElement tableElement, String indexName) {
+    for (TableElement otherTable : environment.getAllTableElements()) {
+      if (otherTable.equals(tableElement)) {
+        continue;
+      }
+      for (IndexElement index : otherTable.getIndices()) {
+        if (index.getIndexName().equals(indexName)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
   private boolean isImmutableTableElementValid(TableElement tableElement, TypeElement rawElement) {
     if (!tableElement.hasId()) {
       environment.error(rawElement, ERR_VALUE_ELEMENT_MISSING_ID_COLUMN);
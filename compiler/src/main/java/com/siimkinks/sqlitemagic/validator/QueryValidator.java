@@ -0,0 +1,145 @@
+package com.siimkinks.sqlitemagic.validator;
+
+import com.siimkinks.sqlitemagic.Environment;
+import com.siimkinks.sqlitemagic.annotation.Query;
+import com.siimkinks.sqlitemagic.annotation.Table;
+import com.siimkinks.sqlitemagic.element.QueryElement;
+import com.siimkinks.sqlitemagic.element.QueryMethodElement;
+import com.squareup.javapoet.ClassName;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+
+@Singleton
+public final class QueryValidator {
+  public static final String ERR_WRONG_TYPE = String.format("@%s methods must be declared in a public interface",
+      Query.class.getSimpleName());
+  private static final String ERR_NOT_SELECT = String.format("@%s must define a SQL SELECT statement",
+      Query.class.getSimpleName());
+  private static final String ERR_UNSUPPORTED_RETURN_TYPE = String.format("@%s method must return @%s object, list of them, long or int",
+      Query.class.getSimpleName(), Table.class.getSimpleName());
+  private static final String ERR_UNSUPPORTED_PARAMETER_TYPE = "Unsupported query parameter type %s. " +
+      "Supported types are primitives, their boxed types, String and byte[]";
+
+  private final Environment environment;
+
+  @Inject
+  public QueryValidator(Environment environment) {
+    this.environment = environment;
+  }
+
+  public boolean isQueryElementValid(QueryElement queryElement) {
+    final TypeElement rawElement = queryElement.getQueryElement();
+    if (!queryElement.isInterface() || !rawElement.getModifiers().contains(Modifier.PUBLIC)) {
+      environment.error(rawElement, ERR_WRONG_TYPE);
+      return false;
+    }
+    if (!rawElement.getTypeParameters().isEmpty()) {
+      environment.error(rawElement, "@%s interface \"%s\" must not have type parameters",
+          Query.class.getSimpleName(),
+          queryElement.getQueryElementName());
+      return false;
+    }
+    for (Element enclosedElement : rawElement.getEnclosedElements()) {
+      if (enclosedElement.getKind() == ElementKind.METHOD
+          && enclosedElement.getAnnotation(Query.class) == null) {
+        environment.error(enclosedElement, "Interface \"%s\" declares @%s methods, so all its methods must be annotated with @%s",
+            queryElement.getQueryElementName(),
+            Query.class.getSimpleName(),
+            Query.class.getSimpleName());
+        return false;
+      }
+    }
+    boolean valid = true;
+    for (QueryMethodElement method : queryElement.getMethods()) {
+      valid &= isQueryMethodValid(method);
+    }
+    return valid;
+  }
+
+  /**
+   * Generated DAO classes are named after the simple name of the interface and all go into
+   * the same package, so interfaces with the same name in different packages collide.
+   */
+  public boolean areDaoClassNamesUnique(Collection<QueryElement> queryElements) {
+    final Map<ClassName, QueryElement> daoClassNames = new HashMap<>();
+    boolean unique = true;
+    for (QueryElement queryElement : queryElements) {
+      final QueryElement other = daoClassNames.put(queryElement.getDaoClassName(), queryElement);
+      if (other != null) {
+        environment.error(queryElement.getQueryElement(), "@%s interfaces %s and %s both generate %s -- rename one of them",
+            Query.class.getSimpleName(),
+            Environment.getQualifiedName(other.getQueryElement()),
+            Environment.getQualifiedName(queryElement.getQueryElement()),
+            queryElement.getDaoClassName());
+        unique = false;
+      }
+    }
+    return unique;
+  }
+
+  private boolean isQueryMethodValid(QueryMethodElement method) {
+    final ExecutableElement rawMethod = method.getMethod();
+    if (!method.isSelectStatement()) {
+      environment.error(rawMethod, ERR_NOT_SELECT);
+      return false;
+    }
+    if (!rawMethod.getTypeParameters().isEmpty()) {
+      environment.error(rawMethod, "@%s method must not have type parameters", Query.class.getSimpleName());
+      return false;
+    }
+    if (!method.getUnsupportedSqlParameters().isEmpty()) {
+      environment.error(rawMethod, "Query parameter \"%s\" is not supported -- use \"?\" parameters, " +
+              "which are bound in method parameters order",
+          method.getUnsupportedSqlParameters().get(0));
+      return false;
+    }
+    if (!method.getUnknownTables().isEmpty()) {
+      environment.error(rawMethod, "Query selects from unknown table or view \"%s\"",
+          method.getUnknownTables().get(0));
+      return false;
+    }
+    if (!method.getUnknownColumns().isEmpty()) {
+      environment.error(rawMethod, "Query references unknown column \"%s\"",
+          method.getUnknownColumns().get(0));
+      return false;
+    }
+    final int parameterCount = method.getParameters().size();
+    if (method.getSqlParameterCount() != parameterCount) {
+      environment.error(rawMethod, "Query has %d parameters, but method \"%s\" has %d",
+          method.getSqlParameterCount(),
+          method.getMethodName(),
+          parameterCount);
+      return false;
+    }
+    for (QueryMethodElement.Parameter parameter : method.getParameters()) {
+      if (parameter.getBindKind() == null) {
+        environment.error(parameter.getElement(), ERR_UNSUPPORTED_PARAMETER_TYPE, parameter.getElement().asType());
+        return false;
+      }
+    }
+    final QueryMethodElement.ReturnKind returnKind = method.getReturnKind();
+    if (returnKind == null) {
+      environment.error(rawMethod, ERR_UNSUPPORTED_RETURN_TYPE);
+      return false;
+    }
+    if ((returnKind == QueryMethodElement.ReturnKind.ENTITY || returnKind == QueryMethodElement.ReturnKind.ENTITY_LIST)
+        && !method.selectsAllColumnsOfResultTable()) {
+      environment.error(rawMethod, "Query returning %s objects must select all columns of its table " +
+              "-- \"SELECT * FROM %s ...\"",
+          method.getResultTable().getTableElementName(),
+          method.getResultTable().getTableName());
+      return false;
+    }
+    return true;
+  }
+}
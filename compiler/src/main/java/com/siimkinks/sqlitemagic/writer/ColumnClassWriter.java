@@ -28,6 +28,7 @@ import lombok.Data;
 import lombok.experimental.Builder;
 
 import static com.siimkinks.sqlitemagic.Const.CLASS_MODIFIERS;
+import static com.siimkinks.sqlitemagic.Const.SQL_ARGS_METHOD_MAP;
 import static com.siimkinks.sqlitemagic.WriterUtil.COLUMN;
 import static com.siimkinks.sqlitemagic.WriterUtil.COMPLEX_COLUMN;
 import static com.siimkinks.sqlitemagic.WriterUtil.FAST_CURSOR;
@@ -35,6 +36,7 @@ import static com.siimkinks.sqlitemagic.WriterUtil.NON_NULL;
 import static com.siimkinks.sqlitemagic.WriterUtil.NULLABLE;
 import static com.siimkinks.sqlitemagic.WriterUtil.NUMERIC_COLUMN;
 import static com.siimkinks.sqlitemagic.WriterUtil.SQLITE_STATEMENT;
+import static com.siimkinks.sqlitemagic.WriterUtil.SQL_ARGS;
 import static com.siimkinks.sqlitemagic.WriterUtil.STRING;
 import static com.siimkinks.sqlitemagic.WriterUtil.TABLE;
 import static com.siimkinks.sqlitemagic.WriterUtil.UTIL;
@@ -115,7 +117,7 @@ public final class ColumnClassWriter {
         .addTypeVariable(parentTableType)
         .superclass(superClass)
         .addMethod(constructor())
-        .addMethod(toSqlArg())
+        .addMethod(addSqlArg())
         .addMethod(aliasOverride());
     if (transformerElement != null) {
       classBuilder.addMethod(cursorParserOverride(transformerElement))
@@ -138,12 +140,15 @@ public final class ColumnClassWriter {
   }
 
   @NonNull
-  private MethodSpec toSqlArg() {
-    final MethodSpec.Builder builder = MethodSpec.methodBuilder("toSqlArg")
-        .addAnnotation(NON_NULL)
+  private MethodSpec addSqlArg() {
+    final MethodSpec.Builder builder = MethodSpec.methodBuilder("addSqlArg")
         .addAnnotation(Override.class)
-        .addParameter(notNullParameter(deserializedTypeName, VAL_VARIABLE))
-        .returns(String.class);
+        .addParameter(notNullParameter(SQL_ARGS, "args"))
+        .addParameter(notNullParameter(deserializedTypeName, VAL_VARIABLE));
+    String addMethod = SQL_ARGS_METHOD_MAP.get(serializedType.getQualifiedName());
+    if (addMethod == null) {
+      addMethod = "addValue";
+    }
     if (initBlock != null) {
       builder.addCode(initBlock);
     }
@@ -152,27 +157,11 @@ public final class ColumnClassWriter {
           valueGetter.getWithOtherArgsBefore(serializedType.getTypeElement()))
           .beginControlFlow("if (sqlVal == null)")
           .addStatement("throw new $T($S)", NullPointerException.class, "SQL argument cannot be null")
-          .endControlFlow();
-      if (serializedType.isPrimitiveElement()) {
-        final TypeName boxedType = TypeName.get(serializedType.getTypeMirror()).box();
-        builder.addStatement("return $T.toString(sqlVal)", boxedType);
-      } else if (serializedType.isStringType(environment)) {
-        builder.addStatement("return sqlVal");
-      } else {
-        builder.addStatement("return sqlVal.toString()");
-      }
+          .endControlFlow()
+          .addStatement("args.$L(sqlVal)", addMethod);
     } else {
-      if (serializedType.isPrimitiveElement()) {
-        final TypeName boxedType = TypeName.get(serializedType.getTypeMirror()).box();
-        builder.addStatement(String.format("return $T.toString(%s)", valueGetter.getFormat()),
-            valueGetter.getWithOtherArgsBefore(boxedType));
-      } else if (serializedType.isStringType(environment)) {
-        builder.addStatement(String.format("return %s", valueGetter.getFormat()),
-            valueGetter.getArgs());
-      } else {
-        builder.addStatement(String.format("return %s.toString()", valueGetter.getFormat()),
-            valueGetter.getArgs());
-      }
+      builder.addStatement(String.format("args.$L(%s)", valueGetter.getFormat()),
+          valueGetter.getWithOtherArgsBefore(addMethod));
     }
     return builder.build();
   }
@@ -4,11 +4,13 @@ import com.siimkinks.sqlitemagic.Environment;
 import com.siimkinks.sqlitemagic.WriterUtil;
 import com.siimkinks.sqlitemagic.element.ColumnElement;
 import com.siimkinks.sqlitemagic.element.ExtendedTypeElement;
+import com.siimkinks.sqlitemagic.element.IndexElement;
 import com.siimkinks.sqlitemagic.element.TableElement;
 import com.siimkinks.sqlitemagic.element.TransformerElement;
 import com.siimkinks.sqlitemagic.element.ViewElement;
 import com.siimkinks.sqlitemagic.processing.GenClassesManagerStep;
 import com.siimkinks.sqlitemagic.structure.ColumnStructure;
+import com.siimkinks.sqlitemagic.structure.IndexStructure;
 import com.siimkinks.sqlitemagic.structure.TableStructure;
 import com.siimkinks.sqlitemagic.util.FormatData;
 import com.siimkinks.sqlitemagic.util.JsonConfig;
@@ -40,20 +42,26 @@ import static com.siimkinks.sqlitemagic.Const.STATIC_METHOD_MODIFIERS;
 import static com.siimkinks.sqlitemagic.GlobalConst.CLASS_NAME_GENERATED_CLASSES_MANAGER;
 import static com.siimkinks.sqlitemagic.GlobalConst.METHOD_COLUMN_FOR_VALUE;
 import static com.siimkinks.sqlitemagic.GlobalConst.METHOD_CONFIGURE_DATABASE;
+import static com.siimkinks.sqlitemagic.GlobalConst.METHOD_CREATE_INDICES;
 import static com.siimkinks.sqlitemagic.GlobalConst.METHOD_CREATE_TABLES;
 import static com.siimkinks.sqlitemagic.GlobalConst.METHOD_GET_DB_NAME;
 import static com.siimkinks.sqlitemagic.GlobalConst.METHOD_GET_DB_VERSION;
+import static com.siimkinks.sqlitemagic.GlobalConst.METHOD_GET_INDEX_SCHEMAS;
 import static com.siimkinks.sqlitemagic.GlobalConst.METHOD_GET_NR_OF_TABLES;
 import static com.siimkinks.sqlitemagic.WriterUtil.COLUMN;
 import static com.siimkinks.sqlitemagic.WriterUtil.COMPILED_N_COLUMNS_SELECT;
 import static com.siimkinks.sqlitemagic.WriterUtil.COMPILED_N_COLUMNS_SELECT_IMPL;
+import static com.siimkinks.sqlitemagic.WriterUtil.ENTITY_IDENTITY_MAP;
 import static com.siimkinks.sqlitemagic.WriterUtil.FAST_CURSOR;
 import static com.siimkinks.sqlitemagic.WriterUtil.FROM;
 import static com.siimkinks.sqlitemagic.WriterUtil.MUTABLE_INT;
 import static com.siimkinks.sqlitemagic.WriterUtil.NON_NULL;
 import static com.siimkinks.sqlitemagic.WriterUtil.NULLABLE;
+import static com.siimkinks.sqlitemagic.WriterUtil.SELECTION_PLAN;
+import static com.siimkinks.sqlitemagic.WriterUtil.SELECTION_PLAN_NODE;
 import static com.siimkinks.sqlitemagic.WriterUtil.SIMPLE_ARRAY_MAP;
 import static com.siimkinks.sqlitemagic.WriterUtil.SQLITE_DATABASE;
+import static com.siimkinks.sqlitemagic.WriterUtil.SQL_ARGS;
 import static com.siimkinks.sqlitemagic.WriterUtil.STRING;
 import static com.siimkinks.sqlitemagic.WriterUtil.STRING_ARRAY_SET;
 import static com.siimkinks.sqlitemagic.WriterUtil.TABLE;
@@ -82,10 +90,13 @@ public class GenClassesManagerWriter {
     if (!environment.getAllTableElements().isEmpty()) {
       Filer filer = environment.getFiler();
       final MethodSpec executeViewCreate = executeViewCreate();
+      final MethodSpec indicesCreator = indicesCreator(environment);
       TypeSpec.Builder classBuilder = TypeSpec.classBuilder(CLASS_NAME_GENERATED_CLASSES_MANAGER)
           .addModifiers(CLASS_MODIFIERS)
           .addMethod(databaseConfigurator(environment))
-          .addMethod(databaseSchemaCreator(environment, managerStep, executeViewCreate))
+          .addMethod(databaseSchemaCreator(environment, managerStep, executeViewCreate, indicesCreator))
+          .addMethod(indicesCreator)
+          .addMethod(indexSchemas(environment))
           .addMethod(executeViewCreate)
           .addMethod(nrOfTables(environment))
           .addMethod(dbVersion(environment))
@@ -105,7 +116,12 @@ public class GenClassesManagerWriter {
       for (ColumnElement columnElement : allColumns) {
         columns.add(ColumnStructure.create(columnElement));
       }
-      structure.put(tableElement.getTableName(), TableStructure.create(tableElement, columns));
+      final List<IndexElement> indices = tableElement.getIndices();
+      final ArrayList<IndexStructure> indexStructures = new ArrayList<>(indices.size());
+      for (IndexElement index : indices) {
+        indexStructures.add(IndexStructure.create(index));
+      }
+      structure.put(tableElement.getTableName(), TableStructure.create(tableElement, columns, indexStructures));
     }
     try {
       final File latestStructDir = new File(System.getProperty("PROJECT_DIR"), "db");
@@ -140,10 +156,15 @@ public class GenClassesManagerWriter {
     return false;
   }
 
-  private MethodSpec databaseSchemaCreator(Environment environment, GenClassesManagerStep managerStep, MethodSpec executeViewCreate) {
+  private MethodSpec databaseSchemaCreator(Environment environment,
+                                           GenClassesManagerStep managerStep,
+                                           MethodSpec executeViewCreate,
+                                           MethodSpec indicesCreator) {
     MethodSpec.Builder method = createMagicInvokableMethod(CLASS_NAME_GENERATED_CLASSES_MANAGER, METHOD_CREATE_TABLES);
     final CodeBlock.Builder sqlTransactionBody = CodeBlock.builder();
     sqlTransactionBody.add(buildSchemaCreations(environment));
+    // indices may be defined only after all tables exist
+    sqlTransactionBody.addStatement("$N(db)", indicesCreator);
     sqlTransactionBody.add(buildViewSchemaCreations(managerStep, executeViewCreate));
     return WriterUtil.buildSqlTransactionMethod(method, sqlTransactionBody.build());
   }
@@ -171,9 +192,9 @@ public class GenClassesManagerWriter {
         .addParameter(notNullParameter(STRING, "viewName"))
         .addStatement("final $1T queryImpl = ($1T) query",
             COMPILED_N_COLUMNS_SELECT_IMPL)
-        .addStatement("final String[] args = queryImpl.args")
+        .addStatement("final $T args = queryImpl.args", SQL_ARGS)
         .beginControlFlow("if (args != null)")
-        .addStatement("db.execSQL(\"CREATE VIEW IF NOT EXISTS \" + viewName + \" AS \" + queryImpl.sql, args)")
+        .addStatement("db.execSQL(\"CREATE VIEW IF NOT EXISTS \" + viewName + \" AS \" + queryImpl.sql, args.toObjectArray())")
         .nextControlFlow("else")
         .addStatement("db.execSQL(\"CREATE VIEW IF NOT EXISTS \" + viewName + \" AS \" + queryImpl.sql)")
         .endControlFlow()
@@ -190,6 +211,49 @@ public class GenClassesManagerWriter {
     return builder.build();
   }
 
+  /**
+   * Index schema is idempotent, so the same method creates indices of new databases and
+   * adds missing indices on upgrade.
+   */
+  private MethodSpec indicesCreator(Environment environment) {
+    final MethodSpec.Builder method = createMagicInvokableMethod(CLASS_NAME_GENERATED_CLASSES_MANAGER, METHOD_CREATE_INDICES)
+        .addModifiers(STATIC_METHOD_MODIFIERS)
+        .addParameter(SQLITE_DATABASE, "db");
+    final CodeBlock.Builder body = CodeBlock.builder();
+    WriterUtil.addDebugLogging(body, "Creating indices");
+    for (TableElement tableElement : environment.getAllTableElements()) {
+      for (IndexElement index : tableElement.getIndices()) {
+        body.addStatement("db.execSQL($S)", index.getSchema());
+      }
+    }
+    return method.addCode(body.build()).build();
+  }
+
+  /**
+   * Index schemas of all tables in the form that SQLite stores them, so that database
+   * upgrade can drop changed and removed indices.
+   */
+  private MethodSpec indexSchemas(Environment environment) {
+    final TypeName tableIndicesType = ParameterizedTypeName.get(SIMPLE_ARRAY_MAP, STRING, STRING);
+    final TypeName schemasType = ParameterizedTypeName.get(SIMPLE_ARRAY_MAP, STRING, tableIndicesType);
+    final List<TableElement> allTableElements = environment.getAllTableElements();
+    final MethodSpec.Builder method = createMagicInvokableMethod(CLASS_NAME_GENERATED_CLASSES_MANAGER, METHOD_GET_INDEX_SCHEMAS)
+        .addModifiers(STATIC_METHOD_MODIFIERS)
+        .returns(schemasType)
+        .addStatement("final $T schemas = new $T<>($L)", schemasType, SIMPLE_ARRAY_MAP, allTableElements.size())
+        .addStatement("$T tableIndices", tableIndicesType);
+    for (TableElement tableElement : allTableElements) {
+      final List<IndexElement> indices = tableElement.getIndices();
+      method.addStatement("tableIndices = new $T<>($L)", SIMPLE_ARRAY_MAP, indices.size());
+      for (IndexElement index : indices) {
+        method.addStatement("tableIndices.put($S, $S)", index.getIndexName(), index.getMasterSchema());
+      }
+      method.addStatement("schemas.put($S, tableIndices)", tableElement.getTableName());
+    }
+    return method.addStatement("return schemas")
+        .build();
+  }
+
   private MethodSpec nrOfTables(Environment environment) {
     return createMagicInvokableMethod(CLASS_NAME_GENERATED_CLASSES_MANAGER, METHOD_GET_NR_OF_TABLES)
         .addModifiers(STATIC_METHOD_MODIFIERS)
@@ -270,19 +334,28 @@ public class GenClassesManagerWriter {
   }
 
   static String loadFromCursorMethodParams() {
-    return "cursor, columns, tableGraphNodeNames, queryDeep";
+    return "cursor, selection, queryDeep";
   }
 
   static void addLoadFromCursorMethodParams(MethodSpec.Builder builder) {
     builder.addParameter(notNullParameter(FAST_CURSOR, "cursor"))
-        .addParameter(columnsParam())
-        .addParameter(tableGraphNodeNamesParam())
+        .addParameter(selectionParam())
         .addParameter(boolean.class, "queryDeep");
   }
 
-  static ParameterSpec columnsParam() {
-    return ParameterSpec.builder(ParameterizedTypeName.get(SIMPLE_ARRAY_MAP, STRING, TypeName.INT.box()),
-        "columns")
+  static ParameterSpec selectionParam() {
+    return ParameterSpec.builder(SELECTION_PLAN,
+        "selection")
+        .addAnnotation(NULLABLE)
+        .build();
+  }
+
+  static ParameterSpec selectionNodeParam() {
+    return notNullParameter(SELECTION_PLAN_NODE, "node");
+  }
+
+  static ParameterSpec identityMapParam() {
+    return ParameterSpec.builder(ENTITY_IDENTITY_MAP, "identityMap")
         .addAnnotation(NULLABLE)
         .build();
   }
@@ -7,6 +7,7 @@ import com.siimkinks.sqlitemagic.util.Callback;
 import com.siimkinks.sqlitemagic.util.ReturnCallback;
 import com.squareup.javapoet.ClassName;
 import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
 import com.squareup.javapoet.MethodSpec;
 import com.squareup.javapoet.ParameterSpec;
 import com.squareup.javapoet.ParameterizedTypeName;
@@ -21,10 +22,12 @@ import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.experimental.Builder;
 
+import static com.siimkinks.sqlitemagic.Const.PUBLIC_STATIC_FINAL;
 import static com.siimkinks.sqlitemagic.Const.STATIC_METHOD_MODIFIERS;
 import static com.siimkinks.sqlitemagic.GlobalConst.ERROR_UNSUBSCRIBED_UNEXPECTEDLY;
 import static com.siimkinks.sqlitemagic.GlobalConst.FAILED_TO_INSERT_ERR_MSG;
 import static com.siimkinks.sqlitemagic.SqliteMagicProcessor.GENERATE_LOGGING;
+import static com.siimkinks.sqlitemagic.WriterUtil.ARRAY_LIST;
 import static com.siimkinks.sqlitemagic.WriterUtil.CONTENT_VALUES;
 import static com.siimkinks.sqlitemagic.WriterUtil.ENTITY_BULK_INSERT_BUILDER;
 import static com.siimkinks.sqlitemagic.WriterUtil.ENTITY_INSERT_BUILDER;
@@ -37,7 +40,9 @@ import static com.siimkinks.sqlitemagic.WriterUtil.addCallableToType;
 import static com.siimkinks.sqlitemagic.WriterUtil.addConflictAlgorithmToOperationBuilder;
 import static com.siimkinks.sqlitemagic.WriterUtil.addRxCompletableFromEmitterFromParentClass;
 import static com.siimkinks.sqlitemagic.WriterUtil.addRxCompletableFromEmitterToType;
-import static com.siimkinks.sqlitemagic.WriterUtil.addRxSingleCreateFromCallableParentClass;
+import static com.siimkinks.sqlitemagic.WriterUtil.addRxSingleEntityWriteFromCallableParentClass;
+import static com.siimkinks.sqlitemagic.WriterUtil.bulkInsertStatementVariable;
+import static com.siimkinks.sqlitemagic.WriterUtil.changeSetOperation;
 import static com.siimkinks.sqlitemagic.WriterUtil.conflictAlgorithmParameter;
 import static com.siimkinks.sqlitemagic.WriterUtil.connectionImplParameter;
 import static com.siimkinks.sqlitemagic.WriterUtil.entityDbManagerParameter;
@@ -51,6 +56,9 @@ import static com.siimkinks.sqlitemagic.WriterUtil.operationRxSingleMethod;
 import static com.siimkinks.sqlitemagic.WriterUtil.typedIterable;
 import static com.siimkinks.sqlitemagic.util.NameConst.CLASS_BULK_INSERT;
 import static com.siimkinks.sqlitemagic.util.NameConst.CLASS_INSERT;
+import static com.siimkinks.sqlitemagic.util.NameConst.FIELD_BULK_INSERT_ROW_COUNT;
+import static com.siimkinks.sqlitemagic.util.NameConst.FIELD_BULK_INSERT_SQL;
+import static com.siimkinks.sqlitemagic.util.NameConst.METHOD_BIND_TO_BULK_INSERT_STATEMENT;
 import static com.siimkinks.sqlitemagic.util.NameConst.METHOD_BIND_TO_CONTENT_VALUES;
 import static com.siimkinks.sqlitemagic.util.NameConst.METHOD_BIND_TO_CONTENT_VALUES_EXCEPT_ID;
 import static com.siimkinks.sqlitemagic.util.NameConst.METHOD_BIND_TO_INSERT_STATEMENT;
@@ -76,6 +84,8 @@ import static com.siimkinks.sqlitemagic.writer.ModelPersistingGenerator.addTopMe
 import static com.siimkinks.sqlitemagic.writer.ModelPersistingGenerator.addTransactionEndBlock;
 import static com.siimkinks.sqlitemagic.writer.ModelPersistingGenerator.addTransactionStartBlock;
 import static com.siimkinks.sqlitemagic.writer.ModelPersistingGenerator.contentValuesAndDbVariables;
+import static com.siimkinks.sqlitemagic.writer.ModelPersistingGenerator.insertColumnCount;
+import static com.siimkinks.sqlitemagic.writer.ModelPersistingGenerator.insertSql;
 import static com.siimkinks.sqlitemagic.writer.ModelPersistingGenerator.isIdSettingNeeded;
 import static com.siimkinks.sqlitemagic.writer.ModelPersistingGenerator.statementWithImmutableIdsIfNeeded;
 import static com.siimkinks.sqlitemagic.writer.ModelWriter.CONFLICT_ALGORITHM_VARIABLE;
@@ -86,6 +96,14 @@ import static com.siimkinks.sqlitemagic.writer.ModelWriter.OBJECTS_VARIABLE;
 @Builder
 @AllArgsConstructor(access = AccessLevel.PRIVATE)
 public class InsertWriter implements OperationWriter {
+  /**
+   * SQLite default for the maximum number of host parameters in a single statement.
+   */
+  private static final int MAX_HOST_PARAMETERS = 999;
+  /**
+   * SQLite default for the maximum number of rows in a single "VALUES" clause.
+   */
+  private static final int MAX_VALUES_ROWS = 500;
 
   private final EntityEnvironment entityEnvironment;
   private final TableElement tableElement;
@@ -112,6 +130,9 @@ public class InsertWriter implements OperationWriter {
   @Override
   public void writeDao(TypeSpec.Builder classBuilder) {
     classBuilder.addMethod(bindToInsertStatement());
+    if (isBulkInsertBatchable()) {
+      classBuilder.addMethod(bindToBulkInsertStatement());
+    }
     addInsertMethodInternalCallOnComplexColumnsIfNeeded(classBuilder);
     addInsertWithConflictAlgorithmMethodInternalCallOnComplexColumnsIfNeeded(classBuilder);
   }
@@ -124,6 +145,35 @@ public class InsertWriter implements OperationWriter {
         .addMethod(internalInsertWithConflictAlgorithm)
         .addType(insert(internalInsert, internalInsertWithConflictAlgorithm))
         .addType(bulkInsert());
+    if (isBulkInsertBatchable()) {
+      final int rowCount = bulkInsertRowCount();
+      classBuilder.addField(FieldSpec.builder(TypeName.INT, FIELD_BULK_INSERT_ROW_COUNT)
+          .addModifiers(PUBLIC_STATIC_FINAL)
+          .initializer("$L", rowCount)
+          .build())
+          .addField(FieldSpec.builder(String.class, FIELD_BULK_INSERT_SQL)
+              .addModifiers(PUBLIC_STATIC_FINAL)
+              .initializer("$S", insertSql(tableElement, rowCount))
+              .build());
+    }
+  }
+
+  /**
+   * Bulk insert binds multiple rows into a single statement when there is nothing to do
+   * per row after the insert - no complex columns to persist first and no ids to set back.
+   */
+  private boolean isBulkInsertBatchable() {
+    return !tableElement.hasAnyPersistedComplexColumns()
+        && !isIdSettingNeeded(tableElement)
+        && bulkInsertRowCount() > 1;
+  }
+
+  private int bulkInsertRowCount() {
+    final int columnCount = insertColumnCount(tableElement);
+    if (columnCount == 0) {
+      return 0;
+    }
+    return Math.min(MAX_VALUES_ROWS, MAX_HOST_PARAMETERS / columnCount);
   }
 
   // -------------------------------------------
@@ -154,6 +204,23 @@ public class InsertWriter implements OperationWriter {
     return builder.build();
   }
 
+  private MethodSpec bindToBulkInsertStatement() {
+    final MethodSpec.Builder builder = MethodSpec.methodBuilder(METHOD_BIND_TO_BULK_INSERT_STATEMENT)
+        .addModifiers(STATIC_METHOD_MODIFIERS)
+        .addParameter(SQLITE_STATEMENT, "statement")
+        .addParameter(TypeName.INT, "offset")
+        .addParameter(entityParameter(tableElementTypeName));
+    int colPos = 1;
+    for (ColumnElement columnElement : tableElement.getAllColumns()) {
+      if (columnElement.isId() && columnElement.isAutoincrementId()) {
+        continue;
+      }
+      addBindColumnToStatementBlock(builder, "offset + " + colPos, columnElement);
+      colPos++;
+    }
+    return builder.build();
+  }
+
   private void addInsertMethodInternalCallOnComplexColumnsIfNeeded(TypeSpec.Builder daoClassBuilder) {
     addMethodInternalCallOnComplexColumnsIfNeeded(daoClassBuilder, entityEnvironment, METHOD_CALL_INTERNAL_INSERT_ON_COMPLEX_COLUMNS,
         COMPLEX_COLUMN_PARAM_TO_ENTITY_DB_MANAGER,
@@ -284,7 +351,8 @@ public class InsertWriter implements OperationWriter {
 
     final String returnStatement = "return id";
     final String failReturnStatement = "return -1";
-    addTopMethodEndBlock(builder, allTableTriggers, hasAnyPersistedComplexColumns, returnStatement, failReturnStatement);
+    addTopMethodEndBlock(builder, tableElement, changeSetOperation("OPERATION_INSERT"), CodeBlock.builder().add("id").build(),
+        returnStatement, failReturnStatement);
 
     return builder.build();
   }
@@ -303,7 +371,7 @@ public class InsertWriter implements OperationWriter {
             .addStatement("return id");
       }
     });
-    addRxSingleCreateFromCallableParentClass(builder);
+    addRxSingleEntityWriteFromCallableParentClass(builder);
     return builder.build();
   }
 
@@ -327,6 +395,11 @@ public class InsertWriter implements OperationWriter {
         builder.addCode(entityDbVariablesForOperationBuilder(tableElement));
         addSubscriptionForEmitter(builder);
         addTransactionStartBlock(builder);
+        if (isBulkInsertBatchable()) {
+          addBatchedBulkInsert(builder, true);
+          addRxCompletableEmitterTransactionEndBlock(builder, allTableTriggers);
+          return;
+        }
         builder.addCode(insertStatementVariable())
             .beginControlFlow("synchronized (stm)")
             .beginControlFlow("for ($T $L : $L)", tableElementTypeName, ENTITY_VARIABLE, OBJECTS_VARIABLE);
@@ -355,6 +428,11 @@ public class InsertWriter implements OperationWriter {
         .returns(TypeName.BOOLEAN)
         .addCode(entityDbVariablesForOperationBuilder(tableElement));
     addTransactionStartBlock(builder);
+    if (isBulkInsertBatchable()) {
+      addBatchedBulkInsert(builder, false);
+      addTransactionEndBlock(builder, allTableTriggers, "return true", "return false");
+      return builder.build();
+    }
     builder.addCode(insertStatementVariable())
         .beginControlFlow("synchronized (stm)")
         .beginControlFlow("for ($T $L : $L)", tableElementTypeName, ENTITY_VARIABLE, OBJECTS_VARIABLE);
@@ -375,6 +453,43 @@ public class InsertWriter implements OperationWriter {
     return builder.build();
   }
 
+  private void addBatchedBulkInsert(MethodSpec.Builder builder, boolean checkSubscription) {
+    final int columnCount = insertColumnCount(tableElement);
+    builder.addStatement("final $T batch = new $T<>($L)",
+        ParameterizedTypeName.get(ARRAY_LIST, tableElementTypeName), ARRAY_LIST, FIELD_BULK_INSERT_ROW_COUNT)
+        .addCode(bulkInsertStatementVariable())
+        .beginControlFlow("for ($T $L : $L)", tableElementTypeName, ENTITY_VARIABLE, OBJECTS_VARIABLE);
+    addInsertLoggingStatement(builder, tableElement);
+    builder.addStatement("batch.add($L)", ENTITY_VARIABLE)
+        .beginControlFlow("if (batch.size() == $L)", FIELD_BULK_INSERT_ROW_COUNT)
+        .beginControlFlow("synchronized (bulkStm)")
+        .addStatement("bulkStm.clearBindings()")
+        .beginControlFlow("for (int i = 0; i < $L; i++)", FIELD_BULK_INSERT_ROW_COUNT)
+        .addStatement("$T.$L(bulkStm, i * $L, batch.get(i))", daoClassName, METHOD_BIND_TO_BULK_INSERT_STATEMENT, columnCount)
+        .endControlFlow()
+        .beginControlFlow("if (bulkStm.executeInsert() == -1)")
+        .addStatement("throw new $T($S)", OPERATION_FAILED_EXCEPTION, FAILED_TO_INSERT_ERR_MSG)
+        .endControlFlow()
+        .endControlFlow()
+        .addStatement("batch.clear()");
+    if (checkSubscription) {
+      builder.beginControlFlow(ifSubscriptionUnsubscribed())
+          .addStatement("throw new $T($S)", OPERATION_FAILED_EXCEPTION, ERROR_UNSUBSCRIBED_UNEXPECTEDLY)
+          .endControlFlow();
+    }
+    builder.endControlFlow()
+        .endControlFlow()
+        .beginControlFlow("if (!batch.isEmpty())")
+        .addCode(insertStatementVariable())
+        .beginControlFlow("synchronized (stm)")
+        .beginControlFlow("for ($T $L : batch)", tableElementTypeName, ENTITY_VARIABLE);
+    addBindToInsertStatement(builder, tableElement, daoClassName, "stm");
+    addInlineExecuteInsertWithCheckIdValidity(builder, "stm", FAILED_TO_INSERT_ERR_MSG);
+    builder.endControlFlow()
+        .endControlFlow()
+        .endControlFlow();
+  }
+
   public MethodSpec getExecuteInsert() {
     if (executeInsert == null) {
       executeInsert = executeInsert();
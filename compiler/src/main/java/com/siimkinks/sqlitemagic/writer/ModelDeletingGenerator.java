@@ -12,6 +12,7 @@ import com.squareup.javapoet.TypeName;
 import com.squareup.javapoet.TypeSpec;
 
 import java.util.Collections;
+import java.util.Iterator;
 
 import javax.lang.model.element.Modifier;
 
@@ -21,16 +22,22 @@ import static com.siimkinks.sqlitemagic.WriterUtil.CHECK_RESULT;
 import static com.siimkinks.sqlitemagic.WriterUtil.DB_CONNECTION_IMPL;
 import static com.siimkinks.sqlitemagic.WriterUtil.ENTITY_BULK_DELETE_BUILDER;
 import static com.siimkinks.sqlitemagic.WriterUtil.ENTITY_DELETE_BUILDER;
+import static com.siimkinks.sqlitemagic.WriterUtil.ENTITY_DB_MANAGER;
 import static com.siimkinks.sqlitemagic.WriterUtil.ENTITY_DELETE_TABLE_BUILDER;
 import static com.siimkinks.sqlitemagic.WriterUtil.NULLABLE;
 import static com.siimkinks.sqlitemagic.WriterUtil.SQLITE_STATEMENT;
-import static com.siimkinks.sqlitemagic.WriterUtil.STRING_BUILDER;
+import static com.siimkinks.sqlitemagic.WriterUtil.TRANSACTION;
 import static com.siimkinks.sqlitemagic.WriterUtil.addCallableToType;
+import static com.siimkinks.sqlitemagic.WriterUtil.addRowTriggerSendingStatement;
 import static com.siimkinks.sqlitemagic.WriterUtil.addRxSingleCreateFromCallableParentClass;
+import static com.siimkinks.sqlitemagic.WriterUtil.addRxSingleEntityWriteFromCallableParentClass;
 import static com.siimkinks.sqlitemagic.WriterUtil.addTableTriggersSendingStatement;
+import static com.siimkinks.sqlitemagic.WriterUtil.changeSetOperation;
+import static com.siimkinks.sqlitemagic.WriterUtil.codeBlockEnd;
 import static com.siimkinks.sqlitemagic.WriterUtil.connectionProviderMethod;
 import static com.siimkinks.sqlitemagic.WriterUtil.dbConnectionVariable;
 import static com.siimkinks.sqlitemagic.WriterUtil.dbVariableFromPresentConnectionVariable;
+import static com.siimkinks.sqlitemagic.WriterUtil.entityDbVariablesForOperationBuilder;
 import static com.siimkinks.sqlitemagic.WriterUtil.getHandlerInnerClassName;
 import static com.siimkinks.sqlitemagic.WriterUtil.operationBuilderInnerClassSkeleton;
 import static com.siimkinks.sqlitemagic.WriterUtil.operationRxSingleMethod;
@@ -38,11 +45,14 @@ import static com.siimkinks.sqlitemagic.WriterUtil.typedCollection;
 import static com.siimkinks.sqlitemagic.util.NameConst.CLASS_BULK_DELETE;
 import static com.siimkinks.sqlitemagic.util.NameConst.CLASS_DELETE;
 import static com.siimkinks.sqlitemagic.util.NameConst.CLASS_DELETE_TABLE;
+import static com.siimkinks.sqlitemagic.util.NameConst.FIELD_BULK_DELETE_SQL_START;
 import static com.siimkinks.sqlitemagic.util.NameConst.METHOD_CREATE;
 import static com.siimkinks.sqlitemagic.util.NameConst.METHOD_EXECUTE;
 import static com.siimkinks.sqlitemagic.writer.ModelWriter.DB_CONNECTION_VARIABLE;
 import static com.siimkinks.sqlitemagic.writer.ModelWriter.ENTITY_VARIABLE;
+import static com.siimkinks.sqlitemagic.writer.ModelWriter.MANAGER_VARIABLE;
 import static com.siimkinks.sqlitemagic.writer.ModelWriter.OBJECTS_VARIABLE;
+import static com.siimkinks.sqlitemagic.writer.ModelWriter.TRANSACTION_VARIABLE;
 import static javax.lang.model.element.Modifier.PRIVATE;
 import static javax.lang.model.element.Modifier.PUBLIC;
 
@@ -51,6 +61,7 @@ public class ModelDeletingGenerator implements ModelPartGenerator {
   @Override
   public void write(TypeSpec.Builder daoClassBuilder, TypeSpec.Builder handlerClassBuilder, EntityEnvironment entityEnvironment) {
     handlerClassBuilder
+        .addField(bulkDeleteSqlStartField(entityEnvironment.getTableElement()))
         .addType(delete(entityEnvironment))
         .addType(bulkDelete(entityEnvironment))
         .addType(deleteTable(entityEnvironment));
@@ -78,7 +89,9 @@ public class ModelDeletingGenerator implements ModelPartGenerator {
         .addStatement(String.format("final int affectedRows = db.delete($S, %s)", whereIdStatementPart.getFormat()),
             whereIdStatementPart.getWithOtherArgsBefore(tableElement.getTableName()))
         .beginControlFlow("if (affectedRows > 0)");
-    addTableTriggersSendingStatement(builder, Collections.singleton(tableElement));
+    final CodeBlock.Builder rowId = CodeBlock.builder();
+    entityEnvironment.addInlineIdVariable(rowId);
+    addRowTriggerSendingStatement(builder, tableElement, changeSetOperation("OPERATION_DELETE"), rowId.build());
     builder.endControlFlow()
         .addStatement("return affectedRows");
     return builder.build();
@@ -95,7 +108,7 @@ public class ModelDeletingGenerator implements ModelPartGenerator {
         builder.addStatement("return $N()", deleteExecute);
       }
     });
-    addRxSingleCreateFromCallableParentClass(builder);
+    addRxSingleEntityWriteFromCallableParentClass(builder);
     return builder.build();
   }
 
@@ -112,43 +125,59 @@ public class ModelDeletingGenerator implements ModelPartGenerator {
         .build();
   }
 
-  private MethodSpec bulkDeleteExecute(EntityEnvironment entityEnvironment) {
-    final TableElement tableElement = entityEnvironment.getTableElement();
-    final String deleteStatement = "DELETE FROM " +
+  private FieldSpec bulkDeleteSqlStartField(TableElement tableElement) {
+    final String bulkDeleteSqlStart = "DELETE FROM " +
         tableElement.getTableName() +
         " WHERE " +
         tableElement.getIdColumn().getColumnName() +
         " IN (";
+    return FieldSpec.builder(String.class, FIELD_BULK_DELETE_SQL_START)
+        .addModifiers(PUBLIC_STATIC_FINAL)
+        .initializer("$S", bulkDeleteSqlStart)
+        .build();
+  }
+
+  private MethodSpec bulkDeleteExecute(EntityEnvironment entityEnvironment) {
+    final TableElement tableElement = entityEnvironment.getTableElement();
+    final TypeName tableElementTypeName = entityEnvironment.getTableElementTypeName();
     final MethodSpec.Builder builder = MethodSpec.methodBuilder(METHOD_EXECUTE)
         .addAnnotation(Override.class)
         .addModifiers(PUBLIC)
         .returns(TypeName.INT)
-        .addCode(dbConnectionVariable())
-        .addCode(dbVariableFromPresentConnectionVariable())
-        .addStatement("final int size = $L.size()", OBJECTS_VARIABLE)
-        .addStatement("final $1T sb = new $1T(size * 2 + $2L)", STRING_BUILDER, deleteStatement.length() + 1)
-        .addStatement("sb.append($S)", deleteStatement)
-        .addStatement("boolean first = true")
-        .beginControlFlow("for (int i = 0; i < size; i++)")
-        .beginControlFlow("if (first)")
-        .addStatement("first = false")
-        .addStatement("sb.append(\"?\")")
-        .nextControlFlow("else")
-        .addStatement("sb.append(\",?\")")
+        .addStatement("int remaining = $L.size()", OBJECTS_VARIABLE)
+        .beginControlFlow("if (remaining == 0)")
+        .addStatement("return 0")
+        .endControlFlow()
+        .addCode(entityDbVariablesForOperationBuilder(tableElement))
+        .addStatement("final $T<$T> iterator = $L.iterator()", Iterator.class, tableElementTypeName, OBJECTS_VARIABLE)
+        .addStatement("int affectedRows = 0")
+        .addStatement("final $T $L = $L.newTransaction()", TRANSACTION, TRANSACTION_VARIABLE, DB_CONNECTION_VARIABLE)
+        .beginControlFlow("try")
+        .addStatement("long id = 0")
+        .beginControlFlow("while (remaining > 0)")
+        .addStatement("final int chunkSize = $T.bulkDeleteChunkSize(remaining)", ENTITY_DB_MANAGER)
+        .addStatement("final $T stm = $L.getBulkDeleteStatement(chunkSize, $L)", SQLITE_STATEMENT, MANAGER_VARIABLE, FIELD_BULK_DELETE_SQL_START)
+        .beginControlFlow("synchronized (stm)")
+        .beginControlFlow("for (int i = 1; i <= chunkSize; i++)")
+        .addComment("when chunk is larger than remaining ids, last id is bound again")
+        .beginControlFlow("if (remaining > 0)")
+        .addStatement("final $T $L = iterator.next()", tableElementTypeName, ENTITY_VARIABLE);
+    final CodeBlock.Builder idBuilder = CodeBlock.builder()
+        .add("id = ");
+    entityEnvironment.addInlineIdVariable(idBuilder);
+    idBuilder.add(codeBlockEnd());
+    builder.addCode(idBuilder.build())
+        .addStatement("remaining--")
+        .endControlFlow()
+        .addStatement("stm.bindLong(i, id)")
+        .endControlFlow()
+        .addStatement("affectedRows += stm.executeUpdateDelete()")
         .endControlFlow()
         .endControlFlow()
-        .addStatement("sb.append(\")\")")
-        .addStatement("final $T stm = db.compileStatement(sb.toString())", SQLITE_STATEMENT)
-        .addStatement("int i = 1")
-        .beginControlFlow("for ($T $L : $L)", entityEnvironment.getTableElementTypeName(), ENTITY_VARIABLE, OBJECTS_VARIABLE);
-    final CodeBlock.Builder bindIdsBuilder = CodeBlock.builder()
-        .add("stm.bindLong(i, ");
-    entityEnvironment.addInlineIdVariable(bindIdsBuilder);
-    bindIdsBuilder.add(");\n");
-    builder.addCode(bindIdsBuilder.build())
-        .addStatement("i++")
+        .addStatement("$L.markSuccessful()", TRANSACTION_VARIABLE)
+        .nextControlFlow("finally")
+        .addStatement("$L.end()", TRANSACTION_VARIABLE)
         .endControlFlow()
-        .addStatement("final int affectedRows = stm.executeUpdateDelete()")
         .beginControlFlow("if (affectedRows > 0)");
     addTableTriggersSendingStatement(builder, Collections.singleton(tableElement));
     builder.endControlFlow()
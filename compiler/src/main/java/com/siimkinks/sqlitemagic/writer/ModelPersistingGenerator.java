@@ -34,6 +34,7 @@ import static com.siimkinks.sqlitemagic.WriterUtil.SQLITE_MAGIC;
 import static com.siimkinks.sqlitemagic.WriterUtil.SUBSCRIPTION;
 import static com.siimkinks.sqlitemagic.WriterUtil.SUBSCRIPTIONS;
 import static com.siimkinks.sqlitemagic.WriterUtil.TRANSACTION;
+import static com.siimkinks.sqlitemagic.WriterUtil.addRowTriggerSendingStatement;
 import static com.siimkinks.sqlitemagic.WriterUtil.addTableTriggersSendingStatement;
 import static com.siimkinks.sqlitemagic.WriterUtil.codeBlockEnd;
 import static com.siimkinks.sqlitemagic.WriterUtil.dbVariableFromPresentConnectionVariable;
@@ -224,7 +225,11 @@ public class ModelPersistingGenerator implements ModelPartGenerator {
     }
   }
 
-  static void addBindColumnToStatementBlock(MethodSpec.Builder builder, final int colPos, final ColumnElement columnElement) {
+  static void addBindColumnToStatementBlock(MethodSpec.Builder builder, int colPos, ColumnElement columnElement) {
+    addBindColumnToStatementBlock(builder, Integer.toString(colPos), columnElement);
+  }
+
+  static void addBindColumnToStatementBlock(MethodSpec.Builder builder, final String colPos, final ColumnElement columnElement) {
     builder.addCode(createBindBlockWithChecks(columnElement, new Callback2<CodeBlock.Builder, FormatData>() {
       @Override
       public void call(CodeBlock.Builder builder, FormatData serializedValueGetter) {
@@ -465,6 +470,20 @@ public class ModelPersistingGenerator implements ModelPartGenerator {
     }
   }
 
+  static void addTopMethodEndBlock(@NonNull MethodSpec.Builder builder, @NonNull TableElement tableElement,
+                                   @NonNull CodeBlock operation, @NonNull CodeBlock rowId,
+                                   @NonNull String returnStatement, @NonNull String failReturnStatement) {
+    if (tableElement.hasAnyPersistedComplexColumns()) {
+      addTransactionEndBlock(builder, tableElement.getAllTableTriggers(), CodeBlock.builder().addStatement(returnStatement).build(), failReturnStatement);
+    } else {
+      addRowTriggerSendingStatement(builder, tableElement, operation, rowId);
+      builder.addStatement(returnStatement)
+          .nextControlFlow("catch ($T e)", OPERATION_FAILED_EXCEPTION)
+          .addStatement(failReturnStatement)
+          .endControlFlow();
+    }
+  }
+
   public static void addTransactionStartBlock(MethodSpec.Builder builder) {
     builder.addStatement("final $T $L = $L.newTransaction()",
         TRANSACTION, TRANSACTION_VARIABLE, DB_CONNECTION_VARIABLE)
@@ -587,13 +606,19 @@ public class ModelPersistingGenerator implements ModelPartGenerator {
   }
 
   private FieldSpec insertSqlField(TableElement tableElement) {
+    return FieldSpec.builder(String.class, FIELD_INSERT_SQL)
+        .addModifiers(PUBLIC_STATIC_FINAL)
+        .initializer("$S", insertSql(tableElement, 1))
+        .build();
+  }
+
+  static String insertSql(TableElement tableElement, int rowCount) {
     final List<? extends ColumnElement> allColumns = tableElement.getAllColumns();
     final StringBuilder insertSql = new StringBuilder();
     insertSql.append("INSERT INTO ");
     insertSql.append(tableElement.getTableName());
     insertSql.append(" (");
     boolean firstTime = true;
-    int columnCount = 0;
     for (ColumnElement column : allColumns) {
       if (column.isId() && column.isAutoincrementId()) {
         continue;
@@ -604,15 +629,29 @@ public class ModelPersistingGenerator implements ModelPartGenerator {
         insertSql.append(", ");
       }
       insertSql.append(column.getColumnName());
+    }
+    insertSql.append(") VALUES ");
+    final int columnCount = insertColumnCount(tableElement);
+    for (int i = 0; i < rowCount; i++) {
+      if (i > 0) {
+        insertSql.append(", ");
+      }
+      insertSql.append("(");
+      StringUtil.append(", ", "?", columnCount, insertSql);
+      insertSql.append(")");
+    }
+    return insertSql.toString();
+  }
+
+  static int insertColumnCount(TableElement tableElement) {
+    int columnCount = 0;
+    for (ColumnElement column : tableElement.getAllColumns()) {
+      if (column.isId() && column.isAutoincrementId()) {
+        continue;
+      }
       columnCount++;
     }
-    insertSql.append(") VALUES (");
-    StringUtil.append(", ", "?", columnCount, insertSql);
-    insertSql.append(")");
-    return FieldSpec.builder(String.class, FIELD_INSERT_SQL)
-        .addModifiers(PUBLIC_STATIC_FINAL)
-        .initializer("$S", insertSql.toString())
-        .build();
+    return columnCount;
   }
 
   private FieldSpec updateSqlField(TableElement tableElement) {
@@ -40,7 +40,8 @@ import static com.siimkinks.sqlitemagic.WriterUtil.SQLITE_MAGIC;
 import static com.siimkinks.sqlitemagic.WriterUtil.addCallableToType;
 import static com.siimkinks.sqlitemagic.WriterUtil.addRxCompletableFromEmitterFromParentClass;
 import static com.siimkinks.sqlitemagic.WriterUtil.addRxCompletableFromEmitterToType;
-import static com.siimkinks.sqlitemagic.WriterUtil.addRxSingleCreateFromCallableParentClass;
+import static com.siimkinks.sqlitemagic.WriterUtil.addRxSingleEntityWriteFromCallableParentClass;
+import static com.siimkinks.sqlitemagic.WriterUtil.changeSetOperation;
 import static com.siimkinks.sqlitemagic.WriterUtil.codeBlockEnd;
 import static com.siimkinks.sqlitemagic.WriterUtil.connectionImplParameter;
 import static com.siimkinks.sqlitemagic.WriterUtil.dbConnectionVariable;
@@ -204,7 +205,8 @@ public class PersistWriter implements OperationWriter {
 
     final String returnStatement = "return id";
     final String failReturnStatement = "return -1";
-    addTopMethodEndBlock(builder, allTableTriggers, hasComplexColumns, returnStatement, failReturnStatement);
+    addTopMethodEndBlock(builder, tableElement, changeSetOperation("OPERATION_INSERT", "OPERATION_UPDATE"), CodeBlock.builder().add("id").build(),
+        returnStatement, failReturnStatement);
     return builder.build();
   }
 
@@ -222,7 +224,7 @@ public class PersistWriter implements OperationWriter {
             .addStatement("return id");
       }
     });
-    addRxSingleCreateFromCallableParentClass(builder);
+    addRxSingleEntityWriteFromCallableParentClass(builder);
     return builder.build();
   }
 
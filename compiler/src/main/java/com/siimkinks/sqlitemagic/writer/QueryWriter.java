@@ -0,0 +1,164 @@
+package com.siimkinks.sqlitemagic.writer;
+
+import com.siimkinks.sqlitemagic.WriterUtil;
+import com.siimkinks.sqlitemagic.element.QueryElement;
+import com.siimkinks.sqlitemagic.element.QueryMethodElement;
+import com.siimkinks.sqlitemagic.element.QueryMethodElement.Parameter;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.TypeSpec;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+
+import javax.annotation.processing.Filer;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import static com.siimkinks.sqlitemagic.Const.CLASS_MODIFIERS;
+import static com.siimkinks.sqlitemagic.Const.PRIVATE_FINAL_FIELD_MODIFIERS;
+import static com.siimkinks.sqlitemagic.WriterUtil.DB_CONNECTION;
+import static com.siimkinks.sqlitemagic.WriterUtil.DB_CONNECTION_IMPL;
+import static com.siimkinks.sqlitemagic.WriterUtil.QUERY;
+import static com.siimkinks.sqlitemagic.WriterUtil.SQLITE_MAGIC;
+import static com.siimkinks.sqlitemagic.WriterUtil.SQLITE_MAGIC_CURSOR;
+import static com.siimkinks.sqlitemagic.WriterUtil.SQL_ARGS;
+import static com.siimkinks.sqlitemagic.WriterUtil.STATIC_QUERY;
+import static com.siimkinks.sqlitemagic.WriterUtil.notNullParameter;
+import static com.siimkinks.sqlitemagic.util.NameConst.METHOD_ALL_FROM_CURSOR;
+import static com.siimkinks.sqlitemagic.util.NameConst.METHOD_FIRST_FROM_CURSOR;
+import static com.siimkinks.sqlitemagic.writer.ModelWriter.DB_CONNECTION_VARIABLE;
+import static javax.lang.model.element.Modifier.FINAL;
+import static javax.lang.model.element.Modifier.PRIVATE;
+import static javax.lang.model.element.Modifier.PUBLIC;
+import static javax.lang.model.element.Modifier.STATIC;
+
+/**
+ * Writes implementations of {@link com.siimkinks.sqlitemagic.annotation.Query} annotated
+ * interfaces. SQL of each query is emitted as a constant, so generated methods only bind
+ * their parameters and parse the result set.
+ */
+@Singleton
+public final class QueryWriter {
+  private static final String ARGS_VARIABLE = "sqlArgs";
+  private static final String CURSOR_VARIABLE = "resultCursor";
+
+  @Inject
+  public QueryWriter() {
+  }
+
+  public void writeSource(Filer filer, QueryElement queryElement) throws IOException {
+    final TypeSpec.Builder daoClassBuilder = TypeSpec.classBuilder(queryElement.getDaoClassName().simpleName())
+        .addModifiers(CLASS_MODIFIERS)
+        .addSuperinterface(queryElement.getQueryElementTypeName())
+        .addField(DB_CONNECTION_IMPL, DB_CONNECTION_VARIABLE, PRIVATE_FINAL_FIELD_MODIFIERS)
+        .addMethod(MethodSpec.constructorBuilder()
+            .addModifiers(PUBLIC)
+            .addStatement("this($T.getDefaultDbConnection())", SQLITE_MAGIC)
+            .build())
+        .addMethod(MethodSpec.constructorBuilder()
+            .addModifiers(PUBLIC)
+            .addParameter(notNullParameter(DB_CONNECTION, "connection"))
+            .addStatement("this.$L = ($T) connection", DB_CONNECTION_VARIABLE, DB_CONNECTION_IMPL)
+            .build());
+
+    final Set<String> constantNames = new HashSet<>();
+    for (QueryMethodElement method : queryElement.getMethods()) {
+      String constantName = method.getConstantName();
+      for (int i = 1; !constantNames.add(constantName); i++) {
+        constantName = method.getConstantName() + "_" + i;
+      }
+      daoClassBuilder.addField(queryConstant(method, constantName))
+          .addMethod(queryMethod(method, constantName));
+    }
+
+    WriterUtil.writeSource(filer, daoClassBuilder.build());
+  }
+
+  private static FieldSpec queryConstant(QueryMethodElement method, String constantName) {
+    final CodeBlock.Builder observedTables = CodeBlock.builder().add("new $T[]{", String.class);
+    boolean first = true;
+    for (String table : method.getObservedTables()) {
+      if (!first) {
+        observedTables.add(", ");
+      }
+      observedTables.add("$S", table);
+      first = false;
+    }
+    return FieldSpec.builder(STATIC_QUERY, constantName, PRIVATE, STATIC, FINAL)
+        .initializer("new $T($S, $L)", STATIC_QUERY, method.getGeneratedSql(), observedTables.add("}").build())
+        .build();
+  }
+
+  private static MethodSpec queryMethod(QueryMethodElement method, String constantName) {
+    final MethodSpec.Builder builder = MethodSpec.overriding(method.getMethod());
+    final String args;
+    if (method.getParameters().isEmpty()) {
+      args = "null";
+    } else {
+      args = ARGS_VARIABLE;
+      builder.addStatement("final $1T $2L = new $1T($3L)", SQL_ARGS, ARGS_VARIABLE, method.getParameters().size());
+      for (Parameter parameter : method.getParameters()) {
+        addParameterBinding(builder, parameter);
+      }
+    }
+    final QueryMethodElement.ReturnKind returnKind = method.getReturnKind();
+    switch (returnKind) {
+      case LONG:
+        builder.addStatement("return $L.queryForLong($L, $L)", constantName, DB_CONNECTION_VARIABLE, args);
+        break;
+      case INT:
+        builder.addStatement("return (int) $L.queryForLong($L, $L)", constantName, DB_CONNECTION_VARIABLE, args);
+        break;
+      default:
+        final ClassName handlerClassName = EntityEnvironment.getGeneratedHandlerClassName(method.getResultTable());
+        builder.addStatement("final $T $L = $L.rawQuery($L, $L)", SQLITE_MAGIC_CURSOR, CURSOR_VARIABLE,
+            constantName, DB_CONNECTION_VARIABLE, args)
+            .beginControlFlow("try");
+        if (returnKind == QueryMethodElement.ReturnKind.ENTITY_LIST) {
+          builder.addStatement("return $T.$L($L.getFastCursor(), null, false, null, $T.INFINITE_SUBSCRIPTION)",
+              handlerClassName, METHOD_ALL_FROM_CURSOR, CURSOR_VARIABLE, QUERY);
+        } else {
+          builder.addStatement("return $T.$L($L.getFastCursor(), null, false)",
+              handlerClassName, METHOD_FIRST_FROM_CURSOR, CURSOR_VARIABLE);
+        }
+        builder.nextControlFlow("finally")
+            .addStatement("$L.close()", CURSOR_VARIABLE)
+            .endControlFlow();
+        break;
+    }
+    return builder.build();
+  }
+
+  private static void addParameterBinding(MethodSpec.Builder builder, Parameter parameter) {
+    final String name = parameter.getName();
+    if (parameter.isNullable()) {
+      builder.beginControlFlow("if ($L == null)", name)
+          .addStatement("$L.addNull()", ARGS_VARIABLE)
+          .nextControlFlow("else");
+    }
+    switch (parameter.getBindKind()) {
+      case LONG:
+        builder.addStatement("$L.addLong($L)", ARGS_VARIABLE, name);
+        break;
+      case BOOLEAN:
+        builder.addStatement("$L.addLong($L ? 1L : 0L)", ARGS_VARIABLE, name);
+        break;
+      case DOUBLE:
+        builder.addStatement("$L.addDouble($L)", ARGS_VARIABLE, name);
+        break;
+      case STRING:
+        builder.addStatement("$L.addString($L)", ARGS_VARIABLE, name);
+        break;
+      case BLOB:
+        builder.addStatement("$L.addBlob($L)", ARGS_VARIABLE, name);
+        break;
+    }
+    if (parameter.isNullable()) {
+      builder.endControlFlow();
+    }
+  }
+}
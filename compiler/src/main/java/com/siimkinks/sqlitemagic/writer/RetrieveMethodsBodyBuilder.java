@@ -24,6 +24,7 @@ import static com.siimkinks.sqlitemagic.WriterUtil.SQL_EXCEPTION;
 import static com.siimkinks.sqlitemagic.WriterUtil.getDefaultValue;
 import static com.siimkinks.sqlitemagic.WriterUtil.typeName;
 import static com.siimkinks.sqlitemagic.util.ConditionCallback.ALWAYS_TRUE;
+import static com.siimkinks.sqlitemagic.util.NameConst.FIELD_COLUMN_NAMES;
 import static com.siimkinks.sqlitemagic.util.NameConst.METHOD_FULL_OBJECT_FROM_CURSOR_POSITION;
 import static com.siimkinks.sqlitemagic.util.NameConst.METHOD_NEW_INSTANCE_WITH_ONLY_ID;
 import static com.siimkinks.sqlitemagic.util.NameConst.METHOD_SHALLOW_OBJECT_FROM_CURSOR_POSITION;
@@ -40,6 +41,7 @@ public class RetrieveMethodsBodyBuilder {
   private final String tableName;
   private final boolean forBuilder;
   private final int allColumnsCount;
+  private final List<? extends BaseColumnElement> allColumns;
   private final ValueWriter valueWriter;
 
   private final CodeBlock.Builder fullObjectBuilder = CodeBlock.builder();
@@ -75,7 +77,7 @@ public class RetrieveMethodsBodyBuilder {
       shallowObjectFromSelectionBuilder
   };
 
-  static final String[] complexColumnRetrieveParams = new String[]{"columnOffset"};
+  static final String[] complexColumnRetrieveParams = new String[]{"columnOffset", "identityMap"};
 
   public static RetrieveMethodsBodyBuilder create(EntityEnvironment entityEnvironment) {
     final TypeName tableElementTypeName = entityEnvironment.getTableElementTypeName();
@@ -87,6 +89,7 @@ public class RetrieveMethodsBodyBuilder {
         .tableName(tableElement.getTableName())
         .forBuilder(tableElement.hasBuilder())
         .allColumnsCount(tableElement.getAllColumnsCount())
+        .allColumns(tableElement.getAllColumns())
         .valueWriter(tableElement.getValueWriter())
         .build();
     retrieveMethodsBodyBuilder.preBuild();
@@ -101,6 +104,7 @@ public class RetrieveMethodsBodyBuilder {
         .tableName(viewElement.getViewName())
         .forBuilder(viewElement.hasBuilder())
         .allColumnsCount(viewElement.getAllColumnsCount())
+        .allColumns(viewElement.getColumns())
         .valueWriter(viewElement.getValueWriter())
         .build();
     retrieveMethodsBodyBuilder.preBuildForView();
@@ -170,14 +174,11 @@ public class RetrieveMethodsBodyBuilder {
 
   private CodeBlock.Builder buildHeaderForSelection() {
     CodeBlock.Builder builder = CodeBlock.builder();
-    builder.addStatement("String thisTableName = tableGraphNodeNames.get(nodeName)")
-        .beginControlFlow("if (thisTableName == null)")
-        .beginControlFlow("if (nodeName.length() > 0)")
+    builder.addStatement("final $T[] plan = node.plan($S, $L)", TypeName.INT.box(), tableName, FIELD_COLUMN_NAMES)
+        .beginControlFlow("if (plan == null)")
         .addStatement("return null")
         .endControlFlow()
-        .addStatement("thisTableName = $S", tableName)
-        .endControlFlow()
-        .addStatement("$T pos = columns.get(thisTableName)", TypeName.INT.box())
+        .addStatement("$T pos = plan[0]", TypeName.INT.box())
         .beginControlFlow("if (pos != null)")
         .addStatement("int thisTableOffset = pos");
     return builder;
@@ -671,9 +672,9 @@ public class RetrieveMethodsBodyBuilder {
 
   private String fromSelectionPositionGetter(BaseColumnElement columnElement, ImmutableObjectBuilderMetadata metadata) {
     if (metadata.respectOnlyUserProvidedColumnName) {
-      return "columns.get(\"" + columnElement.getColumnName() + "\")";
+      return "node.columnPosition(\"" + columnElement.getColumnName() + "\")";
     }
-    return "columns.get(thisTableName + \"." + columnElement.getColumnName() + "\")";
+    return "plan[" + (allColumns.indexOf(columnElement) + 1) + "]";
   }
 
   private void addFromSelectionAddCheck(CodeBlock.Builder builder, ColumnElement columnElement) {
@@ -729,8 +730,8 @@ public class RetrieveMethodsBodyBuilder {
   }
 
   private void addSelectAllFromTableNextControlFlowCheck(CodeBlock.Builder builder, BaseColumnElement columnElement) {
-    builder.nextControlFlow("else if (columns.get(tableGraphNodeNames.get(nodeName + $S)) != null)",
-        columnElement.getColumnName());
+    builder.nextControlFlow("else if ($L.isSelectedAsWhole())",
+        childNode(columnElement, columnElement.getColumnName()));
   }
 
   @NonNull
@@ -813,9 +814,14 @@ public class RetrieveMethodsBodyBuilder {
   @NonNull
   private String[] complexColumnRetrieveFromSelectionParams(BaseColumnElement columnElement, ImmutableObjectBuilderMetadata metadata) {
     if (metadata.respectOnlyUserProvidedColumnName) {
-      return new String[]{"columns", "tableGraphNodeNames", "nodeName"};
+      return new String[]{childNode(columnElement, "")};
     }
-    return new String[]{"columns", "tableGraphNodeNames", ("nodeName + \"" + columnElement.getColumnName() + "\"")};
+    return new String[]{childNode(columnElement, columnElement.getColumnName())};
+  }
+
+  @NonNull
+  private String childNode(BaseColumnElement columnElement, String nodeNameSuffix) {
+    return "node.child(" + allColumns.indexOf(columnElement) + ", \"" + nodeNameSuffix + "\")";
   }
 
   @NonNull
@@ -8,32 +8,41 @@ import com.siimkinks.sqlitemagic.util.Callback;
 import com.siimkinks.sqlitemagic.util.FormatData;
 import com.squareup.javapoet.ClassName;
 import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
 import com.squareup.javapoet.MethodSpec;
 import com.squareup.javapoet.ParameterizedTypeName;
 import com.squareup.javapoet.TypeName;
 import com.squareup.javapoet.TypeSpec;
 
+import java.util.List;
+
+import javax.lang.model.element.Modifier;
+
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.experimental.Builder;
 
 import static com.siimkinks.sqlitemagic.Const.STATIC_METHOD_MODIFIERS;
+import static com.siimkinks.sqlitemagic.util.NameConst.FIELD_COLUMN_NAMES;
 import static com.siimkinks.sqlitemagic.util.NameConst.METHOD_ALL_FROM_CURSOR;
 import static com.siimkinks.sqlitemagic.util.NameConst.METHOD_FIRST_FROM_CURSOR;
 import static com.siimkinks.sqlitemagic.util.NameConst.METHOD_FROM_CURSOR_POSITION;
 import static com.siimkinks.sqlitemagic.util.NameConst.METHOD_FULL_OBJECT_FROM_CURSOR_POSITION;
+import static com.siimkinks.sqlitemagic.util.NameConst.METHOD_NEW_FULL_OBJECT_FROM_CURSOR_POSITION;
 import static com.siimkinks.sqlitemagic.util.NameConst.METHOD_NEW_INSTANCE_WITH_ONLY_ID;
+import static com.siimkinks.sqlitemagic.util.NameConst.METHOD_NEW_SHALLOW_OBJECT_FROM_CURSOR_POSITION;
 import static com.siimkinks.sqlitemagic.util.NameConst.METHOD_SHALLOW_OBJECT_FROM_CURSOR_POSITION;
 import static com.siimkinks.sqlitemagic.WriterUtil.ARRAY_LIST;
 import static com.siimkinks.sqlitemagic.WriterUtil.FAST_CURSOR;
 import static com.siimkinks.sqlitemagic.WriterUtil.MUTABLE_INT;
+import static com.siimkinks.sqlitemagic.WriterUtil.SELECTION_PLAN_NODE;
 import static com.siimkinks.sqlitemagic.WriterUtil.codeBlockEnd;
 import static com.siimkinks.sqlitemagic.writer.GenClassesManagerWriter.addLoadFromCursorMethodParams;
 import static com.siimkinks.sqlitemagic.writer.GenClassesManagerWriter.columnOffsetParam;
-import static com.siimkinks.sqlitemagic.writer.GenClassesManagerWriter.columnsParam;
+import static com.siimkinks.sqlitemagic.writer.GenClassesManagerWriter.identityMapParam;
 import static com.siimkinks.sqlitemagic.writer.GenClassesManagerWriter.loadFromCursorMethodParams;
+import static com.siimkinks.sqlitemagic.writer.GenClassesManagerWriter.selectionNodeParam;
 import static com.siimkinks.sqlitemagic.writer.GenClassesManagerWriter.subscriptionParam;
-import static com.siimkinks.sqlitemagic.writer.GenClassesManagerWriter.tableGraphNodeNamesParam;
 import static com.siimkinks.sqlitemagic.writer.ModelWriter.ENTITY_VARIABLE;
 import static com.siimkinks.sqlitemagic.writer.ModelWriter.MANAGER_VARIABLE;
 
@@ -64,12 +73,14 @@ public class RetrieveWriter implements OperationWriter {
       daoClassBuilder.addMethod(newInstanceWithOnlyId(tableElement));
     }
     if (entityEnvironment.getTableElement().hasAnyPersistedComplexColumns()) {
-      daoClassBuilder.addMethod(fullObjectFromCursorPosition())
-          .addMethod(fullObjectFromCursorPositionWithSelection());
+      addObjectFromCursorPosition(daoClassBuilder, METHOD_FULL_OBJECT_FROM_CURSOR_POSITION,
+          METHOD_NEW_FULL_OBJECT_FROM_CURSOR_POSITION, false);
+      daoClassBuilder.addMethod(fullObjectFromCursorPositionWithSelection());
     }
-    daoClassBuilder
-        .addMethod(shallowObjectFromCursorPosition())
-        .addMethod(shallowObjectFromCursorPositionWithSelection());
+    daoClassBuilder.addField(columnNamesField());
+    addObjectFromCursorPosition(daoClassBuilder, METHOD_SHALLOW_OBJECT_FROM_CURSOR_POSITION,
+        METHOD_NEW_SHALLOW_OBJECT_FROM_CURSOR_POSITION, true);
+    daoClassBuilder.addMethod(shallowObjectFromCursorPositionWithSelection());
   }
 
   @Override
@@ -85,6 +96,21 @@ public class RetrieveWriter implements OperationWriter {
   //                  DAO methods
   // -------------------------------------------
 
+  private FieldSpec columnNamesField() {
+    final CodeBlock.Builder initializer = CodeBlock.builder().add("{");
+    final List<ColumnElement> allColumns = tableElement.getAllColumns();
+    for (int i = 0, size = allColumns.size(); i < size; i++) {
+      if (i > 0) {
+        initializer.add(", ");
+      }
+      initializer.add("$S", allColumns.get(i).getColumnName());
+    }
+    return FieldSpec.builder(String[].class, FIELD_COLUMN_NAMES)
+        .addModifiers(Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+        .initializer(initializer.add("}").build())
+        .build();
+  }
+
   private MethodSpec newInstanceWithOnlyId(TableElement tableElement) {
     final ColumnElement idColumn = tableElement.getIdColumn();
     final TypeName tableElementTypeName = tableElement.getTableElementTypeName();
@@ -107,18 +133,10 @@ public class RetrieveWriter implements OperationWriter {
     return objectFromCursorPositionWithSelection(METHOD_FULL_OBJECT_FROM_CURSOR_POSITION, false);
   }
 
-  private MethodSpec fullObjectFromCursorPosition() {
-    return objectFromCursorPosition(METHOD_FULL_OBJECT_FROM_CURSOR_POSITION, false);
-  }
-
   private MethodSpec shallowObjectFromCursorPositionWithSelection() {
     return objectFromCursorPositionWithSelection(METHOD_SHALLOW_OBJECT_FROM_CURSOR_POSITION, true);
   }
 
-  private MethodSpec shallowObjectFromCursorPosition() {
-    return objectFromCursorPosition(METHOD_SHALLOW_OBJECT_FROM_CURSOR_POSITION, true);
-  }
-
   @NonNull
   static MethodSpec.Builder objectFromCursorPositionBaseMethodBuilder(String methodName, TypeName tableElementTypeName) {
     return MethodSpec.methodBuilder(methodName)
@@ -129,14 +147,48 @@ public class RetrieveWriter implements OperationWriter {
 
   static MethodSpec.Builder allObjectValuesFromCursorPositionMethodBuilder(String methodName, TypeName typeName) {
     return objectFromCursorPositionBaseMethodBuilder(methodName, typeName)
-        .addParameter(columnOffsetParam());
+        .addParameter(columnOffsetParam())
+        .addParameter(identityMapParam());
   }
 
   static MethodSpec.Builder selectedObjectValuesFromCursorPositionMethodBuilder(String methodName, TypeName typeName) {
     return objectFromCursorPositionBaseMethodBuilder(methodName, typeName)
-        .addParameter(columnsParam())
-        .addParameter(tableGraphNodeNamesParam())
-        .addParameter(String.class, "nodeName");
+        .addParameter(selectionNodeParam());
+  }
+
+  private void addObjectFromCursorPosition(TypeSpec.Builder daoClassBuilder, String methodName,
+                                           String newObjectMethodName, boolean shallow) {
+    if (!tableElement.hasRowIdColumn()) {
+      daoClassBuilder.addMethod(objectFromCursorPosition(methodName, shallow));
+      return;
+    }
+    final MethodSpec newObjectMethod = objectFromCursorPosition(newObjectMethodName, shallow);
+    daoClassBuilder.addMethod(identityMappedObjectFromCursorPosition(methodName, newObjectMethod, shallow))
+        .addMethod(newObjectMethod);
+  }
+
+  /**
+   * Object parsing method that returns already parsed entity from the identity
+   * map if there is one and skips all columns of its table graph.
+   */
+  private MethodSpec identityMappedObjectFromCursorPosition(String methodName, MethodSpec newObjectMethod, boolean shallow) {
+    final int idColumnIndex = tableElement.getAllColumns().indexOf(tableElement.getIdColumn());
+    final int graphColumnsCount = shallow ? tableElement.getGraphMinimalColumnsCount() : tableElement.getGraphAllColumnsCount();
+    return allObjectValuesFromCursorPositionMethodBuilder(methodName, tableElementTypeName)
+        .beginControlFlow("if (identityMap == null)")
+        .addStatement("return $N(cursor, columnOffset, null)", newObjectMethod)
+        .endControlFlow()
+        .addStatement("final int thisTableOffset = columnOffset.value")
+        .addStatement("final long id = cursor.getLong($L)", RetrieveMethodsBodyBuilder.getOffsetString(idColumnIndex))
+        .addStatement("$T $L = identityMap.get($S, id)", tableElementTypeName, ENTITY_VARIABLE, tableElement.getTableName())
+        .beginControlFlow("if ($L == null)", ENTITY_VARIABLE)
+        .addStatement("$L = $N(cursor, columnOffset, identityMap)", ENTITY_VARIABLE, newObjectMethod)
+        .addStatement("identityMap.put($S, id, $L)", tableElement.getTableName(), ENTITY_VARIABLE)
+        .nextControlFlow("else")
+        .addStatement("columnOffset.value = thisTableOffset + $L", graphColumnsCount)
+        .endControlFlow()
+        .addStatement("return $L", ENTITY_VARIABLE)
+        .build();
   }
 
   private MethodSpec objectFromCursorPosition(String methodName, boolean shallow) {
@@ -166,7 +218,7 @@ public class RetrieveWriter implements OperationWriter {
   private MethodSpec allFromCursor() {
     final ParameterizedTypeName returnType = ParameterizedTypeName.get(ARRAY_LIST, tableElementTypeName);
     final MethodSpec.Builder builder = allFromCursorBuilder(returnType)
-        .beginControlFlow("if (columns == null || columns.isEmpty())")
+        .beginControlFlow("if (selection == null)")
         .addStatement("final $1T columnOffset = new $1T()", MUTABLE_INT);
     addAllValuesGatheringBlock(builder, false);
     builder.nextControlFlow("else");
@@ -179,6 +231,7 @@ public class RetrieveWriter implements OperationWriter {
   @NonNull
   static MethodSpec.Builder allFromCursorBuilder(ParameterizedTypeName returnType) {
     return loadFromCursorMethodBuilder(METHOD_ALL_FROM_CURSOR, returnType)
+        .addParameter(identityMapParam())
         .addParameter(subscriptionParam())
         .addStatement("final int rowCount = cursor.getCount()")
         .beginControlFlow("if (rowCount == 0)")
@@ -206,7 +259,7 @@ public class RetrieveWriter implements OperationWriter {
   private MethodSpec getFromCurrentCursorPosition() {
     final MethodSpec.Builder builder = loadFromCursorMethodBuilder(METHOD_FROM_CURSOR_POSITION, tableElementTypeName)
         .addParameter(columnOffsetParam())
-        .beginControlFlow("if (columns == null || columns.isEmpty())");
+        .beginControlFlow("if (selection == null)");
     addFirstValueGatheringBlock(builder, false);
     builder.nextControlFlow("else");
     addFirstValueGatheringBlock(builder, true);
@@ -256,9 +309,10 @@ public class RetrieveWriter implements OperationWriter {
                 daoClassName,
                 callableMethodName);
         if (fromSelection) {
-          codeBuilder.add("columns, tableGraphNodeNames, $S", "");
+          codeBuilder.add("node");
+          builder.addStatement("final $T node = selection.root()", SELECTION_PLAN_NODE);
         } else {
-          codeBuilder.add("columnOffset");
+          codeBuilder.add("columnOffset, identityMap");
         }
         codeBuilder.add("))")
             .add(codeBlockEnd());
@@ -284,9 +338,9 @@ public class RetrieveWriter implements OperationWriter {
                 daoClassName,
                 callableMethodName);
         if (fromSelection) {
-          codeBuilder.add("columns, tableGraphNodeNames, $S", "");
+          codeBuilder.add("selection.root()");
         } else {
-          codeBuilder.add("columnOffset == null ? new $T() : columnOffset", MUTABLE_INT);
+          codeBuilder.add("columnOffset == null ? new $T() : columnOffset, null", MUTABLE_INT);
         }
         codeBuilder.add(")")
             .add(codeBlockEnd());
@@ -49,6 +49,7 @@ import static com.siimkinks.sqlitemagic.util.NameConst.METHOD_ADD_SHALLOW_QUERY_
 import static com.siimkinks.sqlitemagic.util.NameConst.METHOD_ALL_FROM_CURSOR;
 import static com.siimkinks.sqlitemagic.util.NameConst.METHOD_FIRST_FROM_CURSOR;
 import static com.siimkinks.sqlitemagic.util.NameConst.METHOD_FROM_CURSOR_POSITION;
+import static com.siimkinks.sqlitemagic.util.NameConst.METHOD_GET_ID;
 import static com.siimkinks.sqlitemagic.util.NameConst.PACKAGE_ROOT;
 import static com.siimkinks.sqlitemagic.util.StringUtil.replaceCamelCaseWithUnderscore;
 import static com.siimkinks.sqlitemagic.writer.EntityEnvironment.getGeneratedDaoClassName;
@@ -56,6 +57,7 @@ import static com.siimkinks.sqlitemagic.writer.EntityEnvironment.getGeneratedTab
 import static com.siimkinks.sqlitemagic.writer.GenClassesManagerWriter.addLoadFromCursorMethodParams;
 import static com.siimkinks.sqlitemagic.writer.GenClassesManagerWriter.columnOffsetParam;
 import static com.siimkinks.sqlitemagic.writer.GenClassesManagerWriter.fromSelectClauseParam;
+import static com.siimkinks.sqlitemagic.writer.GenClassesManagerWriter.identityMapParam;
 import static com.siimkinks.sqlitemagic.writer.GenClassesManagerWriter.loadFromCursorMethodParams;
 import static com.siimkinks.sqlitemagic.writer.GenClassesManagerWriter.select1Param;
 import static com.siimkinks.sqlitemagic.writer.GenClassesManagerWriter.selectFromTablesParam;
@@ -84,6 +86,9 @@ public final class StructureWriter {
   private final boolean hasAnyPersistedComplexColumns;
   private final boolean isQueryPartNeededForShallowQuery;
   private final boolean isView;
+  private final String idColumnName;
+  private final ClassName daoClassName;
+  private final int entityCacheSize;
 
   public static StructureWriter from(@NonNull EntityEnvironment entityEnvironment,
                                      @NonNull Environment environment) {
@@ -101,6 +106,9 @@ public final class StructureWriter {
         .handlerClassName(entityEnvironment.getHandlerClassName())
         .hasAnyPersistedComplexColumns(tableElement.hasAnyPersistedComplexColumns())
         .isQueryPartNeededForShallowQuery(tableElement.isQueryPartNeededForShallowQuery())
+        .idColumnName(tableElement.hasRowIdColumn() ? tableElement.getIdColumn().getColumnName() : null)
+        .daoClassName(entityEnvironment.getDaoClassName())
+        .entityCacheSize(tableElement.hasRowIdColumn() ? tableElement.getEntityCacheSize() : 0)
         .environment(environment)
         .build();
   }
@@ -132,7 +140,7 @@ public final class StructureWriter {
         .addField(structureField())
         .addFields(columnFields())
         .addMethod(aliasOverride())
-        .addMethod(loadFromCursorOverride(METHOD_ALL_FROM_CURSOR, true, subscriptionParam()))
+        .addMethod(loadFromCursorOverride(METHOD_ALL_FROM_CURSOR, true, identityMapParam(), subscriptionParam()))
         .addMethod(loadFromCursorOverride(METHOD_FIRST_FROM_CURSOR, false))
         .addMethod(loadFromCursorOverride(METHOD_FROM_CURSOR_POSITION, false, columnOffsetParam()));
     if (hasAnyPersistedComplexColumns && !isView) {
@@ -144,16 +152,27 @@ public final class StructureWriter {
     if (isView) {
       classBuilder.addMethod(perfectSelectionOverride());
     }
+    if (idColumnName != null) {
+      classBuilder.addMethod(rowIdOfOverride());
+    }
+    if (entityCacheSize > 0) {
+      classBuilder.addMethod(entityCacheSizeOverride());
+    }
     writeSource(filer, classBuilder.build());
   }
 
   private MethodSpec constructor() {
-    return MethodSpec.constructorBuilder()
+    final MethodSpec.Builder builder = MethodSpec.constructorBuilder()
         .addModifiers(PRIVATE)
-        .addParameter(notNullParameter(String.class, "alias"))
-        .addStatement("super($S, alias, $L)",
-            structureName, columnsCount)
-        .build();
+        .addParameter(notNullParameter(String.class, "alias"));
+    if (idColumnName != null) {
+      builder.addStatement("super($S, alias, $L, $S)",
+          structureName, columnsCount, idColumnName);
+    } else {
+      builder.addStatement("super($S, alias, $L)",
+          structureName, columnsCount);
+    }
+    return builder.build();
   }
 
   private FieldSpec structureField() {
@@ -264,6 +283,24 @@ public final class StructureWriter {
     return builder.build();
   }
 
+  private MethodSpec rowIdOfOverride() {
+    return MethodSpec.methodBuilder("rowIdOf")
+        .addAnnotation(Override.class)
+        .addAnnotation(NULLABLE)
+        .returns(Long.class)
+        .addParameter(notNullParameter(structureElementTypeName, "entity"))
+        .addStatement("return $T.$L(entity)", daoClassName, METHOD_GET_ID)
+        .build();
+  }
+
+  private MethodSpec entityCacheSizeOverride() {
+    return MethodSpec.methodBuilder("entityCacheSize")
+        .addAnnotation(Override.class)
+        .returns(TypeName.INT)
+        .addStatement("return $L", entityCacheSize)
+        .build();
+  }
+
   private MethodSpec queryPartsAddOverride(@NonNull String methodName) {
     return queryPartsAddMethodSignature(methodName)
         .addAnnotation(Override.class)
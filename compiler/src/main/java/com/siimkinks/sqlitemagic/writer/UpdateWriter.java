@@ -35,11 +35,13 @@ import static com.siimkinks.sqlitemagic.WriterUtil.SQLITE_DATABASE;
 import static com.siimkinks.sqlitemagic.WriterUtil.SQLITE_MAGIC;
 import static com.siimkinks.sqlitemagic.WriterUtil.SQLITE_STATEMENT;
 import static com.siimkinks.sqlitemagic.WriterUtil.addConflictAlgorithmToOperationBuilder;
+import static com.siimkinks.sqlitemagic.WriterUtil.addRowTriggerSendingStatement;
 import static com.siimkinks.sqlitemagic.WriterUtil.addRxAction0ToType;
 import static com.siimkinks.sqlitemagic.WriterUtil.addRxCompletableFromEmitterFromParentClass;
 import static com.siimkinks.sqlitemagic.WriterUtil.addRxCompletableFromEmitterToType;
-import static com.siimkinks.sqlitemagic.WriterUtil.addRxCompletableFromParentClass;
+import static com.siimkinks.sqlitemagic.WriterUtil.addRxCompletableEntityWriteFromParentClass;
 import static com.siimkinks.sqlitemagic.WriterUtil.addTableTriggersSendingStatement;
+import static com.siimkinks.sqlitemagic.WriterUtil.changeSetOperation;
 import static com.siimkinks.sqlitemagic.WriterUtil.conflictAlgorithmParameter;
 import static com.siimkinks.sqlitemagic.WriterUtil.connectionImplParameter;
 import static com.siimkinks.sqlitemagic.WriterUtil.entityDbManagerParameter;
@@ -302,7 +304,7 @@ public class UpdateWriter implements OperationWriter {
     if (hasComplexColumns) {
       addCallToInternalUpdateWithTransactionHandling(builder, internalMethodCall);
     } else {
-      addCallToInternalUpdate(builder, allTableTriggers, internalMethodCall);
+      addCallToInternalUpdate(builder, internalMethodCall);
     }
 
     builder.endControlFlow();
@@ -312,7 +314,7 @@ public class UpdateWriter implements OperationWriter {
     if (hasComplexColumns) {
       addCallToInternalUpdateWithTransactionHandling(builder, internalMethodCall);
     } else {
-      addCallToInternalUpdate(builder, allTableTriggers, internalMethodCall);
+      addCallToInternalUpdate(builder, internalMethodCall);
     }
 
     if (hasComplexColumns) {
@@ -333,7 +335,7 @@ public class UpdateWriter implements OperationWriter {
             .endControlFlow();
       }
     });
-    addRxCompletableFromParentClass(builder);
+    addRxCompletableEntityWriteFromParentClass(builder);
     return builder.build();
   }
 
@@ -449,9 +451,11 @@ public class UpdateWriter implements OperationWriter {
         .addStatement("return false");
   }
 
-  private void addCallToInternalUpdate(MethodSpec.Builder builder, Set<TableElement> allTableTriggers, FormatData internalMethodCall) {
+  private void addCallToInternalUpdate(MethodSpec.Builder builder, FormatData internalMethodCall) {
     builder.beginControlFlow(String.format("if (%s)", internalMethodCall.getFormat()), internalMethodCall.getArgs());
-    addTableTriggersSendingStatement(builder, allTableTriggers);
+    final CodeBlock.Builder rowId = CodeBlock.builder();
+    entityEnvironment.addInlineIdVariable(rowId);
+    addRowTriggerSendingStatement(builder, tableElement, changeSetOperation("OPERATION_UPDATE"), rowId.build());
     builder.addStatement("return true")
         .endControlFlow()
         .addStatement("return false");
@@ -5,22 +5,21 @@ import android.support.annotation.Nullable;
 
 import com.siimkinks.sqlitemagic.internal.SimpleArrayMap;
 
-import java.util.ArrayList;
 import java.util.LinkedList;
 
 final class BetweenExpr extends Expr {
   @Nullable
-  private final String firstVal;
+  private final SqlArgs firstVal;
   @Nullable
-  private final String secondVal;
+  private final SqlArgs secondVal;
   @Nullable
   private final Column<?, ?, ?, ?> firstColumn;
   @Nullable
   private final Column<?, ?, ?, ?> secondColumn;
 
   BetweenExpr(Column<?, ?, ?, ?> column,
-              @Nullable String firstVal,
-              @Nullable String secondVal,
+              @Nullable SqlArgs firstVal,
+              @Nullable SqlArgs secondVal,
               @Nullable Column<?, ?, ?, ?> firstColumn,
               @Nullable Column<?, ?, ?, ?> secondColumn,
               boolean not) {
@@ -78,13 +77,13 @@ final class BetweenExpr extends Expr {
   }
 
   @Override
-  void addArgs(@NonNull ArrayList<String> args) {
+  void addArgs(@NonNull SqlArgs args) {
     super.addArgs(args);
     if (firstVal != null) {
-      args.add(firstVal);
+      args.addAll(firstVal);
     }
     if (secondVal != null) {
-      args.add(secondVal);
+      args.addAll(secondVal);
     }
   }
 
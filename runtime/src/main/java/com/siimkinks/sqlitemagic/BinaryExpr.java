@@ -1,6 +1,7 @@
 package com.siimkinks.sqlitemagic;
 
 import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
 
 import com.siimkinks.sqlitemagic.internal.SimpleArrayMap;
 
@@ -21,11 +22,17 @@ final class BinaryExpr extends Expr {
   }
 
   @Override
-  void addArgs(@NonNull ArrayList<String> args) {
+  void addArgs(@NonNull SqlArgs args) {
     lhs.addArgs(args);
     rhs.addArgs(args);
   }
 
+  @Override
+  void addObservedTables(@NonNull ArrayList<String> tables) {
+    lhs.addObservedTables(tables);
+    rhs.addObservedTables(tables);
+  }
+
   @Override
   void appendToSql(@NonNull StringBuilder sb) {
     sb.append('(');
@@ -48,4 +55,14 @@ final class BinaryExpr extends Expr {
   boolean containsColumn(@NonNull Column<?, ?, ?, ?> column) {
     return lhs.containsColumn(column) || rhs.containsColumn(column);
   }
+
+  @Nullable
+  @Override
+  Long restrictedRowId(@NonNull Table<?> table) {
+    if (!" AND ".equals(expr)) {
+      return null;
+    }
+    final Long rowId = lhs.restrictedRowId(table);
+    return rowId != null ? rowId : rhs.restrictedRowId(table);
+  }
 }
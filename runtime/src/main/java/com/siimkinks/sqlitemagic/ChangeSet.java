@@ -0,0 +1,211 @@
+package com.siimkinks.sqlitemagic;
+
+import android.support.annotation.CheckResult;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.siimkinks.sqlitemagic.internal.SimpleArrayMap;
+import com.siimkinks.sqlitemagic.internal.StringArraySet;
+
+import java.util.Arrays;
+
+/**
+ * Set of changed tables which additionally tracks the changed rows of tables that
+ * were modified only through single row operations.
+ * <p>
+ * Tables which were changed in any other way (bulk operations, raw statements, etc.)
+ * are treated as fully changed.
+ */
+class ChangeSet extends StringArraySet {
+  static final int OPERATION_INSERT = 1;
+  static final int OPERATION_UPDATE = 1 << 1;
+  static final int OPERATION_DELETE = 1 << 2;
+  /**
+   * Maximum number of changed rows tracked per table. When exceeded, table is treated
+   * as fully changed.
+   */
+  static final int MAX_TRACKED_ROWS = 64;
+
+  @Nullable
+  private SimpleArrayMap<String, RowChanges> rowChanges;
+
+  /**
+   * Mark row with the provided id changed in {@code table}.
+   *
+   * @param table     Changed table
+   * @param operation Operation flag(s) that changed the row
+   * @param rowId     Changed row id
+   */
+  final void addRow(@NonNull String table, int operation, long rowId) {
+    if (!contains(table)) {
+      super.add(table);
+      SimpleArrayMap<String, RowChanges> rowChanges = this.rowChanges;
+      if (rowChanges == null) {
+        rowChanges = new SimpleArrayMap<>();
+        this.rowChanges = rowChanges;
+      }
+      final RowChanges changes = new RowChanges();
+      changes.add(operation, rowId);
+      rowChanges.put(table, changes);
+      return;
+    }
+    final SimpleArrayMap<String, RowChanges> rowChanges = this.rowChanges;
+    final RowChanges changes = rowChanges != null ? rowChanges.get(table) : null;
+    if (changes == null) {
+      return; // whole table is already changed
+    }
+    if (!changes.add(operation, rowId)) {
+      rowChanges.remove(table);
+    }
+  }
+
+  /**
+   * Check whether changes in this set can affect the row with the provided id.
+   *
+   * @param table Table name
+   * @param rowId Row id
+   * @return {@code true} if row or the whole {@code table} is changed;
+   * {@code false} otherwise
+   */
+  @CheckResult
+  final boolean affectsRow(@NonNull String table, long rowId) {
+    if (!contains(table)) {
+      return false;
+    }
+    final SimpleArrayMap<String, RowChanges> rowChanges = this.rowChanges;
+    final RowChanges changes = rowChanges != null ? rowChanges.get(table) : null;
+    return changes == null || changes.contains(rowId);
+  }
+
+  /**
+   * Evict changed entities of the {@code table} from its entity cache.
+   *
+   * @param table Changed table
+   * @param cache Entity cache of the table
+   */
+  final void invalidate(@NonNull String table, @NonNull EntityCache cache) {
+    final SimpleArrayMap<String, RowChanges> rowChanges = this.rowChanges;
+    final RowChanges changes = rowChanges != null ? rowChanges.get(table) : null;
+    if (changes == null) {
+      cache.invalidateAll();
+      return;
+    }
+    final long[] rowIds = changes.rowIds;
+    for (int i = 0, size = changes.size; i < size; i++) {
+      cache.invalidate(rowIds[i]);
+    }
+  }
+
+  /**
+   * Mark the whole {@code table} changed.
+   */
+  @Override
+  public boolean add(@Nullable String table) {
+    final SimpleArrayMap<String, RowChanges> rowChanges = this.rowChanges;
+    if (rowChanges != null) {
+      rowChanges.remove(table);
+    }
+    return super.add(table);
+  }
+
+  @Override
+  public void addAll(@NonNull StringArraySet tables) {
+    final int size = tables.size();
+    ensureCapacity(size() + size);
+    if (tables instanceof ChangeSet) {
+      final SimpleArrayMap<String, RowChanges> otherRowChanges = ((ChangeSet) tables).rowChanges;
+      for (int i = 0; i < size; i++) {
+        final String table = tables.valueAt(i);
+        final RowChanges changes = otherRowChanges != null ? otherRowChanges.get(table) : null;
+        if (changes == null) {
+          add(table);
+        } else {
+          final long[] rowIds = changes.rowIds;
+          for (int j = 0, rowCount = changes.size; j < rowCount; j++) {
+            addRow(table, changes.operations, rowIds[j]);
+          }
+        }
+      }
+    } else {
+      for (int i = 0; i < size; i++) {
+        add(tables.valueAt(i));
+      }
+    }
+  }
+
+  @Override
+  public String removeAt(int index) {
+    final String table = super.removeAt(index);
+    final SimpleArrayMap<String, RowChanges> rowChanges = this.rowChanges;
+    if (rowChanges != null) {
+      rowChanges.remove(table);
+    }
+    return table;
+  }
+
+  @Override
+  public void clear() {
+    super.clear();
+    rowChanges = null;
+  }
+
+  @Override
+  public String toString() {
+    final SimpleArrayMap<String, RowChanges> rowChanges = this.rowChanges;
+    if (rowChanges == null || rowChanges.isEmpty()) {
+      return super.toString();
+    }
+    final int size = size();
+    final StringBuilder sb = new StringBuilder(size * 14);
+    sb.append('{');
+    for (int i = 0; i < size; i++) {
+      if (i > 0) {
+        sb.append(", ");
+      }
+      final String table = valueAt(i);
+      sb.append(table);
+      final RowChanges changes = rowChanges.get(table);
+      if (changes != null) {
+        sb.append(Arrays.toString(Arrays.copyOf(changes.rowIds, changes.size)));
+      }
+    }
+    sb.append('}');
+    return sb.toString();
+  }
+
+  static final class RowChanges {
+    int operations;
+    long[] rowIds = new long[4];
+    int size;
+
+    /**
+     * @return {@code false} if tracked rows limit was exceeded
+     */
+    boolean add(int operation, long rowId) {
+      operations |= operation;
+      if (contains(rowId)) {
+        return true;
+      }
+      final int size = this.size;
+      if (size == MAX_TRACKED_ROWS) {
+        return false;
+      }
+      if (size == rowIds.length) {
+        rowIds = Arrays.copyOf(rowIds, Math.min(size * 2, MAX_TRACKED_ROWS));
+      }
+      rowIds[size] = rowId;
+      this.size = size + 1;
+      return true;
+    }
+
+    boolean contains(long rowId) {
+      final long[] rowIds = this.rowIds;
+      for (int i = 0, size = this.size; i < size; i++) {
+        if (rowIds[i] == rowId) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+}
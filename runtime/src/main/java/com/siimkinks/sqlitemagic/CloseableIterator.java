@@ -0,0 +1,31 @@
+package com.siimkinks.sqlitemagic;
+
+import java.io.Closeable;
+import java.util.Iterator;
+
+/**
+ * Lazy iterator over query results.
+ * <p>
+ * Rows are read from the underlying cursor one window at a time and objects are created
+ * only when {@link #next()} is called. Iterator is closed automatically when all rows are
+ * consumed. Call {@link #close()} when iteration is abandoned early.
+ * <p>
+ * Here is the standard idiom for iterating results:
+ * <pre>{@code
+ * try (CloseableIterator<Author> authors = Select.from(AUTHOR).compile().iterate()) {
+ *   while (authors.hasNext()) {
+ *     final Author author = authors.next();
+ *     ...
+ *   }
+ * }
+ * }</pre>
+ *
+ * @param <T> Iterated object type
+ */
+public interface CloseableIterator<T> extends Iterator<T>, Closeable {
+  /**
+   * Close the underlying cursor and release all its resources.
+   */
+  @Override
+  void close();
+}
@@ -122,7 +122,7 @@ public class Column<T, R, ET, P> {
     result.add(table.name);
   }
 
-  void addArgs(@NonNull ArrayList<String> args) {
+  void addArgs(@NonNull SqlArgs args) {
   }
 
   /**
@@ -239,9 +239,21 @@ public class Column<T, R, ET, P> {
     }
   }
 
+  /**
+   * Add value as a typed SQL argument.
+   *
+   * @param args Arguments buffer
+   * @param val  Value in this column's type
+   */
+  void addSqlArg(@NonNull SqlArgs args, @NonNull T val) {
+    args.addValue(val);
+  }
+
   @NonNull
-  String toSqlArg(@NonNull T val) {
-    return val.toString();
+  final SqlArgs toSqlArgs(@NonNull T val) {
+    final SqlArgs args = new SqlArgs(1);
+    addSqlArg(args, val);
+    return args;
   }
 
   @SuppressWarnings("unchecked")
@@ -274,10 +286,9 @@ public class Column<T, R, ET, P> {
   static <T, R, ET, P> Column<T, R, ET, P> internalCopy(@NonNull Table<P> newTable,
                                                         @NonNull final Column<T, R, ET, ?> column) {
     return new Column<T, R, ET, P>(newTable, column.name, column.allFromTable, column.valueParser, column.nullable, column.alias) {
-      @NonNull
       @Override
-      public String toSqlArg(@NonNull T val) {
-        return column.toSqlArg(val);
+      void addSqlArg(@NonNull SqlArgs args, @NonNull T val) {
+        column.addSqlArg(args, val);
       }
 
       @Nullable
@@ -469,7 +480,19 @@ public class Column<T, R, ET, P> {
   @NonNull
   @CheckResult
   public final Expr is(@NonNull T value) {
-    return new Expr1(this, "=?", toSqlArg(value));
+    return new Expr1(this, "=?", toSqlArgs(value));
+  }
+
+  /**
+   * This column = parameter.
+   *
+   * @param param Parameter which value to test against this column
+   * @return Expression
+   */
+  @NonNull
+  @CheckResult
+  public final Expr is(@NonNull Param<T> param) {
+    return new ExprParam(this, "=?", param);
   }
 
   /**
@@ -506,7 +529,19 @@ public class Column<T, R, ET, P> {
   @NonNull
   @CheckResult
   public final Expr isNot(@NonNull T value) {
-    return new Expr1(this, "!=?", toSqlArg(value));
+    return new Expr1(this, "!=?", toSqlArgs(value));
+  }
+
+  /**
+   * This column != parameter.
+   *
+   * @param param Parameter which value to test against this column
+   * @return Expression
+   */
+  @NonNull
+  @CheckResult
+  public final Expr isNot(@NonNull Param<T> param) {
+    return new ExprParam(this, "!=?", param);
   }
 
   /**
@@ -569,7 +604,20 @@ public class Column<T, R, ET, P> {
   @NonNull
   @CheckResult
   public final Expr like(@NonNull String likeRegex) {
-    return new Expr1(this, " LIKE ?", likeRegex);
+    return new Expr1(this, " LIKE ?", SqlArgs.of(likeRegex));
+  }
+
+  /**
+   * Uses the LIKE operation. Case insensitive comparisons.
+   *
+   * @param param Parameter which value is a sqlite LIKE pattern.
+   *              There are two wildcards: % and _
+   * @return Expression
+   */
+  @NonNull
+  @CheckResult
+  public final Expr like(@NonNull Param<String> param) {
+    return new ExprParam(this, " LIKE ?", new ParamArg(null, param));
   }
 
   /**
@@ -585,7 +633,20 @@ public class Column<T, R, ET, P> {
   @NonNull
   @CheckResult
   public final Expr notLike(@NonNull String likeRegex) {
-    return new Expr1(this, " NOT LIKE ?", likeRegex);
+    return new Expr1(this, " NOT LIKE ?", SqlArgs.of(likeRegex));
+  }
+
+  /**
+   * Uses the LIKE operation. Case insensitive comparisons.
+   *
+   * @param param Parameter which value is a sqlite LIKE pattern.
+   *              There are two wildcards: % and _
+   * @return Expression
+   */
+  @NonNull
+  @CheckResult
+  public final Expr notLike(@NonNull Param<String> param) {
+    return new ExprParam(this, " NOT LIKE ?", new ParamArg(null, param));
   }
 
   /**
@@ -601,7 +662,20 @@ public class Column<T, R, ET, P> {
   @NonNull
   @CheckResult
   public Expr glob(@NonNull String globRegex) {
-    return new Expr1(this, " GLOB ?", globRegex);
+    return new Expr1(this, " GLOB ?", SqlArgs.of(globRegex));
+  }
+
+  /**
+   * Uses the GLOB operation. Similar to LIKE except it uses case sensitive comparisons.
+   *
+   * @param param Parameter which value is a sqlite GLOB pattern.
+   *              There are two wildcards: * and ?
+   * @return Expression
+   */
+  @NonNull
+  @CheckResult
+  public Expr glob(@NonNull Param<String> param) {
+    return new ExprParam(this, " GLOB ?", new ParamArg(null, param));
   }
 
   /**
@@ -617,7 +691,20 @@ public class Column<T, R, ET, P> {
   @NonNull
   @CheckResult
   public Expr notGlob(@NonNull String globRegex) {
-    return new Expr1(this, " NOT GLOB ?", globRegex);
+    return new Expr1(this, " NOT GLOB ?", SqlArgs.of(globRegex));
+  }
+
+  /**
+   * Uses the GLOB operation. Similar to LIKE except it uses case sensitive comparisons.
+   *
+   * @param param Parameter which value is a sqlite GLOB pattern.
+   *              There are two wildcards: * and ?
+   * @return Expression
+   */
+  @NonNull
+  @CheckResult
+  public Expr notGlob(@NonNull Param<String> param) {
+    return new ExprParam(this, " NOT GLOB ?", new ParamArg(null, param));
   }
 
   /**
@@ -635,7 +722,7 @@ public class Column<T, R, ET, P> {
     if (length == 0) {
       throw new SQLException("Empty IN clause values");
     }
-    final String[] args = new String[length];
+    final SqlArgs args = new SqlArgs(length);
     final StringBuilder sb = new StringBuilder(6 + (length << 1));
     sb.append(" IN (");
     final Iterator<T> iterator = values.iterator();
@@ -644,7 +731,7 @@ public class Column<T, R, ET, P> {
         sb.append(',');
       }
       sb.append('?');
-      args[i] = toSqlArg(iterator.next());
+      addSqlArg(args, iterator.next());
     }
     sb.append(')');
     return new ExprN(this, sb.toString(), args);
@@ -666,7 +753,7 @@ public class Column<T, R, ET, P> {
     if (length == 0) {
       throw new SQLException("Empty IN clause values");
     }
-    final String[] args = new String[length];
+    final SqlArgs args = new SqlArgs(length);
     final StringBuilder sb = new StringBuilder(6 + (length << 1));
     sb.append(" IN (");
     for (int i = 0; i < length; i++) {
@@ -674,12 +761,27 @@ public class Column<T, R, ET, P> {
         sb.append(',');
       }
       sb.append('?');
-      args[i] = toSqlArg(values[i]);
+      addSqlArg(args, values[i]);
     }
     sb.append(')');
     return new ExprN(this, sb.toString(), args);
   }
 
+  /**
+   * Create an expression to check this column against several parameters.
+   * <p>
+   * SQL: this IN (params...)
+   *
+   * @param params Parameters which values to test against this column
+   * @return Expression
+   */
+  @SafeVarargs
+  @NonNull
+  @CheckResult
+  public final Expr in(@NonNull @Size(min = 1) Param<T>... params) {
+    return paramsExpr(" IN (", params);
+  }
+
   /**
    * Create an expression to check this column against a subquery.<br>
    * Note that the subquery must return exactly one column.
@@ -710,7 +812,7 @@ public class Column<T, R, ET, P> {
     if (length == 0) {
       throw new SQLException("Empty IN clause values");
     }
-    final String[] args = new String[length];
+    final SqlArgs args = new SqlArgs(length);
     final StringBuilder sb = new StringBuilder(10 + (length << 1));
     sb.append(" NOT IN (");
     final Iterator<T> iterator = values.iterator();
@@ -719,7 +821,7 @@ public class Column<T, R, ET, P> {
         sb.append(',');
       }
       sb.append('?');
-      args[i] = toSqlArg(iterator.next());
+      addSqlArg(args, iterator.next());
     }
     sb.append(')');
     return new ExprN(this, sb.toString(), args);
@@ -741,7 +843,7 @@ public class Column<T, R, ET, P> {
     if (length == 0) {
       throw new SQLException("Empty IN clause values");
     }
-    final String[] args = new String[length];
+    final SqlArgs args = new SqlArgs(length);
     final StringBuilder sb = new StringBuilder(10 + (length << 1));
     sb.append(" NOT IN (");
     for (int i = 0; i < length; i++) {
@@ -749,12 +851,27 @@ public class Column<T, R, ET, P> {
         sb.append(',');
       }
       sb.append('?');
-      args[i] = toSqlArg(values[i]);
+      addSqlArg(args, values[i]);
     }
     sb.append(')');
     return new ExprN(this, sb.toString(), args);
   }
 
+  /**
+   * Create an expression to check this column against several parameters.
+   * <p>
+   * SQL: this NOT IN (params...)
+   *
+   * @param params Parameters which values to test against this column
+   * @return Expression
+   */
+  @SafeVarargs
+  @NonNull
+  @CheckResult
+  public final Expr notIn(@NonNull @Size(min = 1) Param<T>... params) {
+    return paramsExpr(" NOT IN (", params);
+  }
+
   /**
    * Create an expression to check this column against a subquery.<br>
    * Note that the subquery must return exactly one column.
@@ -770,6 +887,26 @@ public class Column<T, R, ET, P> {
     return new ExprS(this, " NOT IN ", select);
   }
 
+  @NonNull
+  private Expr paramsExpr(@NonNull String operator, @NonNull Param<T>[] params) {
+    final int length = params.length;
+    if (length == 0) {
+      throw new SQLException("Empty IN clause values");
+    }
+    final SqlArgs args = new SqlArgs(length);
+    final StringBuilder sb = new StringBuilder(operator.length() + (length << 1));
+    sb.append(operator);
+    for (int i = 0; i < length; i++) {
+      if (i > 0) {
+        sb.append(',');
+      }
+      sb.append('?');
+      args.addParam(new ParamArg(this, params[i]));
+    }
+    sb.append(')');
+    return new ExprN(this, sb.toString(), args);
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) return true;
@@ -47,4 +47,10 @@ public interface CompiledCountSelect<S> {
   @NonNull
   @CheckResult
   CountQueryObservable observe();
+
+  /**
+   * @return Fingerprint of this statement SQL. Statements with equal SQL have equal
+   * fingerprints regardless of their arguments
+   */
+  long fingerprint();
 }
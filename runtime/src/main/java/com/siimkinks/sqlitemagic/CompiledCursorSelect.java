@@ -67,4 +67,10 @@ public interface CompiledCursorSelect<T, S> {
   @NonNull
   @CheckResult
   QueryObservable<Cursor> observe();
+
+  /**
+   * @return Fingerprint of this statement SQL. Statements with equal SQL have equal
+   * fingerprints regardless of their arguments
+   */
+  long fingerprint();
 }
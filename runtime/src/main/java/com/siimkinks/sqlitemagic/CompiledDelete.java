@@ -3,9 +3,9 @@ package com.siimkinks.sqlitemagic;
 import android.database.sqlite.SQLiteStatement;
 import android.support.annotation.CheckResult;
 import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
 import android.support.annotation.WorkerThread;
 
-import java.util.ArrayList;
 import java.util.concurrent.Callable;
 
 import rx.Single;
@@ -14,17 +14,35 @@ import rx.Single;
  * Compiled SQL DELETE statement.
  */
 public final class CompiledDelete {
+  /**
+   * Handles of the compiled statement.
+   */
   @NonNull
-  private final SQLiteStatement deleteStm;
+  private final StatementHandles deleteStatements;
+  /**
+   * Arguments bound on every execution or {@code null} if arguments are bound when
+   * handles are compiled.
+   */
+  @Nullable
+  private final SqlArgs args;
+  /**
+   * Parameters of this statement template or {@code null} if statement has no parameters.
+   */
+  @Nullable
+  private final ParamBindings params;
   @NonNull
   private final String tableName;
   @NonNull
   private final DbConnectionImpl dbConnection;
 
-  CompiledDelete(@NonNull SQLiteStatement deleteStm,
+  CompiledDelete(@NonNull StatementHandles deleteStatements,
+                 @Nullable SqlArgs args,
+                 @Nullable ParamBindings params,
                  @NonNull String tableName,
                  @NonNull DbConnectionImpl dbConnection) {
-    this.deleteStm = deleteStm;
+    this.deleteStatements = deleteStatements;
+    this.args = args;
+    this.params = params;
     this.tableName = tableName;
     this.dbConnection = dbConnection;
   }
@@ -38,9 +56,65 @@ public final class CompiledDelete {
    */
   @WorkerThread
   public int execute() {
-    final int affectedRows;
-    synchronized (deleteStm) {
-      affectedRows = deleteStm.executeUpdateDelete();
+    final int affectedRows = executeStatement(args);
+    if (affectedRows > 0) {
+      dbConnection.sendTableTrigger(tableName);
+    }
+    return affectedRows;
+  }
+
+  /**
+   * Bind values to parameters of this statement template.
+   * <p>
+   * Values are bound in the order of parameters first appearance in the statement.
+   * This template stays unchanged and can be bound again.
+   *
+   * @param values Parameter values
+   * @return Compiled delete statement with bound values, which shares compiled
+   * statement handles with this template
+   * @throws IllegalArgumentException if number of values does not match the number of
+   *                                  parameters
+   */
+  @NonNull
+  @CheckResult
+  public CompiledDelete bind(@NonNull Object... values) {
+    final ParamBindings params = this.params;
+    if (params == null) {
+      ParamBindings.checkNoValues(values);
+      return this;
+    }
+    return new CompiledDelete(deleteStatements, params.bind(args, values), null, tableName, dbConnection);
+  }
+
+  /**
+   * Execute this compiled delete statement once per parameter values in a single transaction.
+   * <p>
+   * Each element of {@code values} is bound to the parameters of this statement template
+   * like with {@link #bind(Object...)}. Table trigger is sent only once after all statements
+   * are executed.
+   * <p>
+   * This method runs synchronously in the calling thread.
+   *
+   * @param values Parameter values for each execution
+   * @return Total number of deleted rows
+   */
+  @WorkerThread
+  public int executeBatch(@NonNull Iterable<Object[]> values) {
+    final ParamBindings params = this.params;
+    int affectedRows = 0;
+    final Transaction transaction = dbConnection.newTransaction();
+    try {
+      for (Object[] rowValues : values) {
+        if (params != null) {
+          affectedRows += executeStatement(params.bind(args, rowValues));
+        } else {
+          ParamBindings.checkNoValues(rowValues);
+          affectedRows += executeStatement(args);
+        }
+      }
+      transaction.markSuccessful();
+    } finally {
+      transaction.end();
     }
     if (affectedRows > 0) {
       dbConnection.sendTableTrigger(tableName);
@@ -48,6 +122,16 @@ public final class CompiledDelete {
     return affectedRows;
   }
 
+  private int executeStatement(@Nullable SqlArgs args) {
+    final SQLiteStatement deleteStm = deleteStatements.acquire();
+    synchronized (deleteStm) {
+      if (args != null) {
+        args.bindTo(deleteStm);
+      }
+      return deleteStm.executeUpdateDelete();
+    }
+  }
+
   /**
    * Creates a {@link Single} that when subscribed to executes this compiled
    * delete statement against a database and emits nr of deleted records to downstream
@@ -71,16 +155,22 @@ public final class CompiledDelete {
     DeleteSqlNode sqlTreeRoot;
     int sqlNodeCount;
     Delete.From<?> from;
-    final ArrayList<String> args = new ArrayList<>();
+    final SqlArgs args = new SqlArgs();
     DbConnectionImpl dbConnection = SqliteMagic.getDefaultDbConnection();
 
     @NonNull
     @CheckResult
     CompiledDelete build() {
       final String sql = SqlCreator.getSql(sqlTreeRoot, sqlNodeCount);
-      final SQLiteStatement stm = dbConnection.compileStatement(sql);
-      stm.bindAllArgsAsStrings(args.toArray(new String[args.size()]));
-      return new CompiledDelete(stm, from.table.nameInQuery, dbConnection);
+      final String tableName = from.table.nameInQuery;
+      if (args.hasParams()) {
+        // template arguments are bound on every execution
+        final StatementHandles statements = dbConnection.statementCache.prepareOwned(sql, null);
+        return new CompiledDelete(statements, args, ParamBindings.create(args, null, from.table),
+            tableName, dbConnection);
+      }
+      final StatementHandles statements = dbConnection.statementCache.prepareOwned(sql, args);
+      return new CompiledDelete(statements, null, null, tableName, dbConnection);
     }
   }
 }
@@ -51,4 +51,26 @@ public interface CompiledFirstSelect<T, S> {
   @NonNull
   @CheckResult
   QueryObservable<T> observe();
+
+  /**
+   * Bind values to the {@link Param parameters} of this statement.
+   * <p>
+   * Returned statement shares the SQL and result mapping with this statement, so binding
+   * is much cheaper than building the statement again. This statement stays unchanged and
+   * can be bound again. Statements with unbound parameters fail when they are executed.
+   *
+   * @param values Parameter values in the order the parameters first appear in the statement
+   * @return Compiled statement with bound parameter values
+   * @throws IllegalArgumentException if the number of values does not match the number
+   *                                  of parameters
+   */
+  @NonNull
+  @CheckResult
+  CompiledFirstSelect<T, S> bind(@NonNull Object... values);
+
+  /**
+   * @return Fingerprint of this statement SQL. Statements with equal SQL have equal
+   * fingerprints regardless of their arguments
+   */
+  long fingerprint();
 }
@@ -0,0 +1,121 @@
+package com.siimkinks.sqlitemagic;
+
+import android.support.annotation.CheckResult;
+import android.support.annotation.NonNull;
+import android.support.annotation.WorkerThread;
+
+/**
+ * Compiled keyset paginated SQL select statement.
+ * <p>
+ * Pages are queried by seeking past the ordering values of the previous page's last row
+ * instead of skipping rows with OFFSET clause.
+ *
+ * @param <T> Selected table type
+ * @param <S> Selection type
+ */
+public interface CompiledPagedSelect<T, S> {
+  /**
+   * Execute this compiled select statement against a database and return
+   * the first page.
+   * <p>
+   * This method runs synchronously in the calling thread.
+   *
+   * @return First page of query results
+   */
+  @NonNull
+  @CheckResult
+  @WorkerThread
+  Page<T> execute();
+
+  /**
+   * Execute this compiled select statement against a database and return the page
+   * following the provided page.
+   * <p>
+   * If provided page is the last page then resulting page will be empty.<br>
+   * This method runs synchronously in the calling thread.
+   *
+   * @param previousPage Page that precedes the queried page
+   * @return Page of query results following {@code previousPage}
+   */
+  @NonNull
+  @CheckResult
+  @WorkerThread
+  Page<T> executeAfter(@NonNull Page<T> previousPage);
+
+  /**
+   * Execute this compiled select statement against a database and return the page
+   * following the row with provided ordering values.
+   * <p>
+   * This method runs synchronously in the calling thread.
+   *
+   * @param lastRowOrderingValues Values of the ordering terms of the row preceding the
+   *                              queried page. Values must be in the same order as
+   *                              ORDER BY clause terms
+   * @return Page of query results following the provided ordering values
+   * @throws IllegalArgumentException if number of values does not match the number of
+   *                                  ordering terms
+   */
+  @NonNull
+  @CheckResult
+  @WorkerThread
+  Page<T> executeAfter(@NonNull Object... lastRowOrderingValues);
+
+  /**
+   * Create an observable which will notify subscribers with a {@linkplain Query query}
+   * for the first page.
+   * <p>
+   * Subscribers will receive an immediate notification for initial data as well as subsequent
+   * notifications for when the queried tables' data changes through the SqliteMagic
+   * provided model operations. Unsubscribe when you no longer want updates to a query.
+   * <p>
+   * <b>Warning:</b> this method does not perform the query! Only by subscribing to the returned
+   * {@link rx.Observable} will the operation occur.
+   *
+   * @see CompiledSelect#observe()
+   */
+  @NonNull
+  @CheckResult
+  QueryObservable<Page<T>> observe();
+
+  /**
+   * Create an observable which will notify subscribers with a {@linkplain Query query}
+   * for the page following the provided page.
+   * <p>
+   * Since the page is anchored to the last row of {@code previousPage}, inserting or
+   * deleting rows before it does not shift the emitted page contents.
+   * <p>
+   * <b>Warning:</b> this method does not perform the query! Only by subscribing to the returned
+   * {@link rx.Observable} will the operation occur.
+   *
+   * @param previousPage Page that precedes the observed page
+   * @throws IllegalArgumentException if {@code previousPage} is the last page
+   * @see CompiledSelect#observe()
+   */
+  @NonNull
+  @CheckResult
+  QueryObservable<Page<T>> observeAfter(@NonNull Page<T> previousPage);
+
+  /**
+   * Create an observable which will notify subscribers with a {@linkplain Query query}
+   * for the page following the row with provided ordering values.
+   * <p>
+   * <b>Warning:</b> this method does not perform the query! Only by subscribing to the returned
+   * {@link rx.Observable} will the operation occur.
+   *
+   * @param lastRowOrderingValues Values of the ordering terms of the row preceding the
+   *                              observed page. Values must be in the same order as
+   *                              ORDER BY clause terms
+   * @throws IllegalArgumentException if number of values does not match the number of
+   *                                  ordering terms
+   * @see CompiledSelect#observe()
+   */
+  @NonNull
+  @CheckResult
+  QueryObservable<Page<T>> observeAfter(@NonNull Object... lastRowOrderingValues);
+
+  /**
+   * @return Fingerprint of this statement SQL. Statements with equal SQL have equal
+   * fingerprints regardless of their arguments
+   */
+  long fingerprint();
+}
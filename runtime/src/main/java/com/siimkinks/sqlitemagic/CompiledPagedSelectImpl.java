@@ -0,0 +1,236 @@
+package com.siimkinks.sqlitemagic;
+
+import android.database.sqlite.SQLiteDatabase;
+import android.support.annotation.CheckResult;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.annotation.WorkerThread;
+
+import com.siimkinks.sqlitemagic.internal.MutableInt;
+
+import java.util.ArrayList;
+import java.util.Collections;
+
+import rx.Subscription;
+
+import static com.siimkinks.sqlitemagic.CompiledSelectImpl.createQueryObservable;
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+abstract class CompiledPagedSelectImpl<T, S> implements CompiledPagedSelect<T, S> {
+  @NonNull
+  final String sql;
+  @NonNull
+  final String seekSql;
+  /**
+   * Arguments of the first page query.
+   */
+  @Nullable
+  final SqlArgs args;
+  /**
+   * Arguments of the query that precede the seek predicate.
+   */
+  @NonNull
+  final SqlArgs queryArgs;
+  @NonNull
+  final Select.OrderingTerm[] keysetTerms;
+  @NonNull
+  final SqlArgs[] keysetTermArgs;
+  final int pageSize;
+  @NonNull
+  final DbConnectionImpl dbConnection;
+  @NonNull
+  final String[] observedTables;
+
+  CompiledPagedSelectImpl(@NonNull String sql,
+                          @NonNull String seekSql,
+                          @NonNull SqlArgs queryArgs,
+                          @NonNull Select.OrderingTerm[] keysetTerms,
+                          @NonNull SqlArgs[] keysetTermArgs,
+                          int pageSize,
+                          @NonNull DbConnectionImpl dbConnection,
+                          @NonNull String[] observedTables) {
+    this.sql = sql;
+    this.seekSql = seekSql;
+    this.queryArgs = queryArgs;
+    this.keysetTerms = keysetTerms;
+    this.keysetTermArgs = keysetTermArgs;
+    final SqlArgs args = new SqlArgs(queryArgs.size());
+    args.addAll(queryArgs);
+    addOrderByArgs(args);
+    this.args = args.isEmpty() ? null : args;
+    this.pageSize = pageSize;
+    this.dbConnection = dbConnection;
+    this.observedTables = observedTables;
+  }
+
+  /**
+   * Read object from the current cursor position.
+   *
+   * @param cursor       Cursor moved to the row that needs to be read
+   * @param columnOffset Reusable column offset holder
+   * @return Object from the current row
+   */
+  abstract T readRow(@NonNull FastCursor cursor, @NonNull MutableInt columnOffset);
+
+  @NonNull
+  @CheckResult
+  @WorkerThread
+  @Override
+  public final Page<T> execute() {
+    return new PageQuery(sql, args).runImpl(Query.INFINITE_SUBSCRIPTION, false);
+  }
+
+  @NonNull
+  @CheckResult
+  @WorkerThread
+  @Override
+  public final Page<T> executeAfter(@NonNull Page<T> previousPage) {
+    final SqlArgs nextPageKey = previousPage.nextPageKey;
+    if (nextPageKey == null) {
+      return new Page<>(Collections.<T>emptyList(), null);
+    }
+    return new PageQuery(seekSql, seekArgs(nextPageKey)).runImpl(Query.INFINITE_SUBSCRIPTION, false);
+  }
+
+  @NonNull
+  @CheckResult
+  @WorkerThread
+  @Override
+  public final Page<T> executeAfter(@NonNull Object... lastRowOrderingValues) {
+    return new PageQuery(seekSql, seekArgs(toKey(lastRowOrderingValues))).runImpl(Query.INFINITE_SUBSCRIPTION, false);
+  }
+
+  @NonNull
+  @CheckResult
+  @Override
+  public final QueryObservable<Page<T>> observe() {
+    return new QueryObservable<>(createQueryObservable(observedTables, new PageQuery(sql, args)));
+  }
+
+  @NonNull
+  @CheckResult
+  @Override
+  public final QueryObservable<Page<T>> observeAfter(@NonNull Page<T> previousPage) {
+    final SqlArgs nextPageKey = previousPage.nextPageKey;
+    if (nextPageKey == null) {
+      throw new IllegalArgumentException("Provided page is the last page");
+    }
+    return new QueryObservable<>(createQueryObservable(observedTables, new PageQuery(seekSql, seekArgs(nextPageKey))));
+  }
+
+  @NonNull
+  @CheckResult
+  @Override
+  public final QueryObservable<Page<T>> observeAfter(@NonNull Object... lastRowOrderingValues) {
+    return new QueryObservable<>(createQueryObservable(observedTables, new PageQuery(seekSql, seekArgs(toKey(lastRowOrderingValues)))));
+  }
+
+  @NonNull
+  private SqlArgs toKey(@NonNull Object[] lastRowOrderingValues) {
+    final Select.OrderingTerm[] keysetTerms = this.keysetTerms;
+    final int length = keysetTerms.length;
+    if (lastRowOrderingValues.length != length) {
+      throw new IllegalArgumentException("Expected " + length + " ordering values, but got " + lastRowOrderingValues.length);
+    }
+    final SqlArgs key = new SqlArgs(length);
+    for (int i = 0; i < length; i++) {
+      keysetTerms[i].addKeyArg(key, lastRowOrderingValues[i]);
+    }
+    return key;
+  }
+
+  /**
+   * Combine query arguments with seek arguments in the order their placeholders appear
+   * in the seek SQL -- query arguments, expanded tuple comparison and ORDER BY clause.
+   */
+  @NonNull
+  SqlArgs seekArgs(@NonNull SqlArgs key) {
+    final int keySize = key.size();
+    final SqlArgs[] keysetTermArgs = this.keysetTermArgs;
+    final SqlArgs result = new SqlArgs(queryArgs.size() + keySize * (keySize + 3) / 2);
+    result.addAll(queryArgs);
+    for (int i = 0; i < keySize; i++) {
+      for (int j = 0; j <= i; j++) {
+        result.addAll(keysetTermArgs[j]);
+        result.add(key, j);
+      }
+    }
+    addOrderByArgs(result);
+    return result;
+  }
+
+  private void addOrderByArgs(@NonNull SqlArgs args) {
+    for (SqlArgs termArgs : keysetTermArgs) {
+      args.addAll(termArgs);
+    }
+  }
+
+  @Override
+  public long fingerprint() {
+    return SqlCreator.fingerprint(sql);
+  }
+
+  @Override
+  public String toString() {
+    return "[Paged; pageSize=" + pageSize + ";sql=" + sql + "]";
+  }
+
+  final class PageQuery extends Query<Page<T>> {
+    @NonNull
+    private final String sql;
+    @Nullable
+    private final SqlArgs args;
+
+    PageQuery(@NonNull String sql, @Nullable SqlArgs args) {
+      super(CompiledPagedSelectImpl.this.dbConnection);
+      this.sql = sql;
+      this.args = args;
+    }
+
+    @NonNull
+    @Override
+    Page<T> runImpl(@NonNull Subscription subscription, boolean inStream) {
+      super.runImpl(subscription, inStream);
+      final SQLiteDatabase db = dbConnection.getReadableDatabase();
+      SqliteMagicCursor androidCursor = null;
+      try {
+        final long startNanos = nanoTime();
+        androidCursor = (SqliteMagicCursor) db.rawQueryWithFactory(args, sql, null, null, null);
+        if (SqliteMagic.LOGGING_ENABLED) {
+          final long queryTimeInMillis = NANOSECONDS.toMillis(nanoTime() - startNanos);
+          LogUtil.logQueryTime(queryTimeInMillis, observedTables, sql, args);
+        }
+        final FastCursor cursor = androidCursor.getFastCursor();
+        final int rowCount = cursor.getCount();
+        final int pageSize = CompiledPagedSelectImpl.this.pageSize;
+        final int itemCount = Math.min(rowCount, pageSize);
+        final ArrayList<T> items = new ArrayList<>(itemCount);
+        final MutableInt columnOffset = new MutableInt();
+        while (items.size() < itemCount && cursor.moveToNext() && !subscription.isUnsubscribed()) {
+          columnOffset.value = 0;
+          items.add(readRow(cursor, columnOffset));
+        }
+        SqlArgs nextPageKey = null;
+        if (rowCount > pageSize && items.size() == pageSize) {
+          final int keyLength = keysetTerms.length;
+          final int firstKeyColumn = cursor.getColumnCount() - keyLength;
+          nextPageKey = new SqlArgs(keyLength);
+          for (int i = 0; i < keyLength; i++) {
+            nextPageKey.addFromCursor(cursor, firstKeyColumn + i);
+          }
+        }
+        return new Page<>(items, nextPageKey);
+      } finally {
+        if (androidCursor != null) {
+          androidCursor.close();
+        }
+      }
+    }
+
+    @Override
+    public String toString() {
+      return "[Page; pageSize=" + pageSize + ";sql=" + sql + "]";
+    }
+  }
+}
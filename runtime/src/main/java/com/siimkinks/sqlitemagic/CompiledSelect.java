@@ -6,6 +6,8 @@ import android.support.annotation.WorkerThread;
 
 import java.util.List;
 
+import rx.Observable;
+
 /**
  * Compiled SQL select statement.
  *
@@ -27,6 +29,45 @@ public interface CompiledSelect<T, S> {
   @WorkerThread
   List<T> execute();
 
+  /**
+   * Execute this compiled select statement against a database and iterate the
+   * results lazily.
+   * <p>
+   * Unlike {@link #execute()}, objects are created one by one as the iterator advances
+   * and at most one cursor window of rows is held in memory. This makes it suitable
+   * for processing large result sets.
+   * <p>
+   * Returned iterator must be {@linkplain CloseableIterator#close() closed} if it is not
+   * iterated to the end.<br>
+   * This method runs synchronously in the calling thread.
+   *
+   * @return Lazy iterator over query results
+   */
+  @NonNull
+  @CheckResult
+  @WorkerThread
+  CloseableIterator<T> iterate();
+
+  /**
+   * Create an observable which emits query results one by one.
+   * <p>
+   * Query is executed on subscription and results are read lazily as they are
+   * requested, so the returned observable supports backpressure. Underlying cursor is
+   * closed when all results are emitted or when subscriber unsubscribes.
+   * <p>
+   * Unlike {@link #observe()}, this observable does not listen to table changes.
+   * Use {@link rx.Observable#subscribeOn subscribeOn} to control the thread where
+   * query is executed.
+   * <p>
+   * <b>Warning:</b> this method does not perform the query! Only by subscribing to the returned
+   * {@link rx.Observable} will the operation occur.
+   *
+   * @return Observable of query results
+   */
+  @NonNull
+  @CheckResult
+  Observable<T> stream();
+
   /**
    * Create an observable which will notify subscribers with a {@linkplain Query query} for
    * execution.
@@ -52,7 +93,7 @@ public interface CompiledSelect<T, S> {
    */
   @NonNull
   @CheckResult
-  QueryObservable<List<T>> observe();
+  ListQueryObservable<T> observe();
 
   /**
    * Compile select builder and instruct it to take only the first element from the
@@ -88,6 +129,7 @@ public interface CompiledSelect<T, S> {
    * NB! This method does not compile the underlying SQL statement against a database.
    *
    * @return Immutable compiled select statement
+   * @throws IllegalStateException if this statement has unbound {@link Param parameters}
    */
   @NonNull
   @CheckResult
@@ -103,8 +145,31 @@ public interface CompiledSelect<T, S> {
    * NB! This method does not compile the underlying SQL statement against a database.
    *
    * @return Immutable compiled select statement
+   * @throws IllegalStateException if this statement has unbound {@link Param parameters}
    */
   @NonNull
   @CheckResult
   CompiledCursorSelect<T, S> toCursor();
+
+  /**
+   * Bind values to the {@link Param parameters} of this statement.
+   * <p>
+   * Returned statement shares the SQL and result mapping with this statement, so binding
+   * is much cheaper than building the statement again. This statement stays unchanged and
+   * can be bound again. Statements with unbound parameters fail when they are executed.
+   *
+   * @param values Parameter values in the order the parameters first appear in the statement
+   * @return Compiled statement with bound parameter values
+   * @throws IllegalArgumentException if the number of values does not match the number
+   *                                  of parameters
+   */
+  @NonNull
+  @CheckResult
+  CompiledSelect<T, S> bind(@NonNull Object... values);
+
+  /**
+   * @return Fingerprint of this statement SQL. Statements with equal SQL have equal
+   * fingerprints regardless of their arguments
+   */
+  long fingerprint();
 }
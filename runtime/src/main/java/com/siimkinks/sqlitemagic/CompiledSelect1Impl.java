@@ -8,13 +8,17 @@ import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import android.support.annotation.WorkerThread;
 
+import com.siimkinks.sqlitemagic.internal.MutableInt;
+
 import java.util.ArrayList;
 import java.util.List;
 
+import rx.Observable;
 import rx.Subscription;
 
 import static com.siimkinks.sqlitemagic.CompiledSelectImpl.CompiledFirstSelectImpl.addTakeFirstLimitClauseIfNeeded;
 import static com.siimkinks.sqlitemagic.CompiledSelectImpl.createQueryObservable;
+import static com.siimkinks.sqlitemagic.CompiledSelectImpl.createSharedQueryObservable;
 import static java.lang.System.nanoTime;
 import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
@@ -22,22 +26,30 @@ final class CompiledSelect1Impl<T, S> extends Query<List<T>> implements Compiled
   @NonNull
   final String sql;
   @Nullable
-  final String[] args;
+  final SqlArgs args;
   @NonNull
   final Column<?, T, ?, ?> selectedColumn;
   @NonNull
   final String[] observedTables;
+  @Nullable
+  final ObservedRow observedRow;
+  @Nullable
+  final ParamBindings params;
 
   CompiledSelect1Impl(@NonNull String sql,
-                      @Nullable String[] args,
+                      @Nullable SqlArgs args,
                       @NonNull DbConnectionImpl dbConnection,
                       @NonNull Column<?, T, ?, ?> selectedColumn,
-                      @NonNull String[] observedTables) {
+                      @NonNull String[] observedTables,
+                      @Nullable ObservedRow observedRow,
+                      @Nullable ParamBindings params) {
     super(dbConnection);
     this.sql = sql;
     this.args = args;
     this.selectedColumn = selectedColumn;
     this.observedTables = observedTables;
+    this.observedRow = observedRow;
+    this.params = params;
   }
 
   @NonNull
@@ -48,7 +60,7 @@ final class CompiledSelect1Impl<T, S> extends Query<List<T>> implements Compiled
     SqliteMagicCursor androidCursor = null;
     try {
       final long startNanos = nanoTime();
-      androidCursor = (SqliteMagicCursor) db.rawQueryWithFactory(null, sql, args, null, null);
+      androidCursor = (SqliteMagicCursor) db.rawQueryWithFactory(args, sql, null, null, null);
       if (SqliteMagic.LOGGING_ENABLED) {
         final long queryTimeInMillis = NANOSECONDS.toMillis(nanoTime() - startNanos);
         LogUtil.logQueryTime(queryTimeInMillis, observedTables, sql, args);
@@ -71,6 +83,26 @@ final class CompiledSelect1Impl<T, S> extends Query<List<T>> implements Compiled
     }
   }
 
+  @NonNull
+  CompiledPagedSelect<T, S> paginate(@NonNull String seekSql,
+                                     @NonNull SqlArgs queryArgs,
+                                     @NonNull Select.OrderingTerm[] keysetTerms,
+                                     @NonNull SqlArgs[] keysetTermArgs,
+                                     int pageSize) {
+    final Column<?, T, ?, ?> selectedColumn = this.selectedColumn;
+    return new CompiledPagedSelectImpl<T, S>(sql, seekSql, queryArgs, keysetTerms, keysetTermArgs, pageSize, dbConnection, observedTables) {
+      @Override
+      T readRow(@NonNull FastCursor cursor, @NonNull MutableInt columnOffset) {
+        return selectedColumn.<T>getFromCursor(cursor);
+      }
+    };
+  }
+
+  @Override
+  public long fingerprint() {
+    return SqlCreator.fingerprint(sql);
+  }
+
   @Override
   public String toString() {
     return "[Select1<List>; sql=" + sql + "]";
@@ -84,8 +116,35 @@ final class CompiledSelect1Impl<T, S> extends Query<List<T>> implements Compiled
 
   @NonNull
   @Override
-  public QueryObservable<List<T>> observe() {
-    return new QueryObservable<>(createQueryObservable(observedTables, (Query<List<T>>) this));
+  public ListQueryObservable<T> observe() {
+    return new ListQueryObservable<>(createSharedQueryObservable(observedTables, observedRow, (Query<List<T>>) this, sql, args), null);
+  }
+
+  @NonNull
+  @CheckResult
+  @WorkerThread
+  @Override
+  public CloseableIterator<T> iterate() {
+    final SQLiteDatabase db = dbConnection.getReadableDatabase();
+    final long startNanos = nanoTime();
+    final SqliteMagicCursor cursor = (SqliteMagicCursor) db.rawQueryWithFactory(args, sql, null, null, null);
+    if (SqliteMagic.LOGGING_ENABLED) {
+      final long queryTimeInMillis = NANOSECONDS.toMillis(nanoTime() - startNanos);
+      LogUtil.logQueryTime(queryTimeInMillis, observedTables, sql, args);
+    }
+    final Column<?, T, ?, ?> selectedColumn = this.selectedColumn;
+    return new CursorIterator<T>(cursor) {
+      @Override
+      T readRow(@NonNull FastCursor cursor) {
+        return selectedColumn.<T>getFromCursor(cursor);
+      }
+    };
+  }
+
+  @NonNull
+  @Override
+  public Observable<T> stream() {
+    return CursorIterator.stream(this);
   }
 
   @NonNull
@@ -94,42 +153,68 @@ final class CompiledSelect1Impl<T, S> extends Query<List<T>> implements Compiled
     return new CompiledFirstSelect1Impl<>(this, dbConnection);
   }
 
+  @NonNull
+  @Override
+  public CompiledSelect<T, S> bind(@NonNull Object... values) {
+    final ParamBindings params = this.params;
+    if (params == null) {
+      ParamBindings.checkNoValues(values);
+      return this;
+    }
+    final SqlArgs boundArgs = params.bind(args, values);
+    return new CompiledSelect1Impl<>(sql, boundArgs, dbConnection, selectedColumn, observedTables,
+        params.observedRow(boundArgs), null);
+  }
+
   @NonNull
   @Override
   public CompiledCountSelect<S> count() {
-    return new CompiledSelectImpl.CompiledCountSelectImpl<>(sql, args, dbConnection, observedTables);
+    ParamBindings.checkNoParams(params);
+    return new CompiledSelectImpl.CompiledCountSelectImpl<>(sql, args, dbConnection, observedTables, observedRow);
   }
 
   @NonNull
   @Override
   public CompiledCursorSelect<T, S> toCursor() {
+    ParamBindings.checkNoParams(params);
     return new CompiledCursorSelect1Impl<>(this, dbConnection);
   }
 
   static final class CompiledFirstSelect1Impl<T, S> extends Query<T> implements CompiledFirstSelect<T, S> {
-    @NonNull
-    private final SQLiteStatement selectStm;
     @NonNull
     final String sql;
     @Nullable
-    final String[] args;
+    final SqlArgs args;
     @NonNull
     final Column<?, T, ?, ?> selectedColumn;
     @NonNull
     final String[] observedTables;
+    @Nullable
+    final ObservedRow observedRow;
+    @Nullable
+    final ParamBindings params;
 
     CompiledFirstSelect1Impl(@NonNull CompiledSelect1Impl<T, S> compiledSelect,
                              @NonNull DbConnectionImpl dbConnection) {
       super(dbConnection);
-      final String sql = addTakeFirstLimitClauseIfNeeded(compiledSelect.sql);
-      final String[] args = compiledSelect.args;
-      final SQLiteStatement selectStm = dbConnection.compileStatement(sql);
-      selectStm.bindAllArgsAsStrings(args);
-      this.selectStm = selectStm;
-      this.sql = sql;
-      this.args = args;
+      this.sql = addTakeFirstLimitClauseIfNeeded(compiledSelect.sql);
+      this.args = compiledSelect.args;
       this.selectedColumn = compiledSelect.selectedColumn;
       this.observedTables = compiledSelect.observedTables;
+      this.observedRow = compiledSelect.observedRow;
+      this.params = compiledSelect.params;
+    }
+
+    private CompiledFirstSelect1Impl(@NonNull CompiledFirstSelect1Impl<T, S> template,
+                                     @NonNull SqlArgs boundArgs,
+                                     @Nullable ObservedRow observedRow) {
+      super(template.dbConnection);
+      this.sql = template.sql;
+      this.args = boundArgs;
+      this.selectedColumn = template.selectedColumn;
+      this.observedTables = template.observedTables;
+      this.observedRow = observedRow;
+      this.params = null;
     }
 
     @Override
@@ -137,9 +222,18 @@ final class CompiledSelect1Impl<T, S> extends Query<List<T>> implements Compiled
       super.runImpl(subscriber, inStream);
       final T val;
       final long startNanos;
-      synchronized (selectStm) {
-        startNanos = nanoTime();
-        val = selectedColumn.getFromStatement(selectStm);
+      final StatementCache statementCache = dbConnection.statementCache;
+      final SQLiteStatement selectStm = statementCache.acquire(sql);
+      try {
+        synchronized (selectStm) {
+          startNanos = nanoTime();
+          if (args != null) {
+            args.bindTo(selectStm);
+          }
+          val = selectedColumn.getFromStatement(selectStm);
+        }
+      } finally {
+        statementCache.release(selectStm);
       }
       if (SqliteMagic.LOGGING_ENABLED) {
         final long queryTimeInMillis = NANOSECONDS.toMillis(nanoTime() - startNanos);
@@ -148,6 +242,11 @@ final class CompiledSelect1Impl<T, S> extends Query<List<T>> implements Compiled
       return val;
     }
 
+    @Override
+    public long fingerprint() {
+      return SqlCreator.fingerprint(sql);
+    }
+
     @Override
     public String toString() {
       return "[TAKE FIRST 1;sql=" + sql + "]";
@@ -165,7 +264,20 @@ final class CompiledSelect1Impl<T, S> extends Query<List<T>> implements Compiled
     @CheckResult
     @Override
     public QueryObservable<T> observe() {
-      return new QueryObservable<>(createQueryObservable(observedTables, (Query<T>) this));
+      return new QueryObservable<>(createSharedQueryObservable(observedTables, observedRow, (Query<T>) this, sql, args));
+    }
+
+    @NonNull
+    @CheckResult
+    @Override
+    public CompiledFirstSelect<T, S> bind(@NonNull Object... values) {
+      final ParamBindings params = this.params;
+      if (params == null) {
+        ParamBindings.checkNoValues(values);
+        return this;
+      }
+      final SqlArgs boundArgs = params.bind(args, values);
+      return new CompiledFirstSelect1Impl<>(this, boundArgs, params.observedRow(boundArgs));
     }
   }
 
@@ -173,11 +285,13 @@ final class CompiledSelect1Impl<T, S> extends Query<List<T>> implements Compiled
     @NonNull
     private final String sql;
     @Nullable
-    private final String[] args;
+    private final SqlArgs args;
     @NonNull
     final Column<?, T, ?, ?> selectedColumn;
     @NonNull
     private final String[] observedTables;
+    @Nullable
+    private final ObservedRow observedRow;
 
     CompiledCursorSelect1Impl(@NonNull CompiledSelect1Impl<T, S> compiledSelect,
                               @NonNull DbConnectionImpl dbConnection) {
@@ -186,6 +300,7 @@ final class CompiledSelect1Impl<T, S> extends Query<List<T>> implements Compiled
       this.args = compiledSelect.args;
       this.selectedColumn = compiledSelect.selectedColumn;
       this.observedTables = compiledSelect.observedTables;
+      this.observedRow = compiledSelect.observedRow;
     }
 
     @Nullable
@@ -203,7 +318,7 @@ final class CompiledSelect1Impl<T, S> extends Query<List<T>> implements Compiled
       super.runImpl(subscriber, inStream);
       final SQLiteDatabase db = dbConnection.getReadableDatabase();
       final long startNanos = nanoTime();
-      final Cursor cursor = db.rawQueryWithFactory(null, sql, args, null, null);
+      final Cursor cursor = db.rawQueryWithFactory(args, sql, null, null, null);
       if (SqliteMagic.LOGGING_ENABLED) {
         final long queryTimeInMillis = NANOSECONDS.toMillis(nanoTime() - startNanos);
         LogUtil.logQueryTime(queryTimeInMillis, observedTables, sql, args);
@@ -223,7 +338,12 @@ final class CompiledSelect1Impl<T, S> extends Query<List<T>> implements Compiled
     @CheckResult
     @Override
     public QueryObservable<Cursor> observe() {
-      return new QueryObservable<>(createQueryObservable(observedTables, (Query<Cursor>) this));
+      return new QueryObservable<>(createQueryObservable(observedTables, observedRow, (Query<Cursor>) this));
+    }
+
+    @Override
+    public long fingerprint() {
+      return SqlCreator.fingerprint(sql);
     }
 
     @Override
@@ -10,7 +10,6 @@ import android.support.annotation.Nullable;
 import android.support.annotation.WorkerThread;
 
 import com.siimkinks.sqlitemagic.internal.MutableInt;
-import com.siimkinks.sqlitemagic.internal.SimpleArrayMap;
 
 import java.util.List;
 import java.util.Set;
@@ -28,33 +27,50 @@ final class CompiledSelectImpl<T, S> extends Query<List<T>> implements CompiledS
   @NonNull
   final String sql;
   @Nullable
-  final String[] args;
+  final SqlArgs args;
   @NonNull
   final Table<T> table;
   @NonNull
   final String[] observedTables;
   @Nullable
-  final SimpleArrayMap<String, Integer> columns;
-  @Nullable
-  final SimpleArrayMap<String, String> tableGraphNodeNames;
+  final SelectionPlan selection;
   final boolean queryDeep;
+  final boolean identityMap;
+  @Nullable
+  final ObservedRow observedRow;
+  /**
+   * Whether this query selects {@link #observedRow} only by its id without any other
+   * restrictions.
+   */
+  final boolean rowLookup;
+  /**
+   * Parameters of this statement or {@code null} if it has none.
+   */
+  @Nullable
+  final ParamBindings params;
 
   CompiledSelectImpl(@NonNull String sql,
-                     @Nullable String[] args,
+                     @Nullable SqlArgs args,
                      @NonNull Table<T> table,
                      @NonNull DbConnectionImpl dbConnection,
                      @NonNull String[] observedTables,
-                     @Nullable SimpleArrayMap<String, Integer> columns,
-                     @Nullable SimpleArrayMap<String, String> tableGraphNodeNames,
-                     boolean queryDeep) {
+                     @Nullable SelectionPlan selection,
+                     boolean queryDeep,
+                     boolean identityMap,
+                     @Nullable ObservedRow observedRow,
+                     boolean rowLookup,
+                     @Nullable ParamBindings params) {
     super(dbConnection);
     this.sql = sql;
     this.args = args;
     this.table = table;
     this.observedTables = observedTables;
-    this.columns = columns;
-    this.tableGraphNodeNames = tableGraphNodeNames;
+    this.selection = selection;
     this.queryDeep = queryDeep;
+    this.identityMap = identityMap;
+    this.observedRow = observedRow;
+    this.rowLookup = rowLookup;
+    this.params = params;
   }
 
   @NonNull
@@ -66,12 +82,13 @@ final class CompiledSelectImpl<T, S> extends Query<List<T>> implements CompiledS
     SqliteMagicCursor cursor = null;
     try {
       final long startNanos = nanoTime();
-      cursor = (SqliteMagicCursor) db.rawQueryWithFactory(null, sql, args, null, null);
+      cursor = (SqliteMagicCursor) db.rawQueryWithFactory(args, sql, null, null, null);
       if (SqliteMagic.LOGGING_ENABLED) {
         final long queryTimeInMillis = NANOSECONDS.toMillis(nanoTime() - startNanos);
         LogUtil.logQueryTime(queryTimeInMillis, observedTables, sql, args);
       }
-      return table.allFromCursor(cursor.getFastCursor(), columns, tableGraphNodeNames, queryDeep, subscription);
+      return table.allFromCursor(cursor.getFastCursor(), selection, queryDeep,
+          identityMap ? new EntityIdentityMap() : null, subscription);
     } finally {
       if (cursor != null) {
         cursor.close();
@@ -79,6 +96,28 @@ final class CompiledSelectImpl<T, S> extends Query<List<T>> implements CompiledS
     }
   }
 
+  @NonNull
+  CompiledPagedSelect<T, S> paginate(@NonNull String seekSql,
+                                     @NonNull SqlArgs queryArgs,
+                                     @NonNull Select.OrderingTerm[] keysetTerms,
+                                     @NonNull SqlArgs[] keysetTermArgs,
+                                     int pageSize) {
+    final Table<T> table = this.table;
+    final SelectionPlan selection = this.selection;
+    final boolean queryDeep = this.queryDeep;
+    return new CompiledPagedSelectImpl<T, S>(sql, seekSql, queryArgs, keysetTerms, keysetTermArgs, pageSize, dbConnection, observedTables) {
+      @Override
+      T readRow(@NonNull FastCursor cursor, @NonNull MutableInt columnOffset) {
+        return table.fromCurrentCursorPosition(cursor, selection, queryDeep, columnOffset);
+      }
+    };
+  }
+
+  @Override
+  public long fingerprint() {
+    return SqlCreator.fingerprint(sql);
+  }
+
   @Override
   public String toString() {
     return "[deepQuery=" + queryDeep + ";sql=" + sql + "]";
@@ -95,8 +134,40 @@ final class CompiledSelectImpl<T, S> extends Query<List<T>> implements CompiledS
   @NonNull
   @CheckResult
   @Override
-  public QueryObservable<List<T>> observe() {
-    return new QueryObservable<>(createQueryObservable(observedTables, (Query<List<T>>) this));
+  public ListQueryObservable<T> observe() {
+    return new ListQueryObservable<>(createSharedQueryObservable(observedTables, observedRow, (Query<List<T>>) this, sql, args), table);
+  }
+
+  @NonNull
+  @CheckResult
+  @WorkerThread
+  @Override
+  public CloseableIterator<T> iterate() {
+    final SQLiteDatabase db = dbConnection.getReadableDatabase();
+    final long startNanos = nanoTime();
+    final SqliteMagicCursor cursor = (SqliteMagicCursor) db.rawQueryWithFactory(args, sql, null, null, null);
+    if (SqliteMagic.LOGGING_ENABLED) {
+      final long queryTimeInMillis = NANOSECONDS.toMillis(nanoTime() - startNanos);
+      LogUtil.logQueryTime(queryTimeInMillis, observedTables, sql, args);
+    }
+    final Table<T> table = this.table;
+    final SelectionPlan selection = this.selection;
+    final boolean queryDeep = this.queryDeep;
+    final MutableInt columnOffset = new MutableInt();
+    return new CursorIterator<T>(cursor) {
+      @Override
+      T readRow(@NonNull FastCursor cursor) {
+        columnOffset.value = 0;
+        return table.fromCurrentCursorPosition(cursor, selection, queryDeep, columnOffset);
+      }
+    };
+  }
+
+  @NonNull
+  @CheckResult
+  @Override
+  public Observable<T> stream() {
+    return CursorIterator.stream(this);
   }
 
   @NonNull
@@ -106,42 +177,56 @@ final class CompiledSelectImpl<T, S> extends Query<List<T>> implements CompiledS
     return new CompiledFirstSelectImpl<>(this, dbConnection);
   }
 
+  @NonNull
+  @CheckResult
+  @Override
+  public CompiledSelect<T, S> bind(@NonNull Object... values) {
+    final ParamBindings params = this.params;
+    if (params == null) {
+      ParamBindings.checkNoValues(values);
+      return this;
+    }
+    final SqlArgs boundArgs = params.bind(args, values);
+    return new CompiledSelectImpl<>(sql, boundArgs, table, dbConnection, observedTables, selection,
+        queryDeep, identityMap, params.observedRow(boundArgs), rowLookup, null);
+  }
+
   @NonNull
   @CheckResult
   @Override
   public CompiledCountSelect<S> count() {
-    return new CompiledCountSelectImpl<>(sql, args, dbConnection, observedTables);
+    ParamBindings.checkNoParams(params);
+    return new CompiledCountSelectImpl<>(sql, args, dbConnection, observedTables, observedRow);
   }
 
   @NonNull
   @CheckResult
   @Override
   public CompiledCursorSelect<T, S> toCursor() {
+    ParamBindings.checkNoParams(params);
     return new CompiledCursorSelectImpl<>(this, dbConnection);
   }
 
   static final class CompiledCountSelectImpl<S> extends Query<Long> implements CompiledCountSelect<S> {
-    @NonNull
-    private final SQLiteStatement countStm;
     @NonNull
     private final String sql;
     @NonNull
     private final String[] observedTables;
     @Nullable
-    private final String[] args;
+    private final SqlArgs args;
+    @Nullable
+    private final ObservedRow observedRow;
 
     CompiledCountSelectImpl(@NonNull String parentSql,
-                            @Nullable String[] args,
+                            @Nullable SqlArgs args,
                             @NonNull DbConnectionImpl dbConnection,
-                            @NonNull String[] observedTables) {
+                            @NonNull String[] observedTables,
+                            @Nullable ObservedRow observedRow) {
       super(dbConnection);
-      final String sql = addCountFunction(parentSql);
-      final SQLiteStatement countStm = dbConnection.compileStatement(sql);
-      countStm.bindAllArgsAsStrings(args);
-      this.countStm = countStm;
-      this.sql = sql;
+      this.sql = addCountFunction(parentSql);
       this.observedTables = observedTables;
       this.args = args;
+      this.observedRow = observedRow;
     }
 
     @NonNull
@@ -168,9 +253,18 @@ final class CompiledSelectImpl<T, S> extends Query<List<T>> implements CompiledS
     public long execute() {
       final long count;
       final long startNanos;
-      synchronized (countStm) {
-        startNanos = nanoTime();
-        count = countStm.simpleQueryForLong();
+      final StatementCache statementCache = dbConnection.statementCache;
+      final SQLiteStatement countStm = statementCache.acquire(sql);
+      try {
+        synchronized (countStm) {
+          startNanos = nanoTime();
+          if (args != null) {
+            args.bindTo(countStm);
+          }
+          count = countStm.simpleQueryForLong();
+        }
+      } finally {
+        statementCache.release(countStm);
       }
       if (SqliteMagic.LOGGING_ENABLED) {
         final long queryTimeInMillis = NANOSECONDS.toMillis(nanoTime() - startNanos);
@@ -183,7 +277,12 @@ final class CompiledSelectImpl<T, S> extends Query<List<T>> implements CompiledS
     @CheckResult
     @Override
     public CountQueryObservable observe() {
-      return new CountQueryObservable(createQueryObservable(observedTables, (Query<Long>) this));
+      return new CountQueryObservable(createSharedQueryObservable(observedTables, observedRow, (Query<Long>) this, sql, args));
+    }
+
+    @Override
+    public long fingerprint() {
+      return SqlCreator.fingerprint(sql);
     }
 
     @Override
@@ -196,16 +295,16 @@ final class CompiledSelectImpl<T, S> extends Query<List<T>> implements CompiledS
     @NonNull
     private final String sql;
     @Nullable
-    private final String[] args;
+    private final SqlArgs args;
     @NonNull
     private final Table<T> table;
     @NonNull
     private final String[] observedTables;
     @Nullable
-    private final SimpleArrayMap<String, Integer> columns;
-    @Nullable
-    private final SimpleArrayMap<String, String> tableGraphNodeNames;
+    private final SelectionPlan selection;
     private final boolean queryDeep;
+    @Nullable
+    private final ObservedRow observedRow;
     @NonNull
     private final MutableInt columnOffset = new MutableInt();
 
@@ -216,9 +315,9 @@ final class CompiledSelectImpl<T, S> extends Query<List<T>> implements CompiledS
       this.args = compiledSelect.args;
       this.table = compiledSelect.table;
       this.observedTables = compiledSelect.observedTables;
-      this.columns = compiledSelect.columns;
-      this.tableGraphNodeNames = compiledSelect.tableGraphNodeNames;
+      this.selection = compiledSelect.selection;
       this.queryDeep = compiledSelect.queryDeep;
+      this.observedRow = compiledSelect.observedRow;
     }
 
     @Nullable
@@ -227,7 +326,7 @@ final class CompiledSelectImpl<T, S> extends Query<List<T>> implements CompiledS
     @Override
     public T getFromCurrentPosition(@NonNull Cursor cursor) {
       columnOffset.value = 0;
-      return table.fromCurrentCursorPosition(((SqliteMagicCursor) cursor).getFastCursorAndSync(), columns, tableGraphNodeNames, queryDeep, columnOffset);
+      return table.fromCurrentCursorPosition(((SqliteMagicCursor) cursor).getFastCursorAndSync(), selection, queryDeep, columnOffset);
     }
 
     @NonNull
@@ -236,7 +335,7 @@ final class CompiledSelectImpl<T, S> extends Query<List<T>> implements CompiledS
       super.runImpl(subscriber, inStream);
       final SQLiteDatabase db = dbConnection.getReadableDatabase();
       final long startNanos = nanoTime();
-      final Cursor cursor = db.rawQueryWithFactory(null, sql, args, null, null);
+      final Cursor cursor = db.rawQueryWithFactory(args, sql, null, null, null);
       if (SqliteMagic.LOGGING_ENABLED) {
         final long queryTimeInMillis = NANOSECONDS.toMillis(nanoTime() - startNanos);
         LogUtil.logQueryTime(queryTimeInMillis, observedTables, sql, args);
@@ -256,7 +355,12 @@ final class CompiledSelectImpl<T, S> extends Query<List<T>> implements CompiledS
     @CheckResult
     @Override
     public QueryObservable<Cursor> observe() {
-      return new QueryObservable<>(createQueryObservable(observedTables, (Query<Cursor>) this));
+      return new QueryObservable<>(createQueryObservable(observedTables, observedRow, (Query<Cursor>) this));
+    }
+
+    @Override
+    public long fingerprint() {
+      return SqlCreator.fingerprint(sql);
     }
 
     @Override
@@ -269,16 +373,23 @@ final class CompiledSelectImpl<T, S> extends Query<List<T>> implements CompiledS
     @NonNull
     final String sql;
     @Nullable
-    final String[] args;
+    final SqlArgs args;
     @NonNull
     final Table<T> table;
     @NonNull
     final String[] observedTables;
     @Nullable
-    final SimpleArrayMap<String, Integer> columns;
-    @Nullable
-    final SimpleArrayMap<String, String> tableGraphNodeNames;
+    final SelectionPlan selection;
     final boolean queryDeep;
+    @Nullable
+    final ObservedRow observedRow;
+    /**
+     * Cache of the selected table if the result of this query can be cached.
+     */
+    @Nullable
+    final EntityCache entityCache;
+    @Nullable
+    final ParamBindings params;
 
     CompiledFirstSelectImpl(@NonNull CompiledSelectImpl<T, S> compiledSelect,
                             @NonNull DbConnectionImpl dbConnection) {
@@ -287,9 +398,28 @@ final class CompiledSelectImpl<T, S> extends Query<List<T>> implements CompiledS
       this.args = compiledSelect.args;
       this.table = compiledSelect.table;
       this.observedTables = compiledSelect.observedTables;
-      this.columns = compiledSelect.columns;
-      this.tableGraphNodeNames = compiledSelect.tableGraphNodeNames;
+      this.selection = compiledSelect.selection;
       this.queryDeep = compiledSelect.queryDeep;
+      this.observedRow = compiledSelect.observedRow;
+      // only whole entities of a single table can be cached
+      this.entityCache = compiledSelect.rowLookup && selection == null && observedTables.length == 1 ?
+          dbConnection.getEntityCache(table) : null;
+      this.params = compiledSelect.params;
+    }
+
+    private CompiledFirstSelectImpl(@NonNull CompiledFirstSelectImpl<T, S> template,
+                                    @NonNull SqlArgs boundArgs,
+                                    @Nullable ObservedRow observedRow) {
+      super(template.dbConnection);
+      this.sql = template.sql;
+      this.args = boundArgs;
+      this.table = template.table;
+      this.observedTables = template.observedTables;
+      this.selection = template.selection;
+      this.queryDeep = template.queryDeep;
+      this.observedRow = observedRow;
+      this.entityCache = template.entityCache;
+      this.params = null;
     }
 
     @NonNull
@@ -309,16 +439,36 @@ final class CompiledSelectImpl<T, S> extends Query<List<T>> implements CompiledS
     @Override
     T runImpl(@NonNull Subscription subscriber, boolean inStream) {
       super.runImpl(subscriber, inStream);
+      final EntityCache entityCache = this.entityCache;
+      // uncommitted changes must not leak into cache
+      if (entityCache == null || observedRow == null || dbConnection.inTransaction()) {
+        return queryFirst();
+      }
+      final long rowId = observedRow.rowId;
+      T entity = entityCache.get(rowId);
+      if (entity != null) {
+        return entity;
+      }
+      final long generation = entityCache.generation();
+      entity = queryFirst();
+      if (entity != null) {
+        entityCache.put(rowId, entity, generation);
+      }
+      return entity;
+    }
+
+    @Nullable
+    private T queryFirst() {
       final SQLiteDatabase db = dbConnection.getReadableDatabase();
       SqliteMagicCursor cursor = null;
       try {
         final long startNanos = nanoTime();
-        cursor = (SqliteMagicCursor) db.rawQueryWithFactory(null, sql, args, null, null);
+        cursor = (SqliteMagicCursor) db.rawQueryWithFactory(args, sql, null, null, null);
         if (SqliteMagic.LOGGING_ENABLED) {
           final long queryTimeInMillis = NANOSECONDS.toMillis(nanoTime() - startNanos);
           LogUtil.logQueryTime(queryTimeInMillis, observedTables, sql, args);
         }
-        return table.firstFromCursor(cursor.getFastCursor(), columns, tableGraphNodeNames, queryDeep);
+        return table.firstFromCursor(cursor.getFastCursor(), selection, queryDeep);
       } finally {
         if (cursor != null) {
           cursor.close();
@@ -338,7 +488,25 @@ final class CompiledSelectImpl<T, S> extends Query<List<T>> implements CompiledS
     @CheckResult
     @Override
     public QueryObservable<T> observe() {
-      return new QueryObservable<>(createQueryObservable(observedTables, (Query<T>) this));
+      return new QueryObservable<>(createSharedQueryObservable(observedTables, observedRow, (Query<T>) this, sql, args));
+    }
+
+    @NonNull
+    @CheckResult
+    @Override
+    public CompiledFirstSelect<T, S> bind(@NonNull Object... values) {
+      final ParamBindings params = this.params;
+      if (params == null) {
+        ParamBindings.checkNoValues(values);
+        return this;
+      }
+      final SqlArgs boundArgs = params.bind(args, values);
+      return new CompiledFirstSelectImpl<>(this, boundArgs, params.observedRow(boundArgs));
+    }
+
+    @Override
+    public long fingerprint() {
+      return SqlCreator.fingerprint(sql);
     }
 
     @Override
@@ -351,9 +519,82 @@ final class CompiledSelectImpl<T, S> extends Query<List<T>> implements CompiledS
   @CheckResult
   static <Q extends Query> Observable<Q> createQueryObservable(@NonNull final String[] observedTables,
                                                                @NonNull final Q query) {
-    final Func1<Set<String>, Boolean> tableFilter;
+    return createQueryObservable(observedTables, null, query);
+  }
+
+  /**
+   * Create query observable which does not re-run the query for changes that are
+   * known to not affect the {@code observedRow}.
+   */
+  @NonNull
+  @CheckResult
+  static <Q extends Query> Observable<Q> createQueryObservable(@NonNull final String[] observedTables,
+                                                               @Nullable final ObservedRow observedRow,
+                                                               @NonNull final Q query) {
+    final DbConnectionImpl dbConnectionImpl = query.dbConnection;
+    return dbConnectionImpl.triggers
+        .filter(tableFilter(observedTables, observedRow)) // Only trigger on tables we care about.
+        .map(new Func1<Set<String>, Q>() {
+          @Override
+          public Q call(Set<String> triggers) {
+            return query;
+          }
+        })
+        .onBackpressureLatest() // Guard against uncontrollable frequency of upstream emissions.
+        .startWith(query)
+        .observeOn(dbConnectionImpl.queryScheduler)
+        .onBackpressureLatest() // Guard against uncontrollable frequency of scheduler executions.
+        .doOnSubscribe(transactionCheck(dbConnectionImpl));
+  }
+
+  /**
+   * Create query observable which shares query executions between all subscribers
+   * of queries with equal type, SQL and arguments when the connection is configured to
+   * share observed queries.
+   * <p>
+   * Late subscribers receive the latest result without re-running the query.
+   */
+  @NonNull
+  @CheckResult
+  static <T> Observable<Query<T>> createSharedQueryObservable(@NonNull final String[] observedTables,
+                                                              @Nullable final ObservedRow observedRow,
+                                                              @NonNull final Query<T> query,
+                                                              @NonNull String sql,
+                                                              @Nullable SqlArgs args) {
+    final DbConnectionImpl dbConnectionImpl = query.dbConnection;
+    final SharedQueries sharedQueries = dbConnectionImpl.sharedQueries;
+    if (sharedQueries == null) {
+      return createQueryObservable(observedTables, observedRow, query);
+    }
+    final Observable<Query<T>> upstream = dbConnectionImpl.triggers
+        .filter(tableFilter(observedTables, observedRow))
+        .map(new Func1<Set<String>, Query<T>>() {
+          @Override
+          public Query<T> call(Set<String> triggers) {
+            return query;
+          }
+        })
+        .onBackpressureLatest()
+        .startWith(query)
+        .map(new Func1<Query<T>, Query<T>>() {
+          @Override
+          public Query<T> call(Query<T> delegate) {
+            return new SharedQuery<>(delegate);
+          }
+        })
+        .replay(1)
+        .refCount();
+    return sharedQueries.share(new SharedQueries.Key(query.getClass(), sql, args), upstream)
+        .observeOn(dbConnectionImpl.queryScheduler)
+        .onBackpressureLatest()
+        .doOnSubscribe(transactionCheck(dbConnectionImpl));
+  }
+
+  @NonNull
+  private static Func1<Set<String>, Boolean> tableFilter(@NonNull final String[] observedTables,
+                                                         @Nullable final ObservedRow observedRow) {
     if (observedTables.length > 1) {
-      tableFilter = new Func1<Set<String>, Boolean>() {
+      return new Func1<Set<String>, Boolean>() {
         @Override
         public Boolean call(Set<String> triggers) {
           for (String table : observedTables) {
@@ -364,35 +605,38 @@ final class CompiledSelectImpl<T, S> extends Query<List<T>> implements CompiledS
           return Boolean.FALSE;
         }
       };
+    } else if (observedRow != null) {
+      final String table = observedRow.table;
+      final long rowId = observedRow.rowId;
+      return new Func1<Set<String>, Boolean>() {
+        @Override
+        public Boolean call(Set<String> triggers) {
+          if (triggers instanceof ChangeSet) {
+            return ((ChangeSet) triggers).affectsRow(table, rowId);
+          }
+          return triggers.contains(table);
+        }
+      };
     } else {
       final String table = observedTables[0];
-      tableFilter = new Func1<Set<String>, Boolean>() {
+      return new Func1<Set<String>, Boolean>() {
         @Override
         public Boolean call(Set<String> triggers) {
           return triggers.contains(table);
         }
       };
     }
-    final DbConnectionImpl dbConnectionImpl = query.dbConnection;
-    return dbConnectionImpl.triggers
-        .filter(tableFilter) // Only trigger on tables we care about.
-        .map(new Func1<Set<String>, Q>() {
-          @Override
-          public Q call(Set<String> triggers) {
-            return query;
-          }
-        })
-        .onBackpressureLatest() // Guard against uncontrollable frequency of upstream emissions.
-        .startWith(query)
-        .observeOn(dbConnectionImpl.queryScheduler)
-        .onBackpressureLatest() // Guard against uncontrollable frequency of scheduler executions.
-        .doOnSubscribe(new Action0() {
-          @Override
-          public void call() {
-            if (dbConnectionImpl.transactions.get() != null) {
-              throw new IllegalStateException("Cannot subscribe to observable query in a transaction.");
-            }
-          }
-        });
+  }
+
+  @NonNull
+  private static Action0 transactionCheck(@NonNull final DbConnectionImpl dbConnectionImpl) {
+    return new Action0() {
+      @Override
+      public void call() {
+        if (dbConnectionImpl.transactions.get() != null) {
+          throw new IllegalStateException("Cannot subscribe to observable query in a transaction.");
+        }
+      }
+    };
   }
 }
@@ -3,9 +3,9 @@ package com.siimkinks.sqlitemagic;
 import android.database.sqlite.SQLiteStatement;
 import android.support.annotation.CheckResult;
 import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
 import android.support.annotation.WorkerThread;
 
-import java.util.ArrayList;
 import java.util.concurrent.Callable;
 
 import rx.Single;
@@ -14,17 +14,73 @@ import rx.Single;
  * Compiled SQL UPDATE statement.
  */
 public final class CompiledUpdate {
-  @NonNull
-  private final SQLiteStatement updateStm;
+  /**
+   * Handles of the compiled statement or {@code null} if the statement is executed in chunks.
+   */
+  @Nullable
+  private final StatementHandles updateStatements;
+  /**
+   * Arguments bound on every execution or {@code null} if arguments are bound when
+   * handles are compiled.
+   */
+  @Nullable
+  private final SqlArgs args;
+  /**
+   * Parameters of this statement template or {@code null} if statement has no parameters.
+   */
+  @Nullable
+  private final ParamBindings params;
+  /**
+   * SQL of a single chunk statement or {@code null} if the statement is not executed
+   * in chunks.
+   */
+  @Nullable
+  private final String chunkSql;
+  /**
+   * Arguments bound before chunk values.
+   */
+  @Nullable
+  private final SqlArgs chunkArgs;
+  /**
+   * Unique values checked by the IN clause which are bound in chunks.
+   */
+  @Nullable
+  private final long[] chunkValues;
+  private final int chunkSize;
   @NonNull
   private final String tableName;
   @NonNull
   private final DbConnectionImpl dbConnection;
 
-  CompiledUpdate(@NonNull SQLiteStatement updateStm,
+  CompiledUpdate(@NonNull StatementHandles updateStatements,
+                 @Nullable SqlArgs args,
+                 @Nullable ParamBindings params,
+                 @NonNull String tableName,
+                 @NonNull DbConnectionImpl dbConnection) {
+    this.updateStatements = updateStatements;
+    this.args = args;
+    this.params = params;
+    this.chunkSql = null;
+    this.chunkArgs = null;
+    this.chunkValues = null;
+    this.chunkSize = 0;
+    this.tableName = tableName;
+    this.dbConnection = dbConnection;
+  }
+
+  CompiledUpdate(@NonNull String chunkSql,
+                 @NonNull SqlArgs chunkArgs,
+                 @NonNull long[] chunkValues,
+                 int chunkSize,
                  @NonNull String tableName,
                  @NonNull DbConnectionImpl dbConnection) {
-    this.updateStm = updateStm;
+    this.updateStatements = null;
+    this.args = null;
+    this.params = null;
+    this.chunkSql = chunkSql;
+    this.chunkArgs = chunkArgs;
+    this.chunkValues = chunkValues;
+    this.chunkSize = chunkSize;
     this.tableName = tableName;
     this.dbConnection = dbConnection;
   }
@@ -39,8 +95,10 @@ public final class CompiledUpdate {
   @WorkerThread
   public int execute() {
     final int affectedRows;
-    synchronized (updateStm) {
-      affectedRows = updateStm.executeUpdateDelete();
+    if (updateStatements != null) {
+      affectedRows = executeStatement(args);
+    } else {
+      affectedRows = executeInChunks();
     }
     if (affectedRows > 0) {
       dbConnection.sendTableTrigger(tableName);
@@ -48,6 +106,113 @@ public final class CompiledUpdate {
     return affectedRows;
   }
 
+  /**
+   * Bind values to parameters of this statement template.
+   * <p>
+   * Values are bound in the order of parameters first appearance in the statement.
+   * This template stays unchanged and can be bound again.
+   *
+   * @param values Parameter values
+   * @return Compiled update statement with bound values, which shares compiled
+   * statement handles with this template
+   * @throws IllegalArgumentException if number of values does not match the number of
+   *                                  parameters
+   */
+  @NonNull
+  @CheckResult
+  public CompiledUpdate bind(@NonNull Object... values) {
+    final ParamBindings params = this.params;
+    if (params == null) {
+      ParamBindings.checkNoValues(values);
+      return this;
+    }
+    return new CompiledUpdate(updateStatements, params.bind(args, values), null, tableName, dbConnection);
+  }
+
+  /**
+   * Execute this compiled update statement once per parameter values in a single transaction.
+   * <p>
+   * Each element of {@code values} is bound to the parameters of this statement template
+   * like with {@link #bind(Object...)}. Table trigger is sent only once after all statements
+   * are executed.
+   * <p>
+   * This method runs synchronously in the calling thread.
+   *
+   * @param values Parameter values for each execution
+   * @return Total number of updated rows
+   */
+  @WorkerThread
+  public int executeBatch(@NonNull Iterable<Object[]> values) {
+    final ParamBindings params = this.params;
+    int affectedRows = 0;
+    final Transaction transaction = dbConnection.newTransaction();
+    try {
+      for (Object[] rowValues : values) {
+        if (params != null) {
+          affectedRows += executeStatement(params.bind(args, rowValues));
+        } else {
+          ParamBindings.checkNoValues(rowValues);
+          affectedRows += updateStatements != null ? executeStatement(args) : executeInChunks();
+        }
+      }
+      transaction.markSuccessful();
+    } finally {
+      transaction.end();
+    }
+    if (affectedRows > 0) {
+      dbConnection.sendTableTrigger(tableName);
+    }
+    return affectedRows;
+  }
+
+  private int executeStatement(@Nullable SqlArgs args) {
+    final SQLiteStatement updateStm = updateStatements.acquire();
+    synchronized (updateStm) {
+      if (args != null) {
+        args.bindTo(updateStm);
+      }
+      return updateStm.executeUpdateDelete();
+    }
+  }
+
+  /**
+   * Execute the statement once per chunk of IN clause values in a single transaction.
+   * <p>
+   * All chunks reuse one cached statement. The last chunk is padded with its last value,
+   * which does not change the set of updated rows. Values are unique, so no row is updated
+   * by more than one chunk.
+   */
+  private int executeInChunks() {
+    final SqlArgs chunkArgs = this.chunkArgs;
+    final long[] values = this.chunkValues;
+    final int chunkSize = this.chunkSize;
+    final int length = values.length;
+    final int firstValueIndex = chunkArgs.size() + 1;
+    final StatementCache statementCache = dbConnection.statementCache;
+    int affectedRows = 0;
+    final Transaction transaction = dbConnection.newTransaction();
+    try {
+      final SQLiteStatement stm = statementCache.acquire(chunkSql);
+      try {
+        synchronized (stm) {
+          for (int offset = 0; offset < length; offset += chunkSize) {
+            chunkArgs.bindTo(stm);
+            for (int i = 0; i < chunkSize; i++) {
+              stm.bindLong(firstValueIndex + i, values[Math.min(offset + i, length - 1)]);
+            }
+            affectedRows += stm.executeUpdateDelete();
+          }
+        }
+      } finally {
+        statementCache.release(stm);
+      }
+      transaction.markSuccessful();
+    } finally {
+      transaction.end();
+    }
+    return affectedRows;
+  }
+
   /**
    * Creates a {@link Single} that when subscribed to executes this compiled
    * update statement against a database and emits nr of updated records to downstream
@@ -71,16 +236,57 @@ public final class CompiledUpdate {
     UpdateSqlNode sqlTreeRoot;
     int sqlNodeCount;
     Update.TableNode tableNode;
-    final ArrayList<String> args = new ArrayList<>();
+    final SqlArgs args = new SqlArgs();
+    /**
+     * WHERE clause expression if it checks a column against a list of long values.
+     * Its arguments are not in {@link #args}.
+     */
+    @Nullable
+    ExprIn whereIn;
     DbConnectionImpl dbConnection = SqliteMagic.getDefaultDbConnection();
 
     @NonNull
     @CheckResult
     CompiledUpdate build() {
+      final ExprIn whereIn = this.whereIn;
+      if (whereIn != null
+          && !this.args.hasParams()
+          && args.size() + whereIn.values.length > SqlArgs.MAX_HOST_PARAMETERS) {
+        return buildInChunks(whereIn);
+      }
+      final SqlArgs args;
+      if (whereIn != null) {
+        args = new SqlArgs(this.args.size() + whereIn.values.length);
+        args.addAll(this.args);
+        whereIn.addArgs(args);
+      } else {
+        args = this.args;
+      }
       final String sql = SqlCreator.getSql(sqlTreeRoot, sqlNodeCount);
-      final SQLiteStatement stm = dbConnection.compileStatement(sql);
-      stm.bindAllArgsAsStrings(args.toArray(new String[args.size()]));
-      return new CompiledUpdate(stm, tableNode.table.nameInQuery, dbConnection);
+      final String tableName = tableNode.table.nameInQuery;
+      if (args.hasParams()) {
+        // template arguments are bound on every execution
+        final StatementHandles statements = dbConnection.statementCache.prepareOwned(sql, null);
+        return new CompiledUpdate(statements, args, ParamBindings.create(args, null, tableNode.table),
+            tableName, dbConnection);
+      }
+      final StatementHandles statements = dbConnection.statementCache.prepareOwned(sql, args);
+      return new CompiledUpdate(statements, null, null, tableName, dbConnection);
+    }
+
+    @NonNull
+    private CompiledUpdate buildInChunks(@NonNull ExprIn whereIn) {
+      final int chunkSize = Math.max(1, SqlArgs.MAX_HOST_PARAMETERS - args.size());
+      // WHERE node is the last node and its parent renders everything before it
+      final StringBuilder sb = new StringBuilder(sqlNodeCount * 20 + (chunkSize << 1));
+      SqlCreator.appendSql(sqlTreeRoot.parent, sb);
+      sb.append("WHERE ");
+      whereIn.appendChunkToSql(sb, chunkSize);
+      final String sql = sb.toString();
+      // compile eagerly to fail fast on invalid statement
+      dbConnection.statementCache.prepare(sql);
+      // duplicates in different chunks would update the same row twice
+      return new CompiledUpdate(sql, args, whereIn.uniqueValues(), chunkSize, tableNode.table.nameInQuery, dbConnection);
     }
   }
 }
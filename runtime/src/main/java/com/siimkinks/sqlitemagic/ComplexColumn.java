@@ -8,7 +8,7 @@ import android.support.annotation.Size;
 
 import com.siimkinks.sqlitemagic.Utils.ValueParser;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 
 /**
@@ -34,7 +34,21 @@ class ComplexColumn<T, R, ET, P> extends NumericColumn<T, R, ET, P> {
   @NonNull
   @CheckResult
   public final Expr is(long value) {
-    return new Expr1(this, "=?", Long.toString(value));
+    return new Expr1(this, "=?", SqlArgs.of(value));
+  }
+
+  /**
+   * This column = parameter which value is the id of the referenced row.
+   * <p>
+   * Use {@link #is(Param)} for a parameter which value is the referenced object.
+   *
+   * @param idParam Parameter which value to test against this column
+   * @return Expression
+   */
+  @NonNull
+  @CheckResult
+  public final Expr isId(@NonNull Param<Long> idParam) {
+    return new ExprParam(this, "=?", new ParamArg(null, idParam));
   }
 
   /**
@@ -46,7 +60,21 @@ class ComplexColumn<T, R, ET, P> extends NumericColumn<T, R, ET, P> {
   @NonNull
   @CheckResult
   public final Expr isNot(long value) {
-    return new Expr1(this, "!=?", Long.toString(value));
+    return new Expr1(this, "!=?", SqlArgs.of(value));
+  }
+
+  /**
+   * This column != parameter which value is the id of the referenced row.
+   * <p>
+   * Use {@link #isNot(Param)} for a parameter which value is the referenced object.
+   *
+   * @param idParam Parameter which value to test against this column
+   * @return Expression
+   */
+  @NonNull
+  @CheckResult
+  public final Expr isNotId(@NonNull Param<Long> idParam) {
+    return new ExprParam(this, "!=?", new ParamArg(null, idParam));
   }
 
   /**
@@ -60,22 +88,10 @@ class ComplexColumn<T, R, ET, P> extends NumericColumn<T, R, ET, P> {
   @NonNull
   @CheckResult
   public final Expr in(@NonNull @Size(min = 1) long... values) {
-    final int length = values.length;
-    if (length == 0) {
+    if (values.length == 0) {
       throw new SQLException("Empty IN clause values");
     }
-    final String[] args = new String[length];
-    final StringBuilder sb = new StringBuilder(6 + (length << 1));
-    sb.append(" IN (");
-    for (int i = 0; i < length; i++) {
-      if (i > 0) {
-        sb.append(',');
-      }
-      sb.append('?');
-      args[i] = Long.toString(values[i]);
-    }
-    sb.append(')');
-    return new ExprN(this, sb.toString(), args);
+    return new ExprIn(this, values.clone());
   }
 
   /**
@@ -93,22 +109,15 @@ class ComplexColumn<T, R, ET, P> extends NumericColumn<T, R, ET, P> {
     if (!iterator.hasNext()) {
       throw new SQLException("Empty IN clause values");
     }
-    final ArrayList<String> args = new ArrayList<>();
-    final StringBuilder sb = new StringBuilder();
-    sb.append(" IN (");
-
-    boolean first = true;
+    long[] longs = new long[16];
+    int size = 0;
     while (iterator.hasNext()) {
-      if (first) {
-        first = false;
-      } else {
-        sb.append(',');
+      if (size == longs.length) {
+        longs = Arrays.copyOf(longs, size << 1);
       }
-      sb.append('?');
-      args.add(iterator.next().toString());
+      longs[size++] = iterator.next();
     }
-    sb.append(')');
-    return new ExprN(this, sb.toString(), args.toArray(new String[args.size()]));
+    return new ExprIn(this, Arrays.copyOf(longs, size));
   }
 
   /**
@@ -126,7 +135,7 @@ class ComplexColumn<T, R, ET, P> extends NumericColumn<T, R, ET, P> {
     if (length == 0) {
       throw new SQLException("Empty IN clause values");
     }
-    final String[] args = new String[length];
+    final SqlArgs args = new SqlArgs(length);
     final StringBuilder sb = new StringBuilder(10 + (length << 1));
     sb.append(" NOT IN (");
     for (int i = 0; i < length; i++) {
@@ -134,7 +143,7 @@ class ComplexColumn<T, R, ET, P> extends NumericColumn<T, R, ET, P> {
         sb.append(',');
       }
       sb.append('?');
-      args[i] = Long.toString(values[i]);
+      args.addLong(values[i]);
     }
     sb.append(')');
     return new ExprN(this, sb.toString(), args);
@@ -155,7 +164,7 @@ class ComplexColumn<T, R, ET, P> extends NumericColumn<T, R, ET, P> {
     if (!iterator.hasNext()) {
       throw new SQLException("Empty IN clause values");
     }
-    final ArrayList<String> args = new ArrayList<>();
+    final SqlArgs args = new SqlArgs();
     final StringBuilder sb = new StringBuilder();
     sb.append(" NOT IN (");
 
@@ -167,10 +176,10 @@ class ComplexColumn<T, R, ET, P> extends NumericColumn<T, R, ET, P> {
         sb.append(',');
       }
       sb.append('?');
-      args.add(iterator.next().toString());
+      args.addLong(iterator.next());
     }
     sb.append(')');
-    return new ExprN(this, sb.toString(), args.toArray(new String[args.size()]));
+    return new ExprN(this, sb.toString(), args);
   }
 
   /**
@@ -182,7 +191,7 @@ class ComplexColumn<T, R, ET, P> extends NumericColumn<T, R, ET, P> {
   @NonNull
   @CheckResult
   public final Expr greaterThan(long value) {
-    return new Expr1(this, ">?", Long.toString(value));
+    return new Expr1(this, ">?", SqlArgs.of(value));
   }
 
   /**
@@ -194,7 +203,7 @@ class ComplexColumn<T, R, ET, P> extends NumericColumn<T, R, ET, P> {
   @NonNull
   @CheckResult
   public final Expr greaterOrEqual(long value) {
-    return new Expr1(this, ">=?", Long.toString(value));
+    return new Expr1(this, ">=?", SqlArgs.of(value));
   }
 
   /**
@@ -206,7 +215,7 @@ class ComplexColumn<T, R, ET, P> extends NumericColumn<T, R, ET, P> {
   @NonNull
   @CheckResult
   public final Expr lessThan(long value) {
-    return new Expr1(this, "<?", Long.toString(value));
+    return new Expr1(this, "<?", SqlArgs.of(value));
   }
 
   /**
@@ -218,6 +227,6 @@ class ComplexColumn<T, R, ET, P> extends NumericColumn<T, R, ET, P> {
   @NonNull
   @CheckResult
   public final Expr lessOrEqual(long value) {
-    return new Expr1(this, "<=?", Long.toString(value));
+    return new Expr1(this, "<=?", SqlArgs.of(value));
   }
 }
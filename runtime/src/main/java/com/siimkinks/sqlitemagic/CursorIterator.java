@@ -0,0 +1,107 @@
+package com.siimkinks.sqlitemagic;
+
+import android.support.annotation.CheckResult;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import rx.Observable;
+import rx.functions.Action1;
+import rx.functions.Func0;
+import rx.functions.Func1;
+
+abstract class CursorIterator<T> implements CloseableIterator<T> {
+  @Nullable
+  private SqliteMagicCursor cursor;
+  @NonNull
+  private final FastCursor fastCursor;
+  private final int lastPosition;
+
+  CursorIterator(@NonNull SqliteMagicCursor cursor) {
+    this.cursor = cursor;
+    this.fastCursor = cursor.getFastCursor();
+    this.lastPosition = fastCursor.getCount() - 1;
+    if (lastPosition < 0) {
+      close();
+    }
+  }
+
+  /**
+   * Read object from the current cursor position.
+   *
+   * @param cursor Cursor moved to the row that needs to be read
+   * @return Object from the current row
+   */
+  abstract T readRow(@NonNull FastCursor cursor);
+
+  @Override
+  public final boolean hasNext() {
+    return cursor != null && fastCursor.getPosition() < lastPosition;
+  }
+
+  @Override
+  public final T next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    final FastCursor fastCursor = this.fastCursor;
+    fastCursor.moveToNext();
+    try {
+      return readRow(fastCursor);
+    } finally {
+      if (fastCursor.getPosition() == lastPosition) {
+        close();
+      }
+    }
+  }
+
+  @Override
+  public final void remove() {
+    throw new UnsupportedOperationException("remove");
+  }
+
+  @Override
+  public final void close() {
+    final SqliteMagicCursor cursor = this.cursor;
+    if (cursor != null) {
+      this.cursor = null;
+      cursor.close();
+    }
+  }
+
+  /**
+   * Create an observable that iterates query results lazily and respects downstream
+   * backpressure. Query is executed on subscription and the cursor is closed when
+   * all rows are emitted or when subscriber unsubscribes.
+   */
+  @NonNull
+  @CheckResult
+  static <T> Observable<T> stream(@NonNull final CompiledSelect<T, ?> select) {
+    return Observable.using(
+        new Func0<CloseableIterator<T>>() {
+          @Override
+          public CloseableIterator<T> call() {
+            return select.iterate();
+          }
+        },
+        new Func1<CloseableIterator<T>, Observable<T>>() {
+          @Override
+          public Observable<T> call(final CloseableIterator<T> iterator) {
+            return Observable.from(new Iterable<T>() {
+              @Override
+              public Iterator<T> iterator() {
+                return iterator;
+              }
+            });
+          }
+        },
+        new Action1<CloseableIterator<T>>() {
+          @Override
+          public void call(CloseableIterator<T> iterator) {
+            iterator.close();
+          }
+        });
+  }
+}
@@ -0,0 +1,318 @@
+package com.siimkinks.sqlitemagic;
+
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.support.annotation.CheckResult;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Database connection tuning which is applied every time the database is opened.
+ * <p>
+ * Unset values keep SQLite defaults. Use one of the presets or configure the values
+ * with a {@link Builder}:
+ * <ul>
+ * <li>{@link #DEFAULT} -- SQLite defaults</li>
+ * <li>{@link #THROUGHPUT} -- write-ahead log with {@link Synchronous#NORMAL NORMAL} sync level,
+ * bigger page cache, memory-mapped I/O and in-memory temporary storage.
+ * Committed transactions may be rolled back after a power loss, but the database
+ * never gets corrupted</li>
+ * <li>{@link #DURABILITY} -- write-ahead log with {@link Synchronous#FULL FULL} sync level.
+ * Committed transactions survive a power loss</li>
+ * </ul>
+ * Write-ahead log lets queries run concurrently with a writing transaction instead of
+ * waiting for it to finish.
+ *
+ * @see SqliteMagic.DatabaseSetupBuilder#withTuning(DatabaseTuning)
+ */
+public final class DatabaseTuning {
+  static final int MIN_PAGE_SIZE = 512;
+  static final int MAX_PAGE_SIZE = 65536;
+
+  /**
+   * SQLite defaults.
+   */
+  public static final DatabaseTuning DEFAULT = builder().build();
+  /**
+   * Tuning for write heavy workloads.
+   */
+  public static final DatabaseTuning THROUGHPUT = builder()
+      .writeAheadLogging(true)
+      .synchronous(Synchronous.NORMAL)
+      .cacheSizeKib(8 * 1024)
+      .mmapSize(32 * 1024 * 1024)
+      .tempStore(TempStore.MEMORY)
+      .build();
+  /**
+   * Tuning for workloads where committed data must never be lost.
+   */
+  public static final DatabaseTuning DURABILITY = builder()
+      .writeAheadLogging(true)
+      .synchronous(Synchronous.FULL)
+      .build();
+
+  /**
+   * Values of the {@code synchronous} pragma.
+   */
+  public enum Synchronous {
+    OFF, NORMAL, FULL, EXTRA
+  }
+
+  /**
+   * Values of the {@code temp_store} pragma.
+   */
+  public enum TempStore {
+    DEFAULT, FILE, MEMORY
+  }
+
+  final boolean writeAheadLogging;
+  @Nullable
+  final Synchronous synchronous;
+  final int cacheSizeKib;
+  final long mmapSize;
+  @Nullable
+  final TempStore tempStore;
+  final int pageSize;
+
+  DatabaseTuning(@NonNull Builder builder) {
+    this.writeAheadLogging = builder.writeAheadLogging;
+    this.synchronous = builder.synchronous;
+    this.cacheSizeKib = builder.cacheSizeKib;
+    this.mmapSize = builder.mmapSize;
+    this.tempStore = builder.tempStore;
+    this.pageSize = builder.pageSize;
+  }
+
+  /**
+   * @return New tuning builder with all values unset
+   */
+  @NonNull
+  @CheckResult
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * @return New tuning builder initialized with this tuning values
+   */
+  @NonNull
+  @CheckResult
+  public Builder toBuilder() {
+    final Builder builder = new Builder();
+    builder.writeAheadLogging = writeAheadLogging;
+    builder.synchronous = synchronous;
+    builder.cacheSizeKib = cacheSizeKib;
+    builder.mmapSize = mmapSize;
+    builder.tempStore = tempStore;
+    builder.pageSize = pageSize;
+    return builder;
+  }
+
+  /**
+   * Apply this tuning to the opened database.
+   * <p>
+   * Must be called while the database is being configured -- before any table is created
+   * or any transaction is started.
+   */
+  void applyTo(@NonNull SQLiteDatabase db) {
+    // page size can be changed only before database is switched to WAL mode
+    if (pageSize != 0) {
+      executePragma(db, pageSizePragma());
+    }
+    // enabling WAL resets synchronous level to the platform default,
+    // so connection pragmas are applied after it
+    if (writeAheadLogging && !db.isReadOnly()) {
+      db.enableWriteAheadLogging();
+    }
+    for (String pragma : connectionPragmas()) {
+      executePragma(db, pragma);
+    }
+  }
+
+  private static void executePragma(@NonNull SQLiteDatabase db, @NonNull String pragma) {
+    final Cursor cursor = db.rawQuery(pragma, null);
+    try {
+      cursor.moveToFirst();
+    } finally {
+      cursor.close();
+    }
+  }
+
+  /**
+   * @return PRAGMA statements that configure the connection in the order they are applied
+   */
+  @NonNull
+  List<String> pragmas() {
+    final List<String> connectionPragmas = connectionPragmas();
+    if (pageSize == 0) {
+      return connectionPragmas;
+    }
+    final ArrayList<String> pragmas = new ArrayList<>(connectionPragmas.size() + 1);
+    pragmas.add(pageSizePragma());
+    pragmas.addAll(connectionPragmas);
+    return pragmas;
+  }
+
+  @NonNull
+  private String pageSizePragma() {
+    return "PRAGMA page_size=" + pageSize;
+  }
+
+  /**
+   * @return PRAGMA statements that are applied after journal mode is configured
+   */
+  @NonNull
+  List<String> connectionPragmas() {
+    final ArrayList<String> pragmas = new ArrayList<>(4);
+    if (synchronous != null) {
+      pragmas.add("PRAGMA synchronous=" + synchronous.name());
+    }
+    if (cacheSizeKib != 0) {
+      // negative value is the cache size in kibibytes
+      pragmas.add("PRAGMA cache_size=-" + cacheSizeKib);
+    }
+    if (mmapSize >= 0) {
+      pragmas.add("PRAGMA mmap_size=" + mmapSize);
+    }
+    if (tempStore != null) {
+      pragmas.add("PRAGMA temp_store=" + tempStore.name());
+    }
+    return pragmas;
+  }
+
+  @Override
+  public String toString() {
+    return "DatabaseTuning[wal=" + writeAheadLogging +
+        ",synchronous=" + synchronous +
+        ",cacheSizeKib=" + cacheSizeKib +
+        ",mmapSize=" + mmapSize +
+        ",tempStore=" + tempStore +
+        ",pageSize=" + pageSize + "]";
+  }
+
+  /**
+   * Builder for {@link DatabaseTuning}.
+   */
+  public static final class Builder {
+    boolean writeAheadLogging;
+    @Nullable
+    Synchronous synchronous;
+    int cacheSizeKib;
+    long mmapSize = -1;
+    @Nullable
+    TempStore tempStore;
+    int pageSize;
+
+    Builder() {
+    }
+
+    /**
+     * Define whether database uses write-ahead log journal.
+     *
+     * @param enabled {@code true} to enable write-ahead log
+     * @return This builder
+     */
+    @NonNull
+    @CheckResult
+    public Builder writeAheadLogging(boolean enabled) {
+      this.writeAheadLogging = enabled;
+      return this;
+    }
+
+    /**
+     * Define the {@code synchronous} level.
+     *
+     * @param synchronous Synchronous level
+     * @return This builder
+     */
+    @NonNull
+    @CheckResult
+    public Builder synchronous(@NonNull Synchronous synchronous) {
+      if (synchronous == null) {
+        throw new NullPointerException("Synchronous level cannot be null");
+      }
+      this.synchronous = synchronous;
+      return this;
+    }
+
+    /**
+     * Define the maximum page cache size per connection.
+     *
+     * @param kib Page cache size in kibibytes. Must be positive
+     * @return This builder
+     */
+    @NonNull
+    @CheckResult
+    public Builder cacheSizeKib(int kib) {
+      if (kib <= 0) {
+        throw new IllegalArgumentException("Cache size must be positive");
+      }
+      this.cacheSizeKib = kib;
+      return this;
+    }
+
+    /**
+     * Define the maximum number of bytes used for memory-mapped I/O.
+     *
+     * @param bytes Maximum memory-mapped size in bytes. {@code 0} disables memory-mapped I/O
+     * @return This builder
+     */
+    @NonNull
+    @CheckResult
+    public Builder mmapSize(long bytes) {
+      if (bytes < 0) {
+        throw new IllegalArgumentException("Memory-mapped I/O size cannot be negative");
+      }
+      this.mmapSize = bytes;
+      return this;
+    }
+
+    /**
+     * Define where temporary tables and indices are stored.
+     *
+     * @param tempStore Temporary storage location
+     * @return This builder
+     */
+    @NonNull
+    @CheckResult
+    public Builder tempStore(@NonNull TempStore tempStore) {
+      if (tempStore == null) {
+        throw new NullPointerException("Temp store cannot be null");
+      }
+      this.tempStore = tempStore;
+      return this;
+    }
+
+    /**
+     * Define the database page size.
+     * <p>
+     * Page size takes effect only when the database is created.
+     *
+     * @param bytes Page size in bytes. Must be a power of two between
+     *              {@value #MIN_PAGE_SIZE} and {@value #MAX_PAGE_SIZE}
+     * @return This builder
+     */
+    @NonNull
+    @CheckResult
+    public Builder pageSize(int bytes) {
+      if (bytes < MIN_PAGE_SIZE || bytes > MAX_PAGE_SIZE || (bytes & (bytes - 1)) != 0) {
+        throw new IllegalArgumentException("Page size must be a power of two between "
+            + MIN_PAGE_SIZE + " and " + MAX_PAGE_SIZE);
+      }
+      this.pageSize = bytes;
+      return this;
+    }
+
+    /**
+     * @return Database tuning
+     */
+    @NonNull
+    @CheckResult
+    public DatabaseTuning build() {
+      return new DatabaseTuning(this);
+    }
+  }
+}
@@ -2,8 +2,14 @@ package com.siimkinks.sqlitemagic;
 
 import android.support.annotation.CheckResult;
 import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
 
 import java.io.Closeable;
+import java.util.concurrent.Callable;
+
+import rx.Completable;
+import rx.Single;
+import rx.functions.Action0;
 
 /**
  * Database connection reference.
@@ -53,4 +59,68 @@ public interface DbConnection extends Closeable {
   @NonNull
   @CheckResult
   Transaction newTransaction();
+
+  /**
+   * Creates {@link Single} that when subscribed to executes the {@code callable} in a
+   * transaction and emits its result after the transaction is committed.
+   * <p>
+   * Transactions run on a single writer thread of this connection, so callers never
+   * contend for the database write lock. Jobs that are queued while the writer is busy are
+   * committed together in one transaction, which amortizes the cost of syncing the journal.
+   * Each grouped job runs in its own savepoint, so a failing job is rolled back alone and
+   * does not affect the other jobs of the group. Only if a job aborts the whole grouped
+   * transaction (e.g. with {@code ROLLBACK} conflict algorithm or by ending a nested
+   * transaction without marking it successful), the other jobs are retried each in its own
+   * transaction. Therefore {@code callable} should not have side effects outside of the
+   * database. Callable must use synchronous database operations.
+   * <p>
+   * Resulting {@link Single} emits on the writer thread.
+   *
+   * @param callable Database operations to run in a transaction
+   * @param <T>      Result type
+   * @return Deferred {@link Single} that when subscribed to queues the transaction and emits
+   * the result of {@code callable} after it is committed
+   */
+  @NonNull
+  @CheckResult
+  <T> Single<T> callInTransaction(@NonNull Callable<T> callable);
+
+  /**
+   * Creates {@link Completable} that when subscribed to executes the {@code action} in a
+   * transaction and completes after the transaction is committed.
+   * <p>
+   * See {@link #callInTransaction(Callable)} for the execution details.
+   *
+   * @param action Database operations to run in a transaction
+   * @return Deferred {@link Completable} that when subscribed to queues the transaction and
+   * completes after it is committed
+   */
+  @NonNull
+  @CheckResult
+  Completable runInTransaction(@NonNull Action0 action);
+
+  /**
+   * Get this connection's compiled query statement cache.
+   * <p>
+   * Cache hit, miss and eviction counters can be used to tune the cache size with
+   * {@link SqliteMagic.DatabaseSetupBuilder#withStatementCacheSize(int)}.
+   *
+   * @return Statement cache of this connection
+   */
+  @NonNull
+  @CheckResult
+  StatementCache getStatementCache();
+
+  /**
+   * Get this connection's entity cache of the provided table.
+   * <p>
+   * Cache hit, miss and eviction counters can be used to tune the cache size with
+   * {@link com.siimkinks.sqlitemagic.annotation.Table#cache() @Table(cache = ...)}.
+   *
+   * @param table Table
+   * @return Entity cache of the table or {@code null} if table has no caching enabled
+   */
+  @Nullable
+  @CheckResult
+  EntityCache getEntityCache(@NonNull Table<?> table);
 }
@@ -11,12 +11,21 @@ import com.siimkinks.sqlitemagic.internal.StringArraySet;
 
 import java.util.Collections;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
+import rx.Completable;
 import rx.Scheduler;
+import rx.Single;
+import rx.SingleSubscriber;
+import rx.functions.Action0;
+import rx.functions.Func0;
+import rx.schedulers.Schedulers;
 import rx.subjects.PublishSubject;
 
 import static com.siimkinks.sqlitemagic.SqlUtil.getNrOfTables;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 /**
  * Note: some parts are forked from <a href="https://github.com/square/sqlbrite">sqlbrite</a>
@@ -33,13 +42,60 @@ public class DbConnectionImpl implements DbConnection {
   @Nullable
   private volatile SQLiteDatabase writableDatabase;
   private final Object databaseLock = new Object();
+  /**
+   * Read-only connections used for queries outside of transactions or {@code null}
+   * if all queries use the writer connection.
+   */
+  @Nullable
+  private final ReaderConnectionPool readerConnections;
 
   final EntityDbManager[] entityDbManagers;
+  @NonNull
+  final StatementCache statementCache;
+  /**
+   * Entity caches of tables which have caching enabled keyed by table name.
+   * Created lazily on first access.
+   */
+  private final ConcurrentHashMap<String, EntityCache> entityCaches = new ConcurrentHashMap<>();
+  /**
+   * Executes transactions of {@link #callInTransaction} and {@link #runInTransaction}
+   * on a single writer thread.
+   */
+  private final TransactionExecutor transactionExecutor;
+  /**
+   * Whether single entity write operations observed outside of transactions are
+   * executed by {@link #transactionExecutor}.
+   */
+  final boolean batchWrites;
   final ThreadLocal<SqliteTransaction> transactions = new ThreadLocal<>();
   /**
    * Publishes sets of tables which have changed.
+   * <p>
+   * Emitted set is a {@link ChangeSet} when the changed rows are known.
    */
   final PublishSubject<Set<String>> triggers = PublishSubject.create();
+  /**
+   * Observed queries shared between their subscribers or {@code null} if every
+   * subscriber runs its own queries.
+   */
+  @Nullable
+  final SharedQueries sharedQueries;
+  /**
+   * Window in nanoseconds in which triggers are merged into a single emission or
+   * {@code 0} if triggers are emitted immediately.
+   */
+  final long triggerCoalesceWindowNanos;
+  @Nullable
+  private final Scheduler.Worker triggerCoalesceWorker;
+  private final Object pendingTriggersLock = new Object();
+  @Nullable
+  private ChangeSet pendingTriggers;
+  private final Action0 pendingTriggersFlush = new Action0() {
+    @Override
+    public void call() {
+      flushPendingTriggers();
+    }
+  };
 
   private final Transaction transaction = new Transaction() {
     @Override
@@ -60,18 +116,7 @@ public class DbConnectionImpl implements DbConnection {
 
     @Override
     public void end() {
-      final SqliteTransaction transaction = transactions.get();
-      if (transaction == null) {
-        throw new IllegalStateException("Not in transaction.");
-      }
-      final SqliteTransaction newTransaction = transaction.parent;
-      transactions.set(newTransaction);
-      if (SqliteMagic.LOGGING_ENABLED) LogUtil.logDebug("TXN END %s", transaction);
-      getWritableDatabase().endTransaction();
-      // Send the triggers after ending the transaction in the DB.
-      if (transaction.commit && !transaction.isEmpty()) {
-        sendTableTriggers(transaction);
-      }
+      endTransaction();
     }
 
     @Override
@@ -80,9 +125,26 @@ public class DbConnectionImpl implements DbConnection {
     }
   };
 
-  DbConnectionImpl(@NonNull DbHelper dbHelper, @NonNull Scheduler queryScheduler) {
+  DbConnectionImpl(@NonNull DbHelper dbHelper,
+                   @NonNull Scheduler queryScheduler,
+                   int statementCacheSize,
+                   long triggerCoalesceWindowNanos,
+                   boolean shareObservedQueries,
+                   @NonNull DatabaseTuning tuning,
+                   int readerConnectionCount,
+                   boolean batchWrites,
+                   long writeBatchWindowNanos) {
     this.dbHelper = dbHelper;
     this.queryScheduler = queryScheduler;
+    this.statementCache = new StatementCache(this, statementCacheSize);
+    this.triggerCoalesceWindowNanos = triggerCoalesceWindowNanos;
+    this.triggerCoalesceWorker = triggerCoalesceWindowNanos > 0 ? Schedulers.computation().createWorker() : null;
+    this.sharedQueries = shareObservedQueries ? new SharedQueries() : null;
+    this.transactionExecutor = new TransactionExecutor(this, writeBatchWindowNanos);
+    this.batchWrites = batchWrites;
+    // in-memory databases cannot be shared between connections
+    this.readerConnections = readerConnectionCount > 0 && dbHelper.getDatabaseName() != null
+        ? new ReaderConnectionPool(this, tuning, readerConnectionCount) : null;
     final int nrOfTables = getNrOfTables();
     final EntityDbManager[] cachedEntityData = new EntityDbManager[nrOfTables];
     for (int i = 0; i < nrOfTables; i++) {
@@ -96,8 +158,18 @@ public class DbConnectionImpl implements DbConnection {
     if (triggers.hasCompleted()) {
       return;
     }
+    final Scheduler.Worker triggerCoalesceWorker = this.triggerCoalesceWorker;
+    if (triggerCoalesceWorker != null) {
+      triggerCoalesceWorker.unsubscribe();
+      flushPendingTriggers();
+    }
     triggers.onCompleted();
+    transactionExecutor.close();
     synchronized (databaseLock) {
+      statementCache.close();
+      if (readerConnections != null) {
+        readerConnections.close();
+      }
       final EntityDbManager[] cachedEntityData = this.entityDbManagers;
       for (int i = 0, length = cachedEntityData.length; i < length; i++) {
         cachedEntityData[i].close();
@@ -110,6 +182,113 @@ public class DbConnectionImpl implements DbConnection {
     LogUtil.logInfo("Closed database [name=%s]", dbHelper.getDatabaseName());
   }
 
+  /**
+   * End the current transaction of this thread.
+   *
+   * @return Whether the transaction was committed
+   */
+  boolean endTransaction() {
+    final SqliteTransaction transaction = transactions.get();
+    if (transaction == null) {
+      throw new IllegalStateException("Not in transaction.");
+    }
+    final SqliteTransaction newTransaction = transaction.parent;
+    transactions.set(newTransaction);
+    if (SqliteMagic.LOGGING_ENABLED) LogUtil.logDebug("TXN END %s", transaction);
+    getWritableDatabase().endTransaction();
+    // Send the triggers after ending the transaction in the DB.
+    if (transaction.commit && !transaction.isEmpty()) {
+      sendTableTriggers(transaction);
+    }
+    return transaction.commit;
+  }
+
+  @NonNull
+  @CheckResult
+  @Override
+  public final <T> Single<T> callInTransaction(@NonNull final Callable<T> callable) {
+    if (callable == null) {
+      throw new NullPointerException("Callable cannot be null");
+    }
+    return Single.create(new Single.OnSubscribe<T>() {
+      @Override
+      public void call(SingleSubscriber<? super T> subscriber) {
+        transactionExecutor.submit(callable, subscriber);
+      }
+    });
+  }
+
+  @NonNull
+  @CheckResult
+  @Override
+  public final Completable runInTransaction(@NonNull final Action0 action) {
+    if (action == null) {
+      throw new NullPointerException("Action cannot be null");
+    }
+    return callInTransaction(new Callable<Object>() {
+      @Override
+      public Object call() {
+        action.call();
+        return null;
+      }
+    }).toCompletable();
+  }
+
+  /**
+   * For internal use.
+   * <p>
+   * Create {@link Single} of a single entity write operation. Operation is batched with other
+   * writes if write batching is enabled and subscription happens outside of a transaction.
+   *
+   * @param dbConnection Connection provided to the operation or {@code null} if
+   *                     default connection is used
+   * @param operation    Write operation
+   * @param <T>          Operation result type
+   * @return Deferred {@link Single} that when subscribed to executes the operation
+   */
+  @NonNull
+  @CheckResult
+  public static <T> Single<T> entityWriteSingle(@Nullable final DbConnectionImpl dbConnection,
+                                                @NonNull final Callable<T> operation) {
+    return Single.defer(new Func0<Single<T>>() {
+      @Override
+      public Single<T> call() {
+        final DbConnectionImpl connection = dbConnection != null ? dbConnection : SqliteMagic.getDefaultDbConnection();
+        if (connection.batchWrites && !connection.inTransaction()) {
+          return connection.callInTransaction(operation);
+        }
+        return Single.fromCallable(operation);
+      }
+    });
+  }
+
+  /**
+   * For internal use.
+   * <p>
+   * Create {@link Completable} of a single entity write operation. Operation is batched with
+   * other writes if write batching is enabled and subscription happens outside of a transaction.
+   *
+   * @param dbConnection Connection provided to the operation or {@code null} if
+   *                     default connection is used
+   * @param operation    Write operation
+   * @return Deferred {@link Completable} that when subscribed to executes the operation
+   */
+  @NonNull
+  @CheckResult
+  public static Completable entityWriteCompletable(@Nullable final DbConnectionImpl dbConnection,
+                                                   @NonNull final Action0 operation) {
+    return Completable.defer(new Func0<Completable>() {
+      @Override
+      public Completable call() {
+        final DbConnectionImpl connection = dbConnection != null ? dbConnection : SqliteMagic.getDefaultDbConnection();
+        if (connection.batchWrites && !connection.inTransaction()) {
+          return connection.runInTransaction(operation);
+        }
+        return Completable.fromAction(operation);
+      }
+    });
+  }
+
   @NonNull
   @Override
   public final Transaction newTransaction() {
@@ -122,13 +301,20 @@ public class DbConnectionImpl implements DbConnection {
   }
 
   SQLiteDatabase getReadableDatabase() {
+    final ReaderConnectionPool readerConnections = this.readerConnections;
+    // queries in transaction must see uncommitted changes of the writer
+    if (readerConnections != null && transactions.get() == null) {
+      return readerConnections.next();
+    }
     SQLiteDatabase db = readableDatabase;
     if (db == null) {
       synchronized (databaseLock) {
         db = readableDatabase;
         if (db == null) {
           if (SqliteMagic.LOGGING_ENABLED) LogUtil.logDebug("Creating readable database");
-          db = readableDatabase = dbHelper.getReadableDatabase();
+          db = dbHelper.getReadableDatabase();
+          db.setMaxSqlCacheSize(statementCache.maxSize());
+          readableDatabase = db;
         }
       }
     }
@@ -142,7 +328,9 @@ public class DbConnectionImpl implements DbConnection {
         db = writableDatabase;
         if (db == null) {
           if (SqliteMagic.LOGGING_ENABLED) LogUtil.logDebug("Creating writable database");
-          db = writableDatabase = dbHelper.getWritableDatabase();
+          db = dbHelper.getWritableDatabase();
+          db.setMaxSqlCacheSize(statementCache.maxSize());
+          writableDatabase = db;
         }
       }
     }
@@ -155,43 +343,173 @@ public class DbConnectionImpl implements DbConnection {
     return entityDbManagers[tablePos];
   }
 
+  @NonNull
+  @CheckResult
+  @Override
+  public final StatementCache getStatementCache() {
+    return statementCache;
+  }
+
   SQLiteStatement compileStatement(@NonNull final String sql) {
     return getWritableDatabase().compileStatement(sql);
   }
 
+  @Nullable
+  @CheckResult
+  @Override
+  public final EntityCache getEntityCache(@NonNull Table<?> table) {
+    final int maxSize = table.entityCacheSize();
+    if (maxSize <= 0) {
+      return null;
+    }
+    final String tableName = table.name;
+    EntityCache cache = entityCaches.get(tableName);
+    if (cache == null) {
+      final EntityCache newCache = new EntityCache(tableName, maxSize);
+      cache = entityCaches.putIfAbsent(tableName, newCache);
+      if (cache == null) {
+        cache = newCache;
+      }
+    }
+    return cache;
+  }
+
+  /**
+   * @return Whether current thread is in transaction
+   */
+  boolean inTransaction() {
+    return transactions.get() != null;
+  }
+
+  /**
+   * Evict cached entities of the changed tables.
+   * <p>
+   * Called both when a change is made and when the transaction containing the change
+   * is committed, so that entities cached by other threads before the commit are
+   * evicted as well.
+   */
+  private void invalidateEntityCaches(@NonNull String table) {
+    final EntityCache cache = entityCaches.get(table);
+    if (cache != null) {
+      cache.invalidateAll();
+    }
+  }
+
+  private void invalidateEntityCaches(@NonNull StringArraySet tables) {
+    final ConcurrentHashMap<String, EntityCache> entityCaches = this.entityCaches;
+    if (entityCaches.isEmpty()) {
+      return;
+    }
+    final ChangeSet changeSet = tables instanceof ChangeSet ? (ChangeSet) tables : null;
+    for (int i = 0, size = tables.size(); i < size; i++) {
+      final String table = tables.valueAt(i);
+      final EntityCache cache = entityCaches.get(table);
+      if (cache != null) {
+        if (changeSet != null) {
+          changeSet.invalidate(table, cache);
+        } else {
+          cache.invalidateAll();
+        }
+      }
+    }
+  }
+
   void sendTableTrigger(@NonNull String table) {
+    invalidateEntityCaches(table);
     final SqliteTransaction transaction = transactions.get();
     if (transaction != null) {
       transaction.add(table);
     } else {
-      final Set<String> tablesCollection = Collections.singleton(table);
-      if (SqliteMagic.LOGGING_ENABLED) LogUtil.logDebug("TRIGGER %s", tablesCollection);
-      triggers.onNext(tablesCollection);
+      publishTriggers(Collections.singleton(table));
     }
   }
 
   void sendTableTriggers(@NonNull String... tables) {
+    for (String table : tables) {
+      invalidateEntityCaches(table);
+    }
     final SqliteTransaction transaction = transactions.get();
     if (transaction != null) {
       transaction.addAll(tables);
     } else {
-      final StringArraySet tablesCollection = new StringArraySet(tables);
-      if (SqliteMagic.LOGGING_ENABLED) LogUtil.logDebug("TRIGGER %s", tablesCollection);
-      triggers.onNext(tablesCollection);
+      publishTriggers(new StringArraySet(tables));
     }
   }
 
   void sendTableTriggers(@NonNull StringArraySet tables) {
+    invalidateEntityCaches(tables);
     final SqliteTransaction transaction = transactions.get();
     if (transaction != null) {
       transaction.addAll(tables);
     } else {
+      publishTriggers(tables);
+    }
+  }
+
+  /**
+   * Send trigger about a single changed row.
+   * <p>
+   * Queries that are known to select only some other row of the {@code table} are not
+   * re-run because of this trigger.
+   *
+   * @param table     Changed table
+   * @param operation One or more of {@link ChangeSet} operation flags
+   * @param rowId     Changed row id
+   */
+  void sendRowTrigger(@NonNull String table, int operation, long rowId) {
+    final EntityCache cache = entityCaches.get(table);
+    if (cache != null) {
+      cache.invalidate(rowId);
+    }
+    final SqliteTransaction transaction = transactions.get();
+    if (transaction != null) {
+      transaction.addRow(table, operation, rowId);
+    } else {
+      final ChangeSet changeSet = new ChangeSet();
+      changeSet.addRow(table, operation, rowId);
+      publishTriggers(changeSet);
+    }
+  }
+
+  /**
+   * Emit changed tables to observers or, if triggers are coalesced, merge them with
+   * other tables changed in the current coalescing window.
+   */
+  private void publishTriggers(@NonNull Set<String> tables) {
+    final Scheduler.Worker triggerCoalesceWorker = this.triggerCoalesceWorker;
+    if (triggerCoalesceWorker == null) {
       if (SqliteMagic.LOGGING_ENABLED) LogUtil.logDebug("TRIGGER %s", tables);
       triggers.onNext(tables);
+      return;
+    }
+    synchronized (pendingTriggersLock) {
+      ChangeSet pendingTriggers = this.pendingTriggers;
+      if (pendingTriggers == null) {
+        pendingTriggers = new ChangeSet();
+        this.pendingTriggers = pendingTriggers;
+        triggerCoalesceWorker.schedule(pendingTriggersFlush, triggerCoalesceWindowNanos, NANOSECONDS);
+      }
+      if (tables instanceof StringArraySet) {
+        pendingTriggers.addAll((StringArraySet) tables);
+      } else {
+        pendingTriggers.addAll(tables);
+      }
+    }
+  }
+
+  void flushPendingTriggers() {
+    final ChangeSet pendingTriggers;
+    synchronized (pendingTriggersLock) {
+      pendingTriggers = this.pendingTriggers;
+      this.pendingTriggers = null;
+    }
+    if (pendingTriggers != null) {
+      if (SqliteMagic.LOGGING_ENABLED) LogUtil.logDebug("TRIGGER %s", pendingTriggers);
+      triggers.onNext(pendingTriggers);
     }
   }
 
-  private static final class SqliteTransaction extends StringArraySet implements SQLiteTransactionListener {
+  private static final class SqliteTransaction extends ChangeSet implements SQLiteTransactionListener {
     final SqliteTransaction parent;
     boolean commit;
 
@@ -10,22 +10,29 @@ import android.database.sqlite.SQLiteQuery;
 import android.support.annotation.NonNull;
 
 import com.siimkinks.sqlitemagic.annotation.internal.Invokes;
+import com.siimkinks.sqlitemagic.internal.SimpleArrayMap;
 
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.util.ArrayList;
 
 import static com.siimkinks.sqlitemagic.GlobalConst.ERROR_PROCESSOR_DID_NOT_RUN;
 import static com.siimkinks.sqlitemagic.GlobalConst.INVOCATION_METHOD_CONFIGURE_DATABASE;
+import static com.siimkinks.sqlitemagic.GlobalConst.INVOCATION_METHOD_CREATE_INDICES;
 import static com.siimkinks.sqlitemagic.GlobalConst.INVOCATION_METHOD_CREATE_TABLES;
+import static com.siimkinks.sqlitemagic.GlobalConst.INVOCATION_METHOD_GET_INDEX_SCHEMAS;
 
 final class DbHelper extends SQLiteOpenHelper {
 
   private final Context context;
+  @NonNull
+  private final DatabaseTuning tuning;
 
-  DbHelper(@NonNull Context context, @NonNull String name, int version) {
+  DbHelper(@NonNull Context context, @NonNull String name, int version, @NonNull DatabaseTuning tuning) {
     super(context, name, new SqliteMagicCursorFactory(), version);
     this.context = context;
+    this.tuning = tuning;
   }
 
   @Invokes(INVOCATION_METHOD_CREATE_TABLES)
@@ -39,6 +46,59 @@ final class DbHelper extends SQLiteOpenHelper {
   @Override
   public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
     executeUpgradeScripts(db, oldVersion, newVersion);
+    // upgrade scripts do not define indices, index schema is idempotent
+    dropStaleIndices(db, getIndexSchemas());
+    createIndices(db);
+  }
+
+  @Invokes(INVOCATION_METHOD_CREATE_INDICES)
+  public static void createIndices(SQLiteDatabase db) {
+    // filled with magic
+    throw new RuntimeException(ERROR_PROCESSOR_DID_NOT_RUN);
+  }
+
+  /**
+   * @return Index name to index schema mappings by table name
+   */
+  @Invokes(INVOCATION_METHOD_GET_INDEX_SCHEMAS)
+  public static SimpleArrayMap<String, SimpleArrayMap<String, String>> getIndexSchemas() {
+    // filled with magic
+    throw new RuntimeException(ERROR_PROCESSOR_DID_NOT_RUN);
+  }
+
+  /**
+   * Drop indices of managed tables whose schema differs from the current definition or
+   * which are not defined anymore. Changed indices are recreated by {@link #createIndices}.
+   * Indices that SQLite creates for constraints have no schema and are left alone.
+   */
+  static void dropStaleIndices(@NonNull SQLiteDatabase db,
+                               @NonNull SimpleArrayMap<String, SimpleArrayMap<String, String>> indexSchemas) {
+    final ArrayList<String> staleIndices = new ArrayList<>();
+    final Cursor cursor = db.rawQuery("SELECT tbl_name, name, sql FROM sqlite_master WHERE type='index' AND sql IS NOT NULL", null);
+    try {
+      while (cursor.moveToNext()) {
+        if (isStaleIndex(indexSchemas, cursor.getString(0), cursor.getString(1), cursor.getString(2))) {
+          staleIndices.add(cursor.getString(1));
+        }
+      }
+    } finally {
+      cursor.close();
+    }
+    for (int i = 0, size = staleIndices.size(); i < size; i++) {
+      final String indexName = staleIndices.get(i);
+      if (SqliteMagic.LOGGING_ENABLED) {
+        LogUtil.logDebug("Dropping stale index %s", indexName);
+      }
+      db.execSQL("DROP INDEX IF EXISTS \"" + indexName.replace("\"", "\"\"") + '"');
+    }
+  }
+
+  static boolean isStaleIndex(@NonNull SimpleArrayMap<String, SimpleArrayMap<String, String>> indexSchemas,
+                              @NonNull String tableName,
+                              @NonNull String indexName,
+                              @NonNull String schema) {
+    final SimpleArrayMap<String, String> tableIndices = indexSchemas.get(tableName);
+    return tableIndices != null && !schema.equals(tableIndices.get(indexName));
   }
 
   private void executeUpgradeScripts(SQLiteDatabase db, int oldVersion, int newVersion) {
@@ -65,9 +125,17 @@ final class DbHelper extends SQLiteOpenHelper {
     }
   }
 
-  @Invokes(INVOCATION_METHOD_CONFIGURE_DATABASE)
   @Override
   public void onConfigure(SQLiteDatabase db) {
+    configureDatabase(db);
+    if (SqliteMagic.LOGGING_ENABLED) {
+      LogUtil.logDebug("Applying %s", tuning);
+    }
+    tuning.applyTo(db);
+  }
+
+  @Invokes(INVOCATION_METHOD_CONFIGURE_DATABASE)
+  public static void configureDatabase(SQLiteDatabase db) {
     // filled with magic
     throw new RuntimeException(ERROR_PROCESSOR_DID_NOT_RUN);
   }
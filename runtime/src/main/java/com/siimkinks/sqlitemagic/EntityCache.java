@@ -0,0 +1,168 @@
+package com.siimkinks.sqlitemagic;
+
+import android.support.annotation.CheckResult;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/**
+ * Bounded LRU cache of table entities keyed by their row id.
+ * <p>
+ * Each {@link DbConnection} owns one cache per table that has caching enabled with
+ * {@link com.siimkinks.sqlitemagic.annotation.Table#cache() @Table(cache = ...)}.
+ * Cache is consulted by {@code takeFirst()} queries that select a single row by its id.
+ * Entities are evicted when their row or the whole table changes.
+ * <p>
+ * Hit, miss and eviction counters can be used to choose a suitable cache size.
+ */
+public final class EntityCache {
+  @NonNull
+  private final String table;
+  @NonNull
+  private final LinkedHashMap<Long, Object> entities;
+  private final int maxSize;
+  /**
+   * Incremented on every invalidation. Entities read from the database are cached
+   * only if no invalidation happened while they were being read.
+   */
+  private long generation;
+  private long hitCount;
+  private long missCount;
+  private long evictionCount;
+  private long invalidationCount;
+
+  EntityCache(@NonNull String table, int maxSize) {
+    this.table = table;
+    this.maxSize = maxSize;
+    this.entities = new LinkedHashMap<>(Math.min(maxSize, 64), 0.75f, true);
+  }
+
+  /**
+   * @param rowId Entity row id
+   * @return Cached entity or {@code null} if entity is not in cache
+   */
+  @Nullable
+  @CheckResult
+  @SuppressWarnings("unchecked")
+  synchronized <T> T get(long rowId) {
+    final Object entity = entities.get(rowId);
+    if (entity != null) {
+      hitCount++;
+    } else {
+      missCount++;
+    }
+    return (T) entity;
+  }
+
+  /**
+   * @return Current invalidation generation which must be passed to
+   * {@link #put(long, Object, long)} after reading the entity from the database
+   */
+  @CheckResult
+  synchronized long generation() {
+    return generation;
+  }
+
+  /**
+   * Cache entity that was read from the database.
+   *
+   * @param rowId      Entity row id
+   * @param entity     Entity
+   * @param generation Generation taken with {@link #generation()} before reading the entity
+   */
+  synchronized void put(long rowId, @NonNull Object entity, long generation) {
+    if (this.generation != generation) {
+      return;
+    }
+    entities.put(rowId, entity);
+    trimToSize();
+  }
+
+  synchronized void invalidate(long rowId) {
+    generation++;
+    if (entities.remove(rowId) != null) {
+      invalidationCount++;
+    }
+  }
+
+  synchronized void invalidateAll() {
+    generation++;
+    invalidationCount += entities.size();
+    entities.clear();
+  }
+
+  private void trimToSize() {
+    final Iterator<Long> iterator = entities.keySet().iterator();
+    while (entities.size() > maxSize) {
+      iterator.next();
+      iterator.remove();
+      evictionCount++;
+    }
+  }
+
+  /**
+   * @return Name of the cached table
+   */
+  @NonNull
+  public String table() {
+    return table;
+  }
+
+  /**
+   * @return Maximum number of cached entities
+   */
+  public int maxSize() {
+    return maxSize;
+  }
+
+  /**
+   * @return Number of currently cached entities
+   */
+  public synchronized int size() {
+    return entities.size();
+  }
+
+  /**
+   * @return Number of times a requested entity was found in the cache
+   */
+  public synchronized long hitCount() {
+    return hitCount;
+  }
+
+  /**
+   * @return Number of times a requested entity had to be queried from the database
+   */
+  public synchronized long missCount() {
+    return missCount;
+  }
+
+  /**
+   * @return Number of entities that were evicted because the cache was full
+   */
+  public synchronized long evictionCount() {
+    return evictionCount;
+  }
+
+  /**
+   * @return Number of entities that were evicted because their table changed
+   */
+  public synchronized long invalidationCount() {
+    return invalidationCount;
+  }
+
+  @Override
+  public synchronized String toString() {
+    final long accesses = hitCount + missCount;
+    final long hitPercent = accesses != 0 ? (100 * hitCount / accesses) : 0;
+    return "EntityCache[table=" + table +
+        ",maxSize=" + maxSize +
+        ",size=" + entities.size() +
+        ",hits=" + hitCount +
+        ",misses=" + missCount +
+        ",evictions=" + evictionCount +
+        ",invalidations=" + invalidationCount +
+        ",hitRate=" + hitPercent + "%]";
+  }
+}
@@ -5,11 +5,22 @@ import android.support.annotation.CheckResult;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 
+import java.util.Arrays;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 final class EntityDbManager {
-  private final AtomicReference<SQLiteStatement> insertStatement = new AtomicReference<>();
-  private final AtomicReference<SQLiteStatement> updateStatement = new AtomicReference<>();
+  /**
+   * Host parameter counts of bulk delete statements in ascending order.
+   * <p>
+   * Largest chunk stays below SQLite's default limit of 999 host parameters.
+   */
+  static final int[] BULK_DELETE_CHUNK_SIZES = {1, 8, 64, 512};
+
+  private final AtomicReference<StatementHandles> insertStatement = new AtomicReference<>();
+  private final AtomicReference<StatementHandles> updateStatement = new AtomicReference<>();
+  private final AtomicReference<StatementHandles> bulkInsertStatement = new AtomicReference<>();
+  private final AtomicReferenceArray<StatementHandles> bulkDeleteStatements = new AtomicReferenceArray<>(BULK_DELETE_CHUNK_SIZES.length);
   @Nullable
   private DbConnectionImpl dbConnection;
 
@@ -18,17 +29,26 @@ final class EntityDbManager {
   }
 
   void close() {
-    final SQLiteStatement insertStm = insertStatement.getAndSet(null);
-    if (insertStm != null) {
-      insertStm.close();
-    }
-    final SQLiteStatement updateStm = updateStatement.getAndSet(null);
-    if (updateStm != null) {
-      updateStm.close();
+    closeStatement(insertStatement);
+    closeStatement(updateStatement);
+    closeStatement(bulkInsertStatement);
+    final AtomicReferenceArray<StatementHandles> bulkDeleteStatements = this.bulkDeleteStatements;
+    for (int i = 0, length = bulkDeleteStatements.length(); i < length; i++) {
+      final StatementHandles deleteStm = bulkDeleteStatements.getAndSet(i, null);
+      if (deleteStm != null) {
+        deleteStm.close();
+      }
     }
     dbConnection = null;
   }
 
+  private static void closeStatement(@NonNull AtomicReference<StatementHandles> statement) {
+    final StatementHandles stm = statement.getAndSet(null);
+    if (stm != null) {
+      stm.close();
+    }
+  }
+
   @NonNull
   @CheckResult
   DbConnectionImpl getDbConnection() {
@@ -38,33 +58,106 @@ final class EntityDbManager {
     return dbConnection;
   }
 
+  /**
+   * Get insert statement handle of the calling thread.
+   *
+   * @param insertSql Insert statement SQL
+   * @return Statement for inserting a single row
+   */
   @NonNull
   @CheckResult
   SQLiteStatement getInsertStatement(@NonNull String insertSql) {
-    SQLiteStatement stm = insertStatement.get();
+    return getStatement(insertStatement, insertSql);
+  }
+
+  /**
+   * Get update statement handle of the calling thread.
+   *
+   * @param updateSql Update statement SQL
+   * @return Statement for updating a single row
+   */
+  @NonNull
+  @CheckResult
+  SQLiteStatement getUpdateStatement(@NonNull String updateSql) {
+    return getStatement(updateStatement, updateSql);
+  }
+
+  /**
+   * Get multi-row insert statement handle of the calling thread.
+   *
+   * @param bulkInsertSql Insert statement SQL with multiple rows in the "VALUES" clause
+   * @return Statement for inserting multiple rows at once
+   */
+  @NonNull
+  @CheckResult
+  SQLiteStatement getBulkInsertStatement(@NonNull String bulkInsertSql) {
+    return getStatement(bulkInsertStatement, bulkInsertSql);
+  }
+
+  @NonNull
+  private SQLiteStatement getStatement(@NonNull AtomicReference<StatementHandles> statement, @NonNull String sql) {
+    StatementHandles stm = statement.get();
     if (stm == null) {
       if (dbConnection == null) {
         throw new IllegalStateException("DB connection closed");
       }
-      stm = dbConnection.compileStatement(insertSql);
-      insertStatement.set(stm);
-      return stm;
+      final StatementHandles newStm = new StatementHandles(dbConnection, sql, null);
+      stm = statement.compareAndSet(null, newStm) ? newStm : statement.get();
     }
-    return stm;
+    return stm.acquire();
   }
 
+  /**
+   * Get size of the next bulk delete chunk.
+   * <p>
+   * Chunk which is larger than the count of remaining ids must be padded by
+   * binding some id multiple times.
+   *
+   * @param remaining Count of ids that are not yet deleted
+   * @return Host parameter count of the bulk delete statement to use next
+   */
+  @CheckResult
+  static int bulkDeleteChunkSize(int remaining) {
+    final int[] chunkSizes = BULK_DELETE_CHUNK_SIZES;
+    final int lastIndex = chunkSizes.length - 1;
+    for (int i = 0; i < lastIndex; i++) {
+      if (remaining <= chunkSizes[i]) {
+        return chunkSizes[i];
+      }
+    }
+    return chunkSizes[lastIndex];
+  }
+
+  /**
+   * Get bulk delete statement handle of the calling thread.
+   *
+   * @param chunkSize          One of the {@link #BULK_DELETE_CHUNK_SIZES}
+   * @param bulkDeleteSqlStart Delete statement SQL up to the opening parenthesis of
+   *                           "IN" operator
+   * @return Statement with {@code chunkSize} host parameters in the "IN" operator
+   */
   @NonNull
   @CheckResult
-  SQLiteStatement getUpdateStatement(@NonNull String updateSql) {
-    SQLiteStatement stm = updateStatement.get();
+  SQLiteStatement getBulkDeleteStatement(int chunkSize, @NonNull String bulkDeleteSqlStart) {
+    final int index = Arrays.binarySearch(BULK_DELETE_CHUNK_SIZES, chunkSize);
+    if (index < 0) {
+      throw new IllegalArgumentException("Unsupported bulk delete chunk size " + chunkSize);
+    }
+    StatementHandles stm = bulkDeleteStatements.get(index);
     if (stm == null) {
       if (dbConnection == null) {
         throw new IllegalStateException("DB connection closed");
       }
-      stm = dbConnection.compileStatement(updateSql);
-      updateStatement.set(stm);
-      return stm;
+      final StringBuilder sql = new StringBuilder(bulkDeleteSqlStart.length() + chunkSize * 2);
+      sql.append(bulkDeleteSqlStart)
+          .append('?');
+      for (int i = 1; i < chunkSize; i++) {
+        sql.append(",?");
+      }
+      sql.append(')');
+      final StatementHandles newStm = new StatementHandles(dbConnection, sql.toString(), null);
+      stm = bulkDeleteStatements.compareAndSet(index, null, newStm) ? newStm : bulkDeleteStatements.get(index);
     }
-    return stm;
+    return stm.acquire();
   }
 }
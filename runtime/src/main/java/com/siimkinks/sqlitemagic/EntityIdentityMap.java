@@ -0,0 +1,128 @@
+package com.siimkinks.sqlitemagic;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.siimkinks.sqlitemagic.internal.SimpleArrayMap;
+
+/**
+ * For internal use.
+ * <p>
+ * Entities parsed from a single result set keyed by their table and id.
+ * Lets deep queries build each referenced entity only once and share it
+ * between all rows that reference it.
+ * <p>
+ * Not thread safe -- a new instance is created for every query execution.
+ */
+public final class EntityIdentityMap {
+  private final SimpleArrayMap<String, TableEntities> tables = new SimpleArrayMap<>();
+
+  /**
+   * Get entity that is already parsed from the current result set.
+   *
+   * @param table Entity table name
+   * @param id    Entity id
+   * @param <E>   Entity type
+   * @return Parsed entity or {@code null} if this entity is not yet parsed
+   */
+  @Nullable
+  @SuppressWarnings("unchecked")
+  public <E> E get(@NonNull String table, long id) {
+    final TableEntities entities = tables.get(table);
+    if (entities == null) {
+      return null;
+    }
+    return (E) entities.get(id);
+  }
+
+  /**
+   * Add parsed entity.
+   *
+   * @param table  Entity table name
+   * @param id     Entity id
+   * @param entity Parsed entity
+   */
+  public void put(@NonNull String table, long id, @NonNull Object entity) {
+    TableEntities entities = tables.get(table);
+    if (entities == null) {
+      entities = new TableEntities();
+      tables.put(table, entities);
+    }
+    entities.put(id, entity);
+  }
+
+  /**
+   * Open addressing hash map with primitive long keys.
+   */
+  static final class TableEntities {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private long[] keys = new long[INITIAL_CAPACITY];
+    private Object[] values = new Object[INITIAL_CAPACITY];
+    private int size;
+
+    @Nullable
+    Object get(long key) {
+      final long[] keys = this.keys;
+      final Object[] values = this.values;
+      final int mask = keys.length - 1;
+      int i = hash(key) & mask;
+      Object value;
+      while ((value = values[i]) != null) {
+        if (keys[i] == key) {
+          return value;
+        }
+        i = (i + 1) & mask;
+      }
+      return null;
+    }
+
+    void put(long key, @NonNull Object value) {
+      if ((size + 1) * 4 > keys.length * 3) {
+        grow();
+      }
+      if (insert(keys, values, key, value)) {
+        size++;
+      }
+    }
+
+    int size() {
+      return size;
+    }
+
+    private void grow() {
+      final long[] oldKeys = keys;
+      final Object[] oldValues = values;
+      final long[] newKeys = new long[oldKeys.length << 1];
+      final Object[] newValues = new Object[oldValues.length << 1];
+      for (int i = 0, length = oldKeys.length; i < length; i++) {
+        final Object value = oldValues[i];
+        if (value != null) {
+          insert(newKeys, newValues, oldKeys[i], value);
+        }
+      }
+      keys = newKeys;
+      values = newValues;
+    }
+
+    private static boolean insert(long[] keys, Object[] values, long key, Object value) {
+      final int mask = keys.length - 1;
+      int i = hash(key) & mask;
+      while (values[i] != null) {
+        if (keys[i] == key) {
+          values[i] = value;
+          return false;
+        }
+        i = (i + 1) & mask;
+      }
+      keys[i] = key;
+      values[i] = value;
+      return true;
+    }
+
+    private static int hash(long key) {
+      final int h = (int) (key ^ (key >>> 32));
+      return h ^ (h >>> 16);
+    }
+  }
+}
@@ -2,6 +2,7 @@ package com.siimkinks.sqlitemagic;
 
 import android.support.annotation.CheckResult;
 import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
 
 import com.siimkinks.sqlitemagic.Select.OrderingTerm;
 import com.siimkinks.sqlitemagic.internal.SimpleArrayMap;
@@ -17,7 +18,7 @@ import static com.siimkinks.sqlitemagic.Select.OrderingTerm.DESC;
  */
 public class Expr {
   @NonNull
-  private final Column<?, ?, ?, ?> column;
+  final Column<?, ?, ?, ?> column;
   @NonNull
   final String expr;
 
@@ -26,7 +27,7 @@ public class Expr {
     this.expr = expr;
   }
 
-  void addArgs(@NonNull ArrayList<String> args) {
+  void addArgs(@NonNull SqlArgs args) {
   }
 
   void addObservedTables(@NonNull ArrayList<String> tables) {
@@ -46,6 +47,16 @@ public class Expr {
     return column.equals(this.column);
   }
 
+  /**
+   * @param table Table which rows are selected
+   * @return Id of the only {@code table} row that this expression can be true for or
+   * {@code null} if it is not known
+   */
+  @Nullable
+  Long restrictedRowId(@NonNull Table<?> table) {
+    return null;
+  }
+
   /**
    * Create SQLite expression from raw SQL string.
    *
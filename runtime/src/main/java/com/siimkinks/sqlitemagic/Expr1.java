@@ -1,20 +1,33 @@
 package com.siimkinks.sqlitemagic;
 
 import android.support.annotation.NonNull;
-
-import java.util.ArrayList;
+import android.support.annotation.Nullable;
 
 final class Expr1 extends Expr {
   @NonNull
-  private final String evalArg;
+  private final SqlArgs evalArg;
 
-  Expr1(@NonNull Column<?, ?, ?, ?> column, @NonNull String expr, @NonNull String evalArg) {
+  Expr1(@NonNull Column<?, ?, ?, ?> column, @NonNull String expr, @NonNull SqlArgs evalArg) {
     super(column, expr);
     this.evalArg = evalArg;
   }
 
   @Override
-  void addArgs(@NonNull ArrayList<String> args) {
-    args.add(evalArg);
+  void addArgs(@NonNull SqlArgs args) {
+    args.addAll(evalArg);
+  }
+
+  @Nullable
+  @Override
+  Long restrictedRowId(@NonNull Table<?> table) {
+    final SqlArgs evalArg = this.evalArg;
+    if (column.table == table
+        && "=?".equals(expr)
+        && column.name.equals(table.idColumnName)
+        && evalArg.size() == 1
+        && evalArg.types[0] == SqlArgs.TYPE_LONG) {
+      return evalArg.longs[0];
+    }
+    return null;
   }
 }
@@ -0,0 +1,66 @@
+package com.siimkinks.sqlitemagic;
+
+import android.support.annotation.NonNull;
+
+import java.util.Arrays;
+
+/**
+ * Expression which checks a column against a list of long values.
+ * <p>
+ * Values are kept so that statements can split long lists into chunks which fit into
+ * the SQLite host parameter limit.
+ */
+final class ExprIn extends Expr {
+  @NonNull
+  final long[] values;
+
+  ExprIn(@NonNull Column<?, ?, ?, ?> column, @NonNull long[] values) {
+    super(column, inClause(values.length));
+    this.values = values;
+  }
+
+  @Override
+  void addArgs(@NonNull SqlArgs args) {
+    for (long value : values) {
+      args.addLong(value);
+    }
+  }
+
+  /**
+   * @return Values sorted in ascending order without duplicates
+   */
+  @NonNull
+  long[] uniqueValues() {
+    final long[] sorted = values.clone();
+    Arrays.sort(sorted);
+    int size = 0;
+    for (int i = 0, length = sorted.length; i < length; i++) {
+      if (size == 0 || sorted[i] != sorted[size - 1]) {
+        sorted[size++] = sorted[i];
+      }
+    }
+    return size == sorted.length ? sorted : Arrays.copyOf(sorted, size);
+  }
+
+  /**
+   * Append this expression with {@code count} value placeholders to SQL.
+   */
+  void appendChunkToSql(@NonNull StringBuilder sb, int count) {
+    column.appendSql(sb);
+    sb.append(inClause(count));
+  }
+
+  @NonNull
+  static String inClause(int count) {
+    final StringBuilder sb = new StringBuilder(6 + (count << 1));
+    sb.append(" IN (");
+    for (int i = 0; i < count; i++) {
+      if (i > 0) {
+        sb.append(',');
+      }
+      sb.append('?');
+    }
+    sb.append(')');
+    return sb.toString();
+  }
+}
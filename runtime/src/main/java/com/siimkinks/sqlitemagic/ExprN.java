@@ -2,20 +2,17 @@ package com.siimkinks.sqlitemagic;
 
 import android.support.annotation.NonNull;
 
-import java.util.ArrayList;
-import java.util.Collections;
-
 final class ExprN extends Expr {
   @NonNull
-  private final String[] evalArgs;
+  private final SqlArgs evalArgs;
 
-  ExprN(@NonNull Column<?, ?, ?, ?> column, @NonNull String expr, @NonNull String[] evalArgs) {
+  ExprN(@NonNull Column<?, ?, ?, ?> column, @NonNull String expr, @NonNull SqlArgs evalArgs) {
     super(column, expr);
     this.evalArgs = evalArgs;
   }
 
   @Override
-  void addArgs(@NonNull ArrayList<String> args) {
-    Collections.addAll(args, evalArgs);
+  void addArgs(@NonNull SqlArgs args) {
+    args.addAll(evalArgs);
   }
 }
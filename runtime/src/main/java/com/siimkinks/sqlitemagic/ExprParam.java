@@ -0,0 +1,35 @@
+package com.siimkinks.sqlitemagic;
+
+import android.support.annotation.NonNull;
+
+/**
+ * Expression which compares a column against a {@link Param parameter}.
+ */
+final class ExprParam extends Expr {
+  @NonNull
+  final ParamArg arg;
+
+  ExprParam(@NonNull Column<?, ?, ?, ?> column, @NonNull String expr, @NonNull Param<?> param) {
+    this(column, expr, new ParamArg(column, param));
+  }
+
+  ExprParam(@NonNull Column<?, ?, ?, ?> column, @NonNull String expr, @NonNull ParamArg arg) {
+    super(column, expr);
+    this.arg = arg;
+  }
+
+  @Override
+  void addArgs(@NonNull SqlArgs args) {
+    args.addParam(arg);
+  }
+
+  /**
+   * @param table Table which rows are selected
+   * @return Whether this expression selects a {@code table} row by its id
+   */
+  boolean restrictsRowId(@NonNull Table<?> table) {
+    return column.table == table
+        && "=?".equals(expr)
+        && column.name.equals(table.idColumnName);
+  }
+}
@@ -4,8 +4,6 @@ import android.support.annotation.NonNull;
 
 import com.siimkinks.sqlitemagic.internal.SimpleArrayMap;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.LinkedList;
 
 final class ExprR extends Expr {
@@ -20,8 +18,8 @@ final class ExprR extends Expr {
   }
 
   @Override
-  void addArgs(@NonNull ArrayList<String> args) {
-    Collections.addAll(args, evalArgs);
+  void addArgs(@NonNull SqlArgs args) {
+    args.addAll(evalArgs);
   }
 
   @Override
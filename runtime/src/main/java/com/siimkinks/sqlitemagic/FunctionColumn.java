@@ -105,7 +105,7 @@ final class FunctionColumn<T, R, ET, P> extends NumericColumn<T, R, ET, P> {
   }
 
   @Override
-  void addArgs(@NonNull ArrayList<String> args) {
+  void addArgs(@NonNull SqlArgs args) {
     final Column[] wrappedColumns = this.wrappedColumns;
     final int length = this.wrappedColumns.length;
     for (int i = 0; i < length; i++) {
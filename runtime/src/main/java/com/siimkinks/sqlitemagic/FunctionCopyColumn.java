@@ -42,8 +42,8 @@ final class FunctionCopyColumn<T, R, ET, P> extends NumericColumn<T, R, ET, P> {
 
   @NonNull
   @Override
-  String toSqlArg(@NonNull T val) {
-    return wrappedColumn.toSqlArg(val);
+  void addSqlArg(@NonNull SqlArgs args, @NonNull T val) {
+    wrappedColumn.addSqlArg(args, val);
   }
 
   @Nullable
@@ -86,7 +86,7 @@ final class FunctionCopyColumn<T, R, ET, P> extends NumericColumn<T, R, ET, P> {
   }
 
   @Override
-  void addArgs(@NonNull ArrayList<String> args) {
+  void addArgs(@NonNull SqlArgs args) {
     wrappedColumn.addArgs(args);
   }
 
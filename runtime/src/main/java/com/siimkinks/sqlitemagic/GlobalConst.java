@@ -5,6 +5,8 @@ public final class GlobalConst {
   public static final String CLASS_GENERATED_CLASSES_MANAGER = "com.siimkinks.sqlitemagic." + CLASS_NAME_GENERATED_CLASSES_MANAGER;
 
   public static final String METHOD_CREATE_TABLES = "createTables";
+  public static final String METHOD_CREATE_INDICES = "createIndices";
+  public static final String METHOD_GET_INDEX_SCHEMAS = "getIndexSchemas";
   public static final String METHOD_GET_DB_VERSION = "getDbVersion";
   public static final String METHOD_GET_DB_NAME = "getDbName";
   public static final String METHOD_CONFIGURE_DATABASE = "configureDatabase";
@@ -12,6 +14,8 @@ public final class GlobalConst {
   public static final String METHOD_COLUMN_FOR_VALUE = "columnForValue";
 
   public static final String INVOCATION_METHOD_CREATE_TABLES = CLASS_GENERATED_CLASSES_MANAGER + "#" + METHOD_CREATE_TABLES;
+  public static final String INVOCATION_METHOD_CREATE_INDICES = CLASS_GENERATED_CLASSES_MANAGER + "#" + METHOD_CREATE_INDICES;
+  public static final String INVOCATION_METHOD_GET_INDEX_SCHEMAS = CLASS_GENERATED_CLASSES_MANAGER + "#" + METHOD_GET_INDEX_SCHEMAS;
   public static final String INVOCATION_METHOD_GET_DB_VERSION = CLASS_GENERATED_CLASSES_MANAGER + "#" + METHOD_GET_DB_VERSION;
   public static final String INVOCATION_METHOD_GET_DB_NAME = CLASS_GENERATED_CLASSES_MANAGER + "#" + METHOD_GET_DB_NAME;
   public static final String INVOCATION_METHOD_CONFIGURE_DATABASE = CLASS_GENERATED_CLASSES_MANAGER + "#" + METHOD_CONFIGURE_DATABASE;
@@ -62,7 +62,7 @@ public class JoinClause extends SqlClause {
     return true;
   }
 
-  void addArgs(@NonNull ArrayList<String> args) {
+  void addArgs(@NonNull SqlArgs args) {
   }
 
   static int indexOf(@NonNull Table<?> table,
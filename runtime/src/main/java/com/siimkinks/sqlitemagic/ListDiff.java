@@ -0,0 +1,322 @@
+package com.siimkinks.sqlitemagic;
+
+import android.support.annotation.CheckResult;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Changes between two consecutive results of an observed list query.
+ * <p>
+ * Rows are matched by their id column. Results of tables without id column and
+ * single column selections are matched by value equality. Matched rows that are not equal
+ * to their previous versions are reported as changed.
+ * <p>
+ * All positions are sorted in ascending order.
+ *
+ * @param <T> List item type
+ */
+public final class ListDiff<T> {
+  private static final int[] EMPTY = new int[0];
+  private static final Object NULL_KEY = new Object();
+
+  @NonNull
+  private final List<T> list;
+  @NonNull
+  private final int[] inserted;
+  @NonNull
+  private final int[] removed;
+  @NonNull
+  private final int[] changed;
+  @NonNull
+  private final int[] moved;
+  @NonNull
+  private final int[] movedFrom;
+
+  ListDiff(@NonNull List<T> list,
+           @NonNull int[] inserted,
+           @NonNull int[] removed,
+           @NonNull int[] changed,
+           @NonNull int[] moved,
+           @NonNull int[] movedFrom) {
+    this.list = list;
+    this.inserted = inserted;
+    this.removed = removed;
+    this.changed = changed;
+    this.moved = moved;
+    this.movedFrom = movedFrom;
+  }
+
+  /**
+   * @return Current query result. Returned value will never be {@code null}
+   */
+  @NonNull
+  @CheckResult
+  public List<T> getList() {
+    return list;
+  }
+
+  /**
+   * @return Positions in the current list of rows that were not present in the previous list
+   */
+  @NonNull
+  @CheckResult
+  public int[] getInserted() {
+    return inserted;
+  }
+
+  /**
+   * @return Positions in the previous list of rows that are not present in the current list
+   */
+  @NonNull
+  @CheckResult
+  public int[] getRemoved() {
+    return removed;
+  }
+
+  /**
+   * @return Positions in the current list of rows that were present in the previous list,
+   * but whose values have changed
+   */
+  @NonNull
+  @CheckResult
+  public int[] getChanged() {
+    return changed;
+  }
+
+  /**
+   * @return Positions in the current list of rows that changed their relative order.
+   * Previous positions of these rows are in {@link #getMovedFrom()} at the same indexes
+   */
+  @NonNull
+  @CheckResult
+  public int[] getMoved() {
+    return moved;
+  }
+
+  /**
+   * @return Positions in the previous list of rows that are reported in {@link #getMoved()}
+   */
+  @NonNull
+  @CheckResult
+  public int[] getMovedFrom() {
+    return movedFrom;
+  }
+
+  /**
+   * @return {@code true} if there are no changes between the previous and current list;
+   * {@code false} otherwise
+   */
+  @CheckResult
+  public boolean isEmpty() {
+    return inserted.length == 0
+        && removed.length == 0
+        && changed.length == 0
+        && moved.length == 0;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+
+    final ListDiff<?> diff = (ListDiff<?>) o;
+    return list.equals(diff.list)
+        && Arrays.equals(inserted, diff.inserted)
+        && Arrays.equals(removed, diff.removed)
+        && Arrays.equals(changed, diff.changed)
+        && Arrays.equals(moved, diff.moved)
+        && Arrays.equals(movedFrom, diff.movedFrom);
+  }
+
+  @Override
+  public int hashCode() {
+    int result = list.hashCode();
+    result = 31 * result + Arrays.hashCode(inserted);
+    result = 31 * result + Arrays.hashCode(removed);
+    result = 31 * result + Arrays.hashCode(changed);
+    result = 31 * result + Arrays.hashCode(moved);
+    return result;
+  }
+
+  @Override
+  public String toString() {
+    return "ListDiff[inserted=" + Arrays.toString(inserted) +
+        ";removed=" + Arrays.toString(removed) +
+        ";changed=" + Arrays.toString(changed) +
+        ";moved=" + Arrays.toString(moved) +
+        ";movedFrom=" + Arrays.toString(movedFrom) + "]";
+  }
+
+  /**
+   * Key of a list item which is used to match items between results.
+   */
+  @NonNull
+  static <T> Object keyOf(@Nullable Table<T> table, @Nullable T item) {
+    if (item == null) {
+      return NULL_KEY;
+    }
+    if (table != null) {
+      final Long rowId = table.rowIdOf(item);
+      if (rowId != null) {
+        return rowId;
+      }
+    }
+    return item;
+  }
+
+  /**
+   * Create positions of all items in the list keyed by their {@link #keyOf(Table, Object) keys}.
+   *
+   * @return Key positions or {@code null} if list contains duplicate keys
+   */
+  @Nullable
+  static <T> HashMap<Object, Integer> keyPositions(@Nullable Table<T> table, @NonNull List<T> list) {
+    final int size = list.size();
+    final HashMap<Object, Integer> positions = new HashMap<>(Math.max(size * 4 / 3 + 1, 16));
+    for (int i = 0; i < size; i++) {
+      if (positions.put(keyOf(table, list.get(i)), i) != null) {
+        return null;
+      }
+    }
+    return positions;
+  }
+
+  /**
+   * Diff that reports all items in {@code list} as inserted and all items in
+   * the previous list as removed.
+   */
+  @NonNull
+  static <T> ListDiff<T> replaced(int previousSize, @NonNull List<T> list) {
+    return new ListDiff<>(list, range(list.size()), range(previousSize), EMPTY, EMPTY, EMPTY);
+  }
+
+  /**
+   * Calculate diff between lists in linearithmic time.
+   * <p>
+   * Moved rows are the ones that are not part of the longest sequence of rows which
+   * kept their relative order.
+   */
+  @NonNull
+  static <T> ListDiff<T> calculate(@Nullable Table<T> table,
+                                   @NonNull List<T> previousList,
+                                   @NonNull HashMap<Object, Integer> previousPositions,
+                                   @NonNull List<T> list,
+                                   @NonNull HashMap<Object, Integer> positions) {
+    final int previousSize = previousList.size();
+    final int size = list.size();
+
+    final int[] removed = new int[previousSize];
+    int removedCount = 0;
+    for (int i = 0; i < previousSize; i++) {
+      if (!positions.containsKey(keyOf(table, previousList.get(i)))) {
+        removed[removedCount++] = i;
+      }
+    }
+
+    final int[] inserted = new int[size];
+    int insertedCount = 0;
+    final int[] changed = new int[size];
+    int changedCount = 0;
+    // positions of retained rows in both lists, ordered by the current list position
+    final int[] retained = new int[size];
+    final int[] retainedFrom = new int[size];
+    int retainedCount = 0;
+    for (int i = 0; i < size; i++) {
+      final T item = list.get(i);
+      final Integer previousPosition = previousPositions.get(keyOf(table, item));
+      if (previousPosition == null) {
+        inserted[insertedCount++] = i;
+        continue;
+      }
+      final T previousItem = previousList.get(previousPosition);
+      if (item == null ? previousItem != null : !item.equals(previousItem)) {
+        changed[changedCount++] = i;
+      }
+      retained[retainedCount] = i;
+      retainedFrom[retainedCount] = previousPosition;
+      retainedCount++;
+    }
+
+    final boolean[] inOrder = longestIncreasingSubsequence(retainedFrom, retainedCount);
+    final int[] moved = new int[retainedCount];
+    final int[] movedFrom = new int[retainedCount];
+    int movedCount = 0;
+    for (int i = 0; i < retainedCount; i++) {
+      if (!inOrder[i]) {
+        moved[movedCount] = retained[i];
+        movedFrom[movedCount] = retainedFrom[i];
+        movedCount++;
+      }
+    }
+
+    return new ListDiff<>(list,
+        trim(inserted, insertedCount),
+        trim(removed, removedCount),
+        trim(changed, changedCount),
+        trim(moved, movedCount),
+        trim(movedFrom, movedCount));
+  }
+
+  /**
+   * Find the longest strictly increasing subsequence of distinct {@code values}.
+   *
+   * @return Flags marking which values belong to the found subsequence
+   */
+  @NonNull
+  static boolean[] longestIncreasingSubsequence(@NonNull int[] values, int count) {
+    final boolean[] result = new boolean[count];
+    if (count == 0) {
+      return result;
+    }
+    // tails[k] is the index of the smallest tail value of all increasing subsequences of length k+1
+    final int[] tails = new int[count];
+    final int[] predecessors = new int[count];
+    int length = 0;
+    for (int i = 0; i < count; i++) {
+      final int value = values[i];
+      int low = 0;
+      int high = length;
+      while (low < high) {
+        final int mid = (low + high) >>> 1;
+        if (values[tails[mid]] < value) {
+          low = mid + 1;
+        } else {
+          high = mid;
+        }
+      }
+      predecessors[i] = low > 0 ? tails[low - 1] : -1;
+      tails[low] = i;
+      if (low == length) {
+        length++;
+      }
+    }
+    for (int i = tails[length - 1]; i >= 0; i = predecessors[i]) {
+      result[i] = true;
+    }
+    return result;
+  }
+
+  @NonNull
+  private static int[] range(int size) {
+    if (size == 0) {
+      return EMPTY;
+    }
+    final int[] range = new int[size];
+    for (int i = 0; i < size; i++) {
+      range[i] = i;
+    }
+    return range;
+  }
+
+  @NonNull
+  private static int[] trim(@NonNull int[] values, int count) {
+    if (count == 0) {
+      return EMPTY;
+    }
+    return count == values.length ? values : Arrays.copyOf(values, count);
+  }
+}
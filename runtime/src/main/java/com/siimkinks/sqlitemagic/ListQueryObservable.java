@@ -0,0 +1,43 @@
+package com.siimkinks.sqlitemagic;
+
+import android.support.annotation.CheckResult;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.util.List;
+
+import rx.Observable;
+
+/**
+ * An {@link Observable} of {@link Query} which offers list query specific convenience operators.
+ *
+ * @param <T> List item type
+ */
+public final class ListQueryObservable<T> extends QueryObservable<List<T>> {
+  @Nullable
+  private final Table<T> table;
+
+  ListQueryObservable(Observable<Query<List<T>>> o, @Nullable Table<T> table) {
+    super(o);
+    this.table = table;
+  }
+
+  /**
+   * Runs each emitted {@link Query} and propagates changes between the current and
+   * the previous result to downstream as a single item.
+   * <p>
+   * Rows are matched by their id column, so the diff is calculated without comparing
+   * every row against every other row. Results of tables without id column and single
+   * column selections are matched by value equality. If id column is not selected or
+   * rows cannot otherwise be told apart, all previous rows are reported as removed
+   * and all current rows as inserted.
+   * <p>
+   * Diff is calculated on the query scheduler. The first emitted item reports all rows
+   * as inserted.
+   */
+  @NonNull
+  @CheckResult
+  public final Observable<ListDiff<T>> runQueryDiffed() {
+    return lift(new OperatorRunQueryDiffed<T>(table));
+  }
+}
@@ -28,6 +28,13 @@ public final class LogUtil {
     SqliteMagic.LOGGER.logQueryTime(queryTimeInMillis, observedTables, sql, args);
   }
 
+  static void logQueryTime(long queryTimeInMillis,
+                           @NonNull String[] observedTables,
+                           @NonNull String sql,
+                           @Nullable SqlArgs args) {
+    SqliteMagic.LOGGER.logQueryTime(queryTimeInMillis, observedTables, sql, SqlArgs.toStringArray(args));
+  }
+
   public static void logDebug(@NonNull String msg, Object... args) {
     if (args.length > 0) msg = String.format(msg, args);
     SqliteMagic.LOGGER.logDebug(msg);
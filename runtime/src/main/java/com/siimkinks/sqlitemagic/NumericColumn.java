@@ -46,7 +46,19 @@ public class NumericColumn<T, R, ET, P> extends Column<T, R, ET, P> {
   @NonNull
   @CheckResult
   public final Expr greaterThan(@NonNull T value) {
-    return new Expr1(this, ">?", toSqlArg(value));
+    return new Expr1(this, ">?", toSqlArgs(value));
+  }
+
+  /**
+   * This column &gt; parameter.
+   *
+   * @param param Parameter which value to test against this column
+   * @return Expression
+   */
+  @NonNull
+  @CheckResult
+  public final Expr greaterThan(@NonNull Param<T> param) {
+    return new ExprParam(this, ">?", param);
   }
 
   /**
@@ -84,7 +96,19 @@ public class NumericColumn<T, R, ET, P> extends Column<T, R, ET, P> {
   @NonNull
   @CheckResult
   public final Expr greaterOrEqual(@NonNull T value) {
-    return new Expr1(this, ">=?", toSqlArg(value));
+    return new Expr1(this, ">=?", toSqlArgs(value));
+  }
+
+  /**
+   * This column &gt;= parameter.
+   *
+   * @param param Parameter which value to test against this column
+   * @return Expression
+   */
+  @NonNull
+  @CheckResult
+  public final Expr greaterOrEqual(@NonNull Param<T> param) {
+    return new ExprParam(this, ">=?", param);
   }
 
   /**
@@ -122,7 +146,19 @@ public class NumericColumn<T, R, ET, P> extends Column<T, R, ET, P> {
   @NonNull
   @CheckResult
   public final Expr lessThan(@NonNull T value) {
-    return new Expr1(this, "<?", toSqlArg(value));
+    return new Expr1(this, "<?", toSqlArgs(value));
+  }
+
+  /**
+   * This column &lt; parameter.
+   *
+   * @param param Parameter which value to test against this column
+   * @return Expression
+   */
+  @NonNull
+  @CheckResult
+  public final Expr lessThan(@NonNull Param<T> param) {
+    return new ExprParam(this, "<?", param);
   }
 
   /**
@@ -160,7 +196,19 @@ public class NumericColumn<T, R, ET, P> extends Column<T, R, ET, P> {
   @NonNull
   @CheckResult
   public final Expr lessOrEqual(@NonNull T value) {
-    return new Expr1(this, "<=?", toSqlArg(value));
+    return new Expr1(this, "<=?", toSqlArgs(value));
+  }
+
+  /**
+   * This column &lt;= parameter.
+   *
+   * @param param Parameter which value to test against this column
+   * @return Expression
+   */
+  @NonNull
+  @CheckResult
+  public final Expr lessOrEqual(@NonNull Param<T> param) {
+    return new ExprParam(this, "<=?", param);
   }
 
   /**
@@ -198,7 +246,19 @@ public class NumericColumn<T, R, ET, P> extends Column<T, R, ET, P> {
   @NonNull
   @CheckResult
   public final Between<T, ET> between(@NonNull T value) {
-    return new Between<>(this, value, null, false);
+    return new Between<>(this, toSqlArgs(value), null, false);
+  }
+
+  /**
+   * Create a new builder for SQL BETWEEN operator.
+   *
+   * @param param The first param of the BETWEEN operator
+   * @return Between operator builder
+   */
+  @NonNull
+  @CheckResult
+  public final Between<T, ET> between(@NonNull Param<T> param) {
+    return new Between<>(this, ParamArg.of(this, param), null, false);
   }
 
   /**
@@ -224,7 +284,19 @@ public class NumericColumn<T, R, ET, P> extends Column<T, R, ET, P> {
   @NonNull
   @CheckResult
   public final Between<T, ET> notBetween(@NonNull T value) {
-    return new Between<>(this, value, null, true);
+    return new Between<>(this, toSqlArgs(value), null, true);
+  }
+
+  /**
+   * Create a new builder for SQL "NOT BETWEEN" operator combination.
+   *
+   * @param param The first param of the BETWEEN operator
+   * @return Between operator builder
+   */
+  @NonNull
+  @CheckResult
+  public final Between<T, ET> notBetween(@NonNull Param<T> param) {
+    return new Between<>(this, ParamArg.of(this, param), null, true);
   }
 
   /**
@@ -245,12 +317,12 @@ public class NumericColumn<T, R, ET, P> extends Column<T, R, ET, P> {
     @NonNull
     final Column<T, ?, ?, ?> column;
     @Nullable
-    final T firstVal;
+    final SqlArgs firstVal;
     @Nullable
     final Column<?, ?, ?, ?> firstColumn;
     final boolean not;
 
-    Between(@NonNull Column<T, ?, ?, ?> column, @Nullable T firstVal,
+    Between(@NonNull Column<T, ?, ?, ?> column, @Nullable SqlArgs firstVal,
             @Nullable Column<?, ?, ?, ?> firstColumn, boolean not) {
       this.column = column;
       this.firstVal = firstVal;
@@ -268,8 +340,20 @@ public class NumericColumn<T, R, ET, P> extends Column<T, R, ET, P> {
     @CheckResult
     public final Expr and(@NonNull T value) {
       final Column<T, ?, ?, ?> column = this.column;
-      return new BetweenExpr(column, firstVal != null ? column.toSqlArg(firstVal) : null,
-          column.toSqlArg(value), firstColumn, null, not);
+      return new BetweenExpr(column, firstVal, column.toSqlArgs(value), firstColumn, null, not);
+    }
+
+    /**
+     * Create {@link Expr} object for the buildable BETWEEN operator.
+     *
+     * @param param The second param of the BETWEEN operator
+     * @return Expression
+     */
+    @NonNull
+    @CheckResult
+    public final Expr and(@NonNull Param<T> param) {
+      final Column<T, ?, ?, ?> column = this.column;
+      return new BetweenExpr(column, firstVal, ParamArg.of(column, param), firstColumn, null, not);
     }
 
     /**
@@ -283,9 +367,7 @@ public class NumericColumn<T, R, ET, P> extends Column<T, R, ET, P> {
     @NonNull
     @CheckResult
     public final <C extends NumericColumn<?, ?, ? extends ET, ?>> Expr and(@NonNull C column) {
-      final Column<T, ?, ?, ?> baseColumn = this.column;
-      return new BetweenExpr(baseColumn, firstVal != null ? baseColumn.toSqlArg(firstVal) : null,
-          null, firstColumn, column, not);
+      return new BetweenExpr(this.column, firstVal, null, firstColumn, column, not);
     }
   }
 
@@ -0,0 +1,22 @@
+package com.siimkinks.sqlitemagic;
+
+import android.support.annotation.NonNull;
+
+/**
+ * The only row of a table that a query selects.
+ */
+final class ObservedRow {
+  @NonNull
+  final String table;
+  final long rowId;
+
+  ObservedRow(@NonNull String table, long rowId) {
+    this.table = table;
+    this.rowId = rowId;
+  }
+
+  @Override
+  public String toString() {
+    return table + "[" + rowId + "]";
+  }
+}
@@ -0,0 +1,69 @@
+package com.siimkinks.sqlitemagic;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+
+import rx.Observable;
+import rx.Subscriber;
+import rx.exceptions.Exceptions;
+
+final class OperatorRunQueryDiffed<T> implements Observable.Operator<ListDiff<T>, Query<List<T>>> {
+  @Nullable
+  final Table<T> table;
+
+  OperatorRunQueryDiffed(@Nullable Table<T> table) {
+    this.table = table;
+  }
+
+  @Override
+  public Subscriber<? super Query<List<T>>> call(final Subscriber<? super ListDiff<T>> subscriber) {
+    return new Subscriber<Query<List<T>>>(subscriber) {
+      @NonNull
+      private List<T> previousList = Collections.emptyList();
+      @Nullable
+      private HashMap<Object, Integer> previousPositions = new HashMap<>();
+
+      @Override
+      public void onNext(Query<List<T>> query) {
+        try {
+          final List<T> list = query.runImpl(subscriber, true);
+          if (subscriber.isUnsubscribed()) {
+            return;
+          }
+          if (list == null) {
+            request(1);
+            return;
+          }
+          final Table<T> table = OperatorRunQueryDiffed.this.table;
+          final HashMap<Object, Integer> positions = ListDiff.keyPositions(table, list);
+          final HashMap<Object, Integer> previousPositions = this.previousPositions;
+          final ListDiff<T> diff;
+          if (positions == null || previousPositions == null) {
+            diff = ListDiff.replaced(previousList.size(), list);
+          } else {
+            diff = ListDiff.calculate(table, previousList, previousPositions, list, positions);
+          }
+          this.previousList = list;
+          this.previousPositions = positions;
+          subscriber.onNext(diff);
+        } catch (Throwable e) {
+          Exceptions.throwOrReport(e, this, query.toString());
+        }
+      }
+
+      @Override
+      public void onCompleted() {
+        subscriber.onCompleted();
+      }
+
+      @Override
+      public void onError(Throwable e) {
+        subscriber.onError(e);
+      }
+    };
+  }
+}
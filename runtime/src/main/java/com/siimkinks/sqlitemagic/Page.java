@@ -0,0 +1,64 @@
+package com.siimkinks.sqlitemagic;
+
+import android.support.annotation.CheckResult;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.util.List;
+
+/**
+ * A single page of keyset paginated query results.
+ * <p>
+ * Page holds the position of its last row, which is used to query the following page with
+ * {@link CompiledPagedSelect#executeAfter(Page)} or {@link CompiledPagedSelect#observeAfter(Page)}.
+ *
+ * @param <T> Page item type
+ */
+public final class Page<T> {
+  @NonNull
+  private final List<T> items;
+  @Nullable
+  final SqlArgs nextPageKey;
+
+  Page(@NonNull List<T> items, @Nullable SqlArgs nextPageKey) {
+    this.items = items;
+    this.nextPageKey = nextPageKey;
+  }
+
+  /**
+   * @return Items in this page. Returned value will never be {@code null}
+   */
+  @NonNull
+  @CheckResult
+  public List<T> getItems() {
+    return items;
+  }
+
+  /**
+   * @return {@code true} if there are more rows after this page; {@code false} if this
+   * is the last page
+   */
+  @CheckResult
+  public boolean hasNextPage() {
+    return nextPageKey != null;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+
+    final Page<?> page = (Page<?>) o;
+    return items.equals(page.items) && hasNextPage() == page.hasNextPage();
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * items.hashCode() + (hasNextPage() ? 1 : 0);
+  }
+
+  @Override
+  public String toString() {
+    return "Page[items=" + items + ";nextPageKey=" + nextPageKey + "]";
+  }
+}
@@ -0,0 +1,48 @@
+package com.siimkinks.sqlitemagic;
+
+import android.support.annotation.CheckResult;
+import android.support.annotation.NonNull;
+
+/**
+ * Placeholder for a value that is bound after the statement is compiled.
+ * <p>
+ * Compiled select statements with parameters are templates. Binding values to a template
+ * creates an executable statement that shares the SQL and result mapping of the template,
+ * so the statement needs to be built only once.<br>
+ * Example:
+ * <pre>{@code
+ * final Param<Long> id = Param.create();
+ * final CompiledFirstSelect<Author, ?> authorById = Select
+ *     .from(AUTHOR)
+ *     .where(AUTHOR.ID.is(id))
+ *     .takeFirst();
+ *
+ * // [...]
+ *
+ * final Author author = authorById.bind(42L).execute();
+ * }</pre>
+ * Parameters can be used in place of values in column comparisons, {@code IN},
+ * {@code BETWEEN}, {@code LIKE} and {@code GLOB} expressions. Complex columns accept
+ * either the referenced object or, with {@code isId(Param)}, its id.
+ *
+ * @param <T> Parameter value type
+ */
+public final class Param<T> {
+  Param() {
+  }
+
+  /**
+   * Create a new parameter.
+   * <p>
+   * Each instance is a distinct parameter. Using the same instance in several places of
+   * a statement binds the same value to all of them.
+   *
+   * @param <T> Parameter value type
+   * @return New parameter
+   */
+  @NonNull
+  @CheckResult
+  public static <T> Param<T> create() {
+    return new Param<>();
+  }
+}
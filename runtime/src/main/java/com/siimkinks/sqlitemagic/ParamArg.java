@@ -0,0 +1,44 @@
+package com.siimkinks.sqlitemagic;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+/**
+ * Statement argument which value is bound later from a {@link Param parameter}.
+ */
+final class ParamArg {
+  /**
+   * Column that converts the bound value to its database representation or {@code null}
+   * if the value is bound as is.
+   */
+  @Nullable
+  final Column<?, ?, ?, ?> column;
+  @NonNull
+  final Param<?> param;
+
+  ParamArg(@Nullable Column<?, ?, ?, ?> column, @NonNull Param<?> param) {
+    this.column = column;
+    this.param = param;
+  }
+
+  /**
+   * Add bound parameter value to arguments.
+   */
+  @SuppressWarnings("unchecked")
+  void addValue(@NonNull SqlArgs args, @Nullable Object value) {
+    if (value == null) {
+      args.addNull();
+    } else if (column != null) {
+      ((Column<Object, ?, ?, ?>) column).addSqlArg(args, value);
+    } else {
+      args.addValue(value);
+    }
+  }
+
+  @NonNull
+  static SqlArgs of(@Nullable Column<?, ?, ?, ?> column, @NonNull Param<?> param) {
+    final SqlArgs args = new SqlArgs(1);
+    args.addParam(new ParamArg(column, param));
+    return args;
+  }
+}
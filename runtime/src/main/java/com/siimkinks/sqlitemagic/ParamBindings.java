@@ -0,0 +1,142 @@
+package com.siimkinks.sqlitemagic;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.util.ArrayList;
+
+/**
+ * {@link Param Parameters} of a compiled statement template.
+ * <p>
+ * Parameters are ordered by their first appearance in the statement arguments, which is
+ * the order of values expected by {@link #bind(SqlArgs, Object[])}.
+ */
+final class ParamBindings {
+  @NonNull
+  private final Param<?>[] params;
+  /**
+   * Name of the table which row is looked up by a parameter or {@code null} if statement
+   * does not select rows by id.
+   */
+  @Nullable
+  private final String rowLookupTable;
+  /**
+   * Index of the argument that holds the looked up row id or {@code -1}.
+   */
+  private final int rowIdArgIndex;
+
+  private ParamBindings(@NonNull Param<?>[] params, @Nullable String rowLookupTable, int rowIdArgIndex) {
+    this.params = params;
+    this.rowLookupTable = rowLookupTable;
+    this.rowIdArgIndex = rowIdArgIndex;
+  }
+
+  /**
+   * @param args          Statement arguments
+   * @param rowIdExpr     Expression that selects a row by id or {@code null}
+   * @param lookedUpTable Table which row {@code rowIdExpr} selects
+   * @return Parameters of the statement or {@code null} if statement has no parameters
+   */
+  @Nullable
+  static ParamBindings create(@NonNull SqlArgs args,
+                              @Nullable ExprParam rowIdExpr,
+                              @NonNull Table<?> lookedUpTable) {
+    final ArrayList<Param<?>> params = new ArrayList<>(2);
+    int rowIdArgIndex = -1;
+    final byte[] types = args.types;
+    for (int i = 0, size = args.size; i < size; i++) {
+      if (types[i] == SqlArgs.TYPE_PARAM) {
+        final ParamArg arg = (ParamArg) args.objects[i];
+        if (!params.contains(arg.param)) {
+          params.add(arg.param);
+        }
+        if (rowIdExpr != null && arg == rowIdExpr.arg) {
+          rowIdArgIndex = i;
+        }
+      }
+    }
+    if (params.isEmpty()) {
+      return null;
+    }
+    return new ParamBindings(params.toArray(new Param<?>[params.size()]),
+        rowIdArgIndex != -1 ? lookedUpTable.name : null,
+        rowIdArgIndex);
+  }
+
+  /**
+   * @return Whether the statement selects a single row by a parameter
+   */
+  boolean isRowLookup() {
+    return rowIdArgIndex != -1;
+  }
+
+  /**
+   * Create arguments where parameters are replaced with bound values.
+   *
+   * @param args   Statement arguments with parameters
+   * @param values Parameter values
+   * @return Bound arguments
+   */
+  @NonNull
+  SqlArgs bind(@NonNull SqlArgs args, @NonNull Object[] values) {
+    final Param<?>[] params = this.params;
+    if (values.length != params.length) {
+      throw new IllegalArgumentException("Statement has " + params.length +
+          " parameters, but " + values.length + " values were provided");
+    }
+    final int size = args.size;
+    final SqlArgs boundArgs = new SqlArgs(size);
+    final byte[] types = args.types;
+    for (int i = 0; i < size; i++) {
+      if (types[i] == SqlArgs.TYPE_PARAM) {
+        final ParamArg arg = (ParamArg) args.objects[i];
+        arg.addValue(boundArgs, values[indexOf(arg.param)]);
+      } else {
+        boundArgs.add(args, i);
+      }
+    }
+    return boundArgs;
+  }
+
+  /**
+   * @param boundArgs Arguments created by {@link #bind(SqlArgs, Object[])}
+   * @return The only row that the bound statement selects or {@code null} if it is not known
+   */
+  @Nullable
+  ObservedRow observedRow(@NonNull SqlArgs boundArgs) {
+    final int index = rowIdArgIndex;
+    if (index == -1 || boundArgs.types[index] != SqlArgs.TYPE_LONG) {
+      return null;
+    }
+    return new ObservedRow(rowLookupTable, boundArgs.longs[index]);
+  }
+
+  /**
+   * Check values provided for a statement without parameters.
+   */
+  static void checkNoValues(@NonNull Object[] values) {
+    if (values.length != 0) {
+      throw new IllegalArgumentException("Statement has no parameters");
+    }
+  }
+
+  /**
+   * Check that a statement has no unbound parameters before deriving a statement from it
+   * which cannot be bound.
+   */
+  static void checkNoParams(@Nullable ParamBindings params) {
+    if (params != null) {
+      throw new IllegalStateException("Statement has unbound parameters -- bind() the template first");
+    }
+  }
+
+  private int indexOf(@NonNull Param<?> param) {
+    final Param<?>[] params = this.params;
+    for (int i = 0, length = params.length; i < length; i++) {
+      if (params[i] == param) {
+        return i;
+      }
+    }
+    throw new IllegalStateException("Unknown parameter");
+  }
+}
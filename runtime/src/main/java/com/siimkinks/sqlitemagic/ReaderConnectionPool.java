@@ -0,0 +1,87 @@
+package com.siimkinks.sqlitemagic;
+
+import android.database.sqlite.SQLiteDatabase;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool of read-only connections to a write-ahead logged database.
+ * <p>
+ * Queries executed outside of transactions are spread between the pooled connections
+ * in round-robin order, so they run concurrently with each other and with the writer
+ * connection. Connections are opened lazily on the first query after the writer connection
+ * has created or upgraded the database.
+ */
+final class ReaderConnectionPool {
+  static final int MAX_SIZE = 8;
+
+  @NonNull
+  private final DbConnectionImpl dbConnection;
+  @NonNull
+  private final DatabaseTuning tuning;
+  private final int size;
+  private final AtomicInteger next = new AtomicInteger();
+  private final Object lock = new Object();
+  @Nullable
+  private volatile SQLiteDatabase[] readers;
+  private boolean closed;
+
+  ReaderConnectionPool(@NonNull DbConnectionImpl dbConnection, @NonNull DatabaseTuning tuning, int size) {
+    this.dbConnection = dbConnection;
+    this.tuning = tuning;
+    this.size = size;
+  }
+
+  /**
+   * @return Next read-only connection
+   */
+  @NonNull
+  SQLiteDatabase next() {
+    SQLiteDatabase[] readers = this.readers;
+    if (readers == null) {
+      readers = open();
+    }
+    final int index = (next.getAndIncrement() & Integer.MAX_VALUE) % readers.length;
+    return readers[index];
+  }
+
+  @NonNull
+  private SQLiteDatabase[] open() {
+    synchronized (lock) {
+      SQLiteDatabase[] readers = this.readers;
+      if (readers == null) {
+        if (closed) {
+          throw new IllegalStateException("Database connection is closed");
+        }
+        final String path = dbConnection.getWritableDatabase().getPath();
+        if (SqliteMagic.LOGGING_ENABLED) LogUtil.logDebug("Opening %s reader connections", size);
+        readers = new SQLiteDatabase[size];
+        for (int i = 0; i < size; i++) {
+          final SQLiteDatabase db = SQLiteDatabase.openDatabase(path,
+              new DbHelper.SqliteMagicCursorFactory(),
+              SQLiteDatabase.OPEN_READONLY);
+          db.setMaxSqlCacheSize(dbConnection.statementCache.maxSize());
+          tuning.applyTo(db);
+          readers[i] = db;
+        }
+        this.readers = readers;
+      }
+      return readers;
+    }
+  }
+
+  void close() {
+    synchronized (lock) {
+      closed = true;
+      final SQLiteDatabase[] readers = this.readers;
+      if (readers != null) {
+        for (SQLiteDatabase reader : readers) {
+          reader.close();
+        }
+        this.readers = null;
+      }
+    }
+  }
+}
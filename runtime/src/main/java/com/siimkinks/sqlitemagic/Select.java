@@ -41,9 +41,10 @@ public final class Select<S> extends SelectSqlNode<S> {
   @NonNull
   private final String stmt;
 
-  Select(@NonNull String stmt) {
+  Select(boolean distinct) {
     super(null);
-    this.stmt = stmt;
+    this.stmt = distinct ? "SELECT DISTINCT" : "SELECT";
+    selectBuilder.distinct = distinct;
   }
 
   @Override
@@ -65,7 +66,7 @@ public final class Select<S> extends SelectSqlNode<S> {
    */
   @CheckResult
   public static Columns all() {
-    return new Columns(new Select<SelectN>("SELECT"), ALL);
+    return new Columns(new Select<SelectN>(false), ALL);
   }
 
   /**
@@ -79,7 +80,7 @@ public final class Select<S> extends SelectSqlNode<S> {
    */
   @CheckResult
   public static <R> SingleColumn<R> column(@NonNull Column<?, R, ?, ?> column) {
-    return new SingleColumn<>(new Select<Select1>("SELECT"), column);
+    return new SingleColumn<>(new Select<Select1>(false), column);
   }
 
   /**
@@ -92,7 +93,7 @@ public final class Select<S> extends SelectSqlNode<S> {
    */
   @CheckResult
   public static Columns columns(@NonNull @Size(min = 1) Column<?, ?, ?, ?>... columns) {
-    return new Columns(new Select<SelectN>("SELECT"), columns);
+    return new Columns(new Select<SelectN>(false), columns);
   }
 
   /**
@@ -106,7 +107,7 @@ public final class Select<S> extends SelectSqlNode<S> {
    */
   @CheckResult
   public static Columns distinct() {
-    return new Columns(new Select<SelectN>("SELECT DISTINCT"), ALL);
+    return new Columns(new Select<SelectN>(true), ALL);
   }
 
   /**
@@ -124,7 +125,7 @@ public final class Select<S> extends SelectSqlNode<S> {
    */
   @CheckResult
   public static <R> SingleColumn<R> distinct(@NonNull Column<?, R, ?, ?> column) {
-    return new SingleColumn<>(new Select<Select1>("SELECT DISTINCT"), column);
+    return new SingleColumn<>(new Select<Select1>(true), column);
   }
 
   /**
@@ -141,7 +142,7 @@ public final class Select<S> extends SelectSqlNode<S> {
    */
   @CheckResult
   public static Columns distinct(@NonNull @Size(min = 1) Column<?, ?, ?, ?>... columns) {
-    return new Columns(new Select<SelectN>("SELECT DISTINCT"), columns);
+    return new Columns(new Select<SelectN>(true), columns);
   }
 
   /**
@@ -187,6 +188,7 @@ public final class Select<S> extends SelectSqlNode<S> {
       selectBuilder.deep = true;
       column.addArgs(selectBuilder.args);
       column.addObservedTables(selectBuilder.observedTables);
+      selectBuilder.projectionArgCount = selectBuilder.args.size();
     }
 
     @NonNull
@@ -200,12 +202,14 @@ public final class Select<S> extends SelectSqlNode<S> {
     void appendSql(@NonNull StringBuilder sb) {
       column.appendSql(sb);
       column.appendAliasDeclarationIfNeeded(sb);
+      selectBuilder.appendKeysetColumns(sb);
     }
 
     @Override
     void appendSql(@NonNull StringBuilder sb, @NonNull SimpleArrayMap<String, LinkedList<String>> systemRenamedTables) {
       column.appendSql(sb, systemRenamedTables);
       column.appendAliasDeclarationIfNeeded(sb);
+      selectBuilder.appendKeysetColumns(sb, systemRenamedTables);
     }
 
     /**
@@ -234,13 +238,14 @@ public final class Select<S> extends SelectSqlNode<S> {
       super(parent);
       this.columns = columns;
       selectBuilder.columnsNode = this;
-      final ArrayList<String> args = selectBuilder.args;
+      final SqlArgs args = selectBuilder.args;
       final ArrayList<String> observedTables = selectBuilder.observedTables;
       for (int i = 0, length = columns.length; i < length; i++) {
         final Column<?, ?, ?, ?> column = columns[i];
         column.addArgs(args);
         column.addObservedTables(observedTables);
       }
+      selectBuilder.projectionArgCount = args.size();
     }
 
     /**
@@ -296,11 +301,13 @@ public final class Select<S> extends SelectSqlNode<S> {
     @Override
     void appendSql(@NonNull StringBuilder sb) {
       sb.append(compiledColumns);
+      selectBuilder.appendKeysetColumns(sb);
     }
 
     @Override
     void appendSql(@NonNull StringBuilder sb, @NonNull SimpleArrayMap<String, LinkedList<String>> systemRenamedTables) {
       sb.append(compiledColumns);
+      selectBuilder.appendKeysetColumns(sb, systemRenamedTables);
     }
 
     /**
@@ -723,18 +730,33 @@ public final class Select<S> extends SelectSqlNode<S> {
       this.expr = expr;
       expr.addArgs(selectBuilder.args);
       expr.addObservedTables(selectBuilder.observedTables);
+      selectBuilder.whereExpr = expr;
     }
 
     @Override
     void appendSql(@NonNull StringBuilder sb) {
       sb.append("WHERE ");
-      expr.appendToSql(sb);
+      if (selectBuilder.appendKeysetSeek) {
+        sb.append('(');
+        expr.appendToSql(sb);
+        sb.append(") AND ");
+        selectBuilder.appendKeysetSeek(sb);
+      } else {
+        expr.appendToSql(sb);
+      }
     }
 
     @Override
     void appendSql(@NonNull StringBuilder sb, @NonNull SimpleArrayMap<String, LinkedList<String>> systemRenamedTables) {
       sb.append("WHERE ");
-      expr.appendToSql(sb, systemRenamedTables);
+      if (selectBuilder.appendKeysetSeek) {
+        sb.append('(');
+        expr.appendToSql(sb, systemRenamedTables);
+        sb.append(") AND ");
+        selectBuilder.appendKeysetSeek(sb, systemRenamedTables);
+      } else {
+        expr.appendToSql(sb, systemRenamedTables);
+      }
     }
 
     /**
@@ -913,6 +935,21 @@ public final class Select<S> extends SelectSqlNode<S> {
 
     @Override
     void appendSql(@NonNull StringBuilder sb) {
+      appendTermSql(sb);
+      if (ordering != null) {
+        sb.append(ordering);
+      }
+    }
+
+    @Override
+    void appendSql(@NonNull StringBuilder sb, @NonNull SimpleArrayMap<String, LinkedList<String>> systemRenamedTables) {
+      appendTermSql(sb, systemRenamedTables);
+      if (ordering != null) {
+        sb.append(ordering);
+      }
+    }
+
+    void appendTermSql(@NonNull StringBuilder sb) {
       if (column != null) {
         column.appendSql(sb);
       } else if (expr != null) {
@@ -920,13 +957,9 @@ public final class Select<S> extends SelectSqlNode<S> {
       } else {
         throw new IllegalStateException("Ordering term must have either column or expr");
       }
-      if (ordering != null) {
-        sb.append(ordering);
-      }
     }
 
-    @Override
-    void appendSql(@NonNull StringBuilder sb, @NonNull SimpleArrayMap<String, LinkedList<String>> systemRenamedTables) {
+    void appendTermSql(@NonNull StringBuilder sb, @NonNull SimpleArrayMap<String, LinkedList<String>> systemRenamedTables) {
       if (column != null) {
         column.appendSql(sb, systemRenamedTables);
       } else if (expr != null) {
@@ -934,8 +967,52 @@ public final class Select<S> extends SelectSqlNode<S> {
       } else {
         throw new IllegalStateException("Ordering term must have either column or expr");
       }
-      if (ordering != null) {
-        sb.append(ordering);
+    }
+
+    /**
+     * Append term as an operand of a comparison. Expressions are parenthesized, so
+     * that their operators do not bind to the comparison.
+     */
+    void appendComparedTermSql(@NonNull StringBuilder sb) {
+      if (expr != null) {
+        sb.append('(');
+        expr.appendToSql(sb);
+        sb.append(')');
+      } else {
+        appendTermSql(sb);
+      }
+    }
+
+    void appendComparedTermSql(@NonNull StringBuilder sb, @NonNull SimpleArrayMap<String, LinkedList<String>> systemRenamedTables) {
+      if (expr != null) {
+        sb.append('(');
+        expr.appendToSql(sb, systemRenamedTables);
+        sb.append(')');
+      } else {
+        appendTermSql(sb, systemRenamedTables);
+      }
+    }
+
+    void addArgs(@NonNull SqlArgs args) {
+      if (column != null) {
+        column.addArgs(args);
+      } else if (expr != null) {
+        expr.addArgs(args);
+      }
+    }
+
+    boolean isDescending() {
+      return DESC.equals(ordering);
+    }
+
+    @SuppressWarnings("unchecked")
+    void addKeyArg(@NonNull SqlArgs args, @Nullable Object value) {
+      if (value == null) {
+        args.addNull();
+      } else if (column != null) {
+        column.addSqlArg(args, value);
+      } else {
+        args.addValue(value);
       }
     }
   }
@@ -958,6 +1035,11 @@ public final class Select<S> extends SelectSqlNode<S> {
 
     @Override
     void appendSql(@NonNull StringBuilder sb) {
+      if (selectBuilder.appendKeysetSeek && !(parent instanceof Where)) {
+        sb.append("WHERE ");
+        selectBuilder.appendKeysetSeek(sb);
+        sb.append(' ');
+      }
       sb.append("ORDER BY ");
       final OrderingTerm[] orderingTerms = this.orderingTerms;
       for (int i = 0, length = orderingTerms.length; i < length; i++) {
@@ -970,6 +1052,11 @@ public final class Select<S> extends SelectSqlNode<S> {
 
     @Override
     void appendSql(@NonNull StringBuilder sb, @NonNull SimpleArrayMap<String, LinkedList<String>> systemRenamedTables) {
+      if (selectBuilder.appendKeysetSeek && !(parent instanceof Where)) {
+        sb.append("WHERE ");
+        selectBuilder.appendKeysetSeek(sb, systemRenamedTables);
+        sb.append(' ');
+      }
       sb.append("ORDER BY ");
       final OrderingTerm[] orderingTerms = this.orderingTerms;
       for (int i = 0, length = orderingTerms.length; i < length; i++) {
@@ -991,6 +1078,47 @@ public final class Select<S> extends SelectSqlNode<S> {
     public Limit<T, S> limit(int nrOfRows) {
       return new Limit<>(this, Integer.toString(nrOfRows));
     }
+
+    /**
+     * Compile select builder into keyset paginated query.
+     * <p>
+     * Instead of skipping rows with OFFSET clause, every following page is queried by
+     * seeking past the ordering values of the previous page's last row. This keeps the
+     * cost of a page query independent of its position in the result set.
+     * <p>
+     * Ordering terms must define a total order of the result set &mdash; the last ordering
+     * term should be unique (for example, the table id) and ordering values should
+     * not be {@code null}.
+     * <p>
+     * Result is immutable object which can be shared across multiple threads
+     * without side effects.
+     * <p>
+     * NB! This method does not compile the underlying SQL statement against a database.
+     *
+     * @param pageSize Maximum number of rows in a single page
+     * @return Immutable compiled paginated select statement
+     * @throws IllegalStateException if the query has GROUP BY clause, selects only distinct rows
+     *                               or has {@link Param parameters}
+     */
+    @NonNull
+    @CheckResult
+    public CompiledPagedSelect<T, S> paginate(int pageSize) {
+      if (pageSize < 1) {
+        throw new IllegalArgumentException("Page size must be positive");
+      }
+      if (parent instanceof GroupBy || parent instanceof Having) {
+        throw new IllegalStateException("Keyset pagination is not supported for queries with GROUP BY clause");
+      }
+      if (selectBuilder.distinct) {
+        // ordering values are read back from extra result columns which would change
+        // the rows that DISTINCT considers equal
+        throw new IllegalStateException("Keyset pagination is not supported for SELECT DISTINCT queries");
+      }
+      selectBuilder.keysetTerms = orderingTerms;
+      // one extra row is queried to find out whether there is a next page
+      new Limit<>(this, Integer.toString(pageSize + 1));
+      return selectBuilder.buildPaged(pageSize);
+    }
   }
 
   /**
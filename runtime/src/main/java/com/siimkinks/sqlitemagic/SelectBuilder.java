@@ -16,10 +16,23 @@ final class SelectBuilder<S> {
   Select.From from;
   Select.Columns columnsNode;
   Select.SingleColumn<?> columnNode;
-  final ArrayList<String> args = new ArrayList<>();
+  final SqlArgs args = new SqlArgs();
   final ArrayList<String> observedTables = new ArrayList<>();
   boolean deep;
+  boolean identityMap;
+  boolean distinct;
+  /**
+   * Number of arguments that selected columns add -- these precede keyset columns.
+   */
+  int projectionArgCount;
+  @Nullable
+  Expr whereExpr;
   DbConnectionImpl dbConnection = SqliteMagic.getDefaultDbConnection();
+  @Nullable
+  Select.OrderingTerm[] keysetTerms;
+  boolean appendKeysetSeek;
+  @Nullable
+  private String keysetSeekSql;
   private boolean compiled = false;
 
   SelectBuilder() {
@@ -81,20 +94,23 @@ final class SelectBuilder<S> {
       systemRenamedTables = table.addShallowQueryParts(from, selectFromTables, tableGraphNodeNames, select1);
     }
 
-    final int argsSize = args.size();
-
     if (columnNode != null) {
       final String sql = systemRenamedTables != null ?
           SqlCreator.getSql(sqlTreeRoot, sqlNodeCount, systemRenamedTables) :
           SqlCreator.getSql(sqlTreeRoot, sqlNodeCount);
+      compileKeysetSeekSqlIfNeeded(systemRenamedTables);
+      final ObservedRow observedRow = observedRow(from);
+      final ParamBindings params = paramBindings(from);
       perfectSelection(from, observedTables, tableGraphNodeNames, null);
       //noinspection unchecked
       return new CompiledSelect1Impl<>(
           sql,
-          argsSize > 0 ? args.toArray(new String[argsSize]) : null,
+          args.isEmpty() ? null : args,
           dbConnection,
           (Column<?, T, ?, ?>) columnNode.column,
-          this.observedTables.toArray(new String[this.observedTables.size()])
+          this.observedTables.toArray(new String[this.observedTables.size()]),
+          observedRow,
+          params
       );
     }
 
@@ -105,21 +121,187 @@ final class SelectBuilder<S> {
     } else {
       sql = SqlCreator.getSql(sqlTreeRoot, sqlNodeCount);
     }
+    compileKeysetSeekSqlIfNeeded(systemRenamedTables);
+    final ObservedRow observedRow = observedRow(from);
+    final ParamBindings params = paramBindings(from);
 
     final boolean forcedDeepSelection = perfectSelection(from, observedTables, tableGraphNodeNames, columnPositions);
     final boolean fromSelection = columnPositions.isEmpty();
     return new CompiledSelectImpl<>(
         sql,
-        argsSize > 0 ? args.toArray(new String[argsSize]) : null,
+        args.isEmpty() ? null : args,
         table,
         dbConnection,
         this.observedTables.toArray(new String[this.observedTables.size()]),
-        fromSelection ? null : columnPositions,
-        fromSelection ? null : tableGraphNodeNames,
-        deep || forcedDeepSelection
+        fromSelection ? null : new SelectionPlan(columnPositions, tableGraphNodeNames),
+        deep || forcedDeepSelection,
+        identityMap,
+        observedRow,
+        (observedRow != null && whereExpr instanceof Expr1) || (params != null && params.isRowLookup()),
+        params
     );
   }
 
+  @NonNull
+  @CheckResult
+  <T> CompiledPagedSelect<T, S> buildPaged(int pageSize) {
+    final CompiledSelect<T, S> compiledSelect = build();
+    final String seekSql = keysetSeekSql;
+    final Select.OrderingTerm[] keysetTerms = this.keysetTerms;
+    final int termCount = keysetTerms.length;
+    final SqlArgs[] keysetTermArgs = new SqlArgs[termCount];
+    for (int i = 0; i < termCount; i++) {
+      final SqlArgs termArgs = new SqlArgs();
+      keysetTerms[i].addArgs(termArgs);
+      keysetTermArgs[i] = termArgs;
+    }
+    // keyset columns are appended after the selected columns, so their arguments go
+    // between the selected columns arguments and the rest of the query arguments
+    final SqlArgs args = this.args;
+    final int argCount = args.size();
+    final int projectionArgCount = this.projectionArgCount;
+    final SqlArgs queryArgs = new SqlArgs(argCount);
+    for (int i = 0; i < projectionArgCount; i++) {
+      queryArgs.add(args, i);
+    }
+    for (SqlArgs termArgs : keysetTermArgs) {
+      queryArgs.addAll(termArgs);
+    }
+    for (int i = projectionArgCount; i < argCount; i++) {
+      queryArgs.add(args, i);
+    }
+    if (queryArgs.hasParams()) {
+      // paged select cannot be bound
+      throw new IllegalStateException("Keyset pagination is not supported for queries with parameters");
+    }
+    if (compiledSelect instanceof CompiledSelect1Impl) {
+      return ((CompiledSelect1Impl<T, S>) compiledSelect).paginate(seekSql, queryArgs, keysetTerms, keysetTermArgs, pageSize);
+    }
+    return ((CompiledSelectImpl<T, S>) compiledSelect).paginate(seekSql, queryArgs, keysetTerms, keysetTermArgs, pageSize);
+  }
+
+  /**
+   * Find the only row of the selected table that this query can return.
+   * <p>
+   * Row is known only for queries that select from a single table without any
+   * subqueries and restrict the selection with {@code id = ?} predicate.
+   * Must be called after SQL is built, but before selection is perfected.
+   */
+  @Nullable
+  private ObservedRow observedRow(@NonNull Select.From<?, ?, ?> from) {
+    final Expr whereExpr = this.whereExpr;
+    if (whereExpr == null || !from.joins.isEmpty() || !observedTables.isEmpty()) {
+      return null;
+    }
+    final Table<?> table = from.table;
+    if (table.idColumnName == null) {
+      return null;
+    }
+    final Long rowId = whereExpr.restrictedRowId(table);
+    return rowId != null ? new ObservedRow(table.name, rowId) : null;
+  }
+
+  /**
+   * Collect the {@link Param parameters} of this query.
+   * Must be called after SQL is built, but before selection is perfected.
+   */
+  @Nullable
+  private ParamBindings paramBindings(@NonNull Select.From<?, ?, ?> from) {
+    if (!args.hasParams()) {
+      return null;
+    }
+    final Expr whereExpr = this.whereExpr;
+    final Table<?> table = from.table;
+    final ExprParam rowIdExpr = whereExpr instanceof ExprParam
+        && from.joins.isEmpty()
+        && observedTables.isEmpty()
+        && ((ExprParam) whereExpr).restrictsRowId(table) ? (ExprParam) whereExpr : null;
+    return ParamBindings.create(args, rowIdExpr, table);
+  }
+
+  private void compileKeysetSeekSqlIfNeeded(@Nullable SimpleArrayMap<String, LinkedList<String>> systemRenamedTables) {
+    if (keysetTerms == null) {
+      return;
+    }
+    appendKeysetSeek = true;
+    try {
+      keysetSeekSql = systemRenamedTables != null ?
+          SqlCreator.getSql(sqlTreeRoot, sqlNodeCount, systemRenamedTables) :
+          SqlCreator.getSql(sqlTreeRoot, sqlNodeCount);
+    } finally {
+      appendKeysetSeek = false;
+    }
+  }
+
+  /**
+   * Append ordering terms as trailing result columns so that the ordering values of
+   * the last row in a page can be read back for seeking the next page.
+   */
+  void appendKeysetColumns(@NonNull StringBuilder sb) {
+    final Select.OrderingTerm[] keysetTerms = this.keysetTerms;
+    if (keysetTerms != null) {
+      for (Select.OrderingTerm term : keysetTerms) {
+        sb.append(',');
+        term.appendTermSql(sb);
+      }
+    }
+  }
+
+  void appendKeysetColumns(@NonNull StringBuilder sb, @NonNull SimpleArrayMap<String, LinkedList<String>> systemRenamedTables) {
+    final Select.OrderingTerm[] keysetTerms = this.keysetTerms;
+    if (keysetTerms != null) {
+      for (Select.OrderingTerm term : keysetTerms) {
+        sb.append(',');
+        term.appendTermSql(sb, systemRenamedTables);
+      }
+    }
+  }
+
+  /**
+   * Append expanded tuple comparison that selects all rows following the seek values.
+   * <p>
+   * For ordering terms (a, b DESC) the result is {@code ((a>?) OR (a=? AND b<?))}.
+   */
+  void appendKeysetSeek(@NonNull StringBuilder sb) {
+    final Select.OrderingTerm[] keysetTerms = this.keysetTerms;
+    sb.append('(');
+    for (int i = 0, length = keysetTerms.length; i < length; i++) {
+      if (i > 0) {
+        sb.append(" OR ");
+      }
+      sb.append('(');
+      for (int j = 0; j < i; j++) {
+        keysetTerms[j].appendComparedTermSql(sb);
+        sb.append("=? AND ");
+      }
+      final Select.OrderingTerm term = keysetTerms[i];
+      term.appendComparedTermSql(sb);
+      sb.append(term.isDescending() ? "<?" : ">?");
+      sb.append(')');
+    }
+    sb.append(')');
+  }
+
+  void appendKeysetSeek(@NonNull StringBuilder sb, @NonNull SimpleArrayMap<String, LinkedList<String>> systemRenamedTables) {
+    final Select.OrderingTerm[] keysetTerms = this.keysetTerms;
+    sb.append('(');
+    for (int i = 0, length = keysetTerms.length; i < length; i++) {
+      if (i > 0) {
+        sb.append(" OR ");
+      }
+      sb.append('(');
+      for (int j = 0; j < i; j++) {
+        keysetTerms[j].appendComparedTermSql(sb, systemRenamedTables);
+        sb.append("=? AND ");
+      }
+      final Select.OrderingTerm term = keysetTerms[i];
+      term.appendComparedTermSql(sb, systemRenamedTables);
+      sb.append(term.isDescending() ? "<?" : ">?");
+      sb.append(')');
+    }
+    sb.append(')');
+  }
+
   @SuppressWarnings("unchecked")
   private static boolean perfectSelection(@NonNull Select.From from,
                                           @NonNull ArrayList<String> observedTables,
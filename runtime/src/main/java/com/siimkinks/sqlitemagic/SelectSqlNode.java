@@ -72,6 +72,28 @@ public abstract class SelectSqlNode<S> extends SqlNode {
       return this;
     }
 
+    /**
+     * Mark that data should be queried deep and that entities referenced by
+     * multiple rows should be shared.
+     * <p>
+     * Works like {@link #queryDeep()}, but every entity is parsed only once per
+     * result set -- all rows that reference the same table row get the same
+     * entity instance. This lowers allocation considerably for many-to-one
+     * selections where few referenced entities are shared by many rows.
+     * <p>
+     * NB! Shared entities must not be mutated if the change is meant only
+     * for one of the referencing rows.
+     *
+     * @return Builder for SQL SELECT statement.
+     */
+    @NonNull
+    @CheckResult
+    public final SelectNode<T, S> queryDeepWithIdentityMap() {
+      selectBuilder.deep = true;
+      selectBuilder.identityMap = true;
+      return this;
+    }
+
     @NonNull
     @Override
     public final SelectNode<T, S> usingConnection(@NonNull DbConnection connection) {
@@ -131,6 +153,8 @@ public abstract class SelectSqlNode<S> extends SqlNode {
      * NB! This method does not compile the underlying SQL statement against a database.
      *
      * @return Immutable compiled select statement
+     * @throws IllegalStateException if the query has {@link Param parameters}, which must
+     *                               be bound to the {@link #compile() compiled} statement first
      */
     @NonNull
     @CheckResult
@@ -148,6 +172,8 @@ public abstract class SelectSqlNode<S> extends SqlNode {
      * NB! This method does not compile the underlying SQL statement against a database.
      *
      * @return Immutable compiled select statement
+     * @throws IllegalStateException if the query has {@link Param parameters}, which must
+     *                               be bound to the {@link #compile() compiled} statement first
      */
     @NonNull
     @CheckResult
@@ -196,7 +222,7 @@ public abstract class SelectSqlNode<S> extends SqlNode {
      */
     @NonNull
     @CheckResult
-    public final QueryObservable<List<T>> observe() {
+    public final ListQueryObservable<T> observe() {
       return selectBuilder.<T>build().observe();
     }
   }
@@ -76,7 +76,7 @@ final class SelectionColumn<T, R, ET, P> extends NumericColumn<T, R, ET, P> {
   }
 
   @Override
-  void addArgs(@NonNull ArrayList<String> args) {
+  void addArgs(@NonNull SqlArgs args) {
     args.addAll(selectBuilder.args);
   }
 
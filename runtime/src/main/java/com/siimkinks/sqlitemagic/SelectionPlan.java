@@ -0,0 +1,169 @@
+package com.siimkinks.sqlitemagic;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.siimkinks.sqlitemagic.internal.SimpleArrayMap;
+
+/**
+ * For internal use.
+ * <p>
+ * Column positions of a compiled selection resolved per table graph node.
+ * Generated code takes the {@link #root() root node} once per query and walks
+ * the table graph through {@link Node#child(int, String)}. Every node resolves
+ * its position array on first access and reuses it for every following row,
+ * so parsing a row does not need any string concatenation or map lookups.
+ */
+public final class SelectionPlan {
+  private static final Integer[] NODE_NOT_SELECTED = new Integer[0];
+  private static final Node[] NO_CHILDREN = new Node[0];
+
+  @NonNull
+  final SimpleArrayMap<String, Integer> columns;
+  @NonNull
+  final SimpleArrayMap<String, String> tableGraphNodeNames;
+  @NonNull
+  private final Node root = new Node(this, "");
+
+  SelectionPlan(@NonNull SimpleArrayMap<String, Integer> columns,
+                @NonNull SimpleArrayMap<String, String> tableGraphNodeNames) {
+    this.columns = columns;
+    this.tableGraphNodeNames = tableGraphNodeNames;
+  }
+
+  /**
+   * @return Root node of the selected table graph
+   */
+  @NonNull
+  public Node root() {
+    return root;
+  }
+
+  @NonNull
+  Integer[] createNodePlan(@NonNull String nodeName,
+                           @NonNull String tableName,
+                           @NonNull String[] columnNames) {
+    String thisTableName = tableGraphNodeNames.get(nodeName);
+    if (thisTableName == null) {
+      if (nodeName.length() > 0) {
+        return NODE_NOT_SELECTED;
+      }
+      thisTableName = tableName;
+    }
+    final int columnCount = columnNames.length;
+    final Integer[] plan = new Integer[columnCount + 1];
+    plan[0] = columns.get(thisTableName);
+    if (plan[0] == null) {
+      final String columnPrefix = thisTableName + '.';
+      for (int i = 0; i < columnCount; i++) {
+        plan[i + 1] = columns.get(columnPrefix + columnNames[i]);
+      }
+    }
+    return plan;
+  }
+
+  /**
+   * For internal use.
+   * <p>
+   * Table graph node of a selection. All values are resolved once and cached,
+   * resolving them again on a race yields an equal result.
+   */
+  public static final class Node {
+    @NonNull
+    private final SelectionPlan selection;
+    @NonNull
+    private final String name;
+    @Nullable
+    private volatile Integer[] plan;
+    @Nullable
+    private volatile Boolean selectedAsWhole;
+    @NonNull
+    private volatile Node[] children = NO_CHILDREN;
+
+    Node(@NonNull SelectionPlan selection, @NonNull String name) {
+      this.selection = selection;
+      this.name = name;
+    }
+
+    /**
+     * Get the column positions of this node.
+     *
+     * @param tableName   Name of the node table
+     * @param columnNames All column names of the node table
+     * @return {@code null} if node is not part of the selection; otherwise an
+     * array where the first element is the position of the whole table selection
+     * and element {@code i + 1} is the position of column {@code columnNames[i]}.
+     * Positions that are not selected are {@code null}.
+     */
+    @Nullable
+    public Integer[] plan(@NonNull String tableName, @NonNull String[] columnNames) {
+      Integer[] plan = this.plan;
+      if (plan == null) {
+        plan = selection.createNodePlan(name, tableName, columnNames);
+        this.plan = plan;
+      }
+      return plan == NODE_NOT_SELECTED ? null : plan;
+    }
+
+    /**
+     * Get the child node that is referenced by a complex column.
+     *
+     * @param index      Index of the complex column in its table or view
+     * @param columnName Name of the complex column; empty if the node name
+     *                   should not change (view columns)
+     * @return Child node
+     */
+    @NonNull
+    public Node child(int index, @NonNull String columnName) {
+      final Node[] children = this.children;
+      if (index < children.length) {
+        final Node child = children[index];
+        if (child != null) {
+          return child;
+        }
+      }
+      return createChild(index, columnName);
+    }
+
+    /**
+     * @return Whether the table of this node is selected as a whole
+     */
+    public boolean isSelectedAsWhole() {
+      Boolean selectedAsWhole = this.selectedAsWhole;
+      if (selectedAsWhole == null) {
+        final String tableName = selection.tableGraphNodeNames.get(name);
+        selectedAsWhole = tableName != null && selection.columns.get(tableName) != null;
+        this.selectedAsWhole = selectedAsWhole;
+      }
+      return selectedAsWhole;
+    }
+
+    /**
+     * @param columnName User provided column name
+     * @return Position of the column or {@code null} if column is not selected
+     */
+    @Nullable
+    public Integer columnPosition(@NonNull String columnName) {
+      return selection.columns.get(columnName);
+    }
+
+    @NonNull
+    private synchronized Node createChild(int index, @NonNull String columnName) {
+      Node[] children = this.children;
+      if (index < children.length && children[index] != null) {
+        return children[index];
+      }
+      if (index >= children.length) {
+        final Node[] newChildren = new Node[index + 1];
+        System.arraycopy(children, 0, newChildren, 0, children.length);
+        children = newChildren;
+      } else {
+        children = children.clone();
+      }
+      final Node child = new Node(selection, name + columnName);
+      children[index] = child;
+      this.children = children;
+      return child;
+    }
+  }
+}
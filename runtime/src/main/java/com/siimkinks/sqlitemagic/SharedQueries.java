@@ -0,0 +1,119 @@
+package com.siimkinks.sqlitemagic;
+
+import android.support.annotation.CheckResult;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.util.HashMap;
+
+import rx.Observable;
+import rx.Subscriber;
+import rx.functions.Action0;
+import rx.subscriptions.Subscriptions;
+
+/**
+ * Registry of observed queries that are shared between all their subscribers.
+ * <p>
+ * Observed queries with equal type, SQL and arguments share one upstream which
+ * replays the latest emission to late subscribers. Upstream is disconnected and
+ * removed from the registry when its last subscriber unsubscribes.
+ */
+final class SharedQueries {
+  private final HashMap<Key, Entry> entries = new HashMap<>();
+
+  /**
+   * Share the {@code upstream} between all subscribers of observables created with an
+   * equal {@code key}.
+   *
+   * @param key      Shared query key
+   * @param upstream Observable that is subscribed to only if there is no active shared
+   *                 upstream for the {@code key}. Must replay its latest emission
+   * @param <T>      Emitted item type
+   * @return Observable which subscribes to the shared upstream
+   */
+  @NonNull
+  @CheckResult
+  <T> Observable<T> share(@NonNull final Key key, @NonNull final Observable<T> upstream) {
+    return Observable.create(new Observable.OnSubscribe<T>() {
+      @SuppressWarnings("unchecked")
+      @Override
+      public void call(Subscriber<? super T> subscriber) {
+        final Entry entry = acquire(key, upstream);
+        subscriber.add(Subscriptions.create(new Action0() {
+          @Override
+          public void call() {
+            release(key, entry);
+          }
+        }));
+        ((Observable<T>) entry.observable).unsafeSubscribe(subscriber);
+      }
+    });
+  }
+
+  @NonNull
+  private synchronized Entry acquire(@NonNull Key key, @NonNull Observable<?> upstream) {
+    Entry entry = entries.get(key);
+    if (entry == null) {
+      entry = new Entry(upstream);
+      entries.put(key, entry);
+    }
+    entry.subscribers++;
+    return entry;
+  }
+
+  private synchronized void release(@NonNull Key key, @NonNull Entry entry) {
+    if (--entry.subscribers == 0 && entries.get(key) == entry) {
+      entries.remove(key);
+    }
+  }
+
+  /**
+   * @return Number of currently shared queries
+   */
+  synchronized int size() {
+    return entries.size();
+  }
+
+  private static final class Entry {
+    @NonNull
+    final Observable<?> observable;
+    int subscribers;
+
+    Entry(@NonNull Observable<?> observable) {
+      this.observable = observable;
+    }
+  }
+
+  static final class Key {
+    @NonNull
+    private final Class<?> type;
+    @NonNull
+    private final String sql;
+    @Nullable
+    private final SqlArgs args;
+
+    Key(@NonNull Class<?> type, @NonNull String sql, @Nullable SqlArgs args) {
+      this.type = type;
+      this.sql = sql;
+      this.args = args != null && !args.isEmpty() ? args : null;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (!(o instanceof Key)) return false;
+      final Key key = (Key) o;
+      return type == key.type
+          && sql.equals(key.sql)
+          && (args != null ? args.equals(key.args) : key.args == null);
+    }
+
+    @Override
+    public int hashCode() {
+      int result = type.hashCode();
+      result = 31 * result + sql.hashCode();
+      result = 31 * result + (args != null ? args.hashCode() : 0);
+      return result;
+    }
+  }
+}
@@ -0,0 +1,41 @@
+package com.siimkinks.sqlitemagic;
+
+import android.support.annotation.NonNull;
+
+import rx.Subscription;
+
+/**
+ * Query which executes its delegate query at most once and returns the same result
+ * to everyone who runs it.
+ * <p>
+ * A new instance is emitted by a shared observed query for every relevant table change,
+ * so all subscribers of that query receive the result of one execution.
+ */
+final class SharedQuery<T> extends Query<T> {
+  @NonNull
+  private final Query<T> query;
+  private boolean executed;
+  private T result;
+
+  SharedQuery(@NonNull Query<T> query) {
+    super(query.dbConnection);
+    this.query = query;
+  }
+
+  @Override
+  synchronized T runImpl(@NonNull Subscription subscriber, boolean inStream) {
+    super.runImpl(subscriber, inStream);
+    if (!executed) {
+      // result is shared between subscribers, so unsubscribing one of them
+      // must not cut the execution short
+      result = query.runImpl(INFINITE_SUBSCRIPTION, inStream);
+      executed = true;
+    }
+    return result;
+  }
+
+  @Override
+  public String toString() {
+    return query.toString();
+  }
+}
@@ -0,0 +1,427 @@
+package com.siimkinks.sqlitemagic;
+
+import android.database.Cursor;
+import android.database.sqlite.SQLiteCursorDriver;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteProgram;
+import android.database.sqlite.SQLiteQuery;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * Typed SQL arguments buffer.
+ * <p>
+ * Arguments are kept in parallel primitive arrays so that numeric values are bound
+ * with {@link SQLiteProgram#bindLong(int, long)} and {@link SQLiteProgram#bindDouble(int, double)}
+ * instead of being converted to strings.
+ * <p>
+ * Also acts as a cursor factory which binds the arguments to the created query, because
+ * {@link SQLiteDatabase#rawQueryWithFactory} accepts only string arguments.
+ */
+final class SqlArgs implements SQLiteDatabase.CursorFactory {
+  static final byte TYPE_NULL = 0;
+  static final byte TYPE_LONG = 1;
+  static final byte TYPE_DOUBLE = 2;
+  static final byte TYPE_STRING = 3;
+  static final byte TYPE_BLOB = 4;
+  /**
+   * Placeholder of a {@link Param} value which is not bound yet.
+   */
+  static final byte TYPE_PARAM = 5;
+  /**
+   * Maximum number of host parameters in a single statement on SQLite versions before 3.32.
+   */
+  static final int MAX_HOST_PARAMETERS = 999;
+
+  private static final int BASE_SIZE = 4;
+
+  byte[] types;
+  long[] longs;
+  double[] doubles;
+  Object[] objects;
+  int size;
+
+  SqlArgs() {
+    this(BASE_SIZE);
+  }
+
+  SqlArgs(int capacity) {
+    types = new byte[capacity];
+  }
+
+  @NonNull
+  static SqlArgs of(long value) {
+    final SqlArgs args = new SqlArgs(1);
+    args.addLong(value);
+    return args;
+  }
+
+  @NonNull
+  static SqlArgs of(@NonNull String value) {
+    final SqlArgs args = new SqlArgs(1);
+    args.addString(value);
+    return args;
+  }
+
+  int size() {
+    return size;
+  }
+
+  boolean isEmpty() {
+    return size == 0;
+  }
+
+  void addNull() {
+    ensureCapacity(size + 1);
+    types[size++] = TYPE_NULL;
+  }
+
+  void addLong(long value) {
+    final int pos = size;
+    ensureCapacity(pos + 1);
+    long[] longs = this.longs;
+    if (longs == null || longs.length <= pos) {
+      this.longs = longs = longs == null ? new long[types.length] : Arrays.copyOf(longs, types.length);
+    }
+    longs[pos] = value;
+    types[pos] = TYPE_LONG;
+    size = pos + 1;
+  }
+
+  void addDouble(double value) {
+    final int pos = size;
+    ensureCapacity(pos + 1);
+    double[] doubles = this.doubles;
+    if (doubles == null || doubles.length <= pos) {
+      this.doubles = doubles = doubles == null ? new double[types.length] : Arrays.copyOf(doubles, types.length);
+    }
+    doubles[pos] = value;
+    types[pos] = TYPE_DOUBLE;
+    size = pos + 1;
+  }
+
+  void addString(@NonNull String value) {
+    addObject(value, TYPE_STRING);
+  }
+
+  void addBlob(@NonNull byte[] value) {
+    addObject(value, TYPE_BLOB);
+  }
+
+  /**
+   * Add a placeholder for a parameter that is bound to a value later.
+   *
+   * @param param Parameter argument which value is bound to this position
+   */
+  void addParam(@NonNull ParamArg param) {
+    addObject(param, TYPE_PARAM);
+  }
+
+  /**
+   * @return Whether any of the arguments is an unbound {@link Param}
+   */
+  boolean hasParams() {
+    final byte[] types = this.types;
+    for (int i = 0, size = this.size; i < size; i++) {
+      if (types[i] == TYPE_PARAM) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Add a value with its type determined at runtime.
+   *
+   * @param value Argument value in its database representation
+   */
+  void addValue(@Nullable Object value) {
+    if (value == null) {
+      addNull();
+    } else if (value instanceof Long || value instanceof Integer
+        || value instanceof Short || value instanceof Byte) {
+      addLong(((Number) value).longValue());
+    } else if (value instanceof Double || value instanceof Float) {
+      addDouble(((Number) value).doubleValue());
+    } else if (value instanceof String) {
+      addString((String) value);
+    } else if (value instanceof byte[]) {
+      addBlob((byte[]) value);
+    } else if (value instanceof Byte[]) {
+      addBlob(Utils.toByteArray((Byte[]) value));
+    } else if (value instanceof Boolean) {
+      addLong((Boolean) value ? 1L : 0L);
+    } else {
+      addString(value.toString());
+    }
+  }
+
+  void addAll(@NonNull String[] values) {
+    for (String value : values) {
+      addString(value);
+    }
+  }
+
+  void addAll(@NonNull SqlArgs args) {
+    final int argsSize = args.size;
+    if (argsSize == 0) {
+      return;
+    }
+    ensureCapacity(size + argsSize);
+    for (int i = 0; i < argsSize; i++) {
+      add(args, i);
+    }
+  }
+
+  /**
+   * Add a single argument from another arguments buffer.
+   *
+   * @param args  Source arguments
+   * @param index Index of the argument in source arguments
+   */
+  void add(@NonNull SqlArgs args, int index) {
+    final byte type = args.types[index];
+    switch (type) {
+      case TYPE_LONG:
+        addLong(args.longs[index]);
+        break;
+      case TYPE_DOUBLE:
+        addDouble(args.doubles[index]);
+        break;
+      case TYPE_STRING:
+      case TYPE_BLOB:
+      case TYPE_PARAM:
+        addObject(args.objects[index], type);
+        break;
+      default:
+        addNull();
+        break;
+    }
+  }
+
+  /**
+   * Add a value from the current cursor row keeping its storage class.
+   *
+   * @param cursor      Cursor positioned on a row
+   * @param columnIndex Index of the column to read
+   */
+  void addFromCursor(@NonNull Cursor cursor, int columnIndex) {
+    switch (cursor.getType(columnIndex)) {
+      case Cursor.FIELD_TYPE_INTEGER:
+        addLong(cursor.getLong(columnIndex));
+        break;
+      case Cursor.FIELD_TYPE_FLOAT:
+        addDouble(cursor.getDouble(columnIndex));
+        break;
+      case Cursor.FIELD_TYPE_STRING:
+        addString(cursor.getString(columnIndex));
+        break;
+      case Cursor.FIELD_TYPE_BLOB:
+        addBlob(cursor.getBlob(columnIndex));
+        break;
+      default:
+        addNull();
+        break;
+    }
+  }
+
+  /**
+   * Bind all arguments to the provided statement or query.
+   *
+   * @param program Statement or query to bind arguments to
+   */
+  void bindTo(@NonNull SQLiteProgram program) {
+    final byte[] types = this.types;
+    for (int i = 0, size = this.size; i < size; i++) {
+      final int index = i + 1;
+      switch (types[i]) {
+        case TYPE_LONG:
+          program.bindLong(index, longs[i]);
+          break;
+        case TYPE_DOUBLE:
+          program.bindDouble(index, doubles[i]);
+          break;
+        case TYPE_STRING:
+          program.bindString(index, (String) objects[i]);
+          break;
+        case TYPE_BLOB:
+          program.bindBlob(index, (byte[]) objects[i]);
+          break;
+        case TYPE_PARAM:
+          throw new IllegalStateException("Statement parameters are not bound");
+        default:
+          program.bindNull(index);
+          break;
+      }
+    }
+  }
+
+  @Override
+  public Cursor newCursor(SQLiteDatabase db, SQLiteCursorDriver driver, String editTable, SQLiteQuery query) {
+    bindTo(query);
+    return new SqliteMagicCursor(driver, editTable, query);
+  }
+
+  /**
+   * @return Arguments as strings; used for logging and in places where only string
+   * arguments are supported
+   */
+  @NonNull
+  String[] toStringArray() {
+    final int size = this.size;
+    final String[] result = new String[size];
+    final byte[] types = this.types;
+    for (int i = 0; i < size; i++) {
+      switch (types[i]) {
+        case TYPE_LONG:
+          result[i] = Long.toString(longs[i]);
+          break;
+        case TYPE_DOUBLE:
+          result[i] = Double.toString(doubles[i]);
+          break;
+        case TYPE_STRING:
+          result[i] = (String) objects[i];
+          break;
+        case TYPE_BLOB:
+          result[i] = Arrays.toString((byte[]) objects[i]);
+          break;
+        case TYPE_PARAM:
+          result[i] = "?";
+          break;
+        default:
+          result[i] = null;
+          break;
+      }
+    }
+    return result;
+  }
+
+  /**
+   * @return Arguments as boxed values; used with APIs that take typed {@code Object[]}
+   * bind arguments
+   */
+  @NonNull
+  Object[] toObjectArray() {
+    final int size = this.size;
+    final Object[] result = new Object[size];
+    final byte[] types = this.types;
+    for (int i = 0; i < size; i++) {
+      switch (types[i]) {
+        case TYPE_LONG:
+          result[i] = longs[i];
+          break;
+        case TYPE_DOUBLE:
+          result[i] = doubles[i];
+          break;
+        case TYPE_STRING:
+        case TYPE_BLOB:
+          result[i] = objects[i];
+          break;
+        case TYPE_PARAM:
+          throw new IllegalStateException("Statement parameters are not bound");
+        default:
+          result[i] = null;
+          break;
+      }
+    }
+    return result;
+  }
+
+  @Nullable
+  static String[] toStringArray(@Nullable SqlArgs args) {
+    return args != null ? args.toStringArray() : null;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+
+    final SqlArgs other = (SqlArgs) o;
+    final int size = this.size;
+    if (size != other.size) return false;
+    final byte[] types = this.types;
+    for (int i = 0; i < size; i++) {
+      final byte type = types[i];
+      if (type != other.types[i]) return false;
+      switch (type) {
+        case TYPE_LONG:
+          if (longs[i] != other.longs[i]) return false;
+          break;
+        case TYPE_DOUBLE:
+          if (Double.doubleToLongBits(doubles[i]) != Double.doubleToLongBits(other.doubles[i])) return false;
+          break;
+        case TYPE_STRING:
+          if (!objects[i].equals(other.objects[i])) return false;
+          break;
+        case TYPE_BLOB:
+          if (!Arrays.equals((byte[]) objects[i], (byte[]) other.objects[i])) return false;
+          break;
+        case TYPE_PARAM:
+          if (objects[i] != other.objects[i]) return false;
+          break;
+        default:
+          break;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public int hashCode() {
+    int result = size;
+    final byte[] types = this.types;
+    for (int i = 0, size = this.size; i < size; i++) {
+      final byte type = types[i];
+      result = 31 * result + type;
+      switch (type) {
+        case TYPE_LONG:
+          result = 31 * result + (int) (longs[i] ^ (longs[i] >>> 32));
+          break;
+        case TYPE_DOUBLE:
+          final long bits = Double.doubleToLongBits(doubles[i]);
+          result = 31 * result + (int) (bits ^ (bits >>> 32));
+          break;
+        case TYPE_STRING:
+          result = 31 * result + objects[i].hashCode();
+          break;
+        case TYPE_BLOB:
+          result = 31 * result + Arrays.hashCode((byte[]) objects[i]);
+          break;
+        case TYPE_PARAM:
+          result = 31 * result + System.identityHashCode(objects[i]);
+          break;
+        default:
+          break;
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public String toString() {
+    return Arrays.toString(toStringArray());
+  }
+
+  private void addObject(@NonNull Object value, byte type) {
+    final int pos = size;
+    ensureCapacity(pos + 1);
+    Object[] objects = this.objects;
+    if (objects == null || objects.length <= pos) {
+      this.objects = objects = objects == null ? new Object[types.length] : Arrays.copyOf(objects, types.length);
+    }
+    objects[pos] = value;
+    types[pos] = type;
+    size = pos + 1;
+  }
+
+  private void ensureCapacity(int minCapacity) {
+    final int capacity = types.length;
+    if (minCapacity > capacity) {
+      final int newCapacity = Math.max(minCapacity, capacity < BASE_SIZE ? BASE_SIZE : capacity + (capacity >> 1));
+      types = Arrays.copyOf(types, newCapacity);
+    }
+  }
+}
@@ -7,6 +7,9 @@ import com.siimkinks.sqlitemagic.internal.SimpleArrayMap;
 import java.util.LinkedList;
 
 final class SqlCreator {
+  private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+  private static final long FNV_PRIME = 0x100000001b3L;
+
   @NonNull
   static String getSql(@NonNull SqlNode sqlNode, int sqlNodeCount) {
     final StringBuilder stringBuilder = new StringBuilder(sqlNodeCount * 20);
@@ -57,4 +60,45 @@ final class SqlCreator {
     sqlNode.appendSql(stringBuilder, systemRenamedTables);
     stringBuilder.append(' ');
   }
+
+  /**
+   * Create a fingerprint of SQL statement.
+   * <p>
+   * Fingerprint is the 64-bit FNV-1a hash of the SQL encoded as UTF-8, so it is stable
+   * between processes and application versions that generate the same SQL and equals
+   * the hash that any other FNV-1a implementation computes over the same UTF-8 bytes.
+   * Unpaired surrogates are hashed as {@code '?'}, like {@link String#getBytes(String)} encodes them.
+   *
+   * @param sql Statement SQL
+   * @return SQL fingerprint
+   */
+  static long fingerprint(@NonNull String sql) {
+    long hash = FNV_OFFSET_BASIS;
+    for (int i = 0, length = sql.length(); i < length; i++) {
+      final char c = sql.charAt(i);
+      if (c < 0x80) {
+        hash = fnv1a(hash, c);
+      } else if (c < 0x800) {
+        hash = fnv1a(hash, 0xc0 | (c >>> 6));
+        hash = fnv1a(hash, 0x80 | (c & 0x3f));
+      } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(sql.charAt(i + 1))) {
+        final int codePoint = Character.toCodePoint(c, sql.charAt(++i));
+        hash = fnv1a(hash, 0xf0 | (codePoint >>> 18));
+        hash = fnv1a(hash, 0x80 | ((codePoint >>> 12) & 0x3f));
+        hash = fnv1a(hash, 0x80 | ((codePoint >>> 6) & 0x3f));
+        hash = fnv1a(hash, 0x80 | (codePoint & 0x3f));
+      } else if (Character.isHighSurrogate(c) || Character.isLowSurrogate(c)) {
+        hash = fnv1a(hash, '?');
+      } else {
+        hash = fnv1a(hash, 0xe0 | (c >>> 12));
+        hash = fnv1a(hash, 0x80 | ((c >>> 6) & 0x3f));
+        hash = fnv1a(hash, 0x80 | (c & 0x3f));
+      }
+    }
+    return hash;
+  }
+
+  private static long fnv1a(long hash, int octet) {
+    return (hash ^ octet) * FNV_PRIME;
+  }
 }
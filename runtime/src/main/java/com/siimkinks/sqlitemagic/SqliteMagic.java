@@ -5,6 +5,8 @@ import android.support.annotation.CheckResult;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 
+import java.util.concurrent.TimeUnit;
+
 import rx.Scheduler;
 import rx.schedulers.Schedulers;
 
@@ -80,16 +82,27 @@ public final class SqliteMagic {
 
   private static DbConnectionImpl openConnection(@NonNull Application context,
                                                  @NonNull DatabaseSetupBuilder databaseSetupBuilder) {
+    if (databaseSetupBuilder.readerConnectionCount > 0 && !databaseSetupBuilder.tuning.writeAheadLogging) {
+      throw new IllegalStateException("Reader connections require write-ahead logging");
+    }
     try {
       String name = databaseSetupBuilder.name;
       if (name == null || name.isEmpty()) {
         name = getDbName();
       }
       final int version = getDbVersion();
-      final DbHelper dbHelper = new DbHelper(context, name, version);
+      final DbHelper dbHelper = new DbHelper(context, name, version, databaseSetupBuilder.tuning);
       LogUtil.logInfo("Initializing database with [name=%s, version=%s, logging=%s]",
           name, version, LOGGING_ENABLED);
-      return new DbConnectionImpl(dbHelper, databaseSetupBuilder.queryScheduler);
+      return new DbConnectionImpl(dbHelper,
+          databaseSetupBuilder.queryScheduler,
+          databaseSetupBuilder.statementCacheSize,
+          databaseSetupBuilder.triggerCoalesceWindowNanos,
+          databaseSetupBuilder.shareObservedQueries,
+          databaseSetupBuilder.tuning,
+          databaseSetupBuilder.readerConnectionCount,
+          databaseSetupBuilder.batchWrites,
+          databaseSetupBuilder.writeBatchWindowNanos);
     } catch (Exception e) {
       throw new IllegalStateException("Error initializing database. " +
           "Make sure there is at least one model annotated with @Table", e);
@@ -118,6 +131,14 @@ public final class SqliteMagic {
     String name;
     @NonNull
     Scheduler queryScheduler = Schedulers.io();
+    int statementCacheSize = StatementCache.DEFAULT_SIZE;
+    long triggerCoalesceWindowNanos = 0;
+    boolean shareObservedQueries = false;
+    @NonNull
+    DatabaseTuning tuning = DatabaseTuning.DEFAULT;
+    int readerConnectionCount = 0;
+    boolean batchWrites = false;
+    long writeBatchWindowNanos = 0;
 
     DatabaseSetupBuilder(@NonNull Application context) {
       if (context == null) {
@@ -160,6 +181,145 @@ public final class SqliteMagic {
       return this;
     }
 
+    /**
+     * Define the maximum number of compiled query statements that are cached per connection.
+     * <p>
+     * Statements are cached by their SQL and reused between executions and re-emissions of
+     * observed queries. Defaults to {@value StatementCache#DEFAULT_SIZE}.
+     *
+     * @param size Maximum number of cached statements. Must be between 1 and
+     *             {@value StatementCache#MAX_SIZE}
+     * @return Database connection configuration builder
+     * @see DbConnection#getStatementCache()
+     */
+    @CheckResult
+    public DatabaseSetupBuilder withStatementCacheSize(int size) {
+      if (size < 1 || size > StatementCache.MAX_SIZE) {
+        throw new IllegalArgumentException("Statement cache size must be between 1 and " + StatementCache.MAX_SIZE);
+      }
+      this.statementCacheSize = size;
+      return this;
+    }
+
+    /**
+     * Define a window in which table change triggers are merged into a single notification.
+     * <p>
+     * By default every write outside of a transaction notifies observed queries immediately,
+     * which re-runs them for every single change. With coalescing enabled, changes
+     * are collected for the duration of the window after the first change and observed
+     * queries are notified once about all the tables changed in that window. This caps the
+     * rate at which observed queries are re-run during bursts of writes at the cost of
+     * delaying notifications by at most the window duration.
+     * <p>
+     * Defaults to {@code 0}, which disables coalescing.
+     *
+     * @param window Coalescing window duration. {@code 0} disables coalescing
+     * @param unit   Window duration time unit
+     * @return Database connection configuration builder
+     */
+    @CheckResult
+    public DatabaseSetupBuilder coalesceTriggers(long window, @NonNull TimeUnit unit) {
+      if (window < 0) {
+        throw new IllegalArgumentException("Trigger coalescing window cannot be negative");
+      }
+      this.triggerCoalesceWindowNanos = unit.toNanos(window);
+      return this;
+    }
+
+    /**
+     * Define whether equal observed queries share their executions.
+     * <p>
+     * By default every subscriber of a SELECT statement {@link CompiledSelect#observe() observe()}
+     * method runs the query itself on every relevant table change. With sharing enabled,
+     * observed list, count and first queries with equal SQL and arguments run once per change
+     * for all of their subscribers and late subscribers receive the latest result without
+     * re-running the query. Shared query is disposed when its last subscriber unsubscribes.
+     * <p>
+     * Note that all subscribers receive the same result instance, which therefore
+     * must not be modified. Defaults to {@code false}.
+     *
+     * @param share Whether observed queries are shared
+     * @return Database connection configuration builder
+     */
+    @CheckResult
+    public DatabaseSetupBuilder shareObservedQueries(boolean share) {
+      this.shareObservedQueries = share;
+      return this;
+    }
+
+    /**
+     * Define the journal mode, sync level and cache configuration which is applied every
+     * time the database is opened.
+     * <p>
+     * Defaults to {@link DatabaseTuning#DEFAULT}, which keeps SQLite defaults.
+     * {@link DatabaseTuning#THROUGHPUT} and {@link DatabaseTuning#DURABILITY} presets enable
+     * write-ahead logging, which lets queries run concurrently with writing transactions.
+     *
+     * @param tuning Database tuning
+     * @return Database connection configuration builder
+     */
+    @CheckResult
+    public DatabaseSetupBuilder withTuning(@NonNull DatabaseTuning tuning) {
+      if (tuning == null) {
+        throw new NullPointerException("Database tuning cannot be null");
+      }
+      this.tuning = tuning;
+      return this;
+    }
+
+    /**
+     * Define the number of read-only connections used for queries.
+     * <p>
+     * By default all queries run on the same connection as writes. With reader connections
+     * queries outside of transactions are spread between the readers in round-robin order,
+     * so observed queries run concurrently instead of waiting for each other and for the
+     * writer. Writes and everything inside transactions always use the writer connection.
+     * <p>
+     * Requires write-ahead logging to be enabled with {@link #withTuning(DatabaseTuning)}.
+     * Ignored for in-memory databases. Defaults to {@code 0}.
+     *
+     * @param count Number of reader connections. Must be between 0 and
+     *              {@value ReaderConnectionPool#MAX_SIZE}
+     * @return Database connection configuration builder
+     */
+    @CheckResult
+    public DatabaseSetupBuilder withReaderConnections(int count) {
+      if (count < 0 || count > ReaderConnectionPool.MAX_SIZE) {
+        throw new IllegalArgumentException("Reader connection count must be between 0 and " + ReaderConnectionPool.MAX_SIZE);
+      }
+      this.readerConnectionCount = count;
+      return this;
+    }
+
+    /**
+     * Enable group commit of single entity writes.
+     * <p>
+     * By default every single entity insert, update, persist and delete that is observed
+     * outside of a transaction commits on its own, which syncs the journal for every write.
+     * With write batching these operations are queued to the connection's writer thread and
+     * operations that arrive within the batching window are committed in one transaction.
+     * Each operation completes after its group is committed. See
+     * {@link DbConnection#callInTransaction(java.util.concurrent.Callable)} for the details.
+     * <p>
+     * Synchronous {@code execute()} methods and operations in transactions are not affected.
+     * Batching window also applies to {@link DbConnection#callInTransaction} and
+     * {@link DbConnection#runInTransaction} jobs.
+     *
+     * @param window Time to wait for more writes after the first queued write.
+     *               {@code 0} groups only writes that queue up while the writer is busy
+     * @param unit   Window duration time unit
+     * @return Database connection configuration builder
+     */
+    @CheckResult
+    public DatabaseSetupBuilder batchWrites(long window, @NonNull TimeUnit unit) {
+      if (window < 0) {
+        throw new IllegalArgumentException("Write batching window cannot be negative");
+      }
+      this.batchWrites = true;
+      this.writeBatchWindowNanos = unit.toNanos(window);
+      return this;
+    }
+
     /**
      * Initialize library.
      * <p>
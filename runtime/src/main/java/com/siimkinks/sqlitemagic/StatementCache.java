@@ -0,0 +1,239 @@
+package com.siimkinks.sqlitemagic;
+
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+import android.support.annotation.CheckResult;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded LRU cache of compiled query statements keyed by their SQL text.
+ * <p>
+ * Each {@link DbConnection} owns one cache. Statements are shared between all compiled
+ * queries with equal SQL and are re-bound with fresh arguments on every execution.
+ * Every thread gets its own handle of a cached statement until the per-statement handle
+ * limit is reached, after which threads share one handle.
+ * The same size is applied to the connection's native prepared statement cache, which
+ * is what cursor returning queries reuse.
+ * <p>
+ * Hit, miss and eviction counters can be used to choose a suitable
+ * {@link SqliteMagic.DatabaseSetupBuilder#withStatementCacheSize(int) cache size}.
+ * Handle counters are connection wide and also include statements of inserts, updates,
+ * and deletes which are cached outside of this cache.
+ */
+public final class StatementCache {
+  /**
+   * Default maximum number of cached statements.
+   */
+  public static final int DEFAULT_SIZE = 25;
+  /**
+   * Largest allowed cache size.
+   */
+  public static final int MAX_SIZE = SQLiteDatabase.MAX_SQL_CACHE_SIZE;
+
+  @NonNull
+  private final DbConnectionImpl dbConnection;
+  @NonNull
+  private final LinkedHashMap<String, StatementHandles> statements;
+  /**
+   * Handles that are owned by compiled statements outside of this cache. Weakly referenced,
+   * so they are collected together with their owners.
+   */
+  @NonNull
+  private final WeakHashMap<StatementHandles, Boolean> ownedStatements = new WeakHashMap<>();
+  private final int maxSize;
+  private boolean closed;
+  private long hitCount;
+  private long missCount;
+  private long evictionCount;
+  final AtomicLong threadHandleCount = new AtomicLong();
+  final AtomicLong sharedHandleUseCount = new AtomicLong();
+
+  StatementCache(@NonNull DbConnectionImpl dbConnection, int maxSize) {
+    this.dbConnection = dbConnection;
+    this.maxSize = maxSize;
+    this.statements = new LinkedHashMap<>(maxSize, 0.75f, true);
+  }
+
+  /**
+   * Get compiled statement for the provided SQL. Statement is compiled and cached if
+   * it is not already in cache.
+   * <p>
+   * Returned statement is acquired for the caller and must be given back with
+   * {@link #release(SQLiteStatement)} after use. Callers must synchronize on the
+   * statement while binding and executing it. The monitor is contended only if the
+   * calling thread did not get its own statement handle.
+   *
+   * @param sql Statement SQL
+   * @return Compiled statement
+   */
+  @NonNull
+  @CheckResult
+  synchronized SQLiteStatement acquire(@NonNull String sql) {
+    final SQLiteStatement stm = getHandles(sql).acquire();
+    stm.acquireReference();
+    return stm;
+  }
+
+  /**
+   * Compile and cache statement for the provided SQL without assigning a statement handle
+   * to the calling thread.
+   *
+   * @param sql Statement SQL
+   */
+  synchronized void prepare(@NonNull String sql) {
+    getHandles(sql).prepare();
+  }
+
+  /**
+   * Compile statement handles that are owned by the caller instead of this cache.
+   * <p>
+   * The first handle is compiled eagerly to fail fast on invalid statement and is given to
+   * the first thread that executes the statement. Handles are released when the connection
+   * is closed.
+   *
+   * @param sql  Statement SQL
+   * @param args Arguments bound to every compiled handle or {@code null} if callers bind
+   *             arguments on every execution
+   * @return Statement handles
+   */
+  @NonNull
+  @CheckResult
+  StatementHandles prepareOwned(@NonNull String sql, @Nullable SqlArgs args) {
+    final StatementHandles handles = new StatementHandles(dbConnection, sql, args);
+    synchronized (this) {
+      if (closed) {
+        throw new IllegalStateException("DB connection closed");
+      }
+      ownedStatements.put(handles, Boolean.TRUE);
+    }
+    handles.prepare();
+    return handles;
+  }
+
+  @NonNull
+  private StatementHandles getHandles(@NonNull String sql) {
+    if (closed) {
+      throw new IllegalStateException("DB connection closed");
+    }
+    StatementHandles handles = statements.get(sql);
+    if (handles != null) {
+      hitCount++;
+    } else {
+      missCount++;
+      handles = new StatementHandles(dbConnection, sql, null);
+      statements.put(sql, handles);
+      trimToSize();
+    }
+    return handles;
+  }
+
+  /**
+   * Give back statement acquired with {@link #acquire(String)}.
+   * <p>
+   * Statement is closed if it was evicted while in use.
+   *
+   * @param stm Previously acquired statement
+   */
+  void release(@NonNull SQLiteStatement stm) {
+    stm.releaseReference();
+  }
+
+  void close() {
+    synchronized (this) {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      for (StatementHandles handles : statements.values()) {
+        handles.close();
+      }
+      statements.clear();
+      for (StatementHandles handles : ownedStatements.keySet()) {
+        handles.close();
+      }
+      ownedStatements.clear();
+    }
+  }
+
+  private void trimToSize() {
+    while (statements.size() > maxSize) {
+      final Map.Entry<String, StatementHandles> eldest = statements.entrySet().iterator().next();
+      statements.remove(eldest.getKey());
+      eldest.getValue().close();
+      evictionCount++;
+      if (SqliteMagic.LOGGING_ENABLED) LogUtil.logDebug("Evicted cached statement %s", eldest.getKey());
+    }
+  }
+
+  /**
+   * @return Maximum number of cached statements
+   */
+  public int maxSize() {
+    return maxSize;
+  }
+
+  /**
+   * @return Number of currently cached statements
+   */
+  public synchronized int size() {
+    return statements.size();
+  }
+
+  /**
+   * @return Number of times a requested statement was found in the cache
+   */
+  public synchronized long hitCount() {
+    return hitCount;
+  }
+
+  /**
+   * @return Number of times a requested statement had to be compiled
+   */
+  public synchronized long missCount() {
+    return missCount;
+  }
+
+  /**
+   * @return Number of statements that were evicted from the cache
+   */
+  public synchronized long evictionCount() {
+    return evictionCount;
+  }
+
+  /**
+   * @return Number of statement handles that were compiled for the exclusive use of
+   * a thread
+   */
+  public long threadHandleCount() {
+    return threadHandleCount.get();
+  }
+
+  /**
+   * @return Number of times a thread had to use a shared statement handle, because all
+   * handles of the statement were owned by other threads. Shared handle executions
+   * serialize on the statement monitor
+   */
+  public long sharedHandleUseCount() {
+    return sharedHandleUseCount.get();
+  }
+
+  @Override
+  public synchronized String toString() {
+    final long accesses = hitCount + missCount;
+    final long hitPercent = accesses != 0 ? (100 * hitCount / accesses) : 0;
+    return "StatementCache[maxSize=" + maxSize +
+        ",size=" + statements.size() +
+        ",hits=" + hitCount +
+        ",misses=" + missCount +
+        ",evictions=" + evictionCount +
+        ",hitRate=" + hitPercent + "%" +
+        ",threadHandles=" + threadHandleCount.get() +
+        ",sharedHandleUses=" + sharedHandleUseCount.get() + "]";
+  }
+}
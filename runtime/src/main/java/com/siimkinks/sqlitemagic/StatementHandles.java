@@ -0,0 +1,61 @@
+package com.siimkinks.sqlitemagic;
+
+import android.database.sqlite.SQLiteStatement;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+/**
+ * Compiled statements of a single SQL which are lent to threads.
+ * <p>
+ * Every thread that executes the statement gets its own compiled handle, so the monitor
+ * callers hold while binding and executing the statement is never contended. See
+ * {@link ThreadHandles} for how handles are assigned and handed over between threads.
+ * <p>
+ * Callers must synchronize on the acquired statement while binding and executing it.
+ */
+final class StatementHandles extends ThreadHandles<SQLiteStatement> {
+  @NonNull
+  private final DbConnectionImpl dbConnection;
+  @NonNull
+  private final String sql;
+  /**
+   * Arguments bound to every compiled handle or {@code null} if callers bind arguments
+   * on every execution.
+   */
+  @Nullable
+  private final SqlArgs args;
+
+  StatementHandles(@NonNull DbConnectionImpl dbConnection, @NonNull String sql, @Nullable SqlArgs args) {
+    this(dbConnection, sql, args, DEFAULT_MAX_HANDLES);
+  }
+
+  StatementHandles(@NonNull DbConnectionImpl dbConnection, @NonNull String sql, @Nullable SqlArgs args, int maxHandles) {
+    super(maxHandles,
+        dbConnection.statementCache.threadHandleCount,
+        dbConnection.statementCache.sharedHandleUseCount);
+    this.dbConnection = dbConnection;
+    this.sql = sql;
+    this.args = args;
+  }
+
+  @NonNull
+  @Override
+  SQLiteStatement create() {
+    if (closed) {
+      throw new IllegalStateException("DB connection closed");
+    }
+    final SQLiteStatement stm = dbConnection.compileStatement(sql);
+    if (args != null) {
+      args.bindTo(stm);
+    }
+    return stm;
+  }
+
+  /**
+   * Statements that are in use are closed after their last reference is released.
+   */
+  @Override
+  void release(@NonNull SQLiteStatement handle) {
+    handle.releaseReference();
+  }
+}
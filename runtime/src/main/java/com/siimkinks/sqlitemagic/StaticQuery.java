@@ -0,0 +1,62 @@
+package com.siimkinks.sqlitemagic;
+
+import android.database.sqlite.SQLiteDatabase;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * For internal use.
+ * <p>
+ * SQL SELECT statement which SQL is generated at compile time for a
+ * {@link com.siimkinks.sqlitemagic.annotation.Query} annotated method. Executing it only
+ * binds the arguments and steps through the result set; no statement builders are involved.
+ */
+final class StaticQuery {
+  @NonNull
+  final String sql;
+  @NonNull
+  final String[] observedTables;
+
+  StaticQuery(@NonNull String sql, @NonNull String[] observedTables) {
+    this.sql = sql;
+    this.observedTables = observedTables;
+  }
+
+  /**
+   * Run the query against a database.
+   *
+   * @param dbConnection Connection to query
+   * @param args         Query arguments or {@code null} if query has no arguments
+   * @return Cursor over the result set. Caller must close it
+   */
+  @NonNull
+  SqliteMagicCursor rawQuery(@NonNull DbConnectionImpl dbConnection, @Nullable SqlArgs args) {
+    final SQLiteDatabase db = dbConnection.getReadableDatabase();
+    final long startNanos = nanoTime();
+    final SqliteMagicCursor cursor = (SqliteMagicCursor) db.rawQueryWithFactory(args, sql, null, null, null);
+    if (SqliteMagic.LOGGING_ENABLED) {
+      final long queryTimeInMillis = NANOSECONDS.toMillis(nanoTime() - startNanos);
+      LogUtil.logQueryTime(queryTimeInMillis, observedTables, sql, args);
+    }
+    return cursor;
+  }
+
+  /**
+   * Run the query against a database and read the first column of the first result row.
+   *
+   * @param dbConnection Connection to query
+   * @param args         Query arguments or {@code null} if query has no arguments
+   * @return Value of the first column or {@code 0} if the result set is empty
+   */
+  long queryForLong(@NonNull DbConnectionImpl dbConnection, @Nullable SqlArgs args) {
+    final SqliteMagicCursor cursor = rawQuery(dbConnection, args);
+    try {
+      return cursor.moveToFirst() ? cursor.getLong(0) : 0;
+    } finally {
+      cursor.close();
+    }
+  }
+}
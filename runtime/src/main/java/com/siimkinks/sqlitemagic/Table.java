@@ -30,12 +30,22 @@ public class Table<T> {
   final String nameInQuery;
   final int nrOfColumns;
   final boolean hasAlias;
+  /**
+   * Name of the column which holds row ids or {@code null} if table has no such column.
+   */
+  @Nullable
+  final String idColumnName;
   private final Column<?, ?, ?, T> selectAllColumn;
 
   Table(@NonNull String name, @Nullable String alias, int nrOfColumns) {
+    this(name, alias, nrOfColumns, null);
+  }
+
+  Table(@NonNull String name, @Nullable String alias, int nrOfColumns, @Nullable String idColumnName) {
     this.name = name;
     this.alias = alias;
     this.nrOfColumns = nrOfColumns;
+    this.idColumnName = idColumnName;
     final boolean hasAlias = alias != null;
     this.hasAlias = hasAlias;
     this.nameInQuery = hasAlias ? alias : name;
@@ -70,7 +80,7 @@ public class Table<T> {
 
   @NonNull
   final Table<T> internalAlias(@NonNull String alias) {
-    return new Table<>(name, alias, nrOfColumns);
+    return new Table<>(name, alias, nrOfColumns, idColumnName);
   }
 
   /**
@@ -82,7 +92,7 @@ public class Table<T> {
   @NonNull
   @CheckResult
   public Table<T> as(@NonNull String alias) {
-    return new Table<>(name, alias, nrOfColumns);
+    return new Table<>(name, alias, nrOfColumns, idColumnName);
   }
 
   /**
@@ -123,7 +133,7 @@ public class Table<T> {
       }
 
       @Override
-      void addArgs(@NonNull ArrayList<String> args) {
+      void addArgs(@NonNull SqlArgs args) {
         super.addArgs(args);
         expr.addArgs(args);
       }
@@ -194,30 +204,47 @@ public class Table<T> {
 
   @NonNull
   ArrayList<T> allFromCursor(@NonNull FastCursor cursor,
-                             @Nullable SimpleArrayMap<String, Integer> columnPositions,
-                             SimpleArrayMap<String, String> tableGraphNodeNames,
+                             @Nullable SelectionPlan selection,
                              boolean queryDeep,
+                             @Nullable EntityIdentityMap identityMap,
                              @NonNull Subscription subscription) {
     throw new RuntimeException("not implemented");
   }
 
   @Nullable
   T firstFromCursor(@NonNull FastCursor cursor,
-                    @Nullable SimpleArrayMap<String, Integer> columnPositions,
-                    SimpleArrayMap<String, String> tableGraphNodeNames,
+                    @Nullable SelectionPlan selection,
                     boolean queryDeep) {
     throw new RuntimeException("not implemented");
   }
 
   @NonNull
   T fromCurrentCursorPosition(@NonNull FastCursor cursor,
-                              @Nullable SimpleArrayMap<String, Integer> columnPositions,
-                              SimpleArrayMap<String, String> tableGraphNodeNames,
+                              @Nullable SelectionPlan selection,
                               boolean queryDeep,
                               @NonNull MutableInt columnOffset) {
     throw new RuntimeException("not implemented");
   }
 
+  /**
+   * @return Maximum number of cached entities of this table or {@code 0} if this
+   * table has no entity caching
+   */
+  int entityCacheSize() {
+    return 0;
+  }
+
+  /**
+   * Get row id of the provided entity.
+   *
+   * @param entity Entity of this table
+   * @return Row id or {@code null} if table has no id column or entity has no id
+   */
+  @Nullable
+  Long rowIdOf(@NonNull T entity) {
+    return null;
+  }
+
   final boolean baseNameEquals(Object o) {
     if (this == o) return true;
     if (o == null) return false;
@@ -0,0 +1,182 @@
+package com.siimkinks.sqlitemagic;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Handles of a single resource which are lent to threads.
+ * <p>
+ * Every thread that acquires a handle gets its own, so the monitor callers hold while
+ * using the handle is never contended. Up to the maximum number of handles are created.
+ * Handle is handed over to another thread when its owner has terminated or has not acquired
+ * it for {@link #IDLE_OWNER_NANOS}, so long-lived pool threads that stopped using the
+ * resource do not keep their handles. When all handles are owned by active threads,
+ * remaining threads share one handle and contend on its monitor.
+ * <p>
+ * Handing a handle over is always safe, because callers synchronize on the acquired handle
+ * while using it.
+ *
+ * @param <H> Handle type
+ */
+abstract class ThreadHandles<H> {
+  /**
+   * Default maximum number of thread owned handles.
+   */
+  static final int DEFAULT_MAX_HANDLES = 4;
+  /**
+   * Time after which a handle that its owner has not acquired is handed over to another thread.
+   */
+  static final long IDLE_OWNER_NANOS = SECONDS.toNanos(1);
+
+  private final AtomicReferenceArray<WeakReference<Thread>> owners;
+  private final AtomicReferenceArray<H> handles;
+  private final AtomicLongArray lastAcquireNanos;
+  @NonNull
+  private final AtomicLong threadHandleCount;
+  @NonNull
+  private final AtomicLong sharedHandleUseCount;
+  @Nullable
+  private volatile H sharedHandle;
+  volatile boolean closed;
+
+  ThreadHandles(int maxHandles, @NonNull AtomicLong threadHandleCount, @NonNull AtomicLong sharedHandleUseCount) {
+    this.owners = new AtomicReferenceArray<>(maxHandles);
+    this.handles = new AtomicReferenceArray<>(maxHandles);
+    this.lastAcquireNanos = new AtomicLongArray(maxHandles);
+    this.threadHandleCount = threadHandleCount;
+    this.sharedHandleUseCount = sharedHandleUseCount;
+  }
+
+  /**
+   * @return New handle
+   */
+  @NonNull
+  abstract H create();
+
+  /**
+   * Release the handle when it is no longer needed.
+   */
+  abstract void release(@NonNull H handle);
+
+  long nanoTime() {
+    return System.nanoTime();
+  }
+
+  /**
+   * @return Handle owned by the calling thread or the shared handle if all handles are
+   * owned by other active threads
+   */
+  @NonNull
+  final H acquire() {
+    if (closed) {
+      throw new IllegalStateException("DB connection closed");
+    }
+    final Thread current = Thread.currentThread();
+    final long now = nanoTime();
+    final AtomicReferenceArray<WeakReference<Thread>> owners = this.owners;
+    final int length = owners.length();
+    for (int i = 0; i < length; i++) {
+      final WeakReference<Thread> owner = owners.get(i);
+      if (owner != null && owner.get() == current) {
+        final H handle = handles.get(i);
+        if (handle != null) {
+          lastAcquireNanos.set(i, now);
+          return handle;
+        }
+      }
+    }
+    for (int i = 0; i < length; i++) {
+      final WeakReference<Thread> owner = owners.get(i);
+      if (isReclaimable(owner, i, now) && owners.compareAndSet(i, owner, new WeakReference<>(current))) {
+        lastAcquireNanos.set(i, now);
+        final H handle = handles.get(i);
+        return handle != null ? handle : createHandle(i);
+      }
+    }
+    sharedHandleUseCount.incrementAndGet();
+    return getSharedHandle();
+  }
+
+  private boolean isReclaimable(@Nullable WeakReference<Thread> owner, int index, long now) {
+    if (owner == null) {
+      return true;
+    }
+    final Thread ownerThread = owner.get();
+    return ownerThread == null
+        || !ownerThread.isAlive()
+        || now - lastAcquireNanos.get(index) >= IDLE_OWNER_NANOS;
+  }
+
+  @NonNull
+  private H createHandle(int index) {
+    final H handle = create();
+    if (handles.compareAndSet(index, null, handle)) {
+      threadHandleCount.incrementAndGet();
+      return handle;
+    }
+    // prepared concurrently
+    release(handle);
+    final H prepared = handles.get(index);
+    if (prepared == null) {
+      throw new IllegalStateException("DB connection closed");
+    }
+    return prepared;
+  }
+
+  /**
+   * Create the first handle if it does not exist yet. The handle is not assigned to
+   * the calling thread -- it is given to the first thread that acquires a handle.
+   */
+  final void prepare() {
+    if (closed) {
+      throw new IllegalStateException("DB connection closed");
+    }
+    if (handles.get(0) == null) {
+      createHandle(0);
+    }
+  }
+
+  @NonNull
+  private H getSharedHandle() {
+    H handle = sharedHandle;
+    if (handle == null) {
+      synchronized (this) {
+        handle = sharedHandle;
+        if (handle == null) {
+          handle = create();
+          sharedHandle = handle;
+        }
+      }
+    }
+    return handle;
+  }
+
+  /**
+   * Release all handles.
+   */
+  void close() {
+    closed = true;
+    final AtomicReferenceArray<H> handles = this.handles;
+    for (int i = 0, length = handles.length(); i < length; i++) {
+      final H handle = handles.getAndSet(i, null);
+      if (handle != null) {
+        release(handle);
+      }
+      owners.set(i, null);
+    }
+    synchronized (this) {
+      final H handle = sharedHandle;
+      if (handle != null) {
+        release(handle);
+        sharedHandle = null;
+      }
+    }
+  }
+}
@@ -151,6 +151,24 @@ public final class Update extends UpdateSqlNode {
       return new Set<>(this, new UpdateColumn<>(column).is(value));
     }
 
+    /**
+     * Update a column with a value that is bound after the statement is compiled.
+     *
+     * @param column Column to update. This param must be one of annotation processor
+     *               generated column objects that corresponds to column in a database
+     *               table
+     * @param param  Parameter which value to set for updated column
+     * @param <V>    Value type
+     * @param <R>    Column return type
+     * @param <ET>   Column equivalent type
+     * @return SQL UPDATE statement builder
+     * @see CompiledUpdate#bind(Object...)
+     */
+    @CheckResult
+    public <V, R, ET> Set<T> set(@NonNull Column<V, R, ET, T> column, @NonNull Param<V> param) {
+      return new Set<>(this, new UpdateColumn<>(column).is(param));
+    }
+
     /**
      * Update a column with the value of another column.
      *
@@ -201,10 +219,9 @@ public final class Update extends UpdateSqlNode {
       this.parentColumn = parentColumn;
     }
 
-    @NonNull
     @Override
-    String toSqlArg(@NonNull T val) {
-      return parentColumn.toSqlArg(val);
+    void addSqlArg(@NonNull SqlArgs args, @NonNull T val) {
+      parentColumn.addSqlArg(args, val);
     }
 
     @Override
@@ -280,6 +297,27 @@ public final class Update extends UpdateSqlNode {
       return this;
     }
 
+    /**
+     * Update a column with a value that is bound after the statement is compiled.
+     *
+     * @param column Column to update. This param must be one of annotation processor
+     *               generated column objects that corresponds to column in a database
+     *               table
+     * @param param  Parameter which value to set for updated column
+     * @param <V>    Value type
+     * @param <R>    Column return type
+     * @param <ET>   Column equivalent type
+     * @return SQL UPDATE statement builder
+     * @see CompiledUpdate#bind(Object...)
+     */
+    @CheckResult
+    public <V, R, ET> Set<T> set(@NonNull Column<V, R, ET, T> column, @NonNull Param<V> param) {
+      final Expr expr = new UpdateColumn<>(column).is(param);
+      updates.add(expr);
+      expr.addArgs(updateBuilder.args);
+      return this;
+    }
+
     /**
      * Update a column with the value of another column.
      *
@@ -348,7 +386,12 @@ public final class Update extends UpdateSqlNode {
     Where(@NonNull UpdateSqlNode parent, @NonNull Expr expr) {
       super(parent);
       this.expr = expr;
-      expr.addArgs(updateBuilder.args);
+      if (expr instanceof ExprIn) {
+        // arguments are added when compiled, because long lists are bound in chunks
+        updateBuilder.whereIn = (ExprIn) expr;
+      } else {
+        expr.addArgs(updateBuilder.args);
+      }
     }
 
     @Override
@@ -6,14 +6,12 @@ import android.os.ParcelFileDescriptor.AutoCloseInputStream;
 import android.support.annotation.CheckResult;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
-import android.support.annotation.VisibleForTesting;
 
 import com.siimkinks.sqlitemagic.internal.SimpleArrayMap;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.LinkedList;
-import java.util.Random;
 
 import static com.siimkinks.sqlitemagic.internal.ContainerHelpers.EMPTY_BYTES;
 import static com.siimkinks.sqlitemagic.internal.ContainerHelpers.EMPTY_PRIMITIVE_BYTES;
@@ -22,26 +20,29 @@ import static com.siimkinks.sqlitemagic.internal.ContainerHelpers.EMPTY_PRIMITIV
  * Internal utility functions.
  */
 public final class Utils {
-  private static final Random RANDOM = new Random();
-  private static final char[] CHAR_SET = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ".toCharArray();
-  @VisibleForTesting
-  static final int TABLE_NAME_LEN = 6;
-
   private Utils() {
     throw new AssertionError("no instances");
   }
 
+  /**
+   * Create an alias for a table that is joined to a query through a column.
+   * <p>
+   * Alias is derived from the path of the joined table in the query's table graph, so
+   * the same query always produces the same SQL.
+   *
+   * @param parentTable Table which contains the joining column
+   * @param columnName  Name of the joining column
+   * @return Alias for the joined table
+   */
   @NonNull
   @CheckResult
-  public static String randomTableName() {
-    final Random r = RANDOM;
-    final char[] charSet = CHAR_SET;
-    final int charSetLen = charSet.length;
-    final char buf[] = new char[TABLE_NAME_LEN];
-    for (int i = 0; i < TABLE_NAME_LEN; i++) {
-      buf[i] = charSet[r.nextInt(charSetLen)];
-    }
-    return new String(buf, 0, TABLE_NAME_LEN);
+  public static String joinedTableAlias(@NonNull Table<?> parentTable, @NonNull String columnName) {
+    final String parentName = parentTable.nameInQuery;
+    return new StringBuilder(parentName.length() + columnName.length() + 2)
+        .append(parentName)
+        .append("__")
+        .append(columnName)
+        .toString();
   }
 
   @NonNull
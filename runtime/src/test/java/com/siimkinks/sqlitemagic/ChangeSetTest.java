@@ -0,0 +1,86 @@
+package com.siimkinks.sqlitemagic;
+
+import com.siimkinks.sqlitemagic.internal.StringArraySet;
+
+import org.junit.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+
+public class ChangeSetTest {
+  @Test
+  public void rowChangeAffectsOnlyThatRow() {
+    final ChangeSet changeSet = new ChangeSet();
+    changeSet.addRow("author", ChangeSet.OPERATION_INSERT, 1);
+    changeSet.addRow("author", ChangeSet.OPERATION_UPDATE, 3);
+
+    assertThat(changeSet.contains("author")).isTrue();
+    assertThat(changeSet.affectsRow("author", 1)).isTrue();
+    assertThat(changeSet.affectsRow("author", 3)).isTrue();
+    assertThat(changeSet.affectsRow("author", 2)).isFalse();
+    assertThat(changeSet.affectsRow("book", 1)).isFalse();
+  }
+
+  @Test
+  public void tableChangeAffectsAllRows() {
+    final ChangeSet changeSet = new ChangeSet();
+    changeSet.addRow("author", ChangeSet.OPERATION_DELETE, 1);
+    changeSet.add("author");
+    changeSet.addRow("author", ChangeSet.OPERATION_DELETE, 2);
+
+    assertThat(changeSet.affectsRow("author", 1)).isTrue();
+    assertThat(changeSet.affectsRow("author", 55)).isTrue();
+  }
+
+  @Test
+  public void tooManyRowChangesAffectAllRows() {
+    final ChangeSet changeSet = new ChangeSet();
+    for (int i = 0; i < ChangeSet.MAX_TRACKED_ROWS; i++) {
+      changeSet.addRow("author", ChangeSet.OPERATION_INSERT, i);
+    }
+    assertThat(changeSet.affectsRow("author", ChangeSet.MAX_TRACKED_ROWS)).isFalse();
+
+    changeSet.addRow("author", ChangeSet.OPERATION_INSERT, ChangeSet.MAX_TRACKED_ROWS);
+
+    assertThat(changeSet.affectsRow("author", ChangeSet.MAX_TRACKED_ROWS + 1)).isTrue();
+  }
+
+  @Test
+  public void addAllMergesRowChanges() {
+    final ChangeSet other = new ChangeSet();
+    other.addRow("author", ChangeSet.OPERATION_INSERT, 1);
+    other.add("book");
+    final ChangeSet changeSet = new ChangeSet();
+    changeSet.addRow("author", ChangeSet.OPERATION_UPDATE, 2);
+
+    changeSet.addAll(other);
+
+    assertThat(changeSet.size()).isEqualTo(2);
+    assertThat(changeSet.affectsRow("author", 1)).isTrue();
+    assertThat(changeSet.affectsRow("author", 2)).isTrue();
+    assertThat(changeSet.affectsRow("author", 3)).isFalse();
+    assertThat(changeSet.affectsRow("book", 3)).isTrue();
+  }
+
+  @Test
+  public void addAllFromTableSetMarksTablesChanged() {
+    final ChangeSet changeSet = new ChangeSet();
+    changeSet.addRow("author", ChangeSet.OPERATION_UPDATE, 2);
+
+    changeSet.addAll(new StringArraySet(new String[]{"author", "book"}));
+
+    assertThat(changeSet.size()).isEqualTo(2);
+    assertThat(changeSet.affectsRow("author", 3)).isTrue();
+    assertThat(changeSet.affectsRow("book", 3)).isTrue();
+  }
+
+  @Test
+  public void readdedTableIsFullyChanged() {
+    final ChangeSet changeSet = new ChangeSet();
+    changeSet.addRow("author", ChangeSet.OPERATION_UPDATE, 2);
+
+    changeSet.remove("author");
+    changeSet.add("author");
+
+    assertThat(changeSet.affectsRow("author", 3)).isTrue();
+  }
+}
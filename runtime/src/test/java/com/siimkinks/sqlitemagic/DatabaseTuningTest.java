@@ -0,0 +1,62 @@
+package com.siimkinks.sqlitemagic;
+
+import org.junit.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.fail;
+
+public final class DatabaseTuningTest {
+  @Test
+  public void defaultTuningKeepsSqliteDefaults() {
+    assertThat(DatabaseTuning.DEFAULT.writeAheadLogging).isFalse();
+    assertThat(DatabaseTuning.DEFAULT.pragmas()).isEmpty();
+  }
+
+  @Test
+  public void pageSizeIsConfiguredFirst() {
+    final DatabaseTuning tuning = DatabaseTuning.THROUGHPUT.toBuilder()
+        .pageSize(4096)
+        .build();
+
+    assertThat(tuning.writeAheadLogging).isTrue();
+    assertThat(tuning.pragmas())
+        .containsExactly(
+            "PRAGMA page_size=4096",
+            "PRAGMA synchronous=NORMAL",
+            "PRAGMA cache_size=-8192",
+            "PRAGMA mmap_size=33554432",
+            "PRAGMA temp_store=MEMORY")
+        .inOrder();
+    assertThat(tuning.connectionPragmas())
+        .containsExactly(
+            "PRAGMA synchronous=NORMAL",
+            "PRAGMA cache_size=-8192",
+            "PRAGMA mmap_size=33554432",
+            "PRAGMA temp_store=MEMORY")
+        .inOrder();
+  }
+
+  @Test
+  public void invalidValuesAreRejected() {
+    try {
+      DatabaseTuning.builder().pageSize(1000);
+      fail("Page size must be a power of two");
+    } catch (IllegalArgumentException expected) {
+    }
+    try {
+      DatabaseTuning.builder().pageSize(131072);
+      fail("Page size must not exceed maximum");
+    } catch (IllegalArgumentException expected) {
+    }
+    try {
+      DatabaseTuning.builder().cacheSizeKib(0);
+      fail("Cache size must be positive");
+    } catch (IllegalArgumentException expected) {
+    }
+    try {
+      DatabaseTuning.builder().mmapSize(-1);
+      fail("Memory-mapped size must not be negative");
+    } catch (IllegalArgumentException expected) {
+    }
+  }
+}
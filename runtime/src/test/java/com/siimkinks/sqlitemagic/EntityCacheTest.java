@@ -0,0 +1,49 @@
+package com.siimkinks.sqlitemagic;
+
+import org.junit.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+
+public final class EntityCacheTest {
+  @Test
+  public void leastRecentlyUsedEntityIsEvicted() {
+    final EntityCache cache = new EntityCache("author", 2);
+    cache.put(1, "a", cache.generation());
+    cache.put(2, "b", cache.generation());
+    assertThat(cache.<String>get(1)).isEqualTo("a");
+    cache.put(3, "c", cache.generation());
+
+    assertThat(cache.size()).isEqualTo(2);
+    assertThat(cache.evictionCount()).isEqualTo(1);
+    assertThat(cache.<String>get(2)).isNull();
+    assertThat(cache.<String>get(1)).isEqualTo("a");
+    assertThat(cache.<String>get(3)).isEqualTo("c");
+    assertThat(cache.hitCount()).isEqualTo(3);
+    assertThat(cache.missCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void invalidationEvictsEntities() {
+    final EntityCache cache = new EntityCache("author", 10);
+    cache.put(1, "a", cache.generation());
+    cache.put(2, "b", cache.generation());
+
+    cache.invalidate(1);
+    assertThat(cache.<String>get(1)).isNull();
+    assertThat(cache.<String>get(2)).isEqualTo("b");
+
+    cache.invalidateAll();
+    assertThat(cache.size()).isEqualTo(0);
+    assertThat(cache.invalidationCount()).isEqualTo(2);
+  }
+
+  @Test
+  public void entityReadBeforeInvalidationIsNotCached() {
+    final EntityCache cache = new EntityCache("author", 10);
+    final long generation = cache.generation();
+    cache.invalidate(1);
+    cache.put(1, "stale", generation);
+
+    assertThat(cache.<String>get(1)).isNull();
+  }
+}
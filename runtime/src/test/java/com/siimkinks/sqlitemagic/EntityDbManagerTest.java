@@ -0,0 +1,25 @@
+package com.siimkinks.sqlitemagic;
+
+import org.junit.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.siimkinks.sqlitemagic.EntityDbManager.bulkDeleteChunkSize;
+
+public final class EntityDbManagerTest {
+  @Test
+  public void bulkDeleteChunkSizeFitsRemainingIds() {
+    assertThat(bulkDeleteChunkSize(1)).isEqualTo(1);
+    assertThat(bulkDeleteChunkSize(2)).isEqualTo(8);
+    assertThat(bulkDeleteChunkSize(8)).isEqualTo(8);
+    assertThat(bulkDeleteChunkSize(9)).isEqualTo(64);
+    assertThat(bulkDeleteChunkSize(64)).isEqualTo(64);
+    assertThat(bulkDeleteChunkSize(65)).isEqualTo(512);
+    assertThat(bulkDeleteChunkSize(512)).isEqualTo(512);
+  }
+
+  @Test
+  public void bulkDeleteChunkSizeNeverExceedsLargestChunk() {
+    assertThat(bulkDeleteChunkSize(513)).isEqualTo(512);
+    assertThat(bulkDeleteChunkSize(100000)).isEqualTo(512);
+  }
+}
@@ -0,0 +1,45 @@
+package com.siimkinks.sqlitemagic;
+
+import org.junit.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+
+public final class EntityIdentityMapTest {
+  @Test
+  public void entitiesAreKeyedByTableAndId() {
+    final EntityIdentityMap identityMap = new EntityIdentityMap();
+    final Object author = new Object();
+    final Object book = new Object();
+    identityMap.put("author", 1, author);
+    identityMap.put("book", 1, book);
+
+    assertThat(identityMap.get("author", 1)).isSameAs(author);
+    assertThat(identityMap.get("book", 1)).isSameAs(book);
+    assertThat(identityMap.get("author", 2)).isNull();
+    assertThat(identityMap.get("magazine", 1)).isNull();
+  }
+
+  @Test
+  public void tableEntitiesGrowWithoutLosingEntries() {
+    final EntityIdentityMap.TableEntities entities = new EntityIdentityMap.TableEntities();
+    final int count = 10000;
+    for (long id = -count; id < count; id++) {
+      entities.put(id * 31, id);
+    }
+    assertThat(entities.size()).isEqualTo(2 * count);
+    for (long id = -count; id < count; id++) {
+      assertThat(entities.get(id * 31)).isEqualTo(id);
+    }
+    assertThat(entities.get(1)).isNull();
+  }
+
+  @Test
+  public void putReplacesExistingEntry() {
+    final EntityIdentityMap.TableEntities entities = new EntityIdentityMap.TableEntities();
+    entities.put(5, "first");
+    entities.put(5, "second");
+
+    assertThat(entities.size()).isEqualTo(1);
+    assertThat(entities.get(5)).isEqualTo("second");
+  }
+}
@@ -0,0 +1,137 @@
+package com.siimkinks.sqlitemagic;
+
+import android.support.annotation.NonNull;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+
+import static com.google.common.truth.Truth.assertThat;
+
+public class ListDiffTest {
+  private static final Table<Row> ROW = new Table<Row>("row", null, 2, "id") {
+    @Override
+    Long rowIdOf(@NonNull Row entity) {
+      return entity.id;
+    }
+  };
+
+  @Test
+  public void rowsAreMatchedById() {
+    final List<Row> previous = Arrays.asList(row(1, "a"), row(2, "b"), row(3, "c"));
+    final List<Row> current = Arrays.asList(row(1, "a"), row(3, "cc"), row(4, "d"));
+
+    final ListDiff<Row> diff = diff(ROW, previous, current);
+
+    assertThat(diff.getList()).isSameAs(current);
+    assertThat(diff.getRemoved()).isEqualTo(new int[]{1});
+    assertThat(diff.getInserted()).isEqualTo(new int[]{2});
+    assertThat(diff.getChanged()).isEqualTo(new int[]{1});
+    assertThat(diff.getMoved()).isEqualTo(new int[0]);
+    assertThat(diff.isEmpty()).isFalse();
+  }
+
+  @Test
+  public void onlyRowsOutOfOrderAreMoved() {
+    final List<Row> previous = Arrays.asList(row(1, "a"), row(2, "b"), row(3, "c"), row(4, "d"));
+    final List<Row> current = Arrays.asList(row(4, "d"), row(1, "a"), row(2, "b"), row(3, "c"));
+
+    final ListDiff<Row> diff = diff(ROW, previous, current);
+
+    assertThat(diff.getMoved()).isEqualTo(new int[]{0});
+    assertThat(diff.getMovedFrom()).isEqualTo(new int[]{3});
+    assertThat(diff.getChanged()).isEqualTo(new int[0]);
+    assertThat(diff.getInserted()).isEqualTo(new int[0]);
+    assertThat(diff.getRemoved()).isEqualTo(new int[0]);
+  }
+
+  @Test
+  public void equalListsHaveEmptyDiff() {
+    final List<Row> previous = Arrays.asList(row(1, "a"), row(2, "b"));
+    final List<Row> current = Arrays.asList(row(1, "a"), row(2, "b"));
+
+    assertThat(diff(ROW, previous, current).isEmpty()).isTrue();
+  }
+
+  @Test
+  public void valuesWithoutTableAreMatchedByEquality() {
+    final List<String> previous = Arrays.asList("a", null, "c");
+    final List<String> current = Arrays.asList("c", "a", "d");
+
+    final ListDiff<String> diff = diff(null, previous, current);
+
+    assertThat(diff.getRemoved()).isEqualTo(new int[]{1});
+    assertThat(diff.getInserted()).isEqualTo(new int[]{2});
+    assertThat(diff.getMoved()).hasLength(1);
+    assertThat(diff.getChanged()).isEqualTo(new int[0]);
+  }
+
+  @Test
+  public void duplicateKeysReplaceWholeList() {
+    final List<Row> current = Arrays.asList(row(0, "a"), row(0, "b"));
+
+    assertThat(ListDiff.keyPositions(ROW, current)).isNull();
+
+    final ListDiff<Row> diff = ListDiff.replaced(3, current);
+    assertThat(diff.getRemoved()).isEqualTo(new int[]{0, 1, 2});
+    assertThat(diff.getInserted()).isEqualTo(new int[]{0, 1});
+  }
+
+  @Test
+  public void longestIncreasingSubsequence() {
+    final int[] values = {3, 0, 4, 1, 2, 5};
+    final boolean[] inOrder = ListDiff.longestIncreasingSubsequence(values, values.length);
+
+    assertThat(inOrder).isEqualTo(new boolean[]{false, true, false, true, true, true});
+    assertThat(ListDiff.longestIncreasingSubsequence(new int[0], 0)).isEqualTo(new boolean[0]);
+  }
+
+  @Test
+  public void firstDiffInsertsEverything() {
+    final List<Row> current = Arrays.asList(row(1, "a"), row(2, "b"));
+
+    final ListDiff<Row> diff = diff(ROW, Collections.<Row>emptyList(), current);
+
+    assertThat(diff.getInserted()).isEqualTo(new int[]{0, 1});
+    assertThat(diff.getRemoved()).isEqualTo(new int[0]);
+  }
+
+  private static <T> ListDiff<T> diff(Table<T> table, List<T> previous, List<T> current) {
+    final HashMap<Object, Integer> previousPositions = ListDiff.keyPositions(table, previous);
+    final HashMap<Object, Integer> positions = ListDiff.keyPositions(table, current);
+    assertThat(previousPositions).isNotNull();
+    assertThat(positions).isNotNull();
+    return ListDiff.calculate(table, previous, previousPositions, current, positions);
+  }
+
+  private static Row row(long id, String name) {
+    return new Row(id, name);
+  }
+
+  static final class Row {
+    final long id;
+    final String name;
+
+    Row(long id, String name) {
+      this.id = id;
+      this.name = name;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (o == null || getClass() != o.getClass()) return false;
+
+      final Row row = (Row) o;
+      return id == row.id && name.equals(row.name);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * (int) (id ^ (id >>> 32)) + name.hashCode();
+    }
+  }
+}
@@ -0,0 +1,85 @@
+package com.siimkinks.sqlitemagic;
+
+import org.junit.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.siimkinks.sqlitemagic.Utils.LONG_PARSER;
+import static com.siimkinks.sqlitemagic.Utils.STRING_PARSER;
+import static org.junit.Assert.fail;
+
+public final class ParamBindingsTest {
+  private static final Table<Object> BOOK = new Table<>("book", null, 3, "id");
+  private static final NumericColumn<Long, Long, Number, Object> ID =
+      new NumericColumn<>(BOOK, "id", false, LONG_PARSER, false, null);
+  private static final Column<String, String, CharSequence, Object> TITLE =
+      new Column<>(BOOK, "title", false, STRING_PARSER, true, null);
+
+  @Test
+  public void statementWithoutParamsHasNoBindings() {
+    final SqlArgs args = new SqlArgs();
+    ID.is(5L).addArgs(args);
+
+    assertThat(args.hasParams()).isFalse();
+    assertThat(ParamBindings.create(args, null, BOOK)).isNull();
+  }
+
+  @Test
+  public void valuesAreBoundInOrderOfFirstAppearance() {
+    final Param<String> title = Param.create();
+    final Param<Long> id = Param.create();
+    final SqlArgs args = new SqlArgs();
+    TITLE.is(title).addArgs(args);
+    args.addLong(7);
+    ID.greaterThan(id).addArgs(args);
+    TITLE.isNot(title).addArgs(args);
+
+    final ParamBindings bindings = ParamBindings.create(args, null, BOOK);
+    final SqlArgs bound = bindings.bind(args, new Object[]{"foo", 3L});
+
+    assertThat(bound.hasParams()).isFalse();
+    assertThat(bound.toStringArray()).isEqualTo(new String[]{"foo", "7", "3", "foo"});
+    assertThat(args.hasParams()).isTrue();
+    assertThat(bindings.isRowLookup()).isFalse();
+    assertThat(bindings.observedRow(bound)).isNull();
+  }
+
+  @Test
+  public void nullValueIsBoundAsNull() {
+    final Param<String> title = Param.create();
+    final SqlArgs args = new SqlArgs();
+    TITLE.is(title).addArgs(args);
+
+    final SqlArgs bound = ParamBindings.create(args, null, BOOK).bind(args, new Object[]{null});
+
+    assertThat(bound.types[0]).isEqualTo(SqlArgs.TYPE_NULL);
+  }
+
+  @Test
+  public void rowLookupResolvesObservedRow() {
+    final Param<Long> id = Param.create();
+    final ExprParam expr = (ExprParam) ID.is(id);
+    final SqlArgs args = new SqlArgs();
+    expr.addArgs(args);
+
+    assertThat(expr.restrictsRowId(BOOK)).isTrue();
+    final ParamBindings bindings = ParamBindings.create(args, expr, BOOK);
+    final ObservedRow row = bindings.observedRow(bindings.bind(args, new Object[]{42L}));
+
+    assertThat(bindings.isRowLookup()).isTrue();
+    assertThat(row.table).isEqualTo("book");
+    assertThat(row.rowId).isEqualTo(42L);
+  }
+
+  @Test
+  public void wrongNumberOfValuesFails() {
+    final SqlArgs args = new SqlArgs();
+    ID.is(Param.<Long>create()).addArgs(args);
+    final ParamBindings bindings = ParamBindings.create(args, null, BOOK);
+
+    try {
+      bindings.bind(args, new Object[]{1L, 2L});
+      fail("Binding wrong number of values must fail");
+    } catch (IllegalArgumentException expected) {
+    }
+  }
+}
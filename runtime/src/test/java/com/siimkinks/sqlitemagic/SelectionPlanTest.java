@@ -0,0 +1,72 @@
+package com.siimkinks.sqlitemagic;
+
+import com.siimkinks.sqlitemagic.internal.SimpleArrayMap;
+
+import org.junit.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+
+public final class SelectionPlanTest {
+  private static final String[] BOOK_COLUMNS = {"title", "author", "_id"};
+
+  @Test
+  public void rootNodeResolvesColumnsOfSelectedTable() {
+    final SimpleArrayMap<String, Integer> columns = new SimpleArrayMap<>();
+    columns.put("book.title", 0);
+    columns.put("book._id", 1);
+    final SelectionPlan selection = new SelectionPlan(columns, new SimpleArrayMap<String, String>());
+
+    final Integer[] plan = selection.root().plan("book", BOOK_COLUMNS);
+
+    assertThat(plan).asList().containsExactly(null, 0, null, 1).inOrder();
+  }
+
+  @Test
+  public void nodeSelectedAsWholeResolvesTableOffset() {
+    final SimpleArrayMap<String, Integer> columns = new SimpleArrayMap<>();
+    columns.put("book", 0);
+    columns.put("author", 3);
+    final SimpleArrayMap<String, String> tableGraphNodeNames = new SimpleArrayMap<>();
+    tableGraphNodeNames.put("author", "author");
+    final SelectionPlan selection = new SelectionPlan(columns, tableGraphNodeNames);
+
+    assertThat(selection.root().plan("book", BOOK_COLUMNS)[0]).isEqualTo(0);
+    assertThat(selection.root().child(1, "author").isSelectedAsWhole()).isTrue();
+    assertThat(selection.root().child(2, "magazine").isSelectedAsWhole()).isFalse();
+  }
+
+  @Test
+  public void nodeMissingFromGraphIsNotSelected() {
+    final SimpleArrayMap<String, Integer> columns = new SimpleArrayMap<>();
+    columns.put("book.title", 0);
+    final SelectionPlan selection = new SelectionPlan(columns, new SimpleArrayMap<String, String>());
+
+    final SelectionPlan.Node author = selection.root().child(1, "author");
+    assertThat(author.plan("author", new String[]{"name"})).isNull();
+    assertThat(author.plan("author", new String[]{"name"})).isNull();
+  }
+
+  @Test
+  public void childNodesAreResolvedPerColumn() {
+    final SimpleArrayMap<String, Integer> columns = new SimpleArrayMap<>();
+    columns.put("author.name", 0);
+    columns.put("magazine.name", 1);
+    final SelectionPlan selection = new SelectionPlan(columns, new SimpleArrayMap<String, String>());
+    final SelectionPlan.Node root = selection.root();
+
+    assertThat(root.child(0, "")).isSameAs(root.child(0, ""));
+    assertThat(root.child(0, "")).isNotSameAs(root.child(3, ""));
+    assertThat(root.child(3, "").plan("magazine", new String[]{"name"})).asList().containsExactly(null, 1).inOrder();
+    assertThat(root.child(0, "").plan("author", new String[]{"name"})).asList().containsExactly(null, 0).inOrder();
+  }
+
+  @Test
+  public void nodePlanIsResolvedOnce() {
+    final SimpleArrayMap<String, Integer> columns = new SimpleArrayMap<>();
+    columns.put("book.title", 0);
+    final SelectionPlan selection = new SelectionPlan(columns, new SimpleArrayMap<String, String>());
+
+    assertThat(selection.root().plan("book", BOOK_COLUMNS))
+        .isSameAs(selection.root().plan("book", BOOK_COLUMNS));
+  }
+}
@@ -0,0 +1,79 @@
+package com.siimkinks.sqlitemagic;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import rx.Observable;
+import rx.Subscription;
+import rx.functions.Action0;
+import rx.observers.TestSubscriber;
+import rx.subjects.PublishSubject;
+
+import static com.google.common.truth.Truth.assertThat;
+
+public final class SharedQueriesTest {
+  @Test
+  public void equalQueriesShareUpstream() {
+    final SharedQueries sharedQueries = new SharedQueries();
+    final AtomicInteger upstreamSubscriptions = new AtomicInteger();
+    final PublishSubject<String> triggers = PublishSubject.create();
+    final Observable<String> upstream = triggers
+        .doOnSubscribe(new Action0() {
+          @Override
+          public void call() {
+            upstreamSubscriptions.incrementAndGet();
+          }
+        })
+        .replay(1)
+        .refCount();
+
+    final TestSubscriber<String> first = new TestSubscriber<>();
+    sharedQueries.share(key("SELECT * FROM book ", SqlArgs.of(1)), upstream).subscribe(first);
+    triggers.onNext("a");
+    final TestSubscriber<String> second = new TestSubscriber<>();
+    sharedQueries.share(key("SELECT * FROM book ", SqlArgs.of(1)), upstream).subscribe(second);
+    triggers.onNext("b");
+
+    assertThat(upstreamSubscriptions.get()).isEqualTo(1);
+    assertThat(sharedQueries.size()).isEqualTo(1);
+    first.assertValues("a", "b");
+    second.assertValues("a", "b");
+  }
+
+  @Test
+  public void sharedQueryIsRemovedWithLastSubscriber() {
+    final SharedQueries sharedQueries = new SharedQueries();
+    final Observable<String> upstream = PublishSubject.<String>create().replay(1).refCount();
+
+    final Subscription first = sharedQueries.share(key("SELECT * FROM book ", null), upstream).subscribe();
+    final Subscription second = sharedQueries.share(key("SELECT * FROM book ", new SqlArgs()), upstream).subscribe();
+    sharedQueries.share(key("SELECT * FROM author ", null), upstream).subscribe();
+    assertThat(sharedQueries.size()).isEqualTo(2);
+
+    first.unsubscribe();
+    assertThat(sharedQueries.size()).isEqualTo(2);
+    second.unsubscribe();
+    assertThat(sharedQueries.size()).isEqualTo(1);
+  }
+
+  @Test
+  public void sharedQueryRunsDelegateOnce() {
+    final AtomicInteger executions = new AtomicInteger();
+    final Query<Integer> query = new Query<Integer>(null) {
+      @Override
+      Integer runImpl(Subscription subscriber, boolean inStream) {
+        return executions.incrementAndGet();
+      }
+    };
+    final SharedQuery<Integer> sharedQuery = new SharedQuery<>(query);
+
+    assertThat(sharedQuery.runImpl(Query.INFINITE_SUBSCRIPTION, false)).isEqualTo(1);
+    assertThat(sharedQuery.runImpl(Query.INFINITE_SUBSCRIPTION, false)).isEqualTo(1);
+    assertThat(new SharedQuery<>(query).runImpl(Query.INFINITE_SUBSCRIPTION, false)).isEqualTo(2);
+  }
+
+  private static SharedQueries.Key key(String sql, SqlArgs args) {
+    return new SharedQueries.Key(Query.class, sql, args);
+  }
+}
@@ -0,0 +1,88 @@
+package com.siimkinks.sqlitemagic;
+
+import org.junit.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.siimkinks.sqlitemagic.SqlArgs.TYPE_BLOB;
+import static com.siimkinks.sqlitemagic.SqlArgs.TYPE_DOUBLE;
+import static com.siimkinks.sqlitemagic.SqlArgs.TYPE_LONG;
+import static com.siimkinks.sqlitemagic.SqlArgs.TYPE_NULL;
+import static com.siimkinks.sqlitemagic.SqlArgs.TYPE_STRING;
+
+public final class SqlArgsTest {
+  @Test
+  public void valuesKeepTheirTypes() {
+    final SqlArgs args = new SqlArgs(1);
+    args.addValue(5);
+    args.addValue(2.5f);
+    args.addValue("foo");
+    args.addValue(new byte[]{0x1});
+    args.addValue(null);
+    args.addValue(true);
+    args.addValue(new Byte[]{0x2});
+
+    assertThat(args.size()).isEqualTo(7);
+    assertThat(args.types[0]).isEqualTo(TYPE_LONG);
+    assertThat(args.longs[0]).isEqualTo(5L);
+    assertThat(args.types[1]).isEqualTo(TYPE_DOUBLE);
+    assertThat(args.doubles[1]).isEqualTo(2.5d);
+    assertThat(args.types[2]).isEqualTo(TYPE_STRING);
+    assertThat(args.objects[2]).isEqualTo("foo");
+    assertThat(args.types[3]).isEqualTo(TYPE_BLOB);
+    assertThat(args.types[4]).isEqualTo(TYPE_NULL);
+    assertThat(args.types[5]).isEqualTo(TYPE_LONG);
+    assertThat(args.longs[5]).isEqualTo(1L);
+    assertThat(args.types[6]).isEqualTo(TYPE_BLOB);
+    assertThat((byte[]) args.objects[6]).isEqualTo(new byte[]{0x2});
+  }
+
+  @Test
+  public void addAllAppendsInOrder() {
+    final SqlArgs first = new SqlArgs();
+    first.addString("a");
+    first.addLong(1);
+    final SqlArgs second = new SqlArgs();
+    second.addDouble(1.5);
+    second.addNull();
+    second.addString("b");
+
+    first.addAll(second);
+    first.addAll(new String[]{"c"});
+
+    assertThat(first.toStringArray()).asList()
+        .containsExactly("a", "1", "1.5", null, "b", "c")
+        .inOrder();
+    assertThat(first.toObjectArray()).asList()
+        .containsExactly("a", 1L, 1.5d, null, "b", "c")
+        .inOrder();
+  }
+
+  @Test
+  public void emptyArgs() {
+    final SqlArgs args = new SqlArgs();
+    args.addAll(new SqlArgs());
+
+    assertThat(args.isEmpty()).isTrue();
+    assertThat(args.toStringArray()).isEmpty();
+    assertThat(SqlArgs.toStringArray(null)).isNull();
+  }
+
+  @Test
+  public void argsWithEqualValuesAreEqual() {
+    final SqlArgs first = new SqlArgs(1);
+    first.addLong(1);
+    first.addDouble(1.5);
+    first.addString("a");
+    first.addBlob(new byte[]{0x1});
+    first.addNull();
+    final SqlArgs second = new SqlArgs();
+    second.addAll(first);
+
+    assertThat(first).isEqualTo(second);
+    assertThat(first.hashCode()).isEqualTo(second.hashCode());
+
+    second.addString("b");
+    assertThat(first).isNotEqualTo(second);
+    assertThat(SqlArgs.of(1)).isNotEqualTo(SqlArgs.of("1"));
+  }
+}
@@ -0,0 +1,55 @@
+package com.siimkinks.sqlitemagic;
+
+import org.junit.Test;
+
+import java.nio.charset.Charset;
+
+import static com.google.common.truth.Truth.assertThat;
+
+public final class SqlCreatorTest {
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+  @Test
+  public void equalSqlHasEqualFingerprint() {
+    final String sql = "SELECT * FROM book WHERE book.title=? ";
+
+    assertThat(SqlCreator.fingerprint(sql)).isEqualTo(SqlCreator.fingerprint(new String(sql.toCharArray())));
+  }
+
+  @Test
+  public void differentSqlHasDifferentFingerprint() {
+    assertThat(SqlCreator.fingerprint("SELECT * FROM book "))
+        .isNotEqualTo(SqlCreator.fingerprint("SELECT * FROM author "));
+  }
+
+  @Test
+  public void fingerprintIsStable() {
+    // FNV-1a test vectors
+    assertThat(SqlCreator.fingerprint("")).isEqualTo(0xcbf29ce484222325L);
+    assertThat(SqlCreator.fingerprint("a")).isEqualTo(0xaf63dc4c8601ec8cL);
+    assertThat(SqlCreator.fingerprint("foobar")).isEqualTo(0x85944171f73967e8L);
+    assertThat(SqlCreator.fingerprint("SELECT * FROM author "))
+        .isEqualTo(fnv1a("SELECT * FROM author ".getBytes(UTF_8)));
+  }
+
+  @Test
+  public void fingerprintHashesUtf8Bytes() {
+    final String[] sqls = {
+        "SELECT * FROM author WHERE author.name='J\u00fcrgen' ",
+        "SELECT * FROM author WHERE author.name='\u4f5c\u8005' ",
+        "SELECT * FROM author WHERE author.name='\uD83D\uDCD6' ",
+        "SELECT * FROM author WHERE author.name='\uD83D' "
+    };
+    for (String sql : sqls) {
+      assertThat(SqlCreator.fingerprint(sql)).isEqualTo(fnv1a(sql.getBytes(UTF_8)));
+    }
+  }
+
+  private static long fnv1a(byte[] bytes) {
+    long hash = 0xcbf29ce484222325L;
+    for (byte b : bytes) {
+      hash = (hash ^ (b & 0xff)) * 0x100000001b3L;
+    }
+    return hash;
+  }
+}
@@ -0,0 +1,185 @@
+package com.siimkinks.sqlitemagic;
+
+import android.support.annotation.NonNull;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.fail;
+
+public final class ThreadHandlesTest {
+  private final AtomicLong threadHandleCount = new AtomicLong();
+  private final AtomicLong sharedHandleUseCount = new AtomicLong();
+
+  @Test
+  public void eachThreadGetsItsOwnHandle() throws Exception {
+    final TestHandles handles = new TestHandles(2);
+
+    final Object first = handles.acquire();
+    final Object second = acquireOnNewThread(handles);
+
+    assertThat(first).isNotSameAs(second);
+    assertThat(handles.acquire()).isSameAs(first);
+    assertThat(threadHandleCount.get()).isEqualTo(2);
+    assertThat(sharedHandleUseCount.get()).isEqualTo(0);
+  }
+
+  @Test
+  public void threadsShareHandleWhenAllHandlesAreOwnedByActiveThreads() throws Exception {
+    final TestHandles handles = new TestHandles(1);
+    final ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      final Object owned = acquireOn(executor, handles);
+
+      final Object shared = handles.acquire();
+      assertThat(shared).isNotSameAs(owned);
+      assertThat(handles.acquire()).isSameAs(shared);
+      assertThat(acquireOn(executor, handles)).isSameAs(owned);
+
+      assertThat(threadHandleCount.get()).isEqualTo(1);
+      assertThat(sharedHandleUseCount.get()).isEqualTo(2);
+      assertThat(handles.created).hasSize(2);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void handleOfTerminatedThreadIsHandedOver() throws Exception {
+    final TestHandles handles = new TestHandles(1);
+
+    final Object owned = acquireOnNewThread(handles);
+
+    assertThat(handles.acquire()).isSameAs(owned);
+    assertThat(threadHandleCount.get()).isEqualTo(1);
+    assertThat(sharedHandleUseCount.get()).isEqualTo(0);
+  }
+
+  @Test
+  public void handleOfIdleLiveThreadIsHandedOver() throws Exception {
+    final TestHandles handles = new TestHandles(1);
+    final ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      final Object owned = acquireOn(executor, handles);
+      handles.now += ThreadHandles.IDLE_OWNER_NANOS - 1;
+      assertThat(handles.acquire()).isNotSameAs(owned);
+
+      handles.now += 1;
+      assertThat(handles.acquire()).isSameAs(owned);
+      // previous owner gets the shared handle until the new owner becomes idle
+      assertThat(acquireOn(executor, handles)).isNotSameAs(owned);
+
+      assertThat(threadHandleCount.get()).isEqualTo(1);
+      assertThat(sharedHandleUseCount.get()).isEqualTo(2);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void ownerAcquiringHandleKeepsIt() throws Exception {
+    final TestHandles handles = new TestHandles(1);
+    final ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      final Object owned = acquireOn(executor, handles);
+      handles.now += ThreadHandles.IDLE_OWNER_NANOS - 1;
+      assertThat(acquireOn(executor, handles)).isSameAs(owned);
+      handles.now += ThreadHandles.IDLE_OWNER_NANOS - 1;
+
+      assertThat(handles.acquire()).isNotSameAs(owned);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void preparedHandleIsGivenToFirstAcquiringThread() throws Exception {
+    final TestHandles handles = new TestHandles(2);
+
+    handles.prepare();
+    handles.prepare();
+    assertThat(handles.created).hasSize(1);
+    final Object owned = acquireOnNewThread(handles);
+
+    assertThat(owned).isSameAs(handles.created.get(0));
+    assertThat(handles.created).hasSize(1);
+    assertThat(threadHandleCount.get()).isEqualTo(1);
+    assertThat(sharedHandleUseCount.get()).isEqualTo(0);
+  }
+
+  @Test
+  public void closeReleasesAllHandles() throws Exception {
+    final TestHandles handles = new TestHandles(2);
+    handles.acquire();
+    handles.prepare();
+    acquireOnNewThread(handles);
+
+    handles.close();
+
+    assertThat(handles.released).containsExactlyElementsIn(handles.created);
+    try {
+      handles.acquire();
+      fail("Closed handles must not be acquired");
+    } catch (IllegalStateException expected) {
+    }
+  }
+
+  private Object acquireOnNewThread(@NonNull final TestHandles handles) throws Exception {
+    final Object[] result = new Object[1];
+    final Thread thread = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        result[0] = handles.acquire();
+      }
+    });
+    thread.start();
+    thread.join();
+    return result[0];
+  }
+
+  private static Object acquireOn(@NonNull ExecutorService executor, @NonNull final TestHandles handles)
+      throws ExecutionException, InterruptedException {
+    return executor.submit(new Callable<Object>() {
+      @Override
+      public Object call() {
+        return handles.acquire();
+      }
+    }).get();
+  }
+
+  private final class TestHandles extends ThreadHandles<Object> {
+    final List<Object> created = new ArrayList<>();
+    final List<Object> released = new ArrayList<>();
+    volatile long now = 1000;
+
+    TestHandles(int maxHandles) {
+      super(maxHandles, threadHandleCount, sharedHandleUseCount);
+    }
+
+    @NonNull
+    @Override
+    synchronized Object create() {
+      final Object handle = new Object();
+      created.add(handle);
+      return handle;
+    }
+
+    @Override
+    synchronized void release(@NonNull Object handle) {
+      released.add(handle);
+    }
+
+    @Override
+    long nanoTime() {
+      return now;
+    }
+  }
+}
@@ -3,6 +3,7 @@ package com.siimkinks.sqlitemagic;
 import org.junit.Test;
 
 import static com.google.common.truth.Truth.assertThat;
+import static com.siimkinks.sqlitemagic.Utils.joinedTableAlias;
 import static com.siimkinks.sqlitemagic.Utils.toByteArray;
 
 public final class UtilsTest {
@@ -17,4 +18,14 @@ public final class UtilsTest {
     final Byte[] expected = new Byte[]{0x55, 0x66, 0x14};
     assertThat(toByteArray(new byte[]{0x55, 0x66, 0x14})).isEqualTo(expected);
   }
+
+  @Test
+  public void joinedTableAliasIsDerivedFromPath() {
+    final Table<Object> book = new Table<>("book", null, 3);
+    final Table<Object> author = new Table<>("author", joinedTableAlias(book, "author"), 2);
+
+    assertThat(joinedTableAlias(book, "author")).isEqualTo("book__author");
+    assertThat(joinedTableAlias(book, "author")).isEqualTo(joinedTableAlias(book, "author"));
+    assertThat(joinedTableAlias(author, "magazine")).isEqualTo("book__author__magazine");
+  }
 }
@@ -7,12 +7,12 @@ import android.support.annotation.Nullable;
 import com.google.auto.value.AutoValue;
 import com.siimkinks.sqlitemagic.CompiledCountSelect;
 import com.siimkinks.sqlitemagic.Select;
-import com.siimkinks.sqlitemagic.Utils;
 import com.siimkinks.sqlitemagic.annotation.Id;
 import com.siimkinks.sqlitemagic.annotation.Table;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
 
 import static com.siimkinks.sqlitemagic.ItemListTable.ITEM_LIST;
 
@@ -50,10 +50,15 @@ public abstract class ItemList implements Parcelable {
     final ArrayList<ItemList> output = new ArrayList<>(count);
     for (int i = 0; i < count; i++) {
       output.add(ItemList.builder()
-          .name(Utils.randomTableName())
+          .name(randomName())
           .archived(false)
           .build());
     }
     return output;
   }
+
+  @NonNull
+  private static String randomName() {
+    return UUID.randomUUID().toString().substring(0, 8);
+  }
 }
\ No newline at end of file
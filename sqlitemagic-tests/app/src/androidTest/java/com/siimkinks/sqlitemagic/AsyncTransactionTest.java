@@ -0,0 +1,221 @@
+package com.siimkinks.sqlitemagic;
+
+import android.support.annotation.NonNull;
+import android.support.test.runner.AndroidJUnit4;
+
+import com.siimkinks.sqlitemagic.model.Author;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import rx.Subscription;
+import rx.observers.TestSubscriber;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.siimkinks.sqlitemagic.AuthorTable.AUTHOR;
+import static com.siimkinks.sqlitemagic.WriteBatchingTest.awaitAll;
+import static com.siimkinks.sqlitemagic.WriteBatchingTest.openBatchingConnection;
+import static java.util.concurrent.TimeUnit.HOURS;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+@RunWith(AndroidJUnit4.class)
+public final class AsyncTransactionTest {
+  private DbConnectionImpl connection;
+
+  @After
+  public void tearDown() {
+    if (connection != null) {
+      connection.close();
+    }
+  }
+
+  @Test
+  public void jobsQueuedWhileWriterIsBusyAreCommittedTogether() throws InterruptedException {
+    connection = openBatchingConnection(0, MILLISECONDS);
+    final TestSubscriber<Set<String>> triggers = new TestSubscriber<>();
+    final Subscription triggersSubscription = connection.triggers.subscribe(triggers);
+    final CountDownLatch started = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+
+    final List<TestSubscriber<Long>> jobs = new ArrayList<>();
+    jobs.add(submit(blockingInsert(started, release)));
+    assertThat(started.await(10, SECONDS)).isTrue();
+    for (int i = 0; i < 5; i++) {
+      jobs.add(submit(insert()));
+    }
+    release.countDown();
+    awaitAll(jobs);
+
+    for (TestSubscriber<Long> job : jobs) {
+      job.assertNoErrors();
+      job.assertValueCount(1);
+    }
+    assertThat(countAuthors()).isEqualTo(6L);
+    // first job alone and the queued jobs in one transaction
+    triggers.assertValueCount(2);
+    triggersSubscription.unsubscribe();
+  }
+
+  @Test
+  public void jobsAreRetriedAloneWhenGroupIsRolledBack() throws InterruptedException {
+    connection = openBatchingConnection(0, MILLISECONDS);
+    final CountDownLatch started = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+
+    final TestSubscriber<Long> first = submit(blockingInsert(started, release));
+    assertThat(started.await(10, SECONDS)).isTrue();
+    final TestSubscriber<Long> before = submit(insert());
+    final TestSubscriber<Long> rollingBack = submit(insertInRolledBackNestedTransaction());
+    final TestSubscriber<Long> after = submit(insert());
+    release.countDown();
+    awaitAll(listOf(first, before, rollingBack, after));
+
+    first.assertNoErrors();
+    before.assertNoErrors();
+    before.assertValueCount(1);
+    after.assertNoErrors();
+    after.assertValueCount(1);
+    rollingBack.assertNoValues();
+    rollingBack.assertError(IllegalStateException.class);
+    assertThat(countAuthors()).isEqualTo(3L);
+  }
+
+  @Test
+  public void rolledBackTransactionFailsJob() {
+    connection = openBatchingConnection(0, MILLISECONDS);
+
+    final TestSubscriber<Long> ts = submit(insertInRolledBackNestedTransaction());
+    ts.awaitTerminalEvent(10, SECONDS);
+
+    ts.assertNoValues();
+    ts.assertError(IllegalStateException.class);
+    assertThat(countAuthors()).isEqualTo(0L);
+  }
+
+  @Test
+  public void closeFailsQueuedJobsWithoutRunningThem() {
+    connection = openBatchingConnection(1, HOURS);
+    final AtomicInteger calls = new AtomicInteger();
+    final Callable<Long> countingInsert = new Callable<Long>() {
+      @Override
+      public Long call() {
+        calls.incrementAndGet();
+        return Author.newRandom().insert().usingConnection(connection).execute();
+      }
+    };
+
+    final List<TestSubscriber<Long>> jobs = listOf(submit(countingInsert), submit(countingInsert), submit(countingInsert));
+    final DbConnectionImpl closedConnection = connection;
+    closedConnection.close();
+    connection = null;
+    awaitAll(jobs);
+
+    for (TestSubscriber<Long> job : jobs) {
+      job.assertNoValues();
+      job.assertError(IllegalStateException.class);
+    }
+    assertThat(calls.get()).isEqualTo(0);
+
+    final TestSubscriber<Long> afterClose = new TestSubscriber<>();
+    closedConnection.callInTransaction(countingInsert).subscribe(afterClose);
+    afterClose.awaitTerminalEvent(10, SECONDS);
+    afterClose.assertError(IllegalStateException.class);
+    assertThat(calls.get()).isEqualTo(0);
+  }
+
+  @Test
+  public void closeWaitsForRunningTransaction() throws InterruptedException {
+    connection = openBatchingConnection(0, MILLISECONDS);
+    final CountDownLatch started = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+
+    final TestSubscriber<Long> running = submit(blockingInsert(started, release));
+    assertThat(started.await(10, SECONDS)).isTrue();
+    new Thread(new Runnable() {
+      @Override
+      public void run() {
+        try {
+          Thread.sleep(200);
+        } catch (InterruptedException ignore) {
+        }
+        release.countDown();
+      }
+    }).start();
+    connection.close();
+    connection = null;
+
+    running.assertNoErrors();
+    running.assertValueCount(1);
+  }
+
+  @NonNull
+  private TestSubscriber<Long> submit(@NonNull Callable<Long> callable) {
+    final TestSubscriber<Long> ts = new TestSubscriber<>();
+    connection.callInTransaction(callable).subscribe(ts);
+    return ts;
+  }
+
+  @NonNull
+  private Callable<Long> insert() {
+    return new Callable<Long>() {
+      @Override
+      public Long call() {
+        return Author.newRandom().insert().usingConnection(connection).execute();
+      }
+    };
+  }
+
+  @NonNull
+  private Callable<Long> blockingInsert(@NonNull final CountDownLatch started, @NonNull final CountDownLatch release) {
+    return new Callable<Long>() {
+      @Override
+      public Long call() throws InterruptedException {
+        started.countDown();
+        assertThat(release.await(10, SECONDS)).isTrue();
+        return Author.newRandom().insert().usingConnection(connection).execute();
+      }
+    };
+  }
+
+  /**
+   * Nested transaction that is ended without marking it successful rolls back
+   * the enclosing transaction as well.
+   */
+  @NonNull
+  private Callable<Long> insertInRolledBackNestedTransaction() {
+    return new Callable<Long>() {
+      @Override
+      public Long call() {
+        final Transaction transaction = connection.newTransaction();
+        try {
+          return Author.newRandom().insert().usingConnection(connection).execute();
+        } finally {
+          transaction.end();
+        }
+      }
+    };
+  }
+
+  private long countAuthors() {
+    return Select.from(AUTHOR).usingConnection(connection).count().execute();
+  }
+
+  @SafeVarargs
+  @NonNull
+  private static <T> List<T> listOf(@NonNull T... values) {
+    final List<T> list = new ArrayList<>(values.length);
+    for (T value : values) {
+      list.add(value);
+    }
+    return list;
+  }
+}
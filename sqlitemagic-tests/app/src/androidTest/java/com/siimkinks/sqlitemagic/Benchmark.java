@@ -0,0 +1,15 @@
+package com.siimkinks.sqlitemagic;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks instrumented benchmarks. They are excluded from the default instrumentation run
+ * and run alone with {@code ./gradlew connectedAndroidTest -Pbenchmark}.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface Benchmark {
+}
@@ -30,6 +30,8 @@ import static com.siimkinks.sqlitemagic.InternalTester.assertTriggersHaveNoObser
 import static com.siimkinks.sqlitemagic.model.TestUtil.createVals;
 import static com.siimkinks.sqlitemagic.model.TestUtil.updateVals;
 import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.HOURS;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
 @RunWith(AndroidJUnit4.class)
 public final class DbConnectionTest {
@@ -679,6 +681,91 @@ public final class DbConnectionTest {
     });
   }
 
+  @Test
+  public void countStatementIsReusedFromCache() {
+    final StatementCache statementCache = newConnection.getStatementCache();
+    final long initialMisses = statementCache.missCount();
+    final long initialHits = statementCache.hitCount();
+    final CompiledCountSelect<SelectN> count = Select
+        .from(AUTHOR)
+        .usingConnection(newConnection)
+        .count();
+
+    assertThat(count.execute()).isEqualTo(0L);
+    assertThat(count.execute()).isEqualTo(0L);
+    assertThat(Select
+        .from(AUTHOR)
+        .usingConnection(newConnection)
+        .count()
+        .execute()).isEqualTo(0L);
+
+    assertThat(statementCache.missCount() - initialMisses).isEqualTo(1);
+    assertThat(statementCache.hitCount() - initialHits).isEqualTo(2);
+  }
+
+  @Test
+  public void statementCacheEvictsLeastRecentlyUsed() {
+    final DbConnection connection = SqliteMagic
+        .setup(TestApp.INSTANCE)
+        .withName("newConnection.db")
+        .withStatementCacheSize(1)
+        .openNewConnection();
+    try {
+      final StatementCache statementCache = connection.getStatementCache();
+      Select.from(AUTHOR).usingConnection(connection).count().execute();
+      Select.from(AUTHOR).where(AUTHOR.ID.is(1L)).usingConnection(connection).count().execute();
+      Select.from(AUTHOR).usingConnection(connection).count().execute();
+
+      assertThat(statementCache.size()).isEqualTo(1);
+      assertThat(statementCache.missCount()).isEqualTo(3);
+      assertThat(statementCache.evictionCount()).isEqualTo(2);
+    } finally {
+      connection.close();
+    }
+  }
+
+  @Test
+  public void coalescedTriggersAreEmittedOnce() {
+    final DbConnectionImpl connection = (DbConnectionImpl) SqliteMagic
+        .setup(TestApp.INSTANCE)
+        .withName("newConnection.db")
+        .scheduleRxQueriesOn(Schedulers.immediate())
+        .coalesceTriggers(1, HOURS)
+        .openNewConnection();
+    try {
+      final TestSubscriber<List<Author>> ts = new TestSubscriber<>();
+      final Subscription subscription = Select
+          .from(AUTHOR)
+          .usingConnection(connection)
+          .observe()
+          .runQuery()
+          .subscribe(ts);
+      ts.assertValueCount(1);
+
+      for (int i = 0; i < 3; i++) {
+        Author.newRandom().insert().usingConnection(connection).execute();
+      }
+      Author.deleteTable().usingConnection(connection).execute();
+      ts.assertValueCount(1);
+
+      connection.flushPendingTriggers();
+      ts.assertValueCount(2);
+      connection.flushPendingTriggers();
+      ts.assertValueCount(2);
+
+      subscription.unsubscribe();
+    } finally {
+      connection.close();
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void negativeTriggerCoalesceWindowThrows() {
+    SqliteMagic
+        .setup(TestApp.INSTANCE)
+        .coalesceTriggers(-1, MILLISECONDS);
+  }
+
   private void assertEventsOnlyOnNewConnection(int initialValueCount,
                                                @NonNull TestSubscriber<?> defConnTs,
                                                @NonNull TestSubscriber<?> newConnTs) {
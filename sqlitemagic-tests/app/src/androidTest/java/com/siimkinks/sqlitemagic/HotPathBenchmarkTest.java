@@ -0,0 +1,175 @@
+package com.siimkinks.sqlitemagic;
+
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+import android.os.Bundle;
+import android.support.annotation.NonNull;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.runner.AndroidJUnit4;
+import android.util.Log;
+
+import com.siimkinks.sqlitemagic.model.SimpleMutable;
+import com.siimkinks.sqlitemagic.model.SqliteMagic_SimpleMutable_Dao;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import rx.Subscription;
+import rx.subscriptions.Subscriptions;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.siimkinks.sqlitemagic.SimpleMutableTable.SIMPLE_MUTABLE;
+
+/**
+ * Benchmarks of the generated code paths that need a real SQLite and therefore
+ * cannot run in the host JVM benchmarks module.
+ * <p>
+ * Average time per row is logged, reported as instrumentation status and written in the
+ * JMH JSON result format of the benchmarks module to {@code files/jmh/results.json} of the
+ * test app.
+ */
+@Benchmark
+@RunWith(AndroidJUnit4.class)
+public final class HotPathBenchmarkTest {
+  private static final String TAG = HotPathBenchmarkTest.class.getSimpleName();
+  private static final int ROW_COUNT = 1000;
+  private static final int WARMUP_ITERATIONS = 5;
+  private static final int MEASURED_ITERATIONS = 20;
+  /**
+   * Student's t quantile for 99.9% confidence with {@code MEASURED_ITERATIONS - 1} degrees
+   * of freedom, which JMH uses for score error.
+   */
+  private static final double SCORE_ERROR_T = 3.883;
+  private static final JSONArray RESULTS = new JSONArray();
+
+  private List<SimpleMutable> vals;
+
+  @Before
+  public void setUp() {
+    SimpleMutable.deleteTable().execute();
+    vals = new ArrayList<>(ROW_COUNT);
+    for (int i = 0; i < ROW_COUNT; i++) {
+      vals.add(SimpleMutable.newRandom());
+    }
+  }
+
+  @AfterClass
+  public static void writeResults() throws IOException {
+    final File dir = new File(InstrumentationRegistry.getTargetContext().getFilesDir(), "jmh");
+    if (!dir.isDirectory() && !dir.mkdirs()) {
+      throw new IOException("Failed to create " + dir);
+    }
+    final Writer writer = new FileWriter(new File(dir, "results.json"));
+    try {
+      writer.write(RESULTS.toString());
+    } finally {
+      writer.close();
+    }
+  }
+
+  @Test
+  public void bindToInsertStatement() throws JSONException {
+    final SQLiteDatabase db = SqliteMagic.getDefaultDbConnection().getWritableDatabase();
+    final SQLiteStatement statement = db.compileStatement(SqliteMagic_SimpleMutable_Handler.INSERT_SQL);
+    try {
+      final List<SimpleMutable> vals = this.vals;
+      measure("bindToInsertStatement", new Runnable() {
+        @Override
+        public void run() {
+          for (int i = 0; i < ROW_COUNT; i++) {
+            SqliteMagic_SimpleMutable_Dao.bindToInsertStatement(statement, vals.get(i));
+          }
+        }
+      });
+    } finally {
+      statement.close();
+    }
+  }
+
+  @Test
+  public void parseCursor() throws JSONException {
+    assertThat(SimpleMutable.insert(vals).execute()).isTrue();
+    final SQLiteDatabase db = SqliteMagic.getDefaultDbConnection().getReadableDatabase();
+    final String sql = "SELECT * FROM " + SIMPLE_MUTABLE.name;
+    final Subscription subscription = Subscriptions.empty();
+    final int[] parsedCount = new int[1];
+    measure("parseCursor", new Runnable() {
+      @Override
+      public void run() {
+        final SqliteMagicCursor cursor = (SqliteMagicCursor) db.rawQuery(sql, null);
+        try {
+          parsedCount[0] = SIMPLE_MUTABLE.allFromCursor(cursor.getFastCursor(), null, false, null, subscription).size();
+        } finally {
+          cursor.close();
+        }
+      }
+    });
+    assertThat(parsedCount[0]).isEqualTo(ROW_COUNT);
+  }
+
+  /**
+   * Run {@code operation} over {@link #ROW_COUNT} rows after warm-up iterations and
+   * record average microseconds per row.
+   */
+  private static void measure(@NonNull String name, @NonNull Runnable operation) throws JSONException {
+    for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+      operation.run();
+    }
+    final double[] scores = new double[MEASURED_ITERATIONS];
+    double sum = 0;
+    for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+      final long startNanos = System.nanoTime();
+      operation.run();
+      scores[i] = (System.nanoTime() - startNanos) / (1000.0 * ROW_COUNT);
+      sum += scores[i];
+    }
+    final double score = sum / MEASURED_ITERATIONS;
+    double squaredDeviations = 0;
+    for (double iterationScore : scores) {
+      squaredDeviations += (iterationScore - score) * (iterationScore - score);
+    }
+    final double scoreError = SCORE_ERROR_T * Math.sqrt(squaredDeviations / (MEASURED_ITERATIONS - 1) / MEASURED_ITERATIONS);
+    Log.i(TAG, String.format(Locale.US, "%s: %.3f +- %.3f us/row", name, score, scoreError));
+    final Bundle status = new Bundle();
+    status.putDouble(name, score);
+    InstrumentationRegistry.getInstrumentation().sendStatus(0, status);
+    RESULTS.put(jmhResult(name, score, scoreError, scores));
+  }
+
+  @NonNull
+  private static JSONObject jmhResult(@NonNull String name, double score, double scoreError,
+                                      @NonNull double[] scores) throws JSONException {
+    final JSONArray rawData = new JSONArray();
+    for (double iterationScore : scores) {
+      rawData.put(iterationScore);
+    }
+    final JSONObject primaryMetric = new JSONObject()
+        .put("score", score)
+        .put("scoreError", scoreError)
+        .put("scoreConfidence", new JSONArray().put(score - scoreError).put(score + scoreError))
+        .put("scoreUnit", "us/op")
+        .put("rawData", new JSONArray().put(rawData));
+    return new JSONObject()
+        .put("benchmark", HotPathBenchmarkTest.class.getName() + "." + name)
+        .put("mode", "avgt")
+        .put("threads", 1)
+        .put("forks", 1)
+        .put("warmupIterations", WARMUP_ITERATIONS)
+        .put("measurementIterations", MEASURED_ITERATIONS)
+        .put("primaryMetric", primaryMetric)
+        .put("secondaryMetrics", new JSONObject());
+  }
+}
@@ -0,0 +1,119 @@
+package com.siimkinks.sqlitemagic;
+
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.support.test.runner.AndroidJUnit4;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.google.common.truth.Truth.assertThat;
+
+@RunWith(AndroidJUnit4.class)
+public final class IndexTest {
+  private static final String UPGRADE_DB = "upgrade.db";
+
+  @Test
+  public void indicesAreCreatedWithTables() {
+    assertAuthorIndices(SqliteMagic.getDefaultDbConnection().getReadableDatabase());
+  }
+
+  @Test
+  public void missingIndicesAreCreatedOnUpgrade() {
+    TestApp.INSTANCE.deleteDatabase(UPGRADE_DB);
+    openUpgradeDbConnection().close();
+    final SQLiteDatabase db = SQLiteDatabase.openDatabase(TestApp.INSTANCE.getDatabasePath(UPGRADE_DB).getPath(),
+        null, SQLiteDatabase.OPEN_READWRITE);
+    try {
+      // database of the previous version that was created before indices were defined
+      db.execSQL("DROP INDEX index_author_name");
+      db.execSQL("DROP INDEX author_name_boolean");
+      db.execSQL("ALTER TABLE author RENAME TO a");
+      db.execSQL("ALTER TABLE magazine RENAME TO m");
+      db.setVersion(db.getVersion() - 1);
+      assertThat(authorIndices(db)).isEmpty();
+    } finally {
+      db.close();
+    }
+
+    final DbConnectionImpl connection = openUpgradeDbConnection();
+    try {
+      assertAuthorIndices(connection.getReadableDatabase());
+    } finally {
+      connection.close();
+    }
+  }
+
+  @Test
+  public void changedAndRemovedIndicesAreReplacedOnUpgrade() {
+    TestApp.INSTANCE.deleteDatabase(UPGRADE_DB);
+    openUpgradeDbConnection().close();
+    final SQLiteDatabase db = SQLiteDatabase.openDatabase(TestApp.INSTANCE.getDatabasePath(UPGRADE_DB).getPath(),
+        null, SQLiteDatabase.OPEN_READWRITE);
+    try {
+      // database of the previous version with different index definitions
+      db.execSQL("DROP INDEX index_author_name");
+      db.execSQL("CREATE INDEX index_author_name ON author (name DESC)");
+      db.execSQL("CREATE INDEX index_author_removed ON author (primitive_boolean)");
+      db.setVersion(db.getVersion() - 1);
+    } finally {
+      db.close();
+    }
+
+    final DbConnectionImpl connection = openUpgradeDbConnection();
+    try {
+      final SQLiteDatabase upgradedDb = connection.getReadableDatabase();
+      assertAuthorIndices(upgradedDb);
+      assertThat(authorIndices(upgradedDb)).doesNotContainKey("index_author_removed");
+    } finally {
+      connection.close();
+    }
+  }
+
+  @Test
+  public void queryByIndexedColumnUsesIndex() {
+    final SQLiteDatabase db = SqliteMagic.getDefaultDbConnection().getReadableDatabase();
+    final Cursor cursor = db.rawQuery("EXPLAIN QUERY PLAN SELECT * FROM author WHERE name=?", new String[]{"asd"});
+    try {
+      final StringBuilder plan = new StringBuilder();
+      while (cursor.moveToNext()) {
+        plan.append(cursor.getString(cursor.getColumnIndexOrThrow("detail")));
+      }
+      assertThat(plan.toString()).contains("index_author_name");
+    } finally {
+      cursor.close();
+    }
+  }
+
+  private static DbConnectionImpl openUpgradeDbConnection() {
+    return (DbConnectionImpl) SqliteMagic
+        .setup(TestApp.INSTANCE)
+        .withName(UPGRADE_DB)
+        .openNewConnection();
+  }
+
+  private static void assertAuthorIndices(SQLiteDatabase db) {
+    final Map<String, String> indices = authorIndices(db);
+
+    assertThat(indices).containsEntry("index_author_name",
+        "CREATE INDEX index_author_name ON author (name)");
+    assertThat(indices).containsEntry("author_name_boolean",
+        "CREATE INDEX author_name_boolean ON author (name COLLATE NOCASE, primitive_boolean DESC)");
+  }
+
+  private static Map<String, String> authorIndices(SQLiteDatabase db) {
+    final Cursor cursor = db.rawQuery("SELECT name, sql FROM sqlite_master WHERE type='index' AND tbl_name='author'", null);
+    try {
+      final Map<String, String> indices = new HashMap<>();
+      while (cursor.moveToNext()) {
+        indices.put(cursor.getString(0), cursor.getString(1));
+      }
+      return indices;
+    } finally {
+      cursor.close();
+    }
+  }
+}
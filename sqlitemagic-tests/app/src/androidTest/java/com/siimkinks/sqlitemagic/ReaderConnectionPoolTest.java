@@ -0,0 +1,115 @@
+package com.siimkinks.sqlitemagic;
+
+import android.database.sqlite.SQLiteDatabase;
+import android.support.annotation.NonNull;
+import android.support.test.runner.AndroidJUnit4;
+
+import com.siimkinks.sqlitemagic.model.Author;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+import rx.schedulers.Schedulers;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.siimkinks.sqlitemagic.AuthorTable.AUTHOR;
+
+@RunWith(AndroidJUnit4.class)
+public final class ReaderConnectionPoolTest {
+  private static final int READER_COUNT = 2;
+  private DbConnectionImpl connection;
+
+  @Before
+  public void setUp() {
+    connection = (DbConnectionImpl) SqliteMagic
+        .setup(TestApp.INSTANCE)
+        .withName("readers.db")
+        .scheduleRxQueriesOn(Schedulers.immediate())
+        .withTuning(DatabaseTuning.THROUGHPUT)
+        .withReaderConnections(READER_COUNT)
+        .openNewConnection();
+    Author.deleteTable().usingConnection(connection).execute();
+  }
+
+  @After
+  public void tearDown() {
+    if (connection != null) {
+      connection.close();
+    }
+  }
+
+  @Test
+  public void queriesAreServedByReaders() {
+    final SQLiteDatabase writer = connection.getWritableDatabase();
+    final Set<SQLiteDatabase> readers = collectReaders();
+
+    assertThat(readers).hasSize(READER_COUNT);
+    for (SQLiteDatabase reader : readers) {
+      assertThat(reader).isNotSameAs(writer);
+      assertThat(reader.isReadOnly()).isTrue();
+    }
+  }
+
+  @Test
+  public void readersSeeCommittedWrites() {
+    assertThat(countAuthors()).isEqualTo(0L);
+
+    final Author author = Author.newRandom();
+    author.insert().usingConnection(connection).execute();
+
+    // every reader sees the write
+    for (int i = 0; i < READER_COUNT; i++) {
+      assertThat(countAuthors()).isEqualTo(1L);
+    }
+    assertThat(Select.from(AUTHOR)
+        .usingConnection(connection)
+        .takeFirst()
+        .execute())
+        .isEqualTo(author);
+  }
+
+  @Test
+  public void queryInTransactionSeesUncommittedRows() {
+    final Transaction transaction = connection.newTransaction();
+    try {
+      Author.newRandom().insert().usingConnection(connection).execute();
+
+      assertThat(connection.getReadableDatabase()).isSameAs(connection.getWritableDatabase());
+      assertThat(countAuthors()).isEqualTo(1L);
+    } finally {
+      transaction.end();
+    }
+    assertThat(countAuthors()).isEqualTo(0L);
+  }
+
+  @Test
+  public void closeClosesAllReaders() {
+    final Set<SQLiteDatabase> readers = collectReaders();
+
+    connection.close();
+    connection = null;
+
+    for (SQLiteDatabase reader : readers) {
+      assertThat(reader.isOpen()).isFalse();
+    }
+  }
+
+  @NonNull
+  private Set<SQLiteDatabase> collectReaders() {
+    final Set<SQLiteDatabase> readers = Collections.newSetFromMap(new IdentityHashMap<SQLiteDatabase, Boolean>());
+    for (int i = 0; i < READER_COUNT * 2; i++) {
+      readers.add(connection.getReadableDatabase());
+    }
+    return readers;
+  }
+
+  private long countAuthors() {
+    return Select.from(AUTHOR).usingConnection(connection).count().execute();
+  }
+}
@@ -0,0 +1,104 @@
+package com.siimkinks.sqlitemagic;
+
+import android.support.test.runner.AndroidJUnit4;
+
+import com.siimkinks.sqlitemagic.model.immutable.SimpleValueWithCreator;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+
+import rx.Subscription;
+import rx.observers.TestSubscriber;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.siimkinks.sqlitemagic.SimpleValueWithCreatorTable.SIMPLE_VALUE_WITH_CREATOR;
+
+@RunWith(AndroidJUnit4.class)
+public final class SelectTemplateTest {
+  private final Param<Long> id = Param.create();
+  private long firstId;
+  private long secondId;
+
+  @Before
+  public void setUp() {
+    SimpleValueWithCreator.deleteTable().execute();
+    firstId = SimpleValueWithCreator.newRandom().insert().execute();
+    secondId = SimpleValueWithCreator.newRandom().insert().execute();
+  }
+
+  @Test
+  public void templateBoundTwiceSelectsEachValue() {
+    final CompiledSelect<SimpleValueWithCreator, SelectN> template = Select
+        .from(SIMPLE_VALUE_WITH_CREATOR)
+        .where(SIMPLE_VALUE_WITH_CREATOR.ID.is(id))
+        .compile();
+
+    final List<SimpleValueWithCreator> first = template.bind(firstId).execute();
+    final List<SimpleValueWithCreator> second = template.bind(secondId).execute();
+
+    assertThat(first).hasSize(1);
+    assertThat(first.get(0).id()).isEqualTo(firstId);
+    assertThat(second).hasSize(1);
+    assertThat(second.get(0).id()).isEqualTo(secondId);
+  }
+
+  @Test
+  public void firstSelectTemplateBoundTwiceUsesEntityCache() {
+    final EntityCache entityCache = SqliteMagic.getDefaultDbConnection().getEntityCache(SIMPLE_VALUE_WITH_CREATOR);
+    assertThat(entityCache).isNotNull();
+    final long initialHits = entityCache.hitCount();
+    final long initialMisses = entityCache.missCount();
+    final CompiledFirstSelect<SimpleValueWithCreator, SelectN> template = Select
+        .from(SIMPLE_VALUE_WITH_CREATOR)
+        .where(SIMPLE_VALUE_WITH_CREATOR.ID.is(id))
+        .takeFirst();
+
+    final SimpleValueWithCreator first = template.bind(firstId).execute();
+    final SimpleValueWithCreator second = template.bind(secondId).execute();
+
+    assertThat(first.id()).isEqualTo(firstId);
+    assertThat(second.id()).isEqualTo(secondId);
+    assertThat(entityCache.missCount() - initialMisses).isEqualTo(2);
+
+    assertThat(template.bind(firstId).execute()).isSameAs(first);
+    assertThat(template.bind(secondId).execute()).isSameAs(second);
+    assertThat(entityCache.hitCount() - initialHits).isEqualTo(2);
+  }
+
+  @Test
+  public void boundTemplateObservesOnlyItsRow() {
+    final CompiledFirstSelect<SimpleValueWithCreator, SelectN> template = Select
+        .from(SIMPLE_VALUE_WITH_CREATOR)
+        .where(SIMPLE_VALUE_WITH_CREATOR.ID.is(id))
+        .takeFirst();
+    final TestSubscriber<SimpleValueWithCreator> firstObserver = new TestSubscriber<>();
+    final TestSubscriber<SimpleValueWithCreator> secondObserver = new TestSubscriber<>();
+    final Subscription firstSubscription = template.bind(firstId)
+        .observe()
+        .runQuery()
+        .subscribe(firstObserver);
+    final Subscription secondSubscription = template.bind(secondId)
+        .observe()
+        .runQuery()
+        .subscribe(secondObserver);
+
+    firstObserver.assertValueCount(1);
+    assertThat(firstObserver.getOnNextEvents().get(0).id()).isEqualTo(firstId);
+    secondObserver.assertValueCount(1);
+    assertThat(secondObserver.getOnNextEvents().get(0).id()).isEqualTo(secondId);
+
+    final SimpleValueWithCreator updated = SimpleValueWithCreator.newRandom(firstId);
+    assertThat(updated.update().execute()).isTrue();
+
+    firstObserver.assertValueCount(2);
+    assertThat(firstObserver.getOnNextEvents().get(1)).isEqualTo(updated);
+    // change of another row does not re-run the query
+    secondObserver.assertValueCount(1);
+
+    firstSubscription.unsubscribe();
+    secondSubscription.unsubscribe();
+  }
+}
@@ -0,0 +1,78 @@
+package com.siimkinks.sqlitemagic;
+
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.support.annotation.NonNull;
+import android.support.test.runner.AndroidJUnit4;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import rx.schedulers.Schedulers;
+
+import static com.google.common.truth.Truth.assertThat;
+
+@RunWith(AndroidJUnit4.class)
+public final class TunedConnectionTest {
+  private static final long SYNCHRONOUS_NORMAL = 1;
+  private static final long SYNCHRONOUS_FULL = 2;
+
+  @Test
+  public void durabilityKeepsFullSyncInWalMode() {
+    final DbConnectionImpl connection = openTunedConnection(DatabaseTuning.DURABILITY);
+    try {
+      final SQLiteDatabase db = connection.getWritableDatabase();
+
+      assertThat(queryString(db, "PRAGMA journal_mode")).isEqualTo("wal");
+      assertThat(queryLong(db, "PRAGMA synchronous")).isEqualTo(SYNCHRONOUS_FULL);
+    } finally {
+      connection.close();
+    }
+  }
+
+  @Test
+  public void throughputConfiguresConnection() {
+    final DbConnectionImpl connection = openTunedConnection(DatabaseTuning.THROUGHPUT);
+    try {
+      final SQLiteDatabase db = connection.getWritableDatabase();
+
+      assertThat(queryString(db, "PRAGMA journal_mode")).isEqualTo("wal");
+      assertThat(queryLong(db, "PRAGMA synchronous")).isEqualTo(SYNCHRONOUS_NORMAL);
+      assertThat(queryLong(db, "PRAGMA cache_size")).isEqualTo(-8 * 1024L);
+      assertThat(queryLong(db, "PRAGMA temp_store")).isEqualTo((long) DatabaseTuning.TempStore.MEMORY.ordinal());
+    } finally {
+      connection.close();
+    }
+  }
+
+  @NonNull
+  private static DbConnectionImpl openTunedConnection(@NonNull DatabaseTuning tuning) {
+    TestApp.INSTANCE.deleteDatabase("tuned.db");
+    return (DbConnectionImpl) SqliteMagic
+        .setup(TestApp.INSTANCE)
+        .withName("tuned.db")
+        .scheduleRxQueriesOn(Schedulers.immediate())
+        .withTuning(tuning)
+        .openNewConnection();
+  }
+
+  static String queryString(@NonNull SQLiteDatabase db, @NonNull String sql) {
+    final Cursor cursor = db.rawQuery(sql, null);
+    try {
+      assertThat(cursor.moveToFirst()).isTrue();
+      return cursor.getString(0);
+    } finally {
+      cursor.close();
+    }
+  }
+
+  static long queryLong(@NonNull SQLiteDatabase db, @NonNull String sql) {
+    final Cursor cursor = db.rawQuery(sql, null);
+    try {
+      assertThat(cursor.moveToFirst()).isTrue();
+      return cursor.getLong(0);
+    } finally {
+      cursor.close();
+    }
+  }
+}
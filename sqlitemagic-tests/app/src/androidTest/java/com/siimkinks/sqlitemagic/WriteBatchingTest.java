@@ -0,0 +1,269 @@
+package com.siimkinks.sqlitemagic;
+
+import android.database.sqlite.SQLiteDatabase;
+import android.support.annotation.NonNull;
+import android.support.test.runner.AndroidJUnit4;
+
+import com.siimkinks.sqlitemagic.exception.OperationFailedException;
+import com.siimkinks.sqlitemagic.model.Author;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import rx.Subscription;
+import rx.functions.Action1;
+import rx.observers.TestSubscriber;
+import rx.schedulers.Schedulers;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.siimkinks.sqlitemagic.AuthorTable.AUTHOR;
+import static java.util.concurrent.TimeUnit.HOURS;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+@RunWith(AndroidJUnit4.class)
+public final class WriteBatchingTest {
+  private DbConnectionImpl connection;
+
+  @After
+  public void tearDown() {
+    if (connection != null) {
+      connection.close();
+    }
+  }
+
+  @Test
+  public void writesWithinWindowAreCommittedTogether() {
+    connection = openBatchingConnection(500, MILLISECONDS);
+    final TestSubscriber<Set<String>> triggers = new TestSubscriber<>();
+    final Subscription triggersSubscription = connection.triggers.subscribe(triggers);
+
+    final List<TestSubscriber<Long>> inserts = insertAuthors(10);
+    awaitAll(inserts);
+
+    for (TestSubscriber<Long> insert : inserts) {
+      insert.assertNoErrors();
+      insert.assertValueCount(1);
+    }
+    assertThat(countAuthors()).isEqualTo(10L);
+    triggers.assertValueCount(1);
+    triggersSubscription.unsubscribe();
+  }
+
+  @Test
+  public void fullBatchWakesUpWriter() throws InterruptedException {
+    connection = openBatchingConnection(1, HOURS);
+
+    final List<TestSubscriber<Long>> inserts = insertAuthors(TransactionExecutor.MAX_BATCH_SIZE - 1);
+    Thread.sleep(200);
+    for (TestSubscriber<Long> insert : inserts) {
+      insert.assertNoTerminalEvent();
+    }
+
+    inserts.addAll(insertAuthors(1));
+    awaitAll(inserts);
+
+    for (TestSubscriber<Long> insert : inserts) {
+      insert.assertNoErrors();
+      insert.assertValueCount(1);
+    }
+    assertThat(countAuthors()).isEqualTo((long) TransactionExecutor.MAX_BATCH_SIZE);
+  }
+
+  @Test
+  public void closeFailsQueuedWrites() {
+    connection = openBatchingConnection(1, HOURS);
+
+    final List<TestSubscriber<Long>> inserts = insertAuthors(3);
+    connection.close();
+    connection = null;
+
+    awaitAll(inserts);
+    for (TestSubscriber<Long> insert : inserts) {
+      insert.assertNoValues();
+      insert.assertError(IllegalStateException.class);
+    }
+  }
+
+  @Test
+  public void writeInTransactionRunsInCallersTransaction() {
+    connection = openBatchingConnection(1, HOURS);
+
+    final Transaction transaction = connection.newTransaction();
+    try {
+      final TestSubscriber<Long> ts = new TestSubscriber<>();
+      Author.newRandom()
+          .insert()
+          .usingConnection(connection)
+          .observe()
+          .subscribe(ts);
+      // not queued to the writer, which would wait for the whole window
+      ts.assertNoErrors();
+      ts.assertValueCount(1);
+    } finally {
+      transaction.end();
+    }
+
+    assertThat(countAuthors()).isEqualTo(0L);
+  }
+
+  @Test
+  public void writeOutsideTransactionRunsOnWriterThread() {
+    connection = openBatchingConnection(0, MILLISECONDS);
+    final String[] threadName = new String[1];
+
+    final TestSubscriber<Long> ts = new TestSubscriber<>();
+    Author.newRandom()
+        .insert()
+        .usingConnection(connection)
+        .observe()
+        .doOnSuccess(new Action1<Long>() {
+          @Override
+          public void call(Long id) {
+            threadName[0] = Thread.currentThread().getName();
+          }
+        })
+        .subscribe(ts);
+    ts.awaitTerminalEvent(10, SECONDS);
+
+    ts.assertNoErrors();
+    assertThat(threadName[0]).isEqualTo("SqliteMagic-writer");
+    assertThat(countAuthors()).isEqualTo(1L);
+  }
+
+  @Test
+  public void failedWriteDoesNotFailOtherWritesOfBatch() {
+    connection = openBatchingConnection(1, HOURS);
+    final TestSubscriber<Set<String>> triggers = new TestSubscriber<>();
+    final Subscription triggersSubscription = connection.triggers.subscribe(triggers);
+    final int half = TransactionExecutor.MAX_BATCH_SIZE / 2;
+
+    final List<TestSubscriber<Long>> inserts = insertAuthors(half);
+    final Author missingAuthor = Author.newRandom();
+    final TestSubscriber<Object> failedUpdate = new TestSubscriber<>();
+    missingAuthor.update()
+        .usingConnection(connection)
+        .observe()
+        .subscribe(failedUpdate);
+    inserts.addAll(insertAuthors(TransactionExecutor.MAX_BATCH_SIZE - half - 1));
+    awaitAll(inserts);
+    failedUpdate.awaitTerminalEvent(10, SECONDS);
+
+    failedUpdate.assertError(OperationFailedException.class);
+    for (TestSubscriber<Long> insert : inserts) {
+      insert.assertNoErrors();
+      insert.assertValueCount(1);
+    }
+    assertThat(countAuthors()).isEqualTo((long) TransactionExecutor.MAX_BATCH_SIZE - 1);
+    triggers.assertValueCount(1);
+    triggersSubscription.unsubscribe();
+  }
+
+  @Test
+  public void failedJobIsRolledBackAloneAndNoJobRunsTwice() {
+    connection = openBatchingConnection(1, HOURS);
+    final int size = TransactionExecutor.MAX_BATCH_SIZE;
+    final int failingJob = 10;
+    final AtomicInteger[] calls = new AtomicInteger[size];
+    final List<TestSubscriber<Long>> jobs = new ArrayList<>(size);
+
+    for (int i = 0; i < size; i++) {
+      final AtomicInteger callCount = new AtomicInteger();
+      final boolean fail = i == failingJob;
+      calls[i] = callCount;
+      final TestSubscriber<Long> ts = new TestSubscriber<>();
+      connection.callInTransaction(new Callable<Long>() {
+        @Override
+        public Long call() {
+          callCount.incrementAndGet();
+          final long id = Author.newRandom().insert().usingConnection(connection).execute();
+          if (fail) {
+            throw new IllegalArgumentException("failing job");
+          }
+          return id;
+        }
+      }).subscribe(ts);
+      jobs.add(ts);
+    }
+    awaitAll(jobs);
+
+    for (int i = 0; i < size; i++) {
+      assertThat(calls[i].get()).isEqualTo(1);
+      if (i == failingJob) {
+        jobs.get(i).assertError(IllegalArgumentException.class);
+      } else {
+        jobs.get(i).assertNoErrors();
+        jobs.get(i).assertValueCount(1);
+      }
+    }
+    // changes of the failed job are rolled back
+    assertThat(countAuthors()).isEqualTo((long) size - 1);
+  }
+
+  @Test
+  public void rollbackToSavepointKeepsTransactionOpen() {
+    connection = openBatchingConnection(0, MILLISECONDS);
+    final SQLiteDatabase db = connection.getWritableDatabase();
+
+    final Transaction transaction = connection.newTransaction();
+    try {
+      Author.newRandom().insert().usingConnection(connection).execute();
+      db.execSQL(TransactionExecutor.SAVEPOINT);
+      Author.newRandom().insert().usingConnection(connection).execute();
+      db.execSQL(TransactionExecutor.ROLLBACK_TO_SAVEPOINT);
+      // platform must pass the statement to SQLite instead of ending the transaction
+      assertThat(db.inTransaction()).isTrue();
+      db.execSQL(TransactionExecutor.RELEASE_SAVEPOINT);
+      transaction.markSuccessful();
+    } finally {
+      transaction.end();
+    }
+
+    assertThat(countAuthors()).isEqualTo(1L);
+  }
+
+  @NonNull
+  private List<TestSubscriber<Long>> insertAuthors(int count) {
+    final List<TestSubscriber<Long>> inserts = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      final TestSubscriber<Long> ts = new TestSubscriber<>();
+      Author.newRandom()
+          .insert()
+          .usingConnection(connection)
+          .observe()
+          .subscribe(ts);
+      inserts.add(ts);
+    }
+    return inserts;
+  }
+
+  private long countAuthors() {
+    return Select.from(AUTHOR).usingConnection(connection).count().execute();
+  }
+
+  static void awaitAll(@NonNull List<? extends TestSubscriber<?>> subscribers) {
+    for (TestSubscriber<?> ts : subscribers) {
+      ts.awaitTerminalEvent(10, SECONDS);
+    }
+  }
+
+  @NonNull
+  static DbConnectionImpl openBatchingConnection(long window, @NonNull TimeUnit unit) {
+    final DbConnectionImpl connection = (DbConnectionImpl) SqliteMagic
+        .setup(TestApp.INSTANCE)
+        .withName("batching.db")
+        .scheduleRxQueriesOn(Schedulers.immediate())
+        .batchWrites(window, unit)
+        .openNewConnection();
+    Author.deleteTable().usingConnection(connection).execute();
+    return connection;
+  }
+}
@@ -0,0 +1,120 @@
+package com.siimkinks.sqlitemagic.model;
+
+import android.support.test.runner.AndroidJUnit4;
+
+import com.siimkinks.sqlitemagic.Select;
+import com.siimkinks.sqlitemagic.SqliteMagic_SimpleMutable_Handler;
+import com.siimkinks.sqlitemagic.SqliteMagic_SimpleValueWithBuilder_Handler;
+import com.siimkinks.sqlitemagic.model.immutable.SimpleValueWithBuilder;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.siimkinks.sqlitemagic.SimpleMutableTable.SIMPLE_MUTABLE;
+import static com.siimkinks.sqlitemagic.SimpleValueWithBuilderTable.SIMPLE_VALUE_WITH_BUILDER;
+
+/**
+ * Bulk inserts that are bound into multi-row statements. Row counts are chosen so that
+ * two full batches are followed by rows that are inserted one by one.
+ */
+@RunWith(AndroidJUnit4.class)
+public final class BulkInsertTest {
+  private static final int REMAINDER_ROW_COUNT = 3;
+
+  @Before
+  public void setUp() {
+    SimpleMutable.deleteTable().execute();
+    SimpleValueWithBuilder.deleteTable().execute();
+  }
+
+  @Test
+  public void bulkInsertWithGeneratedIds() {
+    final List<SimpleValueWithBuilder> vals = newValsWithoutIds();
+
+    assertThat(SimpleValueWithBuilder.insert(vals).execute()).isTrue();
+
+    assertInsertedWithGeneratedIds(vals);
+  }
+
+  @Test
+  public void bulkInsertWithGeneratedIdsObserve() {
+    final List<SimpleValueWithBuilder> vals = newValsWithoutIds();
+
+    assertThat(SimpleValueWithBuilder.insert(vals).observe().get()).isNull();
+
+    assertInsertedWithGeneratedIds(vals);
+  }
+
+  @Test
+  public void bulkInsertWithIds() {
+    final List<SimpleMutable> vals = newValsWithIds();
+
+    assertThat(SimpleMutable.insert(vals).execute()).isTrue();
+
+    assertInsertedWithIds(vals);
+  }
+
+  @Test
+  public void bulkInsertWithIdsObserve() {
+    final List<SimpleMutable> vals = newValsWithIds();
+
+    assertThat(SimpleMutable.insert(vals).observe().get()).isNull();
+
+    assertInsertedWithIds(vals);
+  }
+
+  private static List<SimpleValueWithBuilder> newValsWithoutIds() {
+    final int count = 2 * SqliteMagic_SimpleValueWithBuilder_Handler.BULK_INSERT_ROW_COUNT + REMAINDER_ROW_COUNT;
+    final List<SimpleValueWithBuilder> vals = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      vals.add(SimpleValueWithBuilder.newRandom()
+          .integer(i)
+          .build());
+    }
+    return vals;
+  }
+
+  private static List<SimpleMutable> newValsWithIds() {
+    final int count = 2 * SqliteMagic_SimpleMutable_Handler.BULK_INSERT_ROW_COUNT + REMAINDER_ROW_COUNT;
+    final List<SimpleMutable> vals = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      final SimpleMutable val = SimpleMutable.newRandom();
+      // ids in reverse order so that table order differs from insert order
+      val.id = count - i;
+      vals.add(val);
+    }
+    return vals;
+  }
+
+  private static void assertInsertedWithGeneratedIds(List<SimpleValueWithBuilder> vals) {
+    assertThat(Select.from(SIMPLE_VALUE_WITH_BUILDER).count().execute()).isEqualTo((long) vals.size());
+
+    final List<SimpleValueWithBuilder> inserted = Select.from(SIMPLE_VALUE_WITH_BUILDER)
+        .orderBy(SIMPLE_VALUE_WITH_BUILDER.ID.asc())
+        .execute();
+    assertThat(inserted).hasSize(vals.size());
+    final long firstId = inserted.get(0).id();
+    for (int i = 0, size = vals.size(); i < size; i++) {
+      final SimpleValueWithBuilder val = inserted.get(i);
+      // rows are inserted in list order, both within and across batches
+      assertThat(val.id()).isEqualTo(firstId + i);
+      assertThat(val.integer()).isEqualTo(i);
+      assertThat(vals.get(i).id()).isNull();
+      assertThat(vals.get(i).equalsWithoutId(val)).isTrue();
+    }
+  }
+
+  private static void assertInsertedWithIds(List<SimpleMutable> vals) {
+    assertThat(Select.from(SIMPLE_MUTABLE).count().execute()).isEqualTo((long) vals.size());
+
+    final List<SimpleMutable> inserted = Select.from(SIMPLE_MUTABLE)
+        .orderBy(SIMPLE_MUTABLE.ID.desc())
+        .execute();
+    assertThat(inserted).containsExactlyElementsIn(vals).inOrder();
+  }
+}
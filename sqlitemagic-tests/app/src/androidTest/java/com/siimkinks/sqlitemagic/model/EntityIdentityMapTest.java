@@ -0,0 +1,100 @@
+package com.siimkinks.sqlitemagic.model;
+
+import android.support.test.runner.AndroidJUnit4;
+
+import com.siimkinks.sqlitemagic.Select;
+import com.siimkinks.sqlitemagic.model.immutable.SimpleValueWithBuilder;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.siimkinks.sqlitemagic.ComplexObjectWithSameLeafsTable.COMPLEX_OBJECT_WITH_SAME_LEAFS;
+
+@RunWith(AndroidJUnit4.class)
+public final class EntityIdentityMapTest {
+  private static final int ROW_COUNT = 3;
+
+  private Author sharedAuthor;
+  private SimpleValueWithBuilder sharedValue;
+  private List<ComplexObjectWithSameLeafs> vals;
+
+  @Before
+  public void setUp() {
+    ComplexObjectWithSameLeafs.deleteTable().execute();
+    Book.deleteTable().execute();
+    Magazine.deleteTable().execute();
+    Author.deleteTable().execute();
+    SimpleValueWithBuilder.deleteTable().execute();
+
+    sharedAuthor = Author.newRandom();
+    assertThat(sharedAuthor.insert().execute()).isNotEqualTo(-1);
+    final SimpleValueWithBuilder value = SimpleValueWithBuilder.newRandom().build();
+    final long valueId = value.insert().execute();
+    assertThat(valueId).isNotEqualTo(-1);
+    sharedValue = value.copy().id(valueId).build();
+
+    vals = new ArrayList<>(ROW_COUNT);
+    for (int i = 0; i < ROW_COUNT; i++) {
+      final ComplexObjectWithSameLeafs complex = ComplexObjectWithSameLeafs.newRandom();
+      complex.book.author = sharedAuthor;
+      complex.magazine.author = sharedAuthor;
+      complex.simpleValueWithBuilder = sharedValue;
+      complex.simpleValueWithBuilderDuplicate = sharedValue;
+      assertThat(complex.persist().execute()).isNotEqualTo(-1);
+      vals.add(complex);
+    }
+  }
+
+  @Test
+  public void entityJoinedTwiceIsParsedOnce() {
+    final List<ComplexObjectWithSameLeafs> result = Select
+        .from(COMPLEX_OBJECT_WITH_SAME_LEAFS)
+        .orderBy(COMPLEX_OBJECT_WITH_SAME_LEAFS.ID.asc())
+        .queryDeepWithIdentityMap()
+        .execute();
+
+    assertThat(result).hasSize(ROW_COUNT);
+    final ComplexObjectWithSameLeafs first = result.get(0);
+    final Author author = first.book.author;
+    final SimpleValueWithBuilder value = first.simpleValueWithBuilder;
+    assertThat(author).isEqualTo(sharedAuthor);
+    assertThat(value).isEqualTo(sharedValue);
+    for (ComplexObjectWithSameLeafs complex : result) {
+      // same row joined through different paths and in different result rows
+      assertThat(complex.book.author).isSameAs(author);
+      assertThat(complex.magazine.author).isSameAs(author);
+      assertThat(complex.simpleValueWithBuilder).isSameAs(value);
+      assertThat(complex.simpleValueWithBuilderDuplicate).isSameAs(value);
+    }
+  }
+
+  @Test
+  public void columnsAfterSkippedEntityAreParsed() {
+    final List<ComplexObjectWithSameLeafs> mapped = Select
+        .from(COMPLEX_OBJECT_WITH_SAME_LEAFS)
+        .orderBy(COMPLEX_OBJECT_WITH_SAME_LEAFS.ID.asc())
+        .queryDeepWithIdentityMap()
+        .execute();
+    final List<ComplexObjectWithSameLeafs> notMapped = Select
+        .from(COMPLEX_OBJECT_WITH_SAME_LEAFS)
+        .orderBy(COMPLEX_OBJECT_WITH_SAME_LEAFS.ID.asc())
+        .queryDeep()
+        .execute();
+
+    // magazine author columns are skipped, so magazine columns after them and
+    // the whole duplicate value graph are read from the correct offset
+    assertThat(mapped).containsExactlyElementsIn(vals).inOrder();
+    assertThat(mapped).containsExactlyElementsIn(notMapped).inOrder();
+    for (int i = 0; i < ROW_COUNT; i++) {
+      final Magazine magazine = mapped.get(i).magazine;
+      assertThat(magazine.name).isEqualTo(vals.get(i).magazine.name);
+      assertThat(magazine.nrOfReleases).isEqualTo(vals.get(i).magazine.nrOfReleases);
+      assertThat(mapped.get(i).book.nrOfReleases).isEqualTo(vals.get(i).book.nrOfReleases);
+    }
+  }
+}
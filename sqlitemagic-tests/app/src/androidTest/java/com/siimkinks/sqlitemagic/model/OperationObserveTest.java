@@ -6,9 +6,9 @@ import com.siimkinks.sqlitemagic.CompiledCountSelect;
 import com.siimkinks.sqlitemagic.CompiledDelete;
 import com.siimkinks.sqlitemagic.CompiledFirstSelect;
 import com.siimkinks.sqlitemagic.Delete;
+import com.siimkinks.sqlitemagic.RandomValues;
 import com.siimkinks.sqlitemagic.Select;
 import com.siimkinks.sqlitemagic.Update;
-import com.siimkinks.sqlitemagic.Utils;
 import com.siimkinks.sqlitemagic.exception.OperationFailedException;
 import com.siimkinks.sqlitemagic.model.immutable.BuilderMagazine;
 import com.siimkinks.sqlitemagic.model.immutable.SimpleValueWithBuilder;
@@ -88,7 +88,7 @@ public final class OperationObserveTest {
   public void mutableUpdateObserve() {
     final Author author = Author.newRandom();
     author.insert().execute();
-    author.name = Utils.randomTableName();
+    author.name = RandomValues.randomString();
 
     final Throwable e = author.update()
         .observe()
@@ -283,7 +283,7 @@ public final class OperationObserveTest {
     final int testCount = 10;
     final List<Author> authors = insertAuthors(testCount);
     for (Author author : authors) {
-      author.name = Utils.randomTableName();
+      author.name = RandomValues.randomString();
     }
 
     assertThat(Author.update(authors)
@@ -322,7 +322,7 @@ public final class OperationObserveTest {
     final int testCount = 500;
     final List<Author> list = insertAuthors(testCount);
     for (Author author : list) {
-      author.name = Utils.randomTableName();
+      author.name = RandomValues.randomString();
     }
     final Subscription subscription = Author.update(list)
         .observe()
@@ -400,7 +400,7 @@ public final class OperationObserveTest {
     final int testCount = 10;
     final List<Author> authors = insertAuthors(testCount);
     for (Author author : authors) {
-      author.name = Utils.randomTableName();
+      author.name = RandomValues.randomString();
     }
 
     assertThat(Author
@@ -441,7 +441,7 @@ public final class OperationObserveTest {
     final int testCount = 500;
     final List<Author> list = insertAuthors(testCount);
     for (Author author : list) {
-      author.name = Utils.randomTableName();
+      author.name = RandomValues.randomString();
     }
     final Subscription subscription = Author
         .persist(list)
@@ -8,6 +8,7 @@ import com.siimkinks.sqlitemagic.CompiledCountSelect;
 import com.siimkinks.sqlitemagic.CompiledSelect;
 import com.siimkinks.sqlitemagic.DbConnection;
 import com.siimkinks.sqlitemagic.Delete;
+import com.siimkinks.sqlitemagic.ListDiff;
 import com.siimkinks.sqlitemagic.Query;
 import com.siimkinks.sqlitemagic.QueryObservable;
 import com.siimkinks.sqlitemagic.Select;
@@ -117,6 +118,40 @@ public final class QueryObserveTest {
     assertThat(result).isEmpty();
   }
 
+  @Test
+  public void runQueryDiffedEmitsChangesById() {
+    final List<Author> authors = insertAuthors(3);
+    final TestSubscriber<ListDiff<Author>> ts = new TestSubscriber<>();
+    final Subscription subscription = selectAuthors
+        .observe()
+        .runQueryDiffed()
+        .subscribe(ts);
+    ts.assertValueCount(1);
+    ListDiff<Author> diff = ts.getOnNextEvents().get(0);
+    assertThat(diff.getList()).containsExactlyElementsIn(authors);
+    assertThat(diff.getInserted()).isEqualTo(new int[]{0, 1, 2});
+
+    final Author updated = authors.get(1);
+    updated.name = "updated";
+    assertThat(updated.update().execute()).isTrue();
+    ts.assertValueCount(2);
+    diff = ts.getOnNextEvents().get(1);
+    assertThat(diff.getChanged()).isEqualTo(new int[]{diff.getList().indexOf(updated)});
+    assertThat(diff.getInserted()).isEqualTo(new int[0]);
+    assertThat(diff.getRemoved()).isEqualTo(new int[0]);
+    assertThat(diff.getMoved()).isEqualTo(new int[0]);
+
+    final int removedPosition = diff.getList().indexOf(authors.get(0));
+    assertThat(authors.get(0).delete().execute()).isEqualTo(1);
+    ts.assertValueCount(3);
+    diff = ts.getOnNextEvents().get(2);
+    assertThat(diff.getRemoved()).isEqualTo(new int[]{removedPosition});
+    assertThat(diff.getChanged()).isEqualTo(new int[0]);
+    assertThat(diff.getInserted()).isEqualTo(new int[0]);
+
+    subscription.unsubscribe();
+  }
+
   @Test
   public void runFirstQueryInFlatMap() {
     final Author expected = insertAuthors(3).get(0);
@@ -236,6 +271,87 @@ public final class QueryObserveTest {
     subscription.unsubscribe();
   }
 
+  @Test
+  public void rowQueryNotNotifiedWhenOtherRowChanges() {
+    final List<Author> authors = insertAuthors(3);
+    final Author author = authors.get(0);
+    final Subscription subscription = Select
+        .from(AUTHOR)
+        .where(AUTHOR.ID.is(author.id))
+        .observe()
+        .subscribe(o);
+    o.assertElements()
+        .hasSingleElement(author)
+        .isExhausted();
+
+    final Author other = authors.get(1);
+    other.name = "asd";
+    assertThat(other.update().execute()).isTrue();
+    assertThat(other.delete().execute()).isEqualTo(1);
+    assertThat(Author.newRandom().insert().execute()).isNotEqualTo(-1);
+    o.assertNoMoreEvents();
+
+    author.name = "dsa";
+    assertThat(author.update().execute()).isTrue();
+    o.assertElements()
+        .hasSingleElement(author)
+        .isExhausted();
+
+    assertThat(Update
+        .table(AUTHOR)
+        .set(AUTHOR.NAME, "asd")
+        .where(AUTHOR.ID.is(authors.get(2).id))
+        .execute())
+        .isEqualTo(1);
+    o.assertElements()
+        .hasSingleElement(author)
+        .isExhausted();
+
+    subscription.unsubscribe();
+  }
+
+  @Test
+  public void rowQueryNotifiedOnlyForTransactionChangingObservedRow() {
+    final List<Author> authors = insertAuthors(3);
+    final Author author = authors.get(0);
+    final Subscription subscription = Select
+        .from(AUTHOR)
+        .where(AUTHOR.ID.is(author.id))
+        .observe()
+        .subscribe(o);
+    o.assertElements()
+        .hasSingleElement(author)
+        .isExhausted();
+
+    Transaction transaction = SqliteMagic.newTransaction();
+    try {
+      for (int i = 1; i < authors.size(); i++) {
+        final Author other = authors.get(i);
+        other.name = "asd";
+        assertThat(other.update().execute()).isTrue();
+      }
+      transaction.markSuccessful();
+    } finally {
+      transaction.end();
+    }
+    o.assertNoMoreEvents();
+
+    transaction = SqliteMagic.newTransaction();
+    try {
+      author.name = "dsa";
+      assertThat(author.update().execute()).isTrue();
+      assertThat(authors.get(1).delete().execute()).isEqualTo(1);
+      transaction.markSuccessful();
+    } finally {
+      transaction.end();
+    }
+    o.assertElements()
+        .hasSingleElement(author)
+        .isExhausted();
+
+    subscription.unsubscribe();
+  }
+
   @Test
   public void queryNotNotifiedWhenUpdateAffectsZeroRows() {
     List<Author> authors = insertAuthors(3);
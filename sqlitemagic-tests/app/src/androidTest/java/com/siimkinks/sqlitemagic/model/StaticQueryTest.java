@@ -0,0 +1,54 @@
+package com.siimkinks.sqlitemagic.model;
+
+import android.support.test.runner.AndroidJUnit4;
+
+import com.siimkinks.sqlitemagic.Select;
+import com.siimkinks.sqlitemagic.SqliteMagic_AuthorQueries_Dao;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.siimkinks.sqlitemagic.AuthorTable.AUTHOR;
+
+@RunWith(AndroidJUnit4.class)
+public final class StaticQueryTest {
+  private final AuthorQueries queries = new SqliteMagic_AuthorQueries_Dao();
+
+  @Test
+  public void queryReturnsSameResultsAsBuiltSelect() {
+    Author.deleteTable().execute();
+    final int testSize = 5;
+    for (int i = 0; i < testSize; i++) {
+      final Author author = Author.newRandom();
+      author.name = "asd";
+      assertThat(author.persist().execute()).isNotEqualTo(-1);
+    }
+    assertThat(Author.newRandom().persist().execute()).isNotEqualTo(-1);
+
+    final List<Author> expected = Select
+        .from(AUTHOR)
+        .where(AUTHOR.NAME.is("asd"))
+        .orderBy(AUTHOR.ID.asc())
+        .execute();
+    final List<Author> authors = queries.authorsByName("asd");
+
+    assertThat(authors).containsExactlyElementsIn(expected).inOrder();
+    assertThat(queries.authorsByNameAliased("asd")).containsExactlyElementsIn(expected).inOrder();
+    assertThat(queries.authorCountByName("asd")).isEqualTo(testSize);
+    assertThat(queries.authorsByName(null)).isEmpty();
+  }
+
+  @Test
+  public void queryFirstByParameter() {
+    Author.deleteTable().execute();
+    final Author author = Author.newRandom();
+    final long id = author.persist().execute();
+    assertThat(id).isNotEqualTo(-1);
+
+    assertThat(queries.authorById(id)).isEqualTo(author);
+    assertThat(queries.authorById(id + 1)).isNull();
+  }
+}
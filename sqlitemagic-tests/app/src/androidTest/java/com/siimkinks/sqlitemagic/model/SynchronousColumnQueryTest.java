@@ -4,6 +4,7 @@ import android.database.sqlite.SQLiteException;
 import android.support.annotation.NonNull;
 import android.support.test.runner.AndroidJUnit4;
 
+import com.siimkinks.sqlitemagic.CloseableIterator;
 import com.siimkinks.sqlitemagic.NumericColumn;
 import com.siimkinks.sqlitemagic.Select;
 import com.siimkinks.sqlitemagic.SimpleMutableWithNullableFields;
@@ -114,6 +115,42 @@ public final class SynchronousColumnQueryTest {
         .isEmpty();
   }
 
+  @Test
+  public void iterateColumn() {
+    final List<String> expected = from(insertAuthors(15))
+        .map(new Func1<Author, String>() {
+          @Override
+          public String call(Author author) {
+            return author.name;
+          }
+        })
+        .toList()
+        .toBlocking()
+        .first();
+
+    final CloseableIterator<String> iterator = Select
+        .column(AUTHOR.NAME)
+        .from(AUTHOR)
+        .compile()
+        .iterate();
+    final ArrayList<String> result = new ArrayList<>(expected.size());
+    while (iterator.hasNext()) {
+      result.add(iterator.next());
+    }
+    iterator.close();
+    assertThat(result).isEqualTo(expected);
+
+    assertThat(Select
+        .column(AUTHOR.NAME)
+        .from(AUTHOR)
+        .compile()
+        .stream()
+        .toList()
+        .toBlocking()
+        .first())
+        .isEqualTo(expected);
+  }
+
   @Test
   public void queryComplexList() {
     final List<Long> expected = from(insertMagazines(7))
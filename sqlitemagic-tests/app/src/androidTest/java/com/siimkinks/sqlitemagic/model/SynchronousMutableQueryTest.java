@@ -3,10 +3,14 @@ package com.siimkinks.sqlitemagic.model;
 import android.database.Cursor;
 import android.support.test.runner.AndroidJUnit4;
 
+import com.siimkinks.sqlitemagic.CloseableIterator;
 import com.siimkinks.sqlitemagic.CompiledCursorSelect;
 import com.siimkinks.sqlitemagic.CompiledFirstSelect;
+import com.siimkinks.sqlitemagic.CompiledPagedSelect;
 import com.siimkinks.sqlitemagic.CompiledSelect;
 import com.siimkinks.sqlitemagic.Expr;
+import com.siimkinks.sqlitemagic.Page;
+import com.siimkinks.sqlitemagic.RandomValues;
 import com.siimkinks.sqlitemagic.Select;
 import com.siimkinks.sqlitemagic.Select.SelectN;
 import com.siimkinks.sqlitemagic.SimpleValueWithBuilderTable;
@@ -33,6 +37,7 @@ import static com.siimkinks.sqlitemagic.MagazineTable.MAGAZINE;
 import static com.siimkinks.sqlitemagic.SimpleAllValuesMutableTable.SIMPLE_ALL_VALUES_MUTABLE;
 import static com.siimkinks.sqlitemagic.SimpleMutableTable.SIMPLE_MUTABLE;
 import static com.siimkinks.sqlitemagic.SimpleValueWithBuilderTable.SIMPLE_VALUE_WITH_BUILDER;
+import static com.siimkinks.sqlitemagic.model.TestUtil.insertAuthors;
 import static com.siimkinks.sqlitemagic.model.TestUtil.insertComplexValuesWithSameLeafs;
 import static com.siimkinks.sqlitemagic.model.TestUtil.testMutableObjectPersistAndRetrieve;
 import static com.siimkinks.sqlitemagic.model.TestUtil.testMutableObjectWithDefinedIdPersistAndRetrieve;
@@ -78,6 +83,80 @@ public final class SynchronousMutableQueryTest {
     assertThat(compiledSelect.takeFirst().execute()).isNull();
   }
 
+  @Test
+  public void iterateEmptyTable() {
+    Author.deleteTable().execute();
+    final CloseableIterator<Author> iterator = Select.from(AUTHOR).compile().iterate();
+    assertThat(iterator.hasNext()).isFalse();
+    iterator.close();
+  }
+
+  @Test
+  public void iterateAllRows() {
+    Author.deleteTable().execute();
+    final List<Author> expected = insertAuthors(123);
+    final CloseableIterator<Author> iterator = Select.from(AUTHOR).compile().iterate();
+    final ArrayList<Author> result = new ArrayList<>(expected.size());
+    while (iterator.hasNext()) {
+      result.add(iterator.next());
+    }
+    iterator.close();
+    assertThat(result).containsExactlyElementsIn(expected).inOrder();
+  }
+
+  @Test
+  public void iterateCanBeAbandoned() {
+    Author.deleteTable().execute();
+    final List<Author> expected = insertAuthors(10);
+    final CloseableIterator<Author> iterator = Select.from(AUTHOR).compile().iterate();
+    assertThat(iterator.next()).isEqualTo(expected.get(0));
+    assertThat(iterator.hasNext()).isTrue();
+    iterator.close();
+    assertThat(iterator.hasNext()).isFalse();
+  }
+
+  @Test
+  public void keysetPagination() {
+    Author.deleteTable().execute();
+    final List<Author> expected = insertAuthors(25);
+    final CompiledPagedSelect<Author, SelectN> pagedSelect = Select.from(AUTHOR)
+        .orderBy(AUTHOR.ID.asc())
+        .paginate(10);
+    final ArrayList<Author> result = new ArrayList<>(expected.size());
+    Page<Author> page = pagedSelect.execute();
+    result.addAll(page.getItems());
+    int pageCount = 1;
+    while (page.hasNextPage()) {
+      page = pagedSelect.executeAfter(page);
+      result.addAll(page.getItems());
+      pageCount++;
+    }
+    assertThat(pageCount).isEqualTo(3);
+    assertThat(result).containsExactlyElementsIn(expected).inOrder();
+
+    final Author last = expected.get(expected.size() - 1);
+    assertThat(pagedSelect.executeAfter(last.id).getItems()).isEmpty();
+    assertThat(pagedSelect.executeAfter(expected.get(19).id).getItems())
+        .containsExactlyElementsIn(expected.subList(20, 25))
+        .inOrder();
+  }
+
+  @Test
+  public void streamAllRows() {
+    Author.deleteTable().execute();
+    final List<Author> expected = insertAuthors(55);
+    final List<Author> result = Select.from(AUTHOR)
+        .compile()
+        .stream()
+        .toList()
+        .toBlocking()
+        .first();
+    assertThat(result).containsExactlyElementsIn(expected).inOrder();
+    assertThat(Select.from(AUTHOR).compile().stream().take(3).toList().toBlocking().first())
+        .containsExactlyElementsIn(expected.subList(0, 3))
+        .inOrder();
+  }
+
   @Test
   public void simple() {
     final Author author = Author.newRandom();
@@ -267,7 +346,7 @@ public final class SynchronousMutableQueryTest {
         }, new TestUtil.UpdateObjectCallback<SimpleAllValuesMutable>() {
           @Override
           public void update(long insertedId, SimpleAllValuesMutable object) {
-            object.string = Utils.randomTableName();
+            object.string = RandomValues.randomString();
             object.primitiveShort = (short) r.nextInt(Short.MAX_VALUE + 1);
             object.boxedShort = (short) r.nextInt(Short.MAX_VALUE + 1);
             object.primitiveLong = r.nextLong();
@@ -2,9 +2,9 @@ package com.siimkinks.sqlitemagic.model;
 
 import android.support.test.runner.AndroidJUnit4;
 
+import com.siimkinks.sqlitemagic.RandomValues;
 import com.siimkinks.sqlitemagic.Select;
 import com.siimkinks.sqlitemagic.Table;
-import com.siimkinks.sqlitemagic.Utils;
 import com.siimkinks.sqlitemagic.model.immutable.BuilderMagazine;
 import com.siimkinks.sqlitemagic.model.immutable.CreatorMagazine;
 import com.siimkinks.sqlitemagic.model.immutable.ImmutableEquals;
@@ -237,7 +237,7 @@ public final class SynchronousOperationTest {
     author.id = val.author().id;
     val = BuilderMagazine.builder()
         .id(id)
-        .name(Utils.randomTableName())
+        .name(RandomValues.randomString())
         .author(author)
         .simpleValueWithBuilder(SimpleValueWithBuilder.newRandom()
             .id(Select.column(SIMPLE_VALUE_WITH_BUILDER.ID).from(SIMPLE_VALUE_WITH_BUILDER).takeFirst().execute())
@@ -261,7 +261,7 @@ public final class SynchronousOperationTest {
     author.id = val.author().id;
     val = CreatorMagazine.create(
         id,
-        Utils.randomTableName(),
+        RandomValues.randomString(),
         author,
         SimpleValueWithBuilder.newRandom()
             .id(Select.column(SIMPLE_VALUE_WITH_BUILDER.ID).from(SIMPLE_VALUE_WITH_BUILDER).takeFirst().execute())
@@ -345,7 +345,7 @@ public final class SynchronousOperationTest {
     author.id = val.author().id;
     val = BuilderMagazine.builder()
         .id(id)
-        .name(Utils.randomTableName())
+        .name(RandomValues.randomString())
         .author(author)
         .simpleValueWithBuilder(SimpleValueWithBuilder.newRandom()
             .id(Select.column(SIMPLE_VALUE_WITH_BUILDER.ID).from(SIMPLE_VALUE_WITH_BUILDER).takeFirst().execute())
@@ -369,7 +369,7 @@ public final class SynchronousOperationTest {
     author.id = val.author().id;
     val = CreatorMagazine.create(
         id,
-        Utils.randomTableName(),
+        RandomValues.randomString(),
         author,
         SimpleValueWithBuilder.newRandom()
             .id(Select.column(SIMPLE_VALUE_WITH_BUILDER.ID).from(SIMPLE_VALUE_WITH_BUILDER).takeFirst().execute())
@@ -511,7 +511,7 @@ public final class SynchronousOperationTest {
     author.id = val.author().id;
     val = BuilderMagazine.builder()
         .id(id)
-        .name(Utils.randomTableName())
+        .name(RandomValues.randomString())
         .author(author)
         .simpleValueWithBuilder(SimpleValueWithBuilder.newRandom()
             .id(Select.column(SIMPLE_VALUE_WITH_BUILDER.ID).from(SIMPLE_VALUE_WITH_BUILDER).takeFirst().execute())
@@ -535,7 +535,7 @@ public final class SynchronousOperationTest {
     author.id = val.author().id;
     val = CreatorMagazine.create(
         id,
-        Utils.randomTableName(),
+        RandomValues.randomString(),
         author,
         SimpleValueWithBuilder.newRandom()
             .id(Select.column(SIMPLE_VALUE_WITH_BUILDER.ID).from(SIMPLE_VALUE_WITH_BUILDER).takeFirst().execute())
@@ -1128,7 +1128,7 @@ public final class SynchronousOperationTest {
         author.id = builderMagazine.author().id;
         return BuilderMagazine.builder()
             .id(builderMagazine.id())
-            .name(Utils.randomTableName())
+            .name(RandomValues.randomString())
             .author(author)
             .simpleValueWithBuilder(SimpleValueWithBuilder.newRandom()
                 .id(builderMagazine.simpleValueWithBuilder().id())
@@ -1162,7 +1162,7 @@ public final class SynchronousOperationTest {
         author.id = builderMagazine.author().id;
         return CreatorMagazine.create(
             builderMagazine.id(),
-            Utils.randomTableName(),
+            RandomValues.randomString(),
             author,
             SimpleValueWithBuilder.newRandom()
                 .id(builderMagazine.simpleValueWithBuilder().id())
@@ -1383,7 +1383,7 @@ public final class SynchronousOperationTest {
         author.id = builderMagazine.author().id;
         return BuilderMagazine.builder()
             .id(builderMagazine.id())
-            .name(Utils.randomTableName())
+            .name(RandomValues.randomString())
             .author(author)
             .simpleValueWithBuilder(SimpleValueWithBuilder.newRandom()
                 .id(builderMagazine.simpleValueWithBuilder().id())
@@ -1417,7 +1417,7 @@ public final class SynchronousOperationTest {
         author.id = builderMagazine.author().id;
         return CreatorMagazine.create(
             builderMagazine.id(),
-            Utils.randomTableName(),
+            RandomValues.randomString(),
             author,
             SimpleValueWithBuilder.newRandom()
                 .id(builderMagazine.simpleValueWithBuilder().id())
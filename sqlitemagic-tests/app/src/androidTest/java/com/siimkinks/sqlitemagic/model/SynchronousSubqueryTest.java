@@ -3,10 +3,10 @@ package com.siimkinks.sqlitemagic.model;
 import android.support.test.runner.AndroidJUnit4;
 
 import com.siimkinks.sqlitemagic.ComplexObjectWithSameLeafsTable;
+import com.siimkinks.sqlitemagic.RandomValues;
 import com.siimkinks.sqlitemagic.Select;
 import com.siimkinks.sqlitemagic.SqliteMagic;
 import com.siimkinks.sqlitemagic.Transaction;
-import com.siimkinks.sqlitemagic.Utils;
 import com.siimkinks.sqlitemagic.model.immutable.SimpleValueWithBuilder;
 
 import org.junit.Before;
@@ -188,7 +188,7 @@ public final class SynchronousSubqueryTest {
       for (int i = 0; i < count; i++) {
         ComplexObjectWithSameLeafs a = ComplexObjectWithSameLeafs.newRandom();
         if (i % 2 == 0) {
-          final String title = Utils.randomTableName();
+          final String title = RandomValues.randomString();
           names.add(title);
           a.magazine.name = title;
         }
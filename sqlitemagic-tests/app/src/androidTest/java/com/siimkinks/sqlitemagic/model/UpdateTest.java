@@ -2,6 +2,8 @@ package com.siimkinks.sqlitemagic.model;
 
 import android.support.test.runner.AndroidJUnit4;
 
+import com.siimkinks.sqlitemagic.CompiledUpdate;
+import com.siimkinks.sqlitemagic.Param;
 import com.siimkinks.sqlitemagic.Select;
 import com.siimkinks.sqlitemagic.Update;
 import com.siimkinks.sqlitemagic.model.immutable.BuilderMagazine;
@@ -9,6 +11,8 @@ import com.siimkinks.sqlitemagic.model.immutable.BuilderMagazine;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import static com.google.common.truth.Truth.assertThat;
@@ -136,6 +140,83 @@ public final class UpdateTest {
     }
   }
 
+  @Test
+  public void updateWhereInLongValueList() {
+    BuilderMagazine.deleteTable().execute();
+    // more values than fit into a single statement
+    final int testCount = 1200;
+    final long[] authorIds = new long[testCount];
+    for (int i = 0; i < testCount; i++) {
+      final BuilderMagazine magazine = BuilderMagazine
+          .newRandom()
+          .name("asd")
+          .build();
+      assertThat(magazine.persist().execute()).isNotEqualTo(-1);
+      authorIds[i] = magazine.author().id;
+    }
+    assertThat(BuilderMagazine
+        .newRandom()
+        .name("asd")
+        .build()
+        .persist()
+        .execute())
+        .isNotEqualTo(-1);
+    // duplicates of the first chunk values end up in the second chunk
+    final int duplicateCount = 10;
+    final long[] values = Arrays.copyOf(authorIds, testCount + duplicateCount);
+    System.arraycopy(authorIds, 0, values, testCount, duplicateCount);
+    assertThat(Update
+        .table(BUILDER_MAGAZINE)
+        .set(BUILDER_MAGAZINE.NAME, "dsa")
+        .where(BUILDER_MAGAZINE.AUTHOR.in(values))
+        .execute())
+        .isEqualTo(testCount);
+    assertThat(Select
+        .from(BUILDER_MAGAZINE)
+        .where(BUILDER_MAGAZINE.NAME.is("dsa"))
+        .count()
+        .execute())
+        .isEqualTo(testCount);
+  }
+
+  @Test
+  public void updateTemplateExecutesBatch() {
+    BuilderMagazine.deleteTable().execute();
+    final int testCount = 5;
+    final List<Object[]> values = new ArrayList<>(testCount);
+    for (int i = 0; i < testCount; i++) {
+      final BuilderMagazine magazine = BuilderMagazine
+          .newRandom()
+          .name("asd")
+          .build();
+      final long id = magazine.persist().execute();
+      assertThat(id).isNotEqualTo(-1);
+      values.add(new Object[]{"dsa" + i, id});
+    }
+    final Param<String> name = Param.create();
+    final Param<Long> id = Param.create();
+    final CompiledUpdate update = Update
+        .table(BUILDER_MAGAZINE)
+        .set(BUILDER_MAGAZINE.NAME, name)
+        .where(BUILDER_MAGAZINE.ID.is(id))
+        .compile();
+
+    assertThat(update.executeBatch(values)).isEqualTo(testCount);
+    assertThat(update.bind("qwe", values.get(0)[1]).execute()).isEqualTo(1);
+    assertThat(Select
+        .from(BUILDER_MAGAZINE)
+        .where(BUILDER_MAGAZINE.NAME.is("qwe"))
+        .count()
+        .execute())
+        .isEqualTo(1);
+    assertThat(Select
+        .from(BUILDER_MAGAZINE)
+        .where(BUILDER_MAGAZINE.NAME.like("dsa%"))
+        .count()
+        .execute())
+        .isEqualTo(testCount - 1);
+  }
+
   @Test
   public void nothingUpdated() {
     BuilderMagazine.deleteTable().execute();
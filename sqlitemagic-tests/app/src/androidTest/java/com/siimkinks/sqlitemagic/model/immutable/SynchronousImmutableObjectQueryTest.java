@@ -9,9 +9,9 @@ import com.siimkinks.sqlitemagic.CompiledCursorSelect;
 import com.siimkinks.sqlitemagic.CompiledFirstSelect;
 import com.siimkinks.sqlitemagic.CompiledSelect;
 import com.siimkinks.sqlitemagic.Expr;
+import com.siimkinks.sqlitemagic.RandomValues;
 import com.siimkinks.sqlitemagic.Select;
 import com.siimkinks.sqlitemagic.Select.SelectN;
-import com.siimkinks.sqlitemagic.Utils;
 import com.siimkinks.sqlitemagic.model.Author;
 import com.siimkinks.sqlitemagic.model.ComplexObjectWithSameLeafs;
 import com.siimkinks.sqlitemagic.model.TestUtil.CreateCallback;
@@ -793,13 +793,13 @@ public final class SynchronousImmutableObjectQueryTest {
     assertThat(object.equalsWithoutId(retrievedObject)).isTrue();
 
     BuilderMagazine expected = retrievedObject.copy()
-        .name(Utils.randomTableName())
+        .name(RandomValues.randomString())
         .build();
     assertThat(expected.update().execute()).isTrue();
     assertThat(expected.equalsWithoutId(compiledFirstSelect.execute())).isTrue();
 
     expected = retrievedObject.copy()
-        .name(Utils.randomTableName())
+        .name(RandomValues.randomString())
         .build();
     long persistId = expected.persist().execute();
     assertThat(persistId).isNotEqualTo(-1);
@@ -840,7 +840,7 @@ public final class SynchronousImmutableObjectQueryTest {
 
     CreatorMagazine expected = CreatorMagazine.create(
         retrievedObject.id(),
-        Utils.randomTableName(),
+        RandomValues.randomString(),
         retrievedObject.author(),
         retrievedObject.simpleValueWithBuilder(),
         retrievedObject.simpleValueWithCreator()
@@ -850,7 +850,7 @@ public final class SynchronousImmutableObjectQueryTest {
 
     expected = CreatorMagazine.create(
         retrievedObject.id(),
-        Utils.randomTableName(),
+        RandomValues.randomString(),
         retrievedObject.author(),
         retrievedObject.simpleValueWithBuilder(),
         retrievedObject.simpleValueWithCreator()
@@ -904,7 +904,7 @@ public final class SynchronousImmutableObjectQueryTest {
       SimpleValueWithCreator sc = SimpleValueWithCreator.newRandom(m.simpleValueWithCreator().id());
       newValues.add(BuilderMagazine.builder()
           .id(m.id())
-          .name(Utils.randomTableName())
+          .name(RandomValues.randomString())
           .author(author)
           .simpleValueWithBuilder(sb)
           .simpleValueWithCreator(sc)
@@ -923,7 +923,7 @@ public final class SynchronousImmutableObjectQueryTest {
       SimpleValueWithCreator sc = SimpleValueWithCreator.newRandom(m.simpleValueWithCreator().id());
       newValues.add(BuilderMagazine.builder()
           .id(m.id())
-          .name(Utils.randomTableName())
+          .name(RandomValues.randomString())
           .author(author)
           .simpleValueWithBuilder(sb)
           .simpleValueWithCreator(sc)
@@ -1043,7 +1043,7 @@ public final class SynchronousImmutableObjectQueryTest {
       SimpleValueWithCreator sc = SimpleValueWithCreator.newRandom(m.simpleValueWithCreator().id());
       newValues.add(CreatorMagazine.create(
           m.id(),
-          Utils.randomTableName(),
+          RandomValues.randomString(),
           author,
           sb,
           sc));
@@ -1061,7 +1061,7 @@ public final class SynchronousImmutableObjectQueryTest {
       SimpleValueWithCreator sc = SimpleValueWithCreator.newRandom(m.simpleValueWithCreator().id());
       newValues.add(CreatorMagazine.create(
           m.id(),
-          Utils.randomTableName(),
+          RandomValues.randomString(),
           author,
           sb,
           sc));
@@ -1288,28 +1288,28 @@ public final class SynchronousImmutableObjectQueryTest {
     assertThat(object.equalsWithoutNotPersistedImmutableObjects(retrievedObject)).isTrue();
 
     Author author = retrievedObject.author();
-    author.name = Utils.randomTableName();
+    author.name = RandomValues.randomString();
     ComplexObjectWithSameLeafs complexObjectWithSameLeafs = retrievedObject.complexObjectWithSameLeafs();
-    complexObjectWithSameLeafs.name = Utils.randomTableName();
+    complexObjectWithSameLeafs.name = RandomValues.randomString();
     ComplexValueWithBuilder expected = retrievedObject.copy()
-        .string(Utils.randomTableName())
+        .string(RandomValues.randomString())
         .author(author)
         .complexObjectWithSameLeafs(complexObjectWithSameLeafs)
-        .builderSimpleValue(retrievedObject.builderSimpleValue().copy().stringValue(Utils.randomTableName()).build())
+        .builderSimpleValue(retrievedObject.builderSimpleValue().copy().stringValue(RandomValues.randomString()).build())
         .build();
 
     assertThat(expected.update().execute()).isTrue();
     assertThat(expected.equalsWithoutId(compiledFirstSelect.execute())).isTrue();
 
     author = retrievedObject.author();
-    author.name = Utils.randomTableName();
+    author.name = RandomValues.randomString();
     complexObjectWithSameLeafs = retrievedObject.complexObjectWithSameLeafs();
-    complexObjectWithSameLeafs.name = Utils.randomTableName();
+    complexObjectWithSameLeafs.name = RandomValues.randomString();
     expected = retrievedObject.copy()
-        .string(Utils.randomTableName())
+        .string(RandomValues.randomString())
         .author(author)
         .complexObjectWithSameLeafs(complexObjectWithSameLeafs)
-        .builderSimpleValue(retrievedObject.builderSimpleValue().copy().stringValue(Utils.randomTableName()).build())
+        .builderSimpleValue(retrievedObject.builderSimpleValue().copy().stringValue(RandomValues.randomString()).build())
         .build();
 
     long persistId = expected.persist().execute();
@@ -1350,19 +1350,19 @@ public final class SynchronousImmutableObjectQueryTest {
     assertThat(object.equalsWithoutNotPersistedImmutableObjects(retrievedObject)).isTrue();
 
     Author author = retrievedObject.author();
-    author.name = Utils.randomTableName();
+    author.name = RandomValues.randomString();
     ComplexObjectWithSameLeafs complexObjectWithSameLeafs = retrievedObject.complexObjectWithSameLeafs();
-    complexObjectWithSameLeafs.name = Utils.randomTableName();
+    complexObjectWithSameLeafs.name = RandomValues.randomString();
     ComplexValueWithCreator expected = ComplexValueWithCreator.create(
         retrievedObject.id(),
-        Utils.randomTableName(),
+        RandomValues.randomString(),
         null,
         author,
         retrievedObject.notPersistedAuthor(),
         null,
         complexObjectWithSameLeafs,
         retrievedObject.notPersistedComplexObjectWithSameLeafs(),
-        retrievedObject.builderSimpleValue().copy().stringValue(Utils.randomTableName()).build(),
+        retrievedObject.builderSimpleValue().copy().stringValue(RandomValues.randomString()).build(),
         retrievedObject.notPersistedBuilderSimpleValue(),
         null,
         retrievedObject.creatorSimpleValue(),
@@ -1374,19 +1374,19 @@ public final class SynchronousImmutableObjectQueryTest {
     assertThat(expected.equalsWithoutId(compiledFirstSelect.execute())).isTrue();
 
     author = retrievedObject.author();
-    author.name = Utils.randomTableName();
+    author.name = RandomValues.randomString();
     complexObjectWithSameLeafs = retrievedObject.complexObjectWithSameLeafs();
-    complexObjectWithSameLeafs.name = Utils.randomTableName();
+    complexObjectWithSameLeafs.name = RandomValues.randomString();
     expected = ComplexValueWithCreator.create(
         retrievedObject.id(),
-        Utils.randomTableName(),
+        RandomValues.randomString(),
         null,
         author,
         retrievedObject.notPersistedAuthor(),
         null,
         complexObjectWithSameLeafs,
         retrievedObject.notPersistedComplexObjectWithSameLeafs(),
-        retrievedObject.builderSimpleValue().copy().stringValue(Utils.randomTableName()).build(),
+        retrievedObject.builderSimpleValue().copy().stringValue(RandomValues.randomString()).build(),
         retrievedObject.notPersistedBuilderSimpleValue(),
         null,
         retrievedObject.creatorSimpleValue(),
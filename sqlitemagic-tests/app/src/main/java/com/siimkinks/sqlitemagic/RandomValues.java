@@ -0,0 +1,24 @@
+package com.siimkinks.sqlitemagic;
+
+import android.support.annotation.NonNull;
+
+import java.util.Random;
+
+public final class RandomValues {
+  private static final Random RANDOM = new Random();
+  private static final char[] CHAR_SET = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ".toCharArray();
+  private static final int STRING_LEN = 6;
+
+  private RandomValues() {
+    throw new AssertionError("no instances");
+  }
+
+  @NonNull
+  public static String randomString() {
+    final char[] buf = new char[STRING_LEN];
+    for (int i = 0; i < STRING_LEN; i++) {
+      buf[i] = CHAR_SET[RANDOM.nextInt(CHAR_SET.length)];
+    }
+    return new String(buf);
+  }
+}
@@ -37,7 +37,7 @@ public final class SimpleMutableWithNullableFields {
   public static void fillWithRandomValues(SimpleMutableWithNullableFields obj) {
     final Random r = new Random();
     obj.id = r.nextLong();
-    obj.nullableString = Utils.randomTableName();
-    obj.nonNullString = Utils.randomTableName();
+    obj.nullableString = RandomValues.randomString();
+    obj.nonNullString = RandomValues.randomString();
   }
 }
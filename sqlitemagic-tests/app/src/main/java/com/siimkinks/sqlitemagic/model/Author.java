@@ -4,9 +4,10 @@ import android.database.Cursor;
 import android.os.Parcel;
 import android.os.Parcelable;
 
-import com.siimkinks.sqlitemagic.Utils;
+import com.siimkinks.sqlitemagic.RandomValues;
 import com.siimkinks.sqlitemagic.annotation.Column;
 import com.siimkinks.sqlitemagic.annotation.Id;
+import com.siimkinks.sqlitemagic.annotation.Index;
 import com.siimkinks.sqlitemagic.annotation.Table;
 
 import java.util.Random;
@@ -17,6 +18,7 @@ import lombok.ToString;
 
 // TODO use magic generated methods and remove unnecessary code
 @Table
+@Index(value = "author_name_boolean", columns = {"name COLLATE NOCASE", "primitive_boolean DESC"})
 @NoArgsConstructor
 @ToString
 @EqualsAndHashCode
@@ -32,6 +34,7 @@ public class Author implements Parcelable {
   @Column
   public Long id;
   @Column
+  @Index
   public String name;
   @Column
   Boolean boxedBoolean;
@@ -58,7 +61,7 @@ public class Author implements Parcelable {
   public static void fillWithRandomValues(Author author) {
     final Random r = new Random();
     author.id = r.nextLong();
-    author.name = Utils.randomTableName();
+    author.name = RandomValues.randomString();
     author.boxedBoolean = r.nextBoolean();
     author.primitiveBoolean = r.nextBoolean();
   }
@@ -0,0 +1,19 @@
+package com.siimkinks.sqlitemagic.model;
+
+import com.siimkinks.sqlitemagic.annotation.Query;
+
+import java.util.List;
+
+public interface AuthorQueries {
+  @Query("SELECT * FROM author WHERE name = ? ORDER BY id")
+  List<Author> authorsByName(String name);
+
+  @Query("SELECT * FROM author WHERE id = ?")
+  Author authorById(long id);
+
+  @Query("SELECT * FROM author a WHERE a.name = ? ORDER BY a.id")
+  List<Author> authorsByNameAliased(String name);
+
+  @Query("SELECT count(*) FROM author WHERE name = ?")
+  long authorCountByName(String name);
+}
@@ -1,6 +1,6 @@
 package com.siimkinks.sqlitemagic.model;
 
-import com.siimkinks.sqlitemagic.Utils;
+import com.siimkinks.sqlitemagic.RandomValues;
 import com.siimkinks.sqlitemagic.annotation.Column;
 import com.siimkinks.sqlitemagic.annotation.Table;
 
@@ -36,7 +36,7 @@ public class Book extends BaseModel {
     final Book book = new Book();
     book.setBaseId(r.nextLong());
     book.author = Author.newRandom();
-    book.title = Utils.randomTableName();
+    book.title = RandomValues.randomString();
     book.nrOfReleases = r.nextInt();
     return book;
   }
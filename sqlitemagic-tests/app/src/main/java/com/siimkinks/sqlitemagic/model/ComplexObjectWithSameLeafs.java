@@ -1,6 +1,6 @@
 package com.siimkinks.sqlitemagic.model;
 
-import com.siimkinks.sqlitemagic.Utils;
+import com.siimkinks.sqlitemagic.RandomValues;
 import com.siimkinks.sqlitemagic.annotation.Id;
 import com.siimkinks.sqlitemagic.annotation.Table;
 import com.siimkinks.sqlitemagic.model.immutable.SimpleValueWithBuilder;
@@ -34,7 +34,7 @@ public class ComplexObjectWithSameLeafs {
   public static ComplexObjectWithSameLeafs newRandom() {
     final ComplexObjectWithSameLeafs complex = new ComplexObjectWithSameLeafs();
     complex.id = new Random().nextLong();
-    complex.name = Utils.randomTableName();
+    complex.name = RandomValues.randomString();
     complex.simpleValueWithBuilder = SimpleValueWithBuilder.newRandom().build();
     complex.book = Book.newRandom();
     complex.magazine = Magazine.newRandom();
@@ -1,6 +1,6 @@
 package com.siimkinks.sqlitemagic.model;
 
-import com.siimkinks.sqlitemagic.Utils;
+import com.siimkinks.sqlitemagic.RandomValues;
 import com.siimkinks.sqlitemagic.annotation.Column;
 import com.siimkinks.sqlitemagic.annotation.Table;
 
@@ -31,7 +31,7 @@ public class Magazine {
   }
 
   public static void fillWithRandomValues(Magazine magazine) {
-    magazine.name = Utils.randomTableName();
+    magazine.name = RandomValues.randomString();
     magazine.author = Author.newRandom();
     magazine.nrOfReleases = new Random().nextInt();
   }
@@ -2,6 +2,7 @@ package com.siimkinks.sqlitemagic.model;
 
 import android.support.annotation.NonNull;
 
+import com.siimkinks.sqlitemagic.RandomValues;
 import com.siimkinks.sqlitemagic.Utils;
 import com.siimkinks.sqlitemagic.annotation.Id;
 import com.siimkinks.sqlitemagic.annotation.Table;
@@ -48,7 +49,7 @@ public class SimpleAllValuesMutable {
   @NonNull
   private static SimpleAllValuesMutable fillWithRandomValues(@NonNull SimpleAllValuesMutable object) {
     final Random r = new Random();
-    object.string = Utils.randomTableName();
+    object.string = RandomValues.randomString();
     object.primitiveShort = (short) r.nextInt(Short.MAX_VALUE + 1);
     object.boxedShort = (short) r.nextInt(Short.MAX_VALUE + 1);
     object.primitiveLong = r.nextLong();
@@ -1,6 +1,6 @@
 package com.siimkinks.sqlitemagic.model;
 
-import com.siimkinks.sqlitemagic.Utils;
+import com.siimkinks.sqlitemagic.RandomValues;
 import com.siimkinks.sqlitemagic.annotation.Column;
 import com.siimkinks.sqlitemagic.annotation.Id;
 import com.siimkinks.sqlitemagic.annotation.Table;
@@ -39,8 +39,8 @@ public class SimpleMutable {
   public static void fillWithRandomValues(SimpleMutable simpleMutable) {
     final Random r = new Random();
     simpleMutable.id = Math.abs(r.nextLong());
-    simpleMutable.name = Utils.randomTableName();
+    simpleMutable.name = RandomValues.randomString();
     simpleMutable.aLong = r.nextLong();
-    simpleMutable.name2 = Utils.randomTableName();
+    simpleMutable.name2 = RandomValues.randomString();
   }
 }
@@ -3,7 +3,7 @@ package com.siimkinks.sqlitemagic.model.immutable;
 import android.support.annotation.Nullable;
 
 import com.google.auto.value.AutoValue;
-import com.siimkinks.sqlitemagic.Utils;
+import com.siimkinks.sqlitemagic.RandomValues;
 import com.siimkinks.sqlitemagic.annotation.Id;
 import com.siimkinks.sqlitemagic.annotation.Table;
 import com.siimkinks.sqlitemagic.model.Author;
@@ -76,7 +76,7 @@ public abstract class BuilderMagazine implements ImmutableEquals {
     final Random r = new Random();
     return builder()
         .id(r.nextLong())
-        .name(Utils.randomTableName())
+        .name(RandomValues.randomString())
         .author(Author.newRandom())
         .simpleValueWithBuilder(SimpleValueWithBuilder.newRandom().build())
         .simpleValueWithCreator(SimpleValueWithCreator.newRandom());
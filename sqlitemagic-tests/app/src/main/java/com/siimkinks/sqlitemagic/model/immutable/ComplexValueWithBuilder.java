@@ -3,7 +3,7 @@ package com.siimkinks.sqlitemagic.model.immutable;
 import android.support.annotation.Nullable;
 
 import com.google.auto.value.AutoValue;
-import com.siimkinks.sqlitemagic.Utils;
+import com.siimkinks.sqlitemagic.RandomValues;
 import com.siimkinks.sqlitemagic.annotation.Column;
 import com.siimkinks.sqlitemagic.annotation.Id;
 import com.siimkinks.sqlitemagic.annotation.Table;
@@ -112,8 +112,8 @@ public abstract class ComplexValueWithBuilder {
   public static ComplexValueWithBuilder.Builder newRandom() {
     return builder()
         .id(new Random().nextLong())
-        .string(Utils.randomTableName())
-        .nullableString(Utils.randomTableName())
+        .string(RandomValues.randomString())
+        .nullableString(RandomValues.randomString())
         .author(Author.newRandom())
         .notPersistedAuthor(Author.newRandom())
         .nullableAuthor(Author.newRandom())
@@ -3,7 +3,7 @@ package com.siimkinks.sqlitemagic.model.immutable;
 import android.support.annotation.Nullable;
 
 import com.google.auto.value.AutoValue;
-import com.siimkinks.sqlitemagic.Utils;
+import com.siimkinks.sqlitemagic.RandomValues;
 import com.siimkinks.sqlitemagic.annotation.Column;
 import com.siimkinks.sqlitemagic.annotation.Id;
 import com.siimkinks.sqlitemagic.annotation.Table;
@@ -88,8 +88,8 @@ public abstract class ComplexValueWithCreator {
   public static ComplexValueWithCreator newRandom() {
     return create(
         new Random().nextLong(),
-        Utils.randomTableName(),
-        Utils.randomTableName(),
+        RandomValues.randomString(),
+        RandomValues.randomString(),
         Author.newRandom(),
         Author.newRandom(),
         Author.newRandom(),
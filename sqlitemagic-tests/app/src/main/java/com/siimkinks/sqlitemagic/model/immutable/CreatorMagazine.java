@@ -3,7 +3,7 @@ package com.siimkinks.sqlitemagic.model.immutable;
 import android.support.annotation.Nullable;
 
 import com.google.auto.value.AutoValue;
-import com.siimkinks.sqlitemagic.Utils;
+import com.siimkinks.sqlitemagic.RandomValues;
 import com.siimkinks.sqlitemagic.annotation.Id;
 import com.siimkinks.sqlitemagic.annotation.Table;
 import com.siimkinks.sqlitemagic.model.Author;
@@ -58,7 +58,7 @@ public abstract class CreatorMagazine implements ImmutableEquals {
   public static CreatorMagazine newRandom() {
     return new AutoValue_CreatorMagazine(
         new Random().nextLong(),
-        Utils.randomTableName(),
+        RandomValues.randomString(),
         Author.newRandom(),
         SimpleValueWithBuilder.newRandom().build(),
         SimpleValueWithCreator.newRandom()
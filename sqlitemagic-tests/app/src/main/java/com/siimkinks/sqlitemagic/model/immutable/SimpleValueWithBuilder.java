@@ -3,7 +3,7 @@ package com.siimkinks.sqlitemagic.model.immutable;
 import android.support.annotation.Nullable;
 
 import com.google.auto.value.AutoValue;
-import com.siimkinks.sqlitemagic.Utils;
+import com.siimkinks.sqlitemagic.RandomValues;
 import com.siimkinks.sqlitemagic.annotation.Id;
 import com.siimkinks.sqlitemagic.annotation.Table;
 import com.siimkinks.sqlitemagic.model.TransformableObject;
@@ -59,7 +59,7 @@ public abstract class SimpleValueWithBuilder implements ImmutableEquals {
   public static SimpleValueWithBuilder.Builder newRandom() {
     final Random random = new Random();
     return SimpleValueWithBuilder.builder()
-        .stringValue(Utils.randomTableName())
+        .stringValue(RandomValues.randomString())
         .boxedBoolean(random.nextBoolean())
         .aBoolean(random.nextBoolean())
         .integer(random.nextInt())
@@ -3,7 +3,7 @@ package com.siimkinks.sqlitemagic.model.immutable;
 import android.support.annotation.Nullable;
 
 import com.google.auto.value.AutoValue;
-import com.siimkinks.sqlitemagic.Utils;
+import com.siimkinks.sqlitemagic.RandomValues;
 import com.siimkinks.sqlitemagic.annotation.Id;
 import com.siimkinks.sqlitemagic.annotation.Table;
 
@@ -56,7 +56,7 @@ public abstract class SimpleValueWithBuilderAndNullableFields implements Immutab
     final Random r = new Random();
     return builder()
         .id(r.nextLong())
-        .string(Utils.randomTableName())
+        .string(RandomValues.randomString())
         .boxedBoolean(r.nextBoolean())
         .boxedInteger(r.nextInt());
   }
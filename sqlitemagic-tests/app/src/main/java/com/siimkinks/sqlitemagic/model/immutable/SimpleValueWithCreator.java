@@ -3,14 +3,14 @@ package com.siimkinks.sqlitemagic.model.immutable;
 import android.support.annotation.Nullable;
 
 import com.google.auto.value.AutoValue;
-import com.siimkinks.sqlitemagic.Utils;
+import com.siimkinks.sqlitemagic.RandomValues;
 import com.siimkinks.sqlitemagic.annotation.Id;
 import com.siimkinks.sqlitemagic.annotation.Table;
 import com.siimkinks.sqlitemagic.model.TransformableObject;
 
 import java.util.Random;
 
-@Table(persistAll = true)
+@Table(persistAll = true, cache = 16)
 @AutoValue
 public abstract class SimpleValueWithCreator implements ImmutableEquals {
   public static final String TABLE = "simple_value_with_creator";
@@ -46,7 +46,7 @@ public abstract class SimpleValueWithCreator implements ImmutableEquals {
     final Random random = new Random();
     return SimpleValueWithCreator.createWithId(
         id == null ? 0L : id,
-        Utils.randomTableName(),
+        RandomValues.randomString(),
         random.nextBoolean(),
         random.nextBoolean(),
         random.nextInt(),
@@ -3,7 +3,7 @@ package com.siimkinks.sqlitemagic.model.immutable;
 import android.support.annotation.Nullable;
 
 import com.google.auto.value.AutoValue;
-import com.siimkinks.sqlitemagic.Utils;
+import com.siimkinks.sqlitemagic.RandomValues;
 import com.siimkinks.sqlitemagic.annotation.Id;
 import com.siimkinks.sqlitemagic.annotation.Table;
 
@@ -48,7 +48,7 @@ public abstract class SimpleValueWithCreatorAndNullableFields implements Immutab
     final Random r = new Random();
     return createWithId(
         r.nextLong(),
-        Utils.randomTableName(),
+        RandomValues.randomString(),
         r.nextBoolean(),
         r.nextInt()
     );
@@ -58,7 +58,7 @@ public abstract class SimpleValueWithCreatorAndNullableFields implements Immutab
     final Random r = new Random();
     return createWithId(
         id,
-        Utils.randomTableName(),
+        RandomValues.randomString(),
         r.nextBoolean(),
         r.nextInt()
     );
@@ -56,6 +56,6 @@ public final class DeleteTest {
   private void assertSqlBuilder(DeleteSqlNode sqlNode, String expected, @Nullable String... expectedArgs) {
     final String sql = SqlCreator.getSql(sqlNode, 3);
     assertThat(sql).isEqualTo(expected);
-    assertThat(sqlNode.deleteBuilder.args).containsExactly(expectedArgs);
+    assertThat(sqlNode.deleteBuilder.args.toStringArray()).asList().containsExactly(expectedArgs);
   }
 }
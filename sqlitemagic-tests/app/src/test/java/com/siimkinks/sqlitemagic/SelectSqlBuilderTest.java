@@ -4,7 +4,9 @@ import android.database.SQLException;
 import android.support.annotation.NonNull;
 
 import com.siimkinks.sqlitemagic.Select.Select1;
+import com.siimkinks.sqlitemagic.Select.SelectN;
 import com.siimkinks.sqlitemagic.model.Author;
+import com.siimkinks.sqlitemagic.model.Book;
 import com.siimkinks.sqlitemagic.model.SimpleAllValuesMutable;
 import com.siimkinks.sqlitemagic.transformer.BooleanTransformer;
 
@@ -299,6 +301,27 @@ public final class SelectSqlBuilderTest {
     assertSql(sqlNode, expected, "1910", "1999", "1920", "asd");
   }
 
+  @Test
+  public void paramExpressions() {
+    final Param<Integer> first = Param.create();
+    final Param<Integer> second = Param.create();
+    final Param<String> pattern = Param.create();
+    final Param<Long> authorId = Param.create();
+    final SelectSqlNode.SelectNode<Book, SelectN> sqlNode = Select.from(BOOK)
+        .where(BOOK.NR_OF_RELEASES.in(first, second)
+            .and(BOOK.NR_OF_RELEASES.notBetween(first).and(second))
+            .and(BOOK.TITLE.glob(pattern))
+            .and(BOOK.AUTHOR.isId(authorId)));
+    assertSql(sqlNode, "SELECT * FROM book WHERE (((book.nr_of_releases IN (?,?) " +
+            "AND book.nr_of_releases NOT BETWEEN ? AND ?) AND book.title GLOB ?) AND book.author=?) ",
+        "?", "?", "?", "?", "?", "?");
+
+    final CompiledSelectImpl template = (CompiledSelectImpl) sqlNode.compile();
+    final CompiledSelectImpl bound = (CompiledSelectImpl) template.bind(1910, 2000, "a*", 42L);
+    assertThat(bound.args.toStringArray()).asList()
+        .containsExactly("1910", "2000", "1910", "2000", "a*", "42").inOrder();
+  }
+
   @Test
   public void whereConditionAliased() {
     final String expectedBase = "SELECT * FROM book AS b WHERE ";
@@ -1149,6 +1172,139 @@ public final class SelectSqlBuilderTest {
     assertSql(sqlNode, expected);
   }
 
+  @Test
+  public void paginateTest() {
+    CompiledPagedSelectImpl paged = (CompiledPagedSelectImpl) Select.from(AUTHOR)
+        .orderBy(AUTHOR.NAME.asc(), AUTHOR.ID.desc())
+        .paginate(20);
+    assertThat(paged.sql).isEqualTo("SELECT *,author.name,author.id FROM author " +
+        "ORDER BY author.name ASC,author.id DESC LIMIT 21 ");
+    assertThat(paged.seekSql).isEqualTo("SELECT *,author.name,author.id FROM author " +
+        "WHERE ((author.name>?) OR (author.name=? AND author.id<?)) " +
+        "ORDER BY author.name ASC,author.id DESC LIMIT 21 ");
+    assertThat(paged.args).isNull();
+
+    paged = (CompiledPagedSelectImpl) Select.from(AUTHOR)
+        .where(AUTHOR.NAME.is("a").or(AUTHOR.NAME.is("b")))
+        .orderBy(AUTHOR.ID.asc())
+        .paginate(5);
+    assertThat(paged.sql).isEqualTo("SELECT *,author.id FROM author " +
+        "WHERE (author.name=? OR author.name=?) ORDER BY author.id ASC LIMIT 6 ");
+    assertThat(paged.seekSql).isEqualTo("SELECT *,author.id FROM author " +
+        "WHERE ((author.name=? OR author.name=?)) AND ((author.id>?)) ORDER BY author.id ASC LIMIT 6 ");
+    assertThat(paged.args.toStringArray()).asList().containsExactly("a", "b").inOrder();
+
+    paged = (CompiledPagedSelectImpl) Select.column(AUTHOR.NAME)
+        .from(AUTHOR)
+        .orderBy(AUTHOR.ID.asc())
+        .paginate(1);
+    assertThat(paged.sql).isEqualTo("SELECT author.name,author.id FROM author " +
+        "ORDER BY author.id ASC LIMIT 2 ");
+  }
+
+  @Test
+  public void paginateBindsArgsInSqlOrder() {
+    final CompiledPagedSelectImpl paged = (CompiledPagedSelectImpl) Select.from(AUTHOR)
+        .where(AUTHOR.NAME.isNot("w"))
+        .orderBy(AUTHOR.NAME.is("x").desc(), AUTHOR.ID.asc())
+        .paginate(10);
+    assertThat(paged.sql).isEqualTo("SELECT *,author.name=?,author.id FROM author " +
+        "WHERE author.name!=? ORDER BY author.name=? DESC,author.id ASC LIMIT 11 ");
+    assertThat(paged.seekSql).isEqualTo("SELECT *,author.name=?,author.id FROM author " +
+        "WHERE (author.name!=?) AND (((author.name=?)<?) OR ((author.name=?)=? AND author.id>?)) " +
+        "ORDER BY author.name=? DESC,author.id ASC LIMIT 11 ");
+    assertThat(paged.args.toStringArray()).asList().containsExactly("x", "w", "x").inOrder();
+
+    final SqlArgs key = new SqlArgs(2);
+    key.addLong(1);
+    key.addLong(42);
+    assertThat(paged.seekArgs(key).toStringArray()).asList()
+        .containsExactly("x", "w", "x", "1", "x", "1", "42", "x").inOrder();
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void paginateDistinctQueryFails() {
+    Select.distinct()
+        .from(AUTHOR)
+        .orderBy(AUTHOR.NAME.asc())
+        .paginate(10);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void paginateQueryWithParamsFails() {
+    Select.from(AUTHOR)
+        .where(AUTHOR.NAME.is(Param.<String>create()))
+        .orderBy(AUTHOR.ID.asc())
+        .paginate(10);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void countUnboundTemplateFails() {
+    Select.from(AUTHOR)
+        .where(AUTHOR.NAME.is(Param.<String>create()))
+        .compile()
+        .count();
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void cursorOfUnboundTemplateFails() {
+    Select.column(AUTHOR.NAME)
+        .from(AUTHOR)
+        .where(AUTHOR.NAME.is(Param.<String>create()))
+        .compile()
+        .toCursor();
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void paginateGroupedQueryFails() {
+    Select.from(AUTHOR)
+        .groupBy(AUTHOR.NAME)
+        .orderBy(AUTHOR.NAME.asc())
+        .paginate(10);
+  }
+
+  @Test
+  public void observedRowIsDetectedFromIdPredicate() {
+    CompiledSelectImpl compiledSelect = (CompiledSelectImpl) Select.from(AUTHOR)
+        .where(AUTHOR.ID.is(42L))
+        .compile();
+    assertThat(compiledSelect.observedRow.table).isEqualTo("author");
+    assertThat(compiledSelect.observedRow.rowId).isEqualTo(42L);
+    assertThat(((CompiledSelectImpl.CompiledFirstSelectImpl) compiledSelect.takeFirst()).observedRow)
+        .isSameAs(compiledSelect.observedRow);
+
+    compiledSelect = (CompiledSelectImpl) Select.from(AUTHOR)
+        .where(AUTHOR.NAME.is("a").and(AUTHOR.ID.is(3L)))
+        .compile();
+    assertThat(compiledSelect.observedRow.rowId).isEqualTo(3L);
+
+    final CompiledSelect1Impl compiledSelect1 = (CompiledSelect1Impl) Select.column(AUTHOR.NAME)
+        .from(AUTHOR)
+        .where(AUTHOR.ID.is(5L))
+        .compile();
+    assertThat(compiledSelect1.observedRow.rowId).isEqualTo(5L);
+  }
+
+  @Test
+  public void observedRowIsNotDetectedForUnknownRows() {
+    assertThat(((CompiledSelectImpl) Select.from(AUTHOR)
+        .where(AUTHOR.NAME.is("a"))
+        .compile()).observedRow).isNull();
+    assertThat(((CompiledSelectImpl) Select.from(AUTHOR)
+        .where(AUTHOR.ID.is(3L).or(AUTHOR.ID.is(4L)))
+        .compile()).observedRow).isNull();
+    assertThat(((CompiledSelectImpl) Select.from(AUTHOR)
+        .where(AUTHOR.ID.greaterThan(3L))
+        .compile()).observedRow).isNull();
+    assertThat(((CompiledSelectImpl) Select.from(BOOK)
+        .where(BOOK.BASE_ID.is(3L))
+        .queryDeep()
+        .compile()).observedRow).isNull();
+    assertThat(((CompiledSelectImpl) Select.from(AUTHOR)
+        .where(AUTHOR.ID.is(3L).and(AUTHOR.NAME.is(Select.column(AUTHOR.NAME).from(AUTHOR))))
+        .compile()).observedRow).isNull();
+  }
+
   @Test
   public void simpleSubquery() {
     assertSimpleSubquery("=", new Func1<SelectSqlNode.SelectNode<String, Select1>, Expr>() {
@@ -1996,7 +2152,7 @@ public final class SelectSqlBuilderTest {
   private void assertSql(SelectSqlNode sqlNode, String expectedOutput, String... expectedArgs) {
     final String generatedSql = generateSql(sqlNode);
     assertThat(generatedSql).isEqualTo(expectedOutput);
-    assertThat(sqlNode.selectBuilder.args).containsExactly(expectedArgs);
+    assertThat(sqlNode.selectBuilder.args.toStringArray()).asList().containsExactly(expectedArgs);
   }
 
   private String generateSql(SelectSqlNode sqlNode) {
@@ -56,7 +56,7 @@ import static com.siimkinks.sqlitemagic.SimpleValueWithCreatorTable.SIMPLE_VALUE
 import static com.siimkinks.sqlitemagic.UnitTestUtil.assertSimpleArrayMapsAreEqualWithWildcardInKey;
 import static com.siimkinks.sqlitemagic.UnitTestUtil.assertSimpleArrayMapsAreEqualWithWildcardInValue;
 import static com.siimkinks.sqlitemagic.UnitTestUtil.assertStringsAreEqualOrMatching;
-import static com.siimkinks.sqlitemagic.UnitTestUtil.replaceRandomTableNames;
+import static com.siimkinks.sqlitemagic.UnitTestUtil.replaceTableAliasWildcards;
 import static com.siimkinks.sqlitemagic.model.view.ComplexInterfaceView.AUTHOR_NAME_ALIAS;
 import static com.siimkinks.sqlitemagic.model.view.ComplexInterfaceView.MAGAZINE_ALIAS;
 import static com.siimkinks.sqlitemagic.model.view.ComplexInterfaceView.VALUE_W_BUILDER_ALIAS;
@@ -381,7 +381,7 @@ public final class SelectSqlCompilerTest {
         .queryDeep()
         .compile();
     CompiledSelectMetadata.assertThat()
-        .sql(replaceRandomTableNames("SELECT * FROM complex_object_with_same_leafs " +
+        .sql(replaceTableAliasWildcards("SELECT * FROM complex_object_with_same_leafs " +
             "LEFT JOIN simple_value_with_builder AS ? ON complex_object_with_same_leafs.simple_value_with_builder=?.id " +
             "LEFT JOIN book ON complex_object_with_same_leafs.book=book.base_id " +
             "LEFT JOIN author ON book.author=author.id " +
@@ -397,6 +397,34 @@ public final class SelectSqlCompilerTest {
         .isEqualTo(select);
   }
 
+  @Test
+  public void deepJoinSqlIsEqualBetweenBuilds() {
+    final CompiledSelectImpl<ComplexObjectWithSameLeafs, SelectN> first = (CompiledSelectImpl<ComplexObjectWithSameLeafs, SelectN>) Select
+        .from(COMPLEX_OBJECT_WITH_SAME_LEAFS)
+        .queryDeep()
+        .compile();
+    final CompiledSelectImpl<ComplexObjectWithSameLeafs, SelectN> second = (CompiledSelectImpl<ComplexObjectWithSameLeafs, SelectN>) Select
+        .from(COMPLEX_OBJECT_WITH_SAME_LEAFS)
+        .queryDeep()
+        .compile();
+
+    final String expectedSql = "SELECT * FROM complex_object_with_same_leafs " +
+        "LEFT JOIN simple_value_with_builder AS complex_object_with_same_leafs__simple_value_with_builder " +
+        "ON complex_object_with_same_leafs.simple_value_with_builder=complex_object_with_same_leafs__simple_value_with_builder.id " +
+        "LEFT JOIN book ON complex_object_with_same_leafs.book=book.base_id " +
+        "LEFT JOIN author ON book.author=author.id " +
+        "LEFT JOIN magazine AS complex_object_with_same_leafs__magazine " +
+        "ON complex_object_with_same_leafs.magazine=complex_object_with_same_leafs__magazine._id " +
+        "LEFT JOIN author AS complex_object_with_same_leafs__magazine__author " +
+        "ON complex_object_with_same_leafs__magazine.author=complex_object_with_same_leafs__magazine__author.id " +
+        "LEFT JOIN simple_value_with_builder AS complex_object_with_same_leafs__simple_value_with_builder_duplicate " +
+        "ON complex_object_with_same_leafs.simple_value_with_builder_duplicate=complex_object_with_same_leafs__simple_value_with_builder_duplicate.id ";
+    assertThat(first.sql).isEqualTo(expectedSql);
+    assertThat(second.sql).isEqualTo(first.sql);
+    assertThat(second.fingerprint()).isEqualTo(first.fingerprint());
+    assertThat(first.fingerprint()).isEqualTo(SqlCreator.fingerprint(expectedSql));
+  }
+
   @Test
   public void whereClause() {
     CompiledSelect<ComplexObjectWithSameLeafs, SelectN> select = Select
@@ -464,13 +492,14 @@ public final class SelectSqlCompilerTest {
     graphNodes.put("magazine", "?");
     graphNodes.put("simple_value_with_builder_duplicate", "?");
     final SimpleArrayMap<String, Integer> columns = new SimpleArrayMap<>();
-    columns.put(select.tableGraphNodeNames.get("simple_value_with_builder"), 0);
-    columns.put(select.tableGraphNodeNames.get("simple_value_with_builder_duplicate"), 6);
+    final SimpleArrayMap<String, String> actualGraphNodes = select.selection.tableGraphNodeNames;
+    columns.put(actualGraphNodes.get("simple_value_with_builder"), 0);
+    columns.put(actualGraphNodes.get("simple_value_with_builder_duplicate"), 6);
     columns.put("book", 12);
-    columns.put(select.tableGraphNodeNames.get("magazine"), 16);
+    columns.put(actualGraphNodes.get("magazine"), 16);
 
     CompiledSelectMetadata.assertThat()
-        .sql(replaceRandomTableNames("SELECT ?.*,?.*,book.*,?.* FROM complex_object_with_same_leafs " +
+        .sql(replaceTableAliasWildcards("SELECT ?.*,?.*,book.*,?.* FROM complex_object_with_same_leafs " +
             "LEFT JOIN simple_value_with_builder AS ? ON complex_object_with_same_leafs.simple_value_with_builder=?.id " +
             "LEFT JOIN book ON complex_object_with_same_leafs.book=book.base_id " +
             "LEFT JOIN magazine AS ? ON complex_object_with_same_leafs.magazine=?._id " +
@@ -544,7 +573,7 @@ public final class SelectSqlCompilerTest {
 
     columns.clear();
     graphNodes.clear();
-    final SimpleArrayMap<String, String> tableGraphNodeNames = select2.tableGraphNodeNames;
+    final SimpleArrayMap<String, String> tableGraphNodeNames = select2.selection.tableGraphNodeNames;
     assertThat(tableGraphNodeNames).isNotNull();
     columns.put("book", 0);
     columns.put(tableGraphNodeNames.get("magazine"), 4);
@@ -615,8 +644,8 @@ public final class SelectSqlCompilerTest {
         .tableName("complex_value_with_creator")
         .observedTables("complex_value_with_creator", "complex_object_with_same_leafs", "simple_value_with_builder", "simple_value_with_creator", "author")
         .queryDeep(true)
-        .columns(((CompiledSelectImpl) compiledSelect).columns)
-        .tableGraphNodeNames(((CompiledSelectImpl) compiledSelect).tableGraphNodeNames)
+        .columns(((CompiledSelectImpl) compiledSelect).selection.columns)
+        .tableGraphNodeNames(((CompiledSelectImpl) compiledSelect).selection.tableGraphNodeNames)
         .build()
         .isEqualTo(compiledSelect);
   }
@@ -1340,7 +1369,7 @@ public final class SelectSqlCompilerTest {
         .sql("SELECT * FROM complex_interface_view ")
         .tableName("complex_interface_view")
         .observedTables(SimpleValueWithBuilder.TABLE, BuilderMagazine.TABLE, Author.TABLE, SimpleValueWithCreator.TABLE)
-        .tableGraphNodeNames(query.tableGraphNodeNames)
+        .tableGraphNodeNames(query.selection.tableGraphNodeNames)
         .columns(columns)
         .queryDeep(true)
         .build()
@@ -1373,8 +1402,8 @@ public final class SelectSqlCompilerTest {
         .tableName("complex_view")
         .observedTables(Book.TABLE, Magazine.TABLE, Author.TABLE)
         .queryDeep(true)
-        .tableGraphNodeNames(query.tableGraphNodeNames)
-        .columns(query.columns)
+        .tableGraphNodeNames(query.selection.tableGraphNodeNames)
+        .columns(query.selection.columns)
         .build()
         .isEqualTo(compiledSelect);
   }
@@ -1698,36 +1727,39 @@ public final class SelectSqlCompilerTest {
     void isEqualTo(CompiledSelect<?, SelectN> actualGeneric) {
       final CompiledSelectImpl<?, SelectN> actual = (CompiledSelectImpl<?, SelectN>) actualGeneric;
       assertStringsAreEqualOrMatching(actual.sql, sql);
-      Truth.assertThat(actual.args).isEqualTo(args);
+      Truth.assertThat(SqlArgs.toStringArray(actual.args)).isEqualTo(args);
       Truth.assertThat(actual.table.nameInQuery).isEqualTo(tableName);
       Truth.assertThat(actual.observedTables).asList().containsExactly(observedTables);
-      assertSimpleArrayMapsAreEqualWithWildcardInKey(actual.columns, columns);
-      assertSimpleArrayMapsAreEqualWithWildcardInValue(actual.tableGraphNodeNames, tableGraphNodeNames);
+      assertSelectionIsEqualTo(actual.selection);
       Truth.assertThat(actual.queryDeep).isEqualTo(queryDeep);
     }
 
     void isEqualTo(CompiledFirstSelect<?, SelectN> actualGeneric) {
       final CompiledSelectImpl.CompiledFirstSelectImpl<ComplexObjectWithSameLeafs, SelectN> actual = (CompiledSelectImpl.CompiledFirstSelectImpl<ComplexObjectWithSameLeafs, SelectN>) actualGeneric;
       assertStringsAreEqualOrMatching(actual.sql, sql);
-      Truth.assertThat(actual.args).isEqualTo(args);
+      Truth.assertThat(SqlArgs.toStringArray(actual.args)).isEqualTo(args);
       Truth.assertThat(actual.table.nameInQuery).isEqualTo(tableName);
       Truth.assertThat(actual.observedTables).isEqualTo(observedTables);
-      assertSimpleArrayMapsAreEqualWithWildcardInKey(actual.columns, columns);
-      assertSimpleArrayMapsAreEqualWithWildcardInValue(actual.tableGraphNodeNames, tableGraphNodeNames);
+      assertSelectionIsEqualTo(actual.selection);
       Truth.assertThat(actual.queryDeep).isEqualTo(queryDeep);
     }
 
+    private void assertSelectionIsEqualTo(SelectionPlan actual) {
+      assertSimpleArrayMapsAreEqualWithWildcardInKey(actual != null ? actual.columns : null, columns);
+      assertSimpleArrayMapsAreEqualWithWildcardInValue(actual != null ? actual.tableGraphNodeNames : null, tableGraphNodeNames);
+    }
+
     void isEqualToColumnSelect(CompiledSelect<?, Select1> actualGeneric) {
       final CompiledSelect1Impl<?, Select1> actual = (CompiledSelect1Impl<?, Select1>) actualGeneric;
       assertStringsAreEqualOrMatching(actual.sql, sql);
-      Truth.assertThat(actual.args).isEqualTo(args);
+      Truth.assertThat(SqlArgs.toStringArray(actual.args)).isEqualTo(args);
       Truth.assertThat(actual.observedTables).asList().containsExactly(observedTables);
     }
 
     void isEqualToFirstColumnSelect(CompiledFirstSelect<?, Select1> actualGeneric) {
       final CompiledSelect1Impl.CompiledFirstSelect1Impl<?, Select1> actual = (CompiledSelect1Impl.CompiledFirstSelect1Impl<?, Select1>) actualGeneric;
       assertStringsAreEqualOrMatching(actual.sql, sql);
-      Truth.assertThat(actual.args).isEqualTo(args);
+      Truth.assertThat(SqlArgs.toStringArray(actual.args)).isEqualTo(args);
       Truth.assertThat(actual.observedTables).asList().containsExactly(observedTables);
     }
 
@@ -1739,7 +1771,7 @@ public final class SelectSqlCompilerTest {
       private SimpleArrayMap<String, String> tableGraphNodeNames;
 
       CompiledSelectMetadataBuilder sqlWithWildcards(String sql) {
-        this.sql = replaceRandomTableNames(sql);
+        this.sql = replaceTableAliasWildcards(sql);
         return this;
       }
 
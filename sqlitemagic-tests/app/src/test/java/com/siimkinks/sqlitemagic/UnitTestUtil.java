@@ -10,15 +10,18 @@ import static com.google.common.truth.Truth.assertThat;
 public class UnitTestUtil {
 
   public static final String WILDCARD = "?";
-  public static final String RANDOM_TABLE_NAME_REGEX = ".{" + Utils.TABLE_NAME_LEN + "}";
+  /**
+   * Aliases of joined tables are derived from their join path -- {@code <parent alias>__<column name>}.
+   */
+  public static final String JOINED_TABLE_ALIAS_REGEX = "[a-z_]+__[a-z_]+";
 
-  public static String replaceRandomTableNames(String str) {
+  public static String replaceTableAliasWildcards(String str) {
     return str.replaceAll("\\.", "\\\\.")
         .replaceAll("\\(", "\\\\(")
         .replaceAll("\\)", "\\\\)")
         .replaceAll("\\+", "\\\\+")
         .replaceAll("\\*", "\\\\*")
-        .replaceAll("\\" + WILDCARD, RANDOM_TABLE_NAME_REGEX);
+        .replaceAll("\\" + WILDCARD, JOINED_TABLE_ALIAS_REGEX);
   }
 
   public static <K, V> void assertSimpleArrayMapsAreEqual(SimpleArrayMap<K, V> actual, SimpleArrayMap<K, V> expected) {
@@ -56,7 +59,7 @@ public class UnitTestUtil {
       final String expectedValue = expected.valueAt(i);
       final String actualValue = actual.get(key);
       if (expectedValue.contains(WILDCARD)) {
-        final String expectedValueRegex = replaceRandomTableNames(expectedValue);
+        final String expectedValueRegex = replaceTableAliasWildcards(expectedValue);
         assertThat(actualValue).isNotNull();
         assertThat(actualValue).matches(expectedValueRegex);
       } else {
@@ -83,7 +86,7 @@ public class UnitTestUtil {
       final V actualValue = actual.get(key);
 
       if (actualValue == null && key.contains(WILDCARD)) {
-        final String keyWithRegex = replaceRandomTableNames(key);
+        final String keyWithRegex = replaceTableAliasWildcards(key);
         boolean foundMatch = false;
         for (int k = 0; k < actualSize; k++) {
           final String actualKey = actual.keyAt(k);